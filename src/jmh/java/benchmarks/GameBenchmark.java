@@ -0,0 +1,150 @@
+package benchmarks;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the operations on the hot path of every search agent, for each GameType:
+ * copying a state (fully, and from one player's perspective), computing the available actions, applying an action
+ * and complete random playouts.
+ * <p>
+ * Each operation is measured from a mid-game position. To find this we play a random game from the seed to the end,
+ * and then replay it (with the same seed, so it is the same game) for half as many actions. The position, and so the
+ * results, are therefore the same on every run; change the seed parameter to sample other positions.
+ * <p>
+ * Build and run with the benchmarks profile:
+ * <pre>
+ *     mvn -P benchmarks package
+ *     java -jar target/Benchmarks-jar-with-dependencies.jar -p game=Dominion,Catan -rf json -rff results.json
+ * </pre>
+ * With no -p game=... every GameType is benchmarked. A game that cannot be set up (for example because it has no
+ * forward model) fails for that parameter only, and the other games are still run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    // An enum @Param with no values runs every value of the enum
+    @Param
+    public GameType game;
+
+    // 0 means the smallest number of players the game supports, but at least two if it can be played by two
+    @Param({"0"})
+    public int nPlayers;
+
+    @Param({"42"})
+    public long seed;
+
+    // To stop a game that never ends from running forever
+    @Param({"10000"})
+    public int maxActions;
+
+    private AbstractForwardModel forwardModel;
+    private AbstractGameState midGame;
+    private int midGamePlayer;
+    private Random rnd;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        int players = nPlayers > 0 ? nPlayers : Math.min(game.getMaxPlayers(), Math.max(2, game.getMinPlayers()));
+        int gameLength = playRandomActions(newGame(players), Integer.MAX_VALUE);
+        midGame = newGame(players);
+        playRandomActions(midGame, gameLength / 2);
+        if (!midGame.isNotTerminal())
+            throw new IllegalArgumentException(game + " with seed " + seed + " finishes before there is a mid-game position");
+        midGamePlayer = midGame.getCurrentPlayer();
+        rnd = new Random(seed);
+    }
+
+    private AbstractGameState newGame(int players) {
+        AbstractParameters params = game.createParameters(seed);
+        forwardModel = game.createForwardModel(params, players);
+        AbstractGameState state = game.createGameState(params, players);
+        forwardModel.setup(state);
+        return state;
+    }
+
+    /**
+     * Plays random actions (chosen with the seed) until the game ends or nActions have been taken
+     *
+     * @return the number of actions taken
+     */
+    private int playRandomActions(AbstractGameState state, int nActions) {
+        Random actionRnd = new Random(seed);
+        int actionsTaken = 0;
+        while (actionsTaken < nActions && actionsTaken < maxActions && state.isNotTerminal()) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            forwardModel.next(state, actions.get(actionRnd.nextInt(actions.size())));
+            actionsTaken++;
+        }
+        return actionsTaken;
+    }
+
+    /**
+     * The copy of the mid-game position, and the action, for next(). This needs a fresh copy for each invocation, as
+     * next() changes it; it is a separate State so that only next() pays for the per-invocation setup.
+     */
+    @State(Scope.Thread)
+    public static class NextState {
+        AbstractGameState state;
+        AbstractAction action;
+
+        @Setup(Level.Invocation)
+        public void setup(GameBenchmark benchmark) {
+            state = benchmark.midGame.copy();
+            List<AbstractAction> actions = benchmark.forwardModel.computeAvailableActions(state);
+            action = actions.get(benchmark.rnd.nextInt(actions.size()));
+        }
+    }
+
+    @Benchmark
+    public AbstractGameState copy() {
+        return midGame.copy();
+    }
+
+    @Benchmark
+    public AbstractGameState copyForPlayer() {
+        return midGame.copy(midGamePlayer);
+    }
+
+    @Benchmark
+    public List<AbstractAction> computeAvailableActions() {
+        return forwardModel.computeAvailableActions(midGame);
+    }
+
+    @Benchmark
+    public AbstractGameState next(NextState next) {
+        forwardModel.next(next.state, next.action);
+        return next.state;
+    }
+
+    /**
+     * A random playout from the mid-game position to the end of the game (or maxActions), including the copy of the
+     * position that it starts from
+     */
+    @Benchmark
+    public void playout(Blackhole blackhole) {
+        AbstractGameState state = midGame.copy();
+        int actionsTaken = 0;
+        while (state.isNotTerminal() && actionsTaken < maxActions) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+            actionsTaken++;
+        }
+        blackhole.consume(actionsTaken);
+        blackhole.consume(state);
+    }
+}
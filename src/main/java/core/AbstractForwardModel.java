@@ -92,6 +92,25 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Optional. Counts the actions that _computeAvailableActions(gameState) would return, without creating them.
+     * Games with large action lists can implement this and _availableAction() so that random rollouts do not
+     * have to build the whole list just to pick one element from it.
+     *
+     * @return - the number of available actions, or -1 if this is not supported (in this state)
+     */
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        return -1;
+    }
+
+    /**
+     * Optional, and only called if _countAvailableActions() has returned n >= 0 for this state.
+     * This must return an action equal to _computeAvailableActions(gameState).get(k), for 0 <= k < n.
+     */
+    protected AbstractAction _availableAction(AbstractGameState gameState, int k) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support indexed actions");
+    }
+
     /**
      * Gets a copy of the FM with a new random number generator.
      *
@@ -162,6 +181,71 @@ public abstract class AbstractForwardModel {
         currentState.advanceGameTick();
     }
 
+    /**
+     * Applies the given action in the same way as next(), but also returns a record that undo() can use to
+     * put the state back exactly as it was. This allows a search to move down and back up a tree on one
+     * state, rather than copying the state at every node.
+     * <p>
+     * This is only available if supportsUndo() is true. It cannot be used while an IExtendedSequence is in
+     * progress, and the state's random number generator is not restored by undo().
+     *
+     * @param currentState - current game state, to be modified by the action.
+     * @param action       - action requested to be played by a player.
+     * @return - record to pass to undo() to reverse this action.
+     */
+    public final UndoRecord nextWithUndo(AbstractGameState currentState, AbstractAction action) {
+        if (!supportsUndo())
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support undo");
+        if (currentState.isActionInProgress())
+            throw new UnsupportedOperationException("Undo is not supported while an action is in progress");
+        UndoRecord record = new UndoRecord(currentState, _recordUndo(currentState, action));
+        next(currentState, action);
+        return record;
+    }
+
+    /**
+     * Reverses the action for which the record was created by nextWithUndo(). Records must be undone in the
+     * reverse order to that in which they were created.
+     *
+     * @param currentState - the game state the record was created from
+     * @param record       - record from nextWithUndo()
+     */
+    public final void undo(AbstractGameState currentState, UndoRecord record) {
+        _undo(currentState, record.gameData);
+        currentState.restore(record);
+    }
+
+    /**
+     * @return true if this forward model implements _recordUndo() and _undo(), so that nextWithUndo() and
+     * undo() can be used.
+     */
+    public boolean supportsUndo() {
+        return false;
+    }
+
+    /**
+     * Called by nextWithUndo() before the action is applied. This should return whatever game-specific data is
+     * needed to reverse the action and any game rules that next() will run after it. The generic parts of the
+     * game state (turn owner, game status, history and so on) are dealt with separately.
+     *
+     * @param currentState - current game state, before the action is applied.
+     * @param action       - the action about to be applied.
+     * @return - game-specific undo data (may be null)
+     */
+    protected Object _recordUndo(AbstractGameState currentState, AbstractAction action) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support undo");
+    }
+
+    /**
+     * Reverses the game-specific changes made by the action and rules for which the data was recorded.
+     *
+     * @param currentState - current game state, after the action was applied.
+     * @param undoData     - data returned by _recordUndo() for that action.
+     */
+    protected void _undo(AbstractGameState currentState, Object undoData) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support undo");
+    }
+
     /**
      * Computes the available actions and updates the game state accordingly.
      *
@@ -192,6 +276,47 @@ public abstract class AbstractForwardModel {
         return retValue;
     }
 
+    /**
+     * The number of actions that computeAvailableActions(gameState, actionSpace) would return, if this can be found
+     * without computing the list. This is only the case for the default action space, with no action in progress
+     * and no decorators, and if the game implements _countAvailableActions().
+     *
+     * @return - the number of actions, or -1 if the list would need to be computed
+     */
+    public final int countAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        if (gameState.isActionInProgress() || (actionSpace != null && !actionSpace.isDefault()) || !decorators.isEmpty())
+            return -1;
+        return _countAvailableActions(gameState);
+    }
+
+    /**
+     * @return - computeAvailableActions(gameState, actionSpace).get(k), where 0 <= k < n, and n has been returned by
+     * countAvailableActions() for this state
+     */
+    public final AbstractAction getAvailableAction(AbstractGameState gameState, ActionSpace actionSpace, int k) {
+        if (countAvailableActions(gameState, actionSpace) < 0)
+            throw new UnsupportedOperationException("Indexed actions are not available in this state");
+        return _availableAction(gameState, k);
+    }
+
+    /**
+     * Picks one of the available actions uniformly at random. This makes the same call on rnd, and so picks the same
+     * action, as computeAvailableActions(...).get(rnd.nextInt(size)), but does not create the list if the game can
+     * count and index its actions.
+     * This is only possible for the default action space, so pass the player's (usually default) actionSpace,
+     * rather than the game's coreGameParameters.actionSpace, which is not.
+     *
+     * @return - the action picked, or null if there are no actions available
+     */
+    public final AbstractAction sampleAvailableAction(AbstractGameState gameState, ActionSpace actionSpace, Random rnd) {
+        int n = countAvailableActions(gameState, actionSpace);
+        if (n < 0) {
+            List<AbstractAction> actions = computeAvailableActions(gameState, actionSpace);
+            return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+        }
+        return n == 0 ? null : _availableAction(gameState, rnd.nextInt(n));
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
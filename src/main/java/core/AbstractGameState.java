@@ -13,7 +13,9 @@ import evaluation.listeners.IGameListener;
 import evaluation.metrics.Event;
 import games.GameType;
 import utilities.ElapsedCpuChessTimer;
+import utilities.IntHashMap;
 import utilities.Pair;
+import utilities.ZobristHash;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -38,7 +40,13 @@ public abstract class AbstractGameState {
     protected final AbstractParameters gameParameters;
     // Game being played
     protected final GameType gameType = _getGameType();
+    // All components, including those inside containers. This is only filled in by getAllComponents()
     private Area allComponents;
+    // Index from component ID to component for getComponentById(). This is built on the first lookup after a copy,
+    // as most copies (in MCTS rollouts, for example) never look anything up.
+    private IntHashMap<Component> componentIndex;
+    // The top-level components, kept between calls to getZobristHash() if hasZobristHash() is true
+    private List<Component> zobristComponents;
 
     // Game tick, number of iterations of game loop
     private int tick = 0;
@@ -98,6 +106,7 @@ public abstract class AbstractGameState {
         historyText = new ArrayList<>();
         playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
         tick = 0;
+        zobristComponents = null;
         turnOwner = 0;
         turnCounter = 0;
         roundCounter = 0;
@@ -220,6 +229,15 @@ public abstract class AbstractGameState {
     public Random getRnd() {
         return rnd;
     }
+
+    /**
+     * Replaces the Random used for game events in this state (and any copies of it). This is for agents that search
+     * from several copies of a state at once (for example on different threads), so that each copy has its own
+     * sequence of events, which does not depend on what happens in the others.
+     */
+    public void setRnd(Random rnd) {
+        this.rnd = rnd;
+    }
     public void addListener(IGameListener listener) {
         if (!listeners.contains(listener))
             listeners.add(listener);
@@ -239,19 +257,36 @@ public abstract class AbstractGameState {
     }
     public final int getGameTick() {return tick;}
     public final Component getComponentById(int id) {
-        Component c = allComponents.getComponent(id);
+        if (componentIndex == null) {
+            componentIndex = new IntHashMap<>();
+            indexComponents(_getAllComponents());
+        }
+        Component c = componentIndex.get(id);
         if (c == null) {
+            // the component may have been created since the index was built
             try {
-                addAllComponents();
-                c = allComponents.getComponent(id);
+                componentIndex.clear();
+                indexComponents(_getAllComponents());
+                c = componentIndex.get(id);
             } catch (Exception ignored) {
             }  // Can crash from concurrent modifications if running with GUI TODO: this is an ugly fix
         }
         return c;
     }
 
+    // Adds the components, and everything they contain, to componentIndex (in the same way as Area.putComponent())
+    private void indexComponents(List<? extends Component> components) {
+        for (Component c : components) {
+            if (c == null)
+                continue;
+            componentIndex.put(c.getComponentID(), c);
+            if (c instanceof IComponentContainer<?> container)
+                indexComponents(container.getComponents());
+        }
+    }
+
     public final Area getAllComponents() {
-        addAllComponents(); // otherwise the list of allComponents is only ever updated when we copy the state!
+        addAllComponents(); // the Area is not kept up to date as the state changes, so we always rebuild it
         return allComponents;
     }
 
@@ -268,10 +303,13 @@ public abstract class AbstractGameState {
 
     /**
      * Adds all components given by the game to the allComponents map in the correct way, first clearing the map.
+     * The index used by getComponentById() is discarded, and will be rebuilt on the next lookup.
      */
     protected final void addAllComponents() {
         allComponents.clear();
         allComponents.putComponents(_getAllComponents());
+        componentIndex = null;
+        zobristComponents = null;
     }
 
     /**
@@ -332,8 +370,7 @@ public abstract class AbstractGameState {
             s.playerTimer[i] = playerTimer[i].copy();
         }
 
-        // Update the list of components for ID matching in actions.
-        s.addAllComponents();
+        // The index of components for ID matching in actions is built on first use by getComponentById()
         return s;
     }
 
@@ -374,6 +411,34 @@ public abstract class AbstractGameState {
         historyText.add(history);
     }
 
+    /* Support for AbstractForwardModel.nextWithUndo() and undo() */
+
+    final int historySize() {
+        return history.size();
+    }
+
+    final int historyTextSize() {
+        return historyText.size();
+    }
+
+    /**
+     * Restores the generic state variables held in the record. The game-specific parts are restored by the
+     * forward model.
+     */
+    final void restore(UndoRecord record) {
+        tick = record.tick;
+        roundCounter = record.roundCounter;
+        turnCounter = record.turnCounter;
+        turnOwner = record.turnOwner;
+        firstPlayer = record.firstPlayer;
+        gameStatus = record.gameStatus;
+        System.arraycopy(record.playerResults, 0, playerResults, 0, playerResults.length);
+        gamePhase = record.gamePhase;
+        history.subList(record.historySize, history.size()).clear();
+        historyText.subList(record.historyTextSize, historyText.size()).clear();
+        System.arraycopy(record.playerTimer, 0, playerTimer, 0, playerTimer.length);
+    }
+
     /* Methods dealing with ExtendedActions and the actionStack */
 
     public final IExtendedSequence currentActionInProgress() {
@@ -528,10 +593,8 @@ public abstract class AbstractGameState {
     private List<Integer> unknownComponents(IComponentContainer<?> container, int player) {
         ArrayList<Integer> retValue = new ArrayList<>();
         if (container instanceof PartialObservableDeck<?> pod) {
-            for (int i = 0; i < pod.getSize(); i++) {
-                if (!pod.getVisibilityForPlayer(i, player))
-                    retValue.add(pod.get(i).getComponentID());
-            }
+            for (int i : pod.getHiddenIndices(player))
+                retValue.add(pod.get(i).getComponentID());
         } else {
             switch (container.getVisibilityMode()) {
                 case VISIBLE_TO_ALL:
@@ -631,6 +694,99 @@ public abstract class AbstractGameState {
         // included in the _equals() method implemented there
     }
 
+    /**
+     * A 64-bit hash of the state, intended for use as a key in search (see ZobristStateKey).
+     * <p>
+     * This combines Component.getZobristHash() for each top-level component with the turn, round, phase and
+     * results, and whatever _getZobristHash() adds for the rest of the game state. Components such as Deck and
+     * GridBoard maintain their hashes incrementally, so for games that keep their state in components this is much
+     * cheaper than hashCode(). The tick and history are excluded, so that transpositions have the same hash.
+     * <p>
+     * This is only a true incrementally maintained hash for games that opt in by overriding hasZobristHash(). For
+     * all others it is still a valid hash, but _getAllComponents() is called each time, and _getZobristHash() falls
+     * back to hashCode(), so it is as slow as that, and no less likely to collide.
+     */
+    public long getZobristHash() {
+        List<Component> components = zobristComponents;
+        if (components == null) {
+            components = _getAllComponents();
+            if (hasZobristHash())
+                zobristComponents = components;
+        }
+        long hash = 0;
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            if (c != null)
+                hash ^= ZobristHash.key(i, c.getZobristHash());
+        }
+        return hash ^ zobristHashOfRest(_getZobristHash());
+    }
+
+    /**
+     * As getZobristHash(), but calculated in full from the current state, without using any of the hashes that the
+     * components and the game keep incrementally. This is slow, and is for checking that those are kept correctly;
+     * for any state the two must be equal.
+     */
+    public long computeZobristHash() {
+        List<Component> components = _getAllComponents();
+        long hash = 0;
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            if (c != null)
+                hash ^= ZobristHash.key(i, c.computeZobristHash());
+        }
+        return hash ^ zobristHashOfRest(_computeZobristHash());
+    }
+
+    // the hash of everything other than the top-level components, given the hash of the game's own state
+    private long zobristHashOfRest(long gameHash) {
+        long hash = 0;
+        hash ^= ZobristHash.key(-1, getCurrentPlayer());
+        hash ^= ZobristHash.key(-2, roundCounter);
+        hash ^= ZobristHash.key(-3, turnCounter);
+        hash ^= ZobristHash.key(-4, ZobristHash.of(gamePhase));
+        hash ^= ZobristHash.key(-5, ZobristHash.of(gameStatus));
+        hash ^= ZobristHash.key(-6, Arrays.hashCode(playerResults));
+        if (!actionsInProgress.isEmpty())
+            hash ^= ZobristHash.key(-7, actionsInProgress.hashCode());
+        return hash ^ ZobristHash.key(-8, gameHash);
+    }
+
+    /**
+     * Hash of any game state not held in the components returned by _getAllComponents(), for getZobristHash().
+     * The default uses hashCode(), which is always correct, but may be slow; games that keep all their
+     * state in components (or that can track it incrementally) should override this.
+     */
+    protected long _getZobristHash() {
+        return hashCode();
+    }
+
+    /**
+     * As _getZobristHash(), for computeZobristHash(); games that keep the hash of their other state incrementally
+     * should override this to calculate it in full.
+     */
+    protected long _computeZobristHash() {
+        return _getZobristHash();
+    }
+
+    /**
+     * Games should override this to return true if:
+     * - all their state is in the components returned by _getAllComponents(), except for whatever _getZobristHash()
+     * covers cheaply (it must not use the default hashCode())
+     * - those components maintain their own hashes (as Deck, GridBoard, Counter and Token do, see
+     * Component.getZobristHash()), and
+     * - they are created when the game is set up, and from then on are only changed, never replaced.
+     * The list of top-level components is then kept between calls to getZobristHash(), which is cheap enough to
+     * use as a search key.
+     * <p>
+     * This is opt-in, as most games keep some of their state in plain fields or collections. At present only
+     * Tic-Tac-Toe, Connect 4 and Dots and Boxes opt in; a game that does should check (as ZobristHashTest does)
+     * that getZobristHash() and computeZobristHash() agree throughout random games.
+     */
+    public boolean hasZobristHash() {
+        return false;
+    }
+
     /**
      * Override the hashCode as needed for individual game states
      * (It is OK for two java objects to be not equal and have the same hashcode)
@@ -1,6 +1,7 @@
 package core;
 
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.interfaces.IPlayerDecorator;
 import evaluation.metrics.Event;
 import players.PlayerParameters;
@@ -70,6 +71,39 @@ public abstract class AbstractPlayer {
 
     }
 
+    /**
+     * As getAction(gameState, forwardModel.computeAvailableActions(gameState, actionSpace)), but a player that just
+     * picks uniformly at random (see choosesUniformlyAtRandom()) and has no decorators will pick from the forward
+     * model's indexed actions instead, if the game supports them, and so avoid creating the whole list.
+     * This makes the same calls on rnd, and so returns the same action, either way.
+     * Used for rollouts, where this is called once for every action.
+     */
+    public final AbstractAction getAction(AbstractGameState gameState, AbstractForwardModel forwardModel, ActionSpace actionSpace) {
+        if (decorators.isEmpty() && choosesUniformlyAtRandom()) {
+            int n = forwardModel.countAvailableActions(gameState, actionSpace);
+            if (n >= 0) {
+                int k = switch (n) {
+                    case 0 -> throw new AssertionError("No actions available for player " + this);
+                    case 1 -> 0;
+                    default -> {
+                        gameState.rnd = this.rnd;
+                        yield rnd.nextInt(n);
+                    }
+                };
+                return forwardModel.getAvailableAction(gameState, actionSpace, k);
+            }
+        }
+        return getAction(gameState, forwardModel.computeAvailableActions(gameState, actionSpace));
+    }
+
+    /**
+     * @return true if _getAction() is always actions.get(rnd.nextInt(actions.size())), so that getAction() can
+     * sample from indexed actions rather than a list
+     */
+    protected boolean choosesUniformlyAtRandom() {
+        return false;
+    }
+
     /**
      * Sets the forward model for the current environment.
      * This is used by Game, and also when an AbstractPlayer is a component of another agent
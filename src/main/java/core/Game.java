@@ -190,6 +190,21 @@ public class Game {
     public static void runMany(List<GameType> gamesToPlay, List<AbstractPlayer> players, Long seed,
                                int nRepetitions, boolean randomizeParameters,
                                boolean detailedStatistics, List<IGameListener> listeners, int turnPause) {
+        runMany(gamesToPlay, players, seed, nRepetitions, randomizeParameters, detailedStatistics, listeners, turnPause, 1);
+    }
+
+    /**
+     * Runs several games with a given random seed, optionally spread over several threads.
+     * The seed for each repetition is drawn up front from a Random seeded with seed, and each game is played by
+     * copies of the players seeded from that, so the result of each game depends only on the seed and its
+     * position, and not on the number of threads. If nThreads > 1 then turnPause is ignored. See ParallelGameRunner
+     * for details.
+     *
+     * @param nThreads - number of threads to use. 1 runs all games in sequence on the calling thread.
+     */
+    public static void runMany(List<GameType> gamesToPlay, List<AbstractPlayer> players, Long seed,
+                               int nRepetitions, boolean randomizeParameters,
+                               boolean detailedStatistics, List<IGameListener> listeners, int turnPause, int nThreads) {
         int nPlayers = players.size();
 
         // Save win rate statistics over all games
@@ -212,23 +227,34 @@ public class Game {
             }
 
             // Play n repetitions of this game and record player results
-            Game game = null;
-            int offset = 0;
-            for (int i = 0; i < nRepetitions; i++) {
-                Long s = seed;
-                if (s == null) s = System.currentTimeMillis();
-                s += offset;
-                game = runOne(gt, null, players, s, randomizeParameters, listeners, null, turnPause);
-                if (game != null) {
-                    recordPlayerResults(statSummaries, game);
-                    offset = game.getGameState().getRoundCounter() * game.getGameState().getNPlayers();
-                } else {
-                    break;
+            boolean played = false;
+            Random seedRnd = new Random(seed == null ? System.currentTimeMillis() : seed);
+            long[] seeds = new long[nRepetitions];
+            for (int i = 0; i < nRepetitions; i++)
+                seeds[i] = seedRnd.nextLong();
+            if (nThreads > 1) {
+                int[] nFinished = new int[1];
+                new ParallelGameRunner(nThreads).run(gt, null, players, seeds, randomizeParameters, listeners,
+                        g -> g.getGameState().getPlayerResults().clone(), results -> {
+                            recordPlayerResults(statSummaries, results);
+                            nFinished[0]++;
+                        });
+                played = nFinished[0] > 0;
+            } else {
+                for (int i = 0; i < nRepetitions; i++) {
+                    Game game = runOne(gt, null, ParallelGameRunner.copyPlayers(players, seeds[i]), seeds[i],
+                            randomizeParameters, listeners, null, turnPause);
+                    if (game != null) {
+                        played = true;
+                        recordPlayerResults(statSummaries, game);
+                    } else {
+                        break;
+                    }
+//                    System.out.println("Game " + i + "/" + nRepetitions);
                 }
-//                System.out.println("Game " + i + "/" + nRepetitions);
             }
 
-            if (game != null) {
+            if (played) {
                 System.out.println("---------------------");
                 for (int i = 0; i < nPlayers; i++) {
                     // Print statistics for this game
@@ -268,6 +294,18 @@ public class Game {
      */
     public static void runMany(List<GameType> gamesToPlay, List<AbstractPlayer> players, int nRepetitions,
                                long[] seeds, ActionController ac, boolean randomizeParameters, List<IGameListener> listeners, int turnPause) {
+        runMany(gamesToPlay, players, nRepetitions, seeds, ac, randomizeParameters, listeners, turnPause, 1);
+    }
+
+    /**
+     * As runMany() above, but with the games for each game type spread over several threads.
+     * If nThreads > 1 then turnPause is ignored. See ParallelGameRunner for details.
+     *
+     * @param nThreads - number of threads to use. 1 runs all games in sequence on the calling thread.
+     */
+    public static void runMany(List<GameType> gamesToPlay, List<AbstractPlayer> players, int nRepetitions,
+                               long[] seeds, ActionController ac, boolean randomizeParameters, List<IGameListener> listeners,
+                               int turnPause, int nThreads) {
         int nPlayers = players.size();
 
         // Save win rate statistics over all games
@@ -286,10 +324,18 @@ public class Game {
             }
 
             // Play n repetitions of this game and record player results
-            for (int i = 0; i < nRepetitions; i++) {
-                Game game = runOne(gt, null, players, seeds[i], randomizeParameters, listeners, null, turnPause);
-                if (game != null) {
-                    recordPlayerResults(statSummaries, game);
+            if (nThreads > 1) {
+                new ParallelGameRunner(nThreads).run(gt, null, players, Arrays.copyOf(seeds, nRepetitions),
+                        randomizeParameters, listeners, g -> g.getGameState().getPlayerResults().clone(),
+                        results -> recordPlayerResults(statSummaries, results));
+            } else {
+                for (int i = 0; i < nRepetitions; i++) {
+                    // seeded copies of the players, as for parallel games, so that results do not depend on nThreads
+                    Game game = runOne(gt, null, ParallelGameRunner.copyPlayers(players, seeds[i]), seeds[i],
+                            randomizeParameters, listeners, null, turnPause);
+                    if (game != null) {
+                        recordPlayerResults(statSummaries, game);
+                    }
                 }
             }
 
@@ -318,8 +364,11 @@ public class Game {
      * @param game          - finished game
      */
     public static void recordPlayerResults(TAGNumericStatSummary[] statSummaries, Game game) {
+        recordPlayerResults(statSummaries, game.getGameState().getPlayerResults());
+    }
+
+    public static void recordPlayerResults(TAGNumericStatSummary[] statSummaries, CoreConstants.GameResult[] results) {
         int nPlayers = statSummaries.length;
-        CoreConstants.GameResult[] results = game.getGameState().getPlayerResults();
         for (int p = 0; p < nPlayers; p++) {
             if (results[p] == CoreConstants.GameResult.WIN_GAME || results[p] == CoreConstants.GameResult.LOSE_GAME || results[p] == CoreConstants.GameResult.DRAW_GAME) {
                 statSummaries[p].add(results[p].value);
@@ -359,6 +408,7 @@ public class Game {
      * @param newRandomSeed - random seed is updated in the game parameters object and used throughout the game.
      */
     public final void reset(List<AbstractPlayer> players, long newRandomSeed) {
+        listeners.forEach(IGameListener::beforeStateChange);
         gameState.reset(newRandomSeed);
         forwardModel.abstractSetup(gameState);
         if (players.size() == gameState.getNPlayers()) {
@@ -557,6 +607,9 @@ public class Game {
             ((IPrintable) observation).printToConsole();
         }
 
+        // Listeners may still be reading the state from the last ACTION_TAKEN event; nothing has changed it yet
+        listeners.forEach(IGameListener::beforeStateChange);
+
         // Start the timer for this decision
         gameState.playerTimer[activePlayer].resume();
 
@@ -589,7 +642,8 @@ public class Game {
             }
             // We publish an ACTION_CHOSEN message before we implement the action, so that observers can record the state that led to the decision
             AbstractAction finalAction = action;
-            listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_CHOSEN, gameState, finalAction, activePlayer)));
+            Timings chosenTimings = getTimings();
+            listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_CHOSEN, gameState, finalAction, activePlayer, chosenTimings)));
 
         } else {
             currentPlayer.registerUpdatedObservation(observation);
@@ -621,7 +675,8 @@ public class Game {
         // We publish an ACTION_TAKEN message once the action is taken so that observers can record the result of the action
         // (such as the next player)
         AbstractAction finalAction1 = action;
-        listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_TAKEN, gameState, finalAction1.copy(), activePlayer)));
+        Timings takenTimings = getTimings();
+        listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_TAKEN, gameState, finalAction1.copy(), activePlayer, takenTimings)));
 
         if (debug) System.out.printf("Finishing oneAction for player %s%n", activePlayer);
         return action;
@@ -637,6 +692,7 @@ public class Game {
         }
 
         // Perform any end of game computations as required by the game
+        listeners.forEach(IGameListener::beforeStateChange);
         forwardModel.endGame(gameState);
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, gameState)));
         if (gameState.coreGameParameters.recordEventHistory) {
@@ -701,6 +757,17 @@ public class Game {
         return nextTime;
     }
 
+    /**
+     * The timer values (in nanoseconds) after the last decision, as attached to ACTION_CHOSEN and ACTION_TAKEN events,
+     * so that listeners do not need to read them from the Game (which may have moved on, if they run asynchronously).
+     */
+    public record Timings(double next, double copy, double agent, double actionCompute) {
+    }
+
+    public Timings getTimings() {
+        return new Timings(nextTime, copyTime, agentTime, actionComputeTime);
+    }
+
     /**
      * Retrieves the action compute timer value, i.e. how long the forward model took to compute the available actions
      * in a game state.
@@ -0,0 +1,149 @@
+package core;
+
+import evaluation.listeners.IGameListener;
+import games.GameType;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a batch of independent games on a pool of worker threads.
+ * <p>
+ * Each game is given its own copies of the players (re-seeded from the game seed), and its own Game, and hence
+ * its own game state and forward model. The result of any one game therefore depends only on its seed, and not on
+ * the number of threads or on the order in which games happen to be scheduled.
+ * <p>
+ * Listeners are supported if they implement IGameListener.emptyCopy() and merge(). Each game then records to its
+ * own empty copy of every listener, and these are merged back into the original listeners strictly in the order
+ * of the seeds provided, so that the final output is the same as if the games had been run one after another.
+ * If any listener does not support this (see IGameListener.supportsParallelGames()), then the games are run
+ * sequentially on the calling thread instead; this is decided before any game starts.
+ * <p>
+ * A finished game is reduced to a summary (e.g. the player results) on the thread that ran it, so only the
+ * summary and the listener copies are held while waiting for earlier games to finish, and not the whole Game.
+ */
+public class ParallelGameRunner {
+
+    private final int nThreads;
+
+    // Finished games waiting for all the games before them to finish, indexed by position in the seed array
+    private final Map<Integer, FinishedGame<?>> pending = new HashMap<>();
+    private int nextToMerge;
+
+    private record FinishedGame<R>(R summary, List<IGameListener> listeners) {
+    }
+
+    /**
+     * @param nThreads - number of worker threads to use. If 1 or less, all games are run on the calling thread.
+     */
+    public ParallelGameRunner(int nThreads) {
+        this.nThreads = nThreads;
+    }
+
+    public int getNThreads() {
+        return nThreads;
+    }
+
+    /**
+     * Runs one game for each of the seeds provided, and blocks until they are all complete.
+     *
+     * @param gameToPlay          - game to play
+     * @param parameterConfigFile - JSON file with game parameters, or null to use the defaults
+     * @param players             - players for each game; these are copied for each game, and are not used directly
+     * @param seeds               - random seed for each game. One game is run per seed.
+     * @param randomizeParameters - if true, parameters are randomized for each game (if possible)
+     * @param listeners           - listeners to record data from the games (may be null)
+     * @param summariser          - reduces each finished game to the data needed by onGameOver; this is called
+     *                              on the thread that ran the game, as soon as it finishes
+     * @param onGameOver          - called once with the summary of each finished game, in the same order as the
+     *                              seeds, and always from one thread at a time (may be null)
+     */
+    public <R> void run(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players, long[] seeds,
+                        boolean randomizeParameters, List<IGameListener> listeners,
+                        Function<Game, R> summariser, Consumer<R> onGameOver) {
+        List<IGameListener> allListeners = listeners == null ? Collections.emptyList() : listeners;
+        boolean parallel = nThreads > 1 && seeds.length > 1;
+        for (IGameListener listener : allListeners) {
+            if (parallel && !IGameListener.supportsParallelGames(listener)) {
+                System.out.println("Listener " + listener.getClass().getSimpleName() + " does not support parallel games; running sequentially");
+                parallel = false;
+            }
+        }
+
+        if (!parallel) {
+            for (long seed : seeds) {
+                // the players are copied and seeded just as they are for parallel games, so that results are the same
+                Game game = Game.runOne(gameToPlay, parameterConfigFile, copyPlayers(players, seed), seed,
+                        randomizeParameters, allListeners, null, 0);
+                if (game == null)
+                    break;
+                if (onGameOver != null)
+                    onGameOver.accept(summariser.apply(game));
+            }
+            return;
+        }
+
+        pending.clear();
+        nextToMerge = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < seeds.length; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    List<IGameListener> gameListeners = new ArrayList<>();
+                    for (IGameListener listener : allListeners)
+                        gameListeners.add(listener.emptyCopy());
+                    List<AbstractPlayer> gamePlayers = copyPlayers(players, seeds[index]);
+                    Game game = Game.runOne(gameToPlay, parameterConfigFile, gamePlayers, seeds[index],
+                            randomizeParameters, gameListeners, null, 0);
+                    R summary = game == null || onGameOver == null ? null : summariser.apply(game);
+                    gameFinished(index, new FinishedGame<>(summary, gameListeners), allListeners, onGameOver);
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running games in parallel", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error running game in parallel", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates copies of the players for one game. Each copy is seeded from the game seed (and its position),
+     * so that results do not depend on which worker happens to run the game.
+     */
+    public static List<AbstractPlayer> copyPlayers(List<AbstractPlayer> players, long seed) {
+        List<AbstractPlayer> retValue = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) {
+            AbstractPlayer copy = players.get(i).copy();
+            copy.rnd = new Random(seed + 31L * (i + 1));
+            retValue.add(copy);
+        }
+        return retValue;
+    }
+
+    /**
+     * Records a finished game, and then merges into the original listeners every finished game for which
+     * all earlier games have also finished. This keeps the merged data in seed order.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <R> void gameFinished(int index, FinishedGame<R> finished, List<IGameListener> listeners,
+                                               Consumer<R> onGameOver) {
+        pending.put(index, finished);
+        while (pending.containsKey(nextToMerge)) {
+            FinishedGame<R> next = (FinishedGame<R>) pending.remove(nextToMerge);
+            for (int i = 0; i < listeners.size(); i++)
+                listeners.get(i).merge(next.listeners.get(i));
+            if (onGameOver != null && next.summary != null)
+                onGameOver.accept(next.summary);
+            nextToMerge++;
+        }
+    }
+}
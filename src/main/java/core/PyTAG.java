@@ -12,6 +12,7 @@ import games.loveletter.features.LLStateFeaturesReduced;
 import games.stratego.StrategoFeatures;
 import games.sushigo.SGFeatures;
 import games.tictactoe.TTTFeatures;
+import games.tictactoe.TicTacToeGameParameters;
 import org.json.simple.JSONObject;
 import players.human.HumanGUIPlayer;
 import players.python.PythonAgent;
@@ -21,6 +22,8 @@ import utilities.ActionTreeNode;
 import games.explodingkittens.*;
 
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -130,6 +133,10 @@ public class PyTAG {
 
         assert game != null;
 
+        // the TicTacToe features depend on the size of the board, which is a game parameter
+        if (stateVectoriser instanceof TTTFeatures && game.getGameState().getGameParameters() instanceof TicTacToeGameParameters tttParams)
+            stateVectoriser = new TTTFeatures(tttParams.gridSize);
+
         if (this.stateVectoriser == null && this.stateJSONiser == null){
             throw new Exception("Game does not implement the state feature vector or JSON interface");
         }
@@ -257,6 +264,10 @@ public class PyTAG {
         return gameState.getGameScore(gameState.getCurrentPlayer());
     }
 
+    public double getReward(int playerID){
+        return gameState.getGameScore(playerID);
+    }
+
     public List<AbstractAction> getActions(){
         return availableActions;
     }
@@ -311,41 +322,72 @@ public class PyTAG {
             activePlayer = gameState.getCurrentPlayer();
             currentPlayer = players.get(gameState.getCurrentPlayer());
         }
-        return false;
+        // the last action may have ended the game, with the Python agent as the current player
+        return isDone();
     }
 
 
     public AbstractGameState step(int actionId) throws Exception{
         // execute action and loop until an RL agent is required to make a decision
-        if (isDone()){
-            throw new Exception("Need to reset the environment after each finished episode");
-        } else if (this.gameState == null){
+        boolean decisionNeeded = advance(actionId);
+        AbstractGameState observation = gameState.copy(gameState.getCurrentPlayer());
+        if (decisionNeeded) {
+            // Compute the updated available actions
+            this.availableActions = forwardModel.computeAvailableActions(observation);
+        }
+        return observation;
+    }
+
+    /**
+     * As step(), but without copying the state to return (or computing the list of available actions); the action
+     * tree (and hence the action mask) is still updated. Used by VectorPyTAG.
+     *
+     * @return true if the Python agent now needs to make a decision, false if the game is over
+     */
+    boolean advance(int actionId) throws Exception {
+        if (this.gameState == null){
             throw new Exception("Need to reset the environment before calling step");
+        } else if (isDone()){
+            throw new Exception("Need to reset the environment after each finished episode");
         }
         // executes the seleted actions
         executeAction(actionId);
         if (isDone()){
             // check if the game has just ended
-            // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            return false;
         }
 
         // update game until RL agent is required to make a decision - if game is over in the mean time returns isTerminal
         boolean isTerminal = nextDecision();
         if (isTerminal){
             // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            return false;
         }
 
-        int activePlayer = gameState.getCurrentPlayer();
-        AbstractGameState observation = gameState.copy(activePlayer);
-
-        // Compute the updated available actions and the action tree
-        this.availableActions = forwardModel.computeAvailableActions(observation);
         this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
         this.leaves = root.getLeafNodes();
+        return true;
+    }
 
-        return observation;
+    /**
+     * Writes the observation vector (as getObservationVector()) into buffer, starting at index. This does not need
+     * the per-step copy of the state or array of features if the game's IStateFeatureVector can avoid them.
+     */
+    void writeObservation(DoubleBuffer buffer, int index) throws Exception {
+        if (stateVectoriser == null)
+            throw new Exception("Observation vectoriser function is not implemented");
+        int player = gameState.getCurrentPlayer();
+        // the copy is only needed if the features might otherwise include something the player cannot see
+        AbstractGameState gs = stateVectoriser.readsHiddenInformation() ? gameState.copy(player) : gameState;
+        stateVectoriser.featureVector(gs, player, buffer, index);
+    }
+
+    /**
+     * Writes the action mask (as getActionMask()) into buffer, starting at index
+     */
+    void writeActionMask(IntBuffer buffer, int index) {
+        for (int i = 0; i < leaves.size(); i++)
+            buffer.put(index + i, leaves.get(i).getValue());
     }
 
     public int getTick(){
@@ -0,0 +1,49 @@
+package core;
+
+import core.interfaces.IGamePhase;
+import utilities.ElapsedCpuChessTimer;
+
+/**
+ * Everything needed to reverse one call of AbstractForwardModel.nextWithUndo().
+ * <p>
+ * This holds the generic parts of AbstractGameState that next() can change (tick, turn and round counters,
+ * game status and phase, history and timers), plus whatever game-specific data the forward model returned
+ * from _recordUndo(). It is only valid for the state it was created from, and only while that state is in the
+ * position immediately after the action; records must be undone in reverse order.
+ */
+public final class UndoRecord {
+
+    final Object gameData;
+
+    final int tick;
+    final int roundCounter, turnCounter, turnOwner, firstPlayer;
+    final CoreConstants.GameResult gameStatus;
+    final CoreConstants.GameResult[] playerResults;
+    final IGamePhase gamePhase;
+    final int historySize, historyTextSize;
+    final ElapsedCpuChessTimer[] playerTimer;
+
+    UndoRecord(AbstractGameState state, Object gameData) {
+        this.gameData = gameData;
+        tick = state.getGameTick();
+        roundCounter = state.roundCounter;
+        turnCounter = state.turnCounter;
+        turnOwner = state.turnOwner;
+        firstPlayer = state.firstPlayer;
+        gameStatus = state.gameStatus;
+        playerResults = state.playerResults.clone();
+        gamePhase = state.gamePhase;
+        historySize = state.historySize();
+        historyTextSize = state.historyTextSize();
+        playerTimer = new ElapsedCpuChessTimer[state.playerTimer.length];
+        for (int i = 0; i < playerTimer.length; i++)
+            playerTimer[i] = state.playerTimer[i].copy();
+    }
+
+    /**
+     * @return the game-specific data from AbstractForwardModel._recordUndo()
+     */
+    public Object getGameData() {
+        return gameData;
+    }
+}
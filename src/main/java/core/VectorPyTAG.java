@@ -0,0 +1,211 @@
+package core;
+
+import games.GameType;
+
+import java.nio.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A vectorised version of PyTAG, which steps nEnvs independent games at once (on a pool of worker threads).
+ * <p>
+ * Rather than returning a new array (or state) from every call, everything the Python side needs after a step is
+ * written into a set of direct ByteBuffers, allocated once, which can be wrapped as numpy arrays without copying
+ * (for example with JPype's memoryview support). All are in native byte order, with one row per environment:
+ * <ul>
+ * <li>observations: nEnvs x getObservationSpace() doubles (from the game's IStateFeatureVector)</li>
+ * <li>actionMasks: nEnvs x getActionSpace() ints (1 if the action is currently valid)</li>
+ * <li>rewards: nEnvs doubles; the score of the player that acted in the step</li>
+ * <li>dones: nEnvs bytes; 1 if the game finished in the step</li>
+ * <li>playerIDs: nEnvs ints; the player who is to decide next</li>
+ * </ul>
+ * An environment whose game finishes is reset at once, so after a step the observation and action mask of a done
+ * environment are those of the first decision of its next game (its reward is still that of the game just finished).
+ * This means that every environment always has a decision to make, and step() always takes one action for each.
+ * <p>
+ * Each environment has its own copies of the players, seeded from its game seed; as in PyTAG, a PythonAgent marks where a decision is needed.
+ */
+public class VectorPyTAG implements AutoCloseable {
+
+    private final List<PyTAG> envs = new ArrayList<>();
+    private final int nEnvs;
+    private final int observationSpace;
+    private int actionSpace;
+    private final ExecutorService executor;
+
+    private final ByteBuffer observationBytes, rewardBytes, dones, playerIDBytes;
+    private ByteBuffer actionMaskBytes;
+    private final DoubleBuffer observations, rewards;
+    private final IntBuffer playerIDs;
+    private IntBuffer actionMasks;
+
+    /**
+     * @param nThreads the number of worker threads; if this is 1 or less, then all games are stepped on the calling
+     *                 thread
+     */
+    public VectorPyTAG(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players, long seed,
+                       boolean isNormalized, int nEnvs, int nThreads) throws Exception {
+        if (nEnvs < 1)
+            throw new IllegalArgumentException("Need at least one environment, not " + nEnvs);
+        this.nEnvs = nEnvs;
+        Random seedRandom = new Random(seed);
+        for (int i = 0; i < nEnvs; i++) {
+            long envSeed = seedRandom.nextLong();
+            // the other environments' players are reseeded, so that they do not all play the same moves
+            List<AbstractPlayer> envPlayers = i == 0 ? players : ParallelGameRunner.copyPlayers(players, envSeed);
+            envs.add(new PyTAG(gameToPlay, parameterConfigFile, envPlayers, envSeed, isNormalized));
+        }
+        observationSpace = envs.get(0).getObservationSpace();
+        if (observationSpace == 0)
+            throw new IllegalArgumentException("VectorPyTAG needs a state feature vector, which is not implemented for " + gameToPlay);
+        executor = nThreads > 1 ? Executors.newFixedThreadPool(Math.min(nThreads, nEnvs)) : null;
+
+        observationBytes = allocate(nEnvs * observationSpace * Double.BYTES);
+        observations = observationBytes.asDoubleBuffer();
+        rewardBytes = allocate(nEnvs * Double.BYTES);
+        rewards = rewardBytes.asDoubleBuffer();
+        dones = allocate(nEnvs);
+        playerIDBytes = allocate(nEnvs * Integer.BYTES);
+        playerIDs = playerIDBytes.asIntBuffer();
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Resets all environments, and writes their first observations and action masks into the buffers.
+     */
+    public void reset() throws Exception {
+        forEachEnv(i -> {
+            startEpisode(envs.get(i));
+            rewards.put(i, 0.0);
+            dones.put(i, (byte) 0);
+        });
+        // the size of the action tree is only known once a game has been set up
+        if (actionMasks == null) {
+            actionSpace = envs.get(0).getActionSpace();
+            actionMaskBytes = allocate(nEnvs * actionSpace * Integer.BYTES);
+            actionMasks = actionMaskBytes.asIntBuffer();
+        }
+        forEachEnv(this::writeDecision);
+    }
+
+    /**
+     * Takes one action in every environment (actions[i] is the index in the action mask for environment i), and
+     * then plays the other players' actions until the Python agent needs to decide again. Environments whose games
+     * finish are reset.
+     */
+    public void step(int[] actions) throws Exception {
+        if (actions.length != nEnvs)
+            throw new IllegalArgumentException("Need one action for each of the " + nEnvs + " environments, not " + actions.length);
+        if (actionMasks == null)
+            throw new IllegalStateException("Need to reset the environments before calling step");
+        forEachEnv(i -> {
+            PyTAG env = envs.get(i);
+            int actingPlayer = env.getPlayerID();
+            boolean done = !env.advance(actions[i]);
+            rewards.put(i, env.getReward(actingPlayer));
+            dones.put(i, (byte) (done ? 1 : 0));
+            if (done)
+                startEpisode(env);
+            writeDecision(i);
+        });
+    }
+
+    /**
+     * Resets the environment until the Python agent has a decision to make; the other players can finish the game
+     * before then (e.g. in Love Letter), and a finished game cannot be stepped.
+     */
+    private static void startEpisode(PyTAG env) {
+        do {
+            env.reset();
+        } while (env.isDone());
+    }
+
+    private void writeDecision(int i) throws Exception {
+        PyTAG env = envs.get(i);
+        env.writeObservation(observations, i * observationSpace);
+        env.writeActionMask(actionMasks, i * actionSpace);
+        playerIDs.put(i, env.getPlayerID());
+    }
+
+    private interface EnvTask {
+        void run(int envIndex) throws Exception;
+    }
+
+    private void forEachEnv(EnvTask task) throws Exception {
+        if (executor == null) {
+            for (int i = 0; i < nEnvs; i++)
+                task.run(i);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(nEnvs);
+        for (int i = 0; i < nEnvs; i++) {
+            int envIndex = i;
+            futures.add(executor.submit(() -> {
+                task.run(envIndex);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures)
+                future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public int getNumEnvs() {
+        return nEnvs;
+    }
+
+    public int getObservationSpace() {
+        return observationSpace;
+    }
+
+    // Only known after the first reset()
+    public int getActionSpace() {
+        return actionSpace;
+    }
+
+    public ByteBuffer getObservationBuffer() {
+        return observationBytes;
+    }
+
+    public ByteBuffer getActionMaskBuffer() {
+        return actionMaskBytes;
+    }
+
+    public ByteBuffer getRewardBuffer() {
+        return rewardBytes;
+    }
+
+    public ByteBuffer getDoneBuffer() {
+        return dones;
+    }
+
+    public ByteBuffer getPlayerIDBuffer() {
+        return playerIDBytes;
+    }
+
+    /**
+     * @return the single environment i, for anything not covered by the buffers (e.g. getObservationJson())
+     */
+    public PyTAG getEnv(int i) {
+        return envs.get(i);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null)
+            executor.shutdownNow();
+    }
+}
@@ -12,6 +12,8 @@ public class Area extends Component implements IComponentContainer<Component> {
 
     // Collection of components stored in this area, mapping to their IDs
     protected HashMap<Integer, Component> components;
+    // true if the map may be shared with a copy of this Area, in which case we copy it before changing it
+    private boolean sharedMap;
 
     public Area(int owner, String name) {
         super(CoreConstants.ComponentType.AREA, "");
@@ -25,16 +27,39 @@ public class Area extends Component implements IComponentContainer<Component> {
         this.ownerId = owner;
     }
 
+    /**
+     * Copies the Area and all its contents. If all the contents are immutable (their copy() returns
+     * themselves), then the map is shared with the copy until one of them changes it.
+     */
     public Area copy() {
         Area new_area = new Area(ownerId, componentName, componentID);
-        new_area.components = new HashMap<>();
+        HashMap<Integer, Component> newComponents = null;
         for (Map.Entry<Integer, Component> c: this.components.entrySet()){
-            new_area.components.put(c.getKey(), c.getValue().copy());
+            Component copy = c.getValue().copy();
+            if (newComponents == null && copy != c.getValue()) {
+                newComponents = new HashMap<>(components);
+            }
+            if (newComponents != null)
+                newComponents.put(c.getKey(), copy);
+        }
+        if (newComponents == null) {
+            new_area.components = components;
+            new_area.sharedMap = true;
+            sharedMap = true;
+        } else {
+            new_area.components = newComponents;
         }
         copyComponentTo(new_area);
         return new_area;
     }
 
+    private void ensureOwnMap() {
+        if (sharedMap) {
+            components = new HashMap<>(components);
+            sharedMap = false;
+        }
+    }
+
     /**
      * This is used to avoid a full recursive copy of all the contents of an area
      * This can be useful when we need for other reasons to copy those locally, and it
@@ -52,7 +77,12 @@ public class Area extends Component implements IComponentContainer<Component> {
      * Clears the collection of components.
      */
     public void clear() {
-        components.clear();
+        if (sharedMap) {
+            components = new HashMap<>();
+            sharedMap = false;
+        } else {
+            components.clear();
+        }
     }
 
     /**
@@ -60,6 +90,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      * @return - HashMap, components mapped to their IDs
      */
     public HashMap<Integer, Component> getComponentsMap() {
+        ensureOwnMap();
         return this.components;
     }
 
@@ -88,6 +119,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      * @param component - component to add to the collection.
      */
     public void putComponent(Integer key, Component component) {
+        ensureOwnMap();
         this.components.put(key, component);
     }
 
@@ -96,6 +128,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      * @param component - component to add to the collection.
      */
     public void putComponent(Component component) {
+        ensureOwnMap();
         this.components.put(component.getComponentID(), component);
         if (component instanceof IComponentContainer) {
             for (Component nestedC : ((IComponentContainer<?>) component).getComponents()) {
@@ -110,6 +143,7 @@ public class Area extends Component implements IComponentContainer<Component> {
         if (component instanceof Deck || component instanceof Area)
             throw new IllegalArgumentException("Not yet implemented for Decks or Areas");
         if (components.containsKey(component.componentID)) {
+            ensureOwnMap();
             this.components.remove(component.componentID);
         } else {
             throw new IllegalArgumentException("Cannot remove Component as it is not here : " + component.componentID);
@@ -10,10 +10,21 @@ import java.util.HashSet;
 
 public class BoardNode extends Component {
 
-    protected HashSet<BoardNode> neighbours;  // Neighbours of this board node
+    protected volatile HashSet<BoardNode> neighbours;  // Neighbours of this board node
     private HashMap<BoardNode, Integer> neighbourSideMapping;  // Neighbours mapping to a side of this board node
     protected int maxNeighbours;  // Maximum number of neighbours for this board node
 
+    // The neighbours by component ID, which are shared by this node and all its copies (made by GraphBoard.copy())
+    // until the neighbours are changed. For a copy, neighbours is only filled in from these, using the copy's board,
+    // when it is first needed; so copying a board does not need to re-link all its nodes. The original's links are
+    // set by its first copy, so this is volatile, as copies may be made on other threads.
+    private volatile Links links;
+    private GraphBoard board;
+
+    // sides[i] is the side of neighbour ids[i], or -1 if it has none
+    private record Links(int[] ids, int[] sides) {
+    }
+
     public BoardNode(int maxNeighbours, String name) {
         super(CoreConstants.ComponentType.BOARD_NODE, name);
         this.maxNeighbours = maxNeighbours;
@@ -37,6 +48,8 @@ public class BoardNode extends Component {
      * @param neighbour - new neighbour of this node.
      */
     public void addNeighbour(BoardNode neighbour) {
+        resolveNeighbours();
+        links = null;
         if (neighbours.size() <= maxNeighbours || maxNeighbours == -1) {
             neighbours.add(neighbour);
         }
@@ -48,6 +61,8 @@ public class BoardNode extends Component {
      * @return - true if removed successfully, false otherwise. may fail if neighbour didn't exist in the first place.
      */
     public boolean removeNeighbour(BoardNode neighbour) {
+        resolveNeighbours();
+        links = null;
         if (neighbours.contains(neighbour)) {
             neighbours.remove(neighbour);
             neighbourSideMapping.remove(neighbour);
@@ -63,6 +78,8 @@ public class BoardNode extends Component {
      * @return - true if added successfully, false otherwise. may fail if too many neighbours added already.
      */
     public boolean addNeighbour(BoardNode neighbour, int side) {
+        resolveNeighbours();
+        links = null;
         if (neighbours.size() <= maxNeighbours && side <= maxNeighbours || maxNeighbours == -1) {
             if (!(neighbours.contains(neighbour)) && !(neighbourSideMapping.containsKey(neighbour))) {
                 neighbours.add(neighbour);
@@ -87,6 +104,7 @@ public class BoardNode extends Component {
      * @return the neighbours of this node.
      */
     public HashSet<BoardNode> getNeighbours() {
+        resolveNeighbours();
         return neighbours;
     }
 
@@ -94,9 +112,55 @@ public class BoardNode extends Component {
      * @return the neighbours mapping to sides of this node.
      */
     public HashMap<BoardNode, Integer> getNeighbourSideMapping() {
+        resolveNeighbours();
         return neighbourSideMapping;
     }
 
+    /**
+     * Makes this node (a copy of original, on the given board) share the neighbours of the original, which are then
+     * found on the board when they are first needed.
+     */
+    void shareNeighbours(BoardNode original, GraphBoard board) {
+        Links shared = original.links;
+        if (shared == null) {
+            HashSet<BoardNode> originalNeighbours = original.getNeighbours();
+            int[] ids = new int[originalNeighbours.size()];
+            int[] sides = new int[ids.length];
+            int i = 0;
+            for (BoardNode n : originalNeighbours) {
+                ids[i] = n.componentID;
+                sides[i++] = original.neighbourSideMapping.getOrDefault(n, -1);
+            }
+            shared = new Links(ids, sides);
+            // this stays valid until the original's neighbours are changed
+            original.links = shared;
+        }
+        links = shared;
+        this.board = board;
+        neighbourSideMapping = null;
+        neighbours = null;
+    }
+
+    private void resolveNeighbours() {
+        if (neighbours == null) {
+            synchronized (this) {
+                if (neighbours == null) {
+                    HashSet<BoardNode> resolved = new HashSet<>();
+                    HashMap<BoardNode, Integer> sides = new HashMap<>();
+                    for (int i = 0; i < links.ids.length; i++) {
+                        BoardNode n = board.getNodeByID(links.ids[i]);
+                        if (n == null) continue;  // no longer on the board
+                        resolved.add(n);
+                        if (links.sides[i] >= 0)
+                            sides.put(n, links.sides[i]);
+                    }
+                    neighbourSideMapping = sides;
+                    neighbours = resolved;
+                }
+            }
+        }
+    }
+
     /**
      * @return - maximum number of neighbours for this board node.
      */
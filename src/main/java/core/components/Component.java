@@ -4,6 +4,7 @@ import core.properties.*;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import core.CoreConstants.ComponentType;
+import utilities.ZobristHash;
 
 import java.util.*;
 
@@ -51,6 +52,25 @@ public abstract class Component {
     public abstract Component copy();
     public Component copy(int playerId) { return copy(); }
 
+    /**
+     * A 64-bit hash of the current state of this component, for use in transposition tables (see ZobristStateKey).
+     * Containers (Deck, GridBoard) keep this up to date incrementally as they are changed, so it is cheap to call.
+     * <p>
+     * The default uses hashCode() and the properties of the component. Subclasses whose state is held in other
+     * fields should override this if their hashCode() does not cover that state.
+     */
+    public long getZobristHash() {
+        return ZobristHash.mix(31L * hashCode() + properties.hashCode());
+    }
+
+    /**
+     * As getZobristHash(), but calculated in full, ignoring anything that is kept incrementally. This is as slow as
+     * it sounds, and is for checking the incremental hashes.
+     */
+    public long computeZobristHash() {
+        return getZobristHash();
+    }
+
     /**
      * Get and set the type of this component.
      */
@@ -0,0 +1,344 @@
+package core.components;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A List that can share its backing array with copies of itself until one of them is changed.
+ * <p>
+ * snapshot() is O(1): the new list and this one both point at the same array, and whichever is written to
+ * first takes its own copy of the array (which is just the references, not the elements). This is used by
+ * Deck and PartialObservableDeck so that copying a game state does not need to rebuild every list, only
+ * those that are changed in the copy.
+ * <p>
+ * The array is used as a circular buffer, so adding or removing at either end of the list is O(1). A Deck has its
+ * top at index 0, so this is where most cards are drawn from and added to; with an ArrayList each of these would
+ * shift every other card in the deck.
+ * <p>
+ * The list also keeps track of whether all of its elements are known to be immutable (i.e. their copy() returns
+ * themselves). This is not checked here; it is set by the owner of the list, and cleared whenever an element is
+ * added or replaced. It means that a Deck of immutable cards only needs to be scanned on the first copy after it
+ * has had cards added to it.
+ * <p>
+ * Changing a list is not thread-safe (nor are the game states that use it), but any number of threads may take
+ * snapshots of a list that none of them changes. A snapshot only reads the list, apart from marking it as shared the
+ * first time it is copied after a change; that flag is volatile, and setting it again is a no-op, so copies of the
+ * same state can be made concurrently (e.g. by the determinisation threads of MCTS).
+ */
+public final class CopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final int MIN_CAPACITY = 8;
+
+    // the length of this is always zero or a power of two, so that positions can wrap round with a mask
+    private Object[] elements;
+    // the position in elements of index 0
+    private int head;
+    private int size;
+    private volatile boolean shared;
+    private volatile boolean elementsImmutable;
+    // incremented on every change, so that owners can tell whether anything has changed since they last looked
+    private long version;
+
+    public CopyOnWriteList() {
+        elements = EMPTY;
+    }
+
+    public CopyOnWriteList(int initialCapacity) {
+        elements = initialCapacity == 0 ? EMPTY : new Object[capacityFor(initialCapacity)];
+    }
+
+    public CopyOnWriteList(Collection<? extends E> contents) {
+        Object[] array = contents.toArray();
+        elements = array.length == 0 ? EMPTY : new Object[capacityFor(array.length)];
+        System.arraycopy(array, 0, elements, 0, array.length);
+        size = array.length;
+    }
+
+    /**
+     * @return a new list with the same contents, sharing the backing array until either list is modified
+     */
+    public CopyOnWriteList<E> snapshot() {
+        CopyOnWriteList<E> retValue = new CopyOnWriteList<>(elements, head, size, elementsImmutable);
+        if (!shared)
+            shared = true;
+        return retValue;
+    }
+
+    private CopyOnWriteList(Object[] sharedElements, int head, int size, boolean elementsImmutable) {
+        elements = sharedElements;
+        this.head = head;
+        this.size = size;
+        shared = true;
+        this.elementsImmutable = elementsImmutable;
+    }
+
+    private static int capacityFor(int n) {
+        return n <= MIN_CAPACITY ? MIN_CAPACITY : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private int position(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    /**
+     * Called before every change. Takes our own copy of the array if it is shared, or too small to hold minSize
+     * elements.
+     */
+    private void ensureOwned(int minSize) {
+        version++;
+        if (shared || elements.length < minSize) {
+            int capacity = elements.length < minSize ? capacityFor(Math.max(minSize, elements.length * 2)) : elements.length;
+            elements = copyElements(new Object[capacity]);
+            head = 0;
+            shared = false;
+        }
+    }
+
+    /**
+     * Copies the elements in order to the start of the given array
+     */
+    private Object[] copyElements(Object[] target) {
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, target, 0, firstPart);
+        System.arraycopy(elements, 0, target, firstPart, size - firstPart);
+        return target;
+    }
+
+    /**
+     * @return a counter that changes whenever the list is changed (by anyone)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean elementsImmutable() {
+        return elementsImmutable;
+    }
+
+    public void setElementsImmutable(boolean elementsImmutable) {
+        this.elementsImmutable = elementsImmutable;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[position(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++)
+            if (Objects.equals(o, elements[position(i)]))
+                return i;
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--)
+            if (Objects.equals(o, elements[position(i)]))
+                return i;
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return copyElements(new Object[size]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        T[] retValue = a.length >= size ? a : (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        copyElements(retValue);
+        if (retValue.length > size)
+            retValue[size] = null;
+        return retValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        ensureOwned(size);
+        elementsImmutable = false;
+        int pos = position(index);
+        E retValue = (E) elements[pos];
+        elements[pos] = element;
+        return retValue;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        ensureOwned(size + 1);
+        elementsImmutable = false;
+        modCount++;
+        // move whichever side of index is shorter
+        if (index < size - index) {
+            head = (head - 1) & (elements.length - 1);
+            for (int i = 0; i < index; i++)
+                elements[position(i)] = elements[position(i + 1)];
+        } else {
+            for (int i = size; i > index; i--)
+                elements[position(i)] = elements[position(i - 1)];
+        }
+        elements[position(index)] = element;
+        size++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Objects.checkIndex(index, size + 1);
+        Object[] added = c.toArray();
+        int n = added.length;
+        ensureOwned(size + n);
+        if (n == 0)
+            return false;
+        elementsImmutable = false;
+        modCount++;
+        if (index < size - index) {
+            head = (head - n) & (elements.length - 1);
+            for (int i = 0; i < index; i++)
+                elements[position(i)] = elements[position(i + n)];
+        } else {
+            for (int i = size - 1; i >= index; i--)
+                elements[position(i + n)] = elements[position(i)];
+        }
+        for (int i = 0; i < n; i++)
+            elements[position(index + i)] = added[i];
+        size += n;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        Objects.checkIndex(index, size);
+        ensureOwned(size);
+        modCount++;
+        E retValue = (E) elements[position(index)];
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--)
+                elements[position(i)] = elements[position(i - 1)];
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+        } else {
+            for (int i = index; i < size - 1; i++)
+                elements[position(i)] = elements[position(i + 1)];
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        return retValue;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        ensureOwned(size);
+        modCount++;
+        int n = toIndex - fromIndex;
+        for (int i = fromIndex; i < size - n; i++)
+            elements[position(i)] = elements[position(i + n)];
+        for (int i = size - n; i < size; i++)
+            elements[position(i)] = null;
+        size -= n;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        // we only take our own copy of the array once we know there is something to remove
+        int first = 0;
+        while (first < size && !filter.test((E) elements[position(first)]))
+            first++;
+        if (first == size)
+            return false;
+        ensureOwned(size);
+        modCount++;
+        int kept = first;
+        for (int i = first + 1; i < size; i++) {
+            Object e = elements[position(i)];
+            if (!filter.test((E) e))
+                elements[position(kept++)] = e;
+        }
+        for (int i = kept; i < size; i++)
+            elements[position(i)] = null;
+        boolean retValue = kept < size;
+        size = kept;
+        return retValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        ensureOwned(size);
+        elementsImmutable = false;
+        for (int i = 0; i < size; i++)
+            elements[position(i)] = operator.apply((E) elements[position(i)]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        ensureOwned(size);
+        modCount++;
+        if (head != 0) {
+            elements = copyElements(new Object[elements.length]);
+            head = 0;
+        }
+        Arrays.sort((E[]) elements, 0, size, c);
+    }
+
+    @Override
+    public void clear() {
+        version++;
+        if (shared) {
+            // no need to copy anything we are about to throw away
+            elements = EMPTY;
+            shared = false;
+        } else {
+            Arrays.fill(elements, null);
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+}
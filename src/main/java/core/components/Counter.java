@@ -1,6 +1,7 @@
 package core.components;
 
 import core.CoreConstants;
+import utilities.ZobristHash;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -170,6 +171,11 @@ public class Counter extends Component {
         this.valueIdx = i;
     }
 
+    @Override
+    public long getZobristHash() {
+        return ZobristHash.key(componentID, valueIdx);
+    }
+
     /**
      * Loads all counter from a JSON file.
      * @param filename - path to file.
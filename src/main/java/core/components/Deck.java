@@ -7,6 +7,7 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.ZobristHash;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -28,13 +29,22 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     protected List<T> components;  // List of components in this deck
     protected VisibilityMode visibility;
 
+    // Cached hash of the contents (see getZobristHash()), valid while components is this list at this version
+    private long contentsHash;
+    private List<T> contentsHashList;
+    private long contentsHashVersion;
+    // multiplier for the position-sensitive contents hash (and its inverse modulo 2^64)
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long HASH_MULTIPLIER_INVERSE = 0xF1DE83E19937733DL;
+
     public Deck(String name, VisibilityMode visibility) {
         this(name, -1, visibility);
     }
 
     public Deck(String name, int ownerId, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name);
-        this.components = new LinkedList<>();   // we always add new components to element 0...so an ArrayList is inefficient
+        // this shares its contents with copies of the deck until one of them changes, so copying is cheap
+        this.components = new CopyOnWriteList<>();
         this.ownerId = ownerId;
         this.capacity = -1;
         this.visibility = visibility;
@@ -42,7 +52,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected Deck(String name, int ownerId, int ID, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name, ID);
-        this.components = new LinkedList<>();
+        this.components = new CopyOnWriteList<>();
         this.capacity = -1;
         this.ownerId = ownerId;
         this.visibility = visibility;
@@ -143,7 +153,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     public T pick(int idx) {
         if (!components.isEmpty() && idx < components.size() && idx >= 0) {
             T c = components.get(idx);
+            boolean updateHash = idx == 0 && contentsHashValid();
             components.remove(idx);
+            if (updateHash)
+                updateContentsHash((contentsHash - c.getZobristHash()) * HASH_MULTIPLIER_INVERSE);
             return c;
         }
         return null;
@@ -221,7 +234,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         if (c == null)
             throw new IllegalArgumentException("null cannot be added to a Deck");
         c.setOwnerId(ownerId);
+        boolean updateHash = index == 0 && contentsHashValid();
         components.add(index, c);
+        if (updateHash)
+            updateContentsHash(c.getZobristHash() + contentsHash * HASH_MULTIPLIER);
         return capacity == -1 || components.size() <= capacity;
     }
 
@@ -435,33 +451,107 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         return dp;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Copies the contents of this deck into the given one.
+     * <p>
+     * If every component in the deck is immutable (its copy() returns itself) then the list of components is
+     * shared with the new deck until either of them is changed. Otherwise each component is copied as usual.
+     */
     protected void copyTo(Deck<T> deck) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy());
+        if (components instanceof CopyOnWriteList<T> cowList && cowList.elementsImmutable()) {
+            deck.components = cowList.snapshot();
+        } else {
+            deck.components = copyComponents(-1);
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
+        // the copy has the same contents, so the same hash
+        if (contentsHashValid())
+            deck.updateContentsHash(contentsHash);
 
         //copy type and component.
         copyComponentTo(deck);
     }
 
-
-    @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy(playerId));
-        }
-        deck.components = newComponents;
+        deck.components = copyComponents(playerId);
         deck.capacity = capacity;
 
         //copy type and component.
         copyComponentTo(deck);
     }
 
+    /**
+     * @param playerId - player for copy(playerId) on each component, or -1 to use copy()
+     * @return a list of copies of all components; this is a snapshot of our own list if none of them has changed
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> copyComponents(int playerId) {
+        CopyOnWriteList<T> newComponents = null;
+        int i = 0;
+        for (T c : components) {
+            T copy = (T) (playerId == -1 ? c.copy() : c.copy(playerId));
+            if (newComponents == null && copy != c) {
+                // first mutable component; we now need our own list
+                newComponents = new CopyOnWriteList<>(components.size());
+                newComponents.addAll(components.subList(0, i));
+            }
+            if (newComponents != null)
+                newComponents.add(copy);
+            i++;
+        }
+        if (newComponents != null)
+            return newComponents;
+        // all components are immutable, so can be shared
+        if (!(components instanceof CopyOnWriteList<T> cowList))
+            return new CopyOnWriteList<>(components);
+        // only set the first time, so that copying a deck that has not changed does not write to it
+        if (playerId == -1 && !cowList.elementsImmutable())
+            cowList.setElementsImmutable(true);
+        return cowList.snapshot();
+    }
+
+    /**
+     * The hash of a deck depends on the order of its contents: it is sum(h_i * M^i) over the hashes h_i of the
+     * components from the top of the deck (index 0), for an odd constant M. Adding a component to the top or
+     * drawing it from there (by far the commonest changes) then only needs one multiplication to update it, and
+     * any other change is picked up by the version number of the list, so that the hash is recalculated the next
+     * time it is needed.
+     * This does mean that a component that is changed in place while it is in the deck will not be noticed; as
+     * with GridBoard, only replacing it is.
+     */
+    @Override
+    public long getZobristHash() {
+        if (!contentsHashValid()) {
+            long hash = 0;
+            for (int i = components.size() - 1; i >= 0; i--)
+                hash = hash * HASH_MULTIPLIER + components.get(i).getZobristHash();
+            updateContentsHash(hash);
+        }
+        return ZobristHash.mix(componentID) ^ ZobristHash.mix(contentsHash);
+    }
+
+    @Override
+    public long computeZobristHash() {
+        long hash = 0;
+        for (int i = components.size() - 1; i >= 0; i--)
+            hash = hash * HASH_MULTIPLIER + components.get(i).computeZobristHash();
+        return ZobristHash.mix(componentID) ^ ZobristHash.mix(hash);
+    }
+
+    private boolean contentsHashValid() {
+        return components == contentsHashList && components instanceof CopyOnWriteList<T> cowList
+                && cowList.getVersion() == contentsHashVersion;
+    }
+
+    private void updateContentsHash(long hash) {
+        contentsHash = hash;
+        // for any other type of list we cannot tell when it changes, so the hash is never cached
+        if (components instanceof CopyOnWriteList<T> cowList) {
+            contentsHashList = components;
+            contentsHashVersion = cowList.getVersion();
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -12,6 +12,7 @@ import utilities.Hash;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static core.CoreConstants.imgHash;
 import static core.CoreConstants.nameHash;
@@ -21,6 +22,13 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     // List of nodes in the board graph, mapping component ID to object reference
     protected Map<Integer, BoardNode> boardNodes;
 
+    // Index of nodes by property, for getNodeByProperty(): property ID -> property value (as a String) -> node ID.
+    // Each index is built when first needed, and is never changed once built, so that copies of the board can share
+    // it. Node properties can be changed without the board knowing, so every result is checked against the node,
+    // and the index for the property rebuilt if it is out of date. A value that is not in the index is looked for
+    // among the nodes, as a node may have been given it since the index was built.
+    private Map<Integer, Map<String, Integer>> propertyIndex = new ConcurrentHashMap<>();
+
     public GraphBoard(String name)
     {
         super(CoreConstants.ComponentType.BOARD, name);
@@ -53,25 +61,15 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     public GraphBoard copy()
     {
         GraphBoard b = new GraphBoard(componentName, componentID);
-        HashMap<Integer, BoardNode> nodeCopies = new HashMap<>();
-        // Copy board nodes
+        // Copy board nodes. The graph does not usually change during a game, so the copies share the neighbours
+        // of the originals (by ID) rather than being re-linked; only the node properties are copied.
         for (BoardNode bn: boardNodes.values()) {
             BoardNode bnCopy = new BoardNode(bn.getMaxNeighbours(), "", bn.getComponentID());
             bn.copyComponentTo(bnCopy);
-            nodeCopies.put(bn.getComponentID(), bnCopy);
+            bnCopy.shareNeighbours(bn, b);
+            b.boardNodes.put(bnCopy.getComponentID(), bnCopy);
         }
-        // Assign neighbours
-        for (BoardNode bn: boardNodes.values()) {
-            BoardNode bnCopy = nodeCopies.get(bn.getComponentID());
-            for (BoardNode neighbour: bn.getNeighbours()) {
-                bnCopy.addNeighbour(nodeCopies.get(neighbour.getComponentID()));
-            }
-            for (Map.Entry<BoardNode, Integer> e: bn.getNeighbourSideMapping().entrySet()) {
-                bnCopy.addNeighbour(nodeCopies.get(e.getKey().componentID), e.getValue());
-            }
-        }
-        // Assign new neighbours
-        b.setBoardNodes(new ArrayList<>(nodeCopies.values()));
+        b.propertyIndex = new ConcurrentHashMap<>(propertyIndex);
         // Copy properties
         copyComponentTo(b);
         return b;
@@ -84,17 +82,28 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @return - node matching property.
      */
     public BoardNode getNodeByProperty(int prop_id, Property p) {
-        for (BoardNode n : boardNodes.values()) {
-            Property prop = n.getProperty(prop_id);
-            if(prop != null)
-            {
-                if(prop.equals(p))
-                    return n;
-            }
+        String key = p.toString();
+        BoardNode n = indexedNode(prop_id, key, false);
+        if (n == null || hasProperty(n, prop_id, p))
+            return n;
+        // the index is out of date, so we rebuild it and try again
+        n = indexedNode(prop_id, key, true);
+        if (n == null || hasProperty(n, prop_id, p))
+            return n;
+        // different values with the same String; this is unlikely, but we can always fall back to a full search
+        for (BoardNode bn : boardNodes.values()) {
+            if (hasProperty(bn, prop_id, p))
+                return bn;
         }
         return null;
     }
 
+    private static boolean hasProperty(BoardNode n, int prop_id, Property p) {
+        if (n == null) return false;
+        Property prop = n.getProperty(prop_id);
+        return prop != null && prop.equals(p);
+    }
+
     /**
      * Returns the node in the list which matches the given string property
      * @param prop_id - ID of the property to look for.
@@ -103,9 +112,55 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      */
     public BoardNode getNodeByStringProperty(int prop_id, String value)
     {
+        // as getNodeByProperty(prop_id, new PropertyString(value)), but only creating the PropertyString if we must
+        BoardNode n = indexedNode(prop_id, value, false);
+        if (n == null || hasStringProperty(n, prop_id, value))
+            return n;
+        n = indexedNode(prop_id, value, true);
+        if (n == null || hasStringProperty(n, prop_id, value))
+            return n;
         return getNodeByProperty(prop_id, new PropertyString(value));
     }
 
+    private static boolean hasStringProperty(BoardNode n, int prop_id, String value) {
+        return n != null && n.getProperty(prop_id) instanceof PropertyString ps && ps.value.equals(value);
+    }
+
+    /**
+     * @param rebuild - if true, the index for the property is built again from the current nodes first
+     * @return the node with the property value in the index (which may be out of date), or null if there is none
+     */
+    private BoardNode indexedNode(int prop_id, String key, boolean rebuild) {
+        Map<String, Integer> index = rebuild ? null : propertyIndex.get(prop_id);
+        boolean built = index == null;
+        if (built)
+            index = buildIndex(prop_id);
+        Integer id = index.get(key);
+        if (id == null && !built) {
+            // A node may have been given the value since the index was built. Misses are not recorded, so we look
+            // through the nodes (without building anything), and only rebuild the index if one has the value.
+            for (BoardNode n : boardNodes.values()) {
+                Property prop = n.getProperty(prop_id);
+                if (prop != null && prop.toString().equals(key)) {
+                    id = buildIndex(prop_id).get(key);
+                    break;
+                }
+            }
+        }
+        return id == null ? null : boardNodes.get(id);
+    }
+
+    private Map<String, Integer> buildIndex(int prop_id) {
+        Map<String, Integer> index = new HashMap<>();
+        for (BoardNode n : boardNodes.values()) {
+            Property prop = n.getProperty(prop_id);
+            if (prop != null)
+                index.putIfAbsent(prop.toString(), n.getComponentID());
+        }
+        propertyIndex.put(prop_id, index);
+        return index;
+    }
+
     /**
      * @return the list of board nodes
      */
@@ -127,19 +182,23 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @param boardNodes - new list of board nodes.
      */
     public void setBoardNodes(List<BoardNode> boardNodes) {
+        propertyIndex.clear();
         for (BoardNode bn: boardNodes) {
             this.boardNodes.put(bn.componentID, bn);
         }
     }
     public void setBoardNodes(Map<Integer, BoardNode> boardNodes) {
+        propertyIndex.clear();
         this.boardNodes = boardNodes;
     }
 
     public void addBoardNode(BoardNode bn) {
+        propertyIndex.clear();
         this.boardNodes.put(bn.getComponentID(), bn);
     }
 
     public void removeBoardNode(BoardNode bn) {
+        propertyIndex.clear();
         this.boardNodes.remove(bn.getComponentID());
     }
 
@@ -10,6 +10,7 @@ import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Pair;
 import utilities.Vector2D;
+import utilities.ZobristHash;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -25,6 +26,15 @@ public class GridBoard<T extends Component> extends Component implements ICompon
     private int height;  // Height of the board
 
     private Component[][] grid;  // 2D grid representation of this board
+    // Rows of the grid are shared with copies of this board, and a row is copied before it is changed unless it is
+    // owned by this board. A board owns the rows it has copied since it was last copied itself; copied is set (only
+    // if it is not already, and it is volatile) when a copy is made, so copying an unchanged board does not write to
+    // it, and copies of one board can be made on several threads at once.
+    private boolean[] ownedRows;
+    private volatile boolean copied;
+    // Incremental hash of the contents (see getZobristHash()); only valid if hashValid is true
+    private long zobristHash;
+    private boolean hashValid;
 
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
@@ -35,6 +45,7 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.width = width;
         this.height = height;
         this.grid = new Component[height][width];
+        this.ownedRows = ownAll(height);
     }
 
     public GridBoard(int width, int height, T defaultValue) {
@@ -48,6 +59,7 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.width = grid[0].length;
         this.height = grid.length;
         this.grid = grid;
+        this.ownedRows = ownAll(height);
     }
 
     protected GridBoard(Component[][] grid, int ID) {
@@ -55,6 +67,7 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.width = grid[0].length;
         this.height = grid.length;
         this.grid = grid;
+        this.ownedRows = ownAll(height);
     }
 
     protected GridBoard(int width, int height, int ID) {
@@ -62,6 +75,7 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.width = width;
         this.height = height;
         this.grid = new Component[height][width];
+        this.ownedRows = ownAll(height);
     }
 
     public GridBoard(GridBoard<T> orig) {
@@ -69,6 +83,30 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         this.width = orig.getWidth();
         this.height = orig.getHeight();
         this.grid = orig.grid.clone();
+        this.ownedRows = new boolean[height];
+        if (!orig.copied)
+            orig.copied = true;
+    }
+
+    private static boolean[] ownAll(int height) {
+        boolean[] retValue = new boolean[height];
+        Arrays.fill(retValue, true);
+        return retValue;
+    }
+
+    /**
+     * Makes sure that row y of the grid is not shared with any copy of this board, so it can be changed
+     */
+    private void ownRow(int y) {
+        if (copied) {
+            // every row is now shared with the copy
+            Arrays.fill(ownedRows, false);
+            copied = false;
+        }
+        if (!ownedRows[y]) {
+            grid[y] = grid[y].clone();
+            ownedRows[y] = true;
+        }
     }
 
     /**
@@ -122,6 +160,8 @@ public class GridBoard<T extends Component> extends Component implements ICompon
             if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
         }
         this.grid = grid;
+        this.ownedRows = ownAll(height);
+        this.hashValid = false;
     }
 
     /**
@@ -134,6 +174,9 @@ public class GridBoard<T extends Component> extends Component implements ICompon
      */
     public boolean setElement(int x, int y, T value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
+            ownRow(y);
+            if (hashValid)
+                zobristHash ^= cellHash(x, y, grid[y][x]) ^ cellHash(x, y, value);
             grid[y][x] = value;
             return true;
         } else
@@ -162,11 +205,15 @@ public class GridBoard<T extends Component> extends Component implements ICompon
     }
 
     /**
-     * Retrieves the grid.
+     * Retrieves the grid. As this can then be changed directly, any rows shared with copies of this board
+     * are copied first.
      *
      * @return - 2D grid.
      */
     public Component[][] getGridValues() {
+        hashValid = false;  // as we cannot track any changes made directly to the grid
+        for (int y = 0; y < height; y++)
+            ownRow(y);
         return grid;
     }
 
@@ -189,12 +236,19 @@ public class GridBoard<T extends Component> extends Component implements ICompon
      * @return - new grid with the same elements and correct orientation.
      */
     public Component[][] rotate(int orientation) {
-        GridBoard<T> copy = copy();
         orientation %= 4;  // Maximum 4 sides to a grid
+        if (orientation <= 0) {
+            Component[][] retValue = new Component[height][];
+            for (int i = 0; i < height; i++)
+                retValue[i] = grid[i].clone();
+            return retValue;
+        }
+        // rotateClockWise() always creates a new grid, so we do not need to copy this board first
+        Component[][] rotated = grid;
         for (int i = 0; i < orientation; i++) {
-            copy.grid = rotateClockWise(copy.grid);
+            rotated = rotateClockWise(rotated);
         }
-        return copy.grid;
+        return rotated;
     }
 
     /**
@@ -229,13 +283,18 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         return array;
     }
 
+    /**
+     * Creates a copy of this board. The elements themselves are not copied, and the rows of the grid are shared
+     * between this board and the copy until one of them changes an element in that row.
+     */
     @Override
     public GridBoard<T> copy() {
-        Component[][] gridCopy = new Component[getHeight()][getWidth()];
-        for (int i = 0; i < height; i++) {
-            if (width >= 0) System.arraycopy(grid[i], 0, gridCopy[i], 0, width);
-        }
-        GridBoard<T> g = new GridBoard<>(gridCopy, componentID);
+        GridBoard<T> g = new GridBoard<>(grid.clone(), componentID);
+        g.zobristHash = zobristHash;
+        g.hashValid = hashValid;
+        g.ownedRows = new boolean[height];
+        if (!copied)
+            copied = true;
         copyComponentTo(g);
         return g;
     }
@@ -302,6 +361,8 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         }
 
         this.grid = new Component[height][width];
+        this.ownedRows = ownAll(height);
+        this.hashValid = false;
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
@@ -410,6 +471,38 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         return Objects.hash(componentID) + 5 * Arrays.hashCode(flattenGrid());
     }
 
+    private long cellHash(int x, int y, Component c) {
+        return c == null ? 0 : ZobristHash.key((long) y * width + x, c.getZobristHash());
+    }
+
+    /**
+     * The hash is the XOR of a key for each element and its position, and is updated by setElement(). It is
+     * recalculated in full if getGridValues() has been called, as the grid may then have been changed directly.
+     * Elements should be replaced rather than changed in place, as the latter will not be seen by the hash.
+     */
+    @Override
+    public long getZobristHash() {
+        if (!hashValid) {
+            long hash = 0;
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < width; x++)
+                    hash ^= cellHash(x, y, grid[y][x]);
+            zobristHash = hash;
+            hashValid = true;
+        }
+        return zobristHash ^ ZobristHash.mix(componentID);
+    }
+
+    @Override
+    public long computeZobristHash() {
+        long hash = 0;
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                if (grid[y][x] != null)
+                    hash ^= ZobristHash.key((long) y * width + x, grid[y][x].computeZobristHash());
+        return hash ^ ZobristHash.mix(componentID);
+    }
+
     @Override
     public List<T> getComponents() {
         return Arrays.stream(flattenGrid()).map( component -> (T) component).collect(Collectors.toList());
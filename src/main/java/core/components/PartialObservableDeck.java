@@ -4,7 +4,6 @@ import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
 import org.jetbrains.annotations.NotNull;
 import utilities.DeterminisationUtilities;
-import utilities.Pair;
 
 import java.util.*;
 
@@ -14,26 +13,55 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new LinkedList<>();
+    // Visibility of each component in the deck, order corresponds to order of elements in the deck; bit p of each
+    // entry is set if player p can see the component. The first nElements entries are in use.
+    // The array is shared with copies of the deck (see commonCopy()) until one of them changes it, so if
+    // visibilityShared is set it must be cloned before it is changed
+    protected long[] elementVisibility = new long[8];
+    protected int nElements;
+    private volatile boolean visibilityShared;
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (elementVisibility[Objects.checkIndex(elementIdx, nElements)] & (1L << playerID)) != 0;
     }
 
+    /**
+     * @return the visibility of the component to each player. Changing this has no effect on the deck; use
+     * setVisibilityOfComponent() instead.
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
-        return elementVisibility.get(elementIdx);
+        return toArray(getVisibilityMask(elementIdx));
+    }
+
+    /**
+     * @return the visibility of the component, with bit p set if player p can see it
+     */
+    public long getVisibilityMask(int elementIdx) {
+        return elementVisibility[Objects.checkIndex(elementIdx, nElements)];
+    }
+
+    /**
+     * @return the indices of all the components that the player cannot see, in order
+     */
+    public int[] getHiddenIndices(int playerID) {
+        long bit = 1L << playerID;
+        int[] retValue = new int[nElements];
+        int n = 0;
+        for (int i = 0; i < nElements; i++)
+            if ((elementVisibility[i] & bit) == 0)
+                retValue[n++] = i;
+        return Arrays.copyOf(retValue, n);
     }
 
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
-        this.deckVisibility = defaultVisibility;
+        this.deckVisibility = checkPlayers(defaultVisibility);
     }
 
     public PartialObservableDeck(String id, int ownerID, int nPlayers, VisibilityMode visibilityMode) {
         super(id, ownerID, visibilityMode);
-        deckVisibility = new boolean[nPlayers];
+        deckVisibility = checkPlayers(new boolean[nPlayers]);
         switch (visibilityMode) {
             case VISIBLE_TO_ALL:
                 for (int i = 0; i < nPlayers; i++)
@@ -53,6 +81,71 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         this.deckVisibility = defaultVisibility;
     }
 
+    private static boolean[] checkPlayers(boolean[] visibility) {
+        if (visibility.length > Long.SIZE)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most " + Long.SIZE + " players, not " + visibility.length);
+        return visibility;
+    }
+
+    private static long toMask(boolean[] visibility) {
+        long mask = 0;
+        for (int p = 0; p < visibility.length; p++)
+            if (visibility[p])
+                mask |= 1L << p;
+        return mask;
+    }
+
+    private boolean[] toArray(long mask) {
+        boolean[] retValue = new boolean[deckVisibility.length];
+        for (int p = 0; p < retValue.length; p++)
+            retValue[p] = (mask & (1L << p)) != 0;
+        return retValue;
+    }
+
+    private long deckMask() {
+        return toMask(deckVisibility);
+    }
+
+    // makes sure that elementVisibility is our own, and has room for at least capacity entries
+    private void ownVisibility(int capacity) {
+        if (visibilityShared || capacity > elementVisibility.length) {
+            elementVisibility = Arrays.copyOf(elementVisibility, Math.max(elementVisibility.length, Math.max(8, capacity + (capacity >> 1))));
+            visibilityShared = false;
+        }
+    }
+
+    private void insertVisibility(int index, long mask) {
+        Objects.checkIndex(index, nElements + 1);
+        ownVisibility(nElements + 1);
+        System.arraycopy(elementVisibility, index, elementVisibility, index + 1, nElements - index);
+        elementVisibility[index] = mask;
+        nElements++;
+    }
+
+    private void removeVisibility(int index) {
+        Objects.checkIndex(index, nElements);
+        ownVisibility(nElements);
+        System.arraycopy(elementVisibility, index + 1, elementVisibility, index, nElements - index - 1);
+        nElements--;
+    }
+
+    private void setVisibilityMask(int index, long mask) {
+        Objects.checkIndex(index, nElements);
+        if (elementVisibility[index] == mask) return;
+        ownVisibility(nElements);
+        elementVisibility[index] = mask;
+    }
+
+    // all the components get the same visibility
+    private void resetVisibility(int size, long mask) {
+        if (visibilityShared || size > elementVisibility.length) {
+            elementVisibility = new long[Math.max(8, size)];
+            visibilityShared = false;
+        }
+        Arrays.fill(elementVisibility, 0, size, mask);
+        nElements = size;
+    }
+
     /**
      * Retrieves the components in this deck visible by the given player.
      * <p>
@@ -65,14 +158,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
 
+        long bit = 1L << playerID;
         List<T> visibleComponents = new ArrayList<>(components.size());
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
-                visibleComponents.add(i, components.get(i));
-            else
-                visibleComponents.add(i, null);
-        }
+        for (int i = 0; i < components.size(); i++)
+            visibleComponents.add((elementVisibility[i] & bit) != 0 ? components.get(i) : null);
         return visibleComponents;
     }
 
@@ -86,7 +175,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean isComponentVisible(int idx, int playerID) {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        return getVisibilityForPlayer(idx, playerID);
     }
 
 
@@ -106,7 +195,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(List<T> components, List<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setVisibilityMasks(visibilityPerPlayer);
     }
 
 
@@ -120,15 +209,24 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        setVisibilityMasks(visibility);
     }
+
+    private void setVisibilityMasks(List<boolean[]> visibility) {
+        resetVisibility(visibility.size(), 0);
+        for (int i = 0; i < visibility.size(); i++)
+            elementVisibility[i] = toMask(visibility.get(i));
+    }
+
     private void applyVisibilityMode() {
         if (getVisibilityMode() == VisibilityMode.TOP_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(0)[j] = true;
+            setVisibleToAll(0);
         if (getVisibilityMode() == VisibilityMode.BOTTOM_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(components.size() - 1)[j] = true;
+            setVisibleToAll(components.size() - 1);
+    }
+
+    private void setVisibleToAll(int index) {
+        setVisibilityMask(index, -1L >>> (Long.SIZE - deckVisibility.length));
     }
 
     /**
@@ -139,10 +237,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
-            else
+        if (index >= 0 && index < nElements) {
+            if (playerID >= 0 && playerID < deckVisibility.length) {
+                long bit = 1L << playerID;
+                setVisibilityMask(index, visibility ? elementVisibility[index] | bit : elementVisibility[index] & ~bit);
+            } else
                 throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + (deckVisibility.length - 1) + "]");
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + (components.size() - 1) + "]");
@@ -156,8 +255,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
-        if (index >= 0 && index < elementVisibility.size() && visibility.length == deckVisibility.length) {
-            this.elementVisibility.set(index, visibility.clone());
+        if (index >= 0 && index < nElements && visibility.length == deckVisibility.length) {
+            setVisibilityMask(index, toMask(visibility));
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
         }
@@ -185,7 +284,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
+        return add(c, index, toMask(visibilityPerPlayer));
+    }
+
+    private boolean add(T c, int index, long visibility) {
+        insertVisibility(index, visibility);
         boolean retValue = super.add(c, index);
         applyVisibilityMode();
         return retValue;
@@ -200,28 +303,27 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public boolean add(Deck<T> d, int index) {
-        if (d instanceof PartialObservableDeck<T> pod) {
-            int length = d.components.size();
-            for (int i = 0; i < length; i++) {
-                // Add in reverse order to keep the order of the deck
-                // this is to ties up with addAll() of components in super.add() a few lines down
-                this.elementVisibility.add(index, pod.elementVisibility.get(length - i - 1).clone());
-            }
-        } else {
-            for (int i = 0; i < d.components.size(); i++) {
-                this.elementVisibility.add(index, deckVisibility.clone());
-            }
-        }
+        insertVisibility(index, d.components.size(), d instanceof PartialObservableDeck<T> pod ? pod : null);
         boolean retValue = super.add(d, index);
         applyVisibilityMode();
         return retValue;
     }
 
+    // inserts count entries at index, copied from pod (or the deck visibility if that is null)
+    private void insertVisibility(int index, int count, PartialObservableDeck<T> pod) {
+        Objects.checkIndex(index, nElements + 1);
+        ownVisibility(nElements + count);
+        System.arraycopy(elementVisibility, index, elementVisibility, index + count, nElements - index);
+        if (pod != null)
+            System.arraycopy(pod.elementVisibility, 0, elementVisibility, index, count);
+        else
+            Arrays.fill(elementVisibility, index, index + count, deckMask());
+        nElements += count;
+    }
+
     @Override
     public boolean add(Collection<T> d, int index) {
-        for (int i = 0; i < d.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
+        insertVisibility(index, d.size(), null);
         return super.add(d, index);
     }
 
@@ -233,10 +335,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public void setComponents(List<T> components) {
         super.setComponents(components);
-        elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        resetVisibility(components.size(), deckMask());
         applyVisibilityMode();
     }
 
@@ -244,7 +343,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public T pick(int idx) {
         T el = super.pick(idx);
         if (el != null) {
-            elementVisibility.remove(idx);
+            removeVisibility(idx);
             return el;
         }
         return null;
@@ -252,25 +351,25 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     @Override
     public boolean add(T c, int index) {
-        return add(c, index, deckVisibility);
+        return add(c, index, deckMask());
     }
 
     @Override
     public boolean addToBottom(T c) {
         if (components.isEmpty())
-            return add(c, 0, deckVisibility);
-        return add(c, components.size(), deckVisibility);
+            return add(c, 0, deckMask());
+        return add(c, components.size(), deckMask());
     }
 
     @Override
     public boolean add(T c) {
-        return add(c, deckVisibility);
+        return add(c, 0, deckMask());
     }
 
     @Override
     public boolean remove(int idx) {
         if (super.remove(idx)) {
-            elementVisibility.remove(idx);
+            removeVisibility(idx);
             return true;
         }
         return false;
@@ -279,7 +378,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public void clear() {
         super.clear();
-        elementVisibility.clear();
+        resetVisibility(0, 0);
     }
 
     /**
@@ -290,7 +389,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public void shuffle(Random rnd) {
-        elementVisibility.replaceAll(ignored -> deckVisibility.clone());
+        resetVisibility(nElements, deckMask());
         super.shuffle(rnd);
         applyVisibilityMode();
     }
@@ -301,37 +400,27 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param rnd random number generator to be used in shuffling.
      */
     public void shuffleAndKeepVisibility(Random rnd) {
-        Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
-        applyVisibilityMode();
-    }
-
-
-    /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
-     */
-    private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new LinkedList<>();
-        List<boolean[]> tmp_visibility = new LinkedList<>();
-
-        List<Integer> indexList = new ArrayList<>(comps.size());
-        for (int i = 0; i < comps.size(); i++)
-            indexList.add(i);
-        Collections.shuffle(indexList, rnd);
-
-        for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
-            int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
+        int size = components.size();
+        // the same permutation as Collections.shuffle() would make of the indices
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++)
+            indices[i] = i;
+        for (int i = size; i > 1; i--) {
+            int j = rnd.nextInt(i);
+            int tmp = indices[i - 1];
+            indices[i - 1] = indices[j];
+            indices[j] = tmp;
         }
-
-        return new Pair<>(tmp_components, tmp_visibility);
+        List<T> newComponents = new CopyOnWriteList<>(size);
+        long[] newVisibility = new long[Math.max(8, size)];
+        for (int targetIndex = 0; targetIndex < size; targetIndex++) {
+            newComponents.add(components.get(indices[targetIndex]));
+            newVisibility[targetIndex] = elementVisibility[indices[targetIndex]];
+        }
+        components = newComponents;
+        elementVisibility = newVisibility;
+        visibilityShared = false;
+        applyVisibilityMode();
     }
 
     /**
@@ -367,11 +456,13 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     private PartialObservableDeck<T> commonCopy(PartialObservableDeck<T> dp) {
         dp.deckVisibility = deckVisibility.clone();
 
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        // the visibility is shared until either deck changes it
+        dp.elementVisibility = elementVisibility;
+        dp.nElements = nElements;
+        dp.visibilityShared = true;
+        // as with CopyOnWriteList, this is only written the first time we are copied after a change
+        if (!visibilityShared)
+            visibilityShared = true;
 
         return dp;
     }
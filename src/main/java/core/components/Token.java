@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 
 import core.CoreConstants;
+import utilities.ZobristHash;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -90,6 +91,14 @@ public class Token extends Component {
         return componentID;
     }
 
+    /**
+     * Tokens are hashed by type only, so that two tokens of the same type in the same place give the same state.
+     */
+    @Override
+    public long getZobristHash() {
+        return ZobristHash.of(tokenType);
+    }
+
     @Override
     public String toString() {
         return tokenType;
@@ -24,15 +24,34 @@ public interface ICoefficients {
     }
 
     default double applyCoefficients(double[] phi) {
-        double retValue = coefficients()[0]; // the bias term
+        double[] coefficients = coefficients();
+        double retValue = coefficients[0]; // the bias term
         for (int i = 0; i < phi.length; i++) {
-            retValue += phi[i] * coefficients()[i + 1];
+            retValue += phi[i] * coefficients[i + 1];
         }
         if (interactionCoefficients() != null)
             retValue += calculateInteractionEffects(phi);
         return retValue;
     }
 
+    /**
+     * As applyCoefficients(phi) for each row of phis, with the results put in out (which must be at least as long)
+     */
+    default void applyCoefficients(double[][] phis, double[] out) {
+        double[] coefficients = coefficients();
+        boolean hasInteractions = interactionCoefficients() != null;
+        for (int r = 0; r < phis.length; r++) {
+            double[] phi = phis[r];
+            double retValue = coefficients[0];
+            for (int i = 0; i < phi.length; i++) {
+                retValue += phi[i] * coefficients[i + 1];
+            }
+            if (hasInteractions)
+                retValue += calculateInteractionEffects(phi);
+            out[r] = retValue;
+        }
+    }
+
     default double calculateInteractionEffects(double[] phi) {
         double retValue = 0;
         int[][] interactions = interactions();
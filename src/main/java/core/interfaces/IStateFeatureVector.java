@@ -2,10 +2,39 @@ package core.interfaces;
 
 import core.AbstractGameState;
 
+import java.nio.DoubleBuffer;
+
 public interface IStateFeatureVector extends IStateKey {
 
     double[] featureVector(AbstractGameState state, int playerID);
 
+    /**
+     * The feature vector of the state for every player, as featureVector(state, p) for each p. Override this if
+     * some of the work can be shared between players.
+     */
+    default double[][] featureVectors(AbstractGameState state) {
+        double[][] retValue = new double[state.getNPlayers()][];
+        for (int p = 0; p < retValue.length; p++)
+            retValue[p] = featureVector(state, p);
+        return retValue;
+    }
+
+    /**
+     * Writes featureVector(state, playerID) into buffer, starting at index. Override this to write the features
+     * directly, without creating an array for them each time.
+     */
+    default void featureVector(AbstractGameState state, int playerID, DoubleBuffer buffer, int index) {
+        buffer.put(index, featureVector(state, playerID));
+    }
+
+    /**
+     * @return false if featureVector(state, playerID) only uses what playerID can see, so that it can safely be
+     * given the full game state rather than state.copy(playerID). The default is true, as this is the safe option.
+     */
+    default boolean readsHiddenInformation() {
+        return true;
+    }
+
     String[] names();
 
     @Override
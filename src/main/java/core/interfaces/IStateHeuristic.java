@@ -14,6 +14,32 @@ public interface IStateHeuristic {
      */
     double evaluateState(AbstractGameState gs, int playerId);
 
+    /**
+     * Returns the score of the state for every player, as evaluateState(gs, p) for each p. Heuristics that extract
+     * features from the state should override this so that the work is shared between the players.
+     * @param gs - game state to evaluate and score.
+     * @return - value of given state for each player.
+     */
+    default double[] evaluateAllPlayers(AbstractGameState gs) {
+        double[] retValue = new double[gs.getNPlayers()];
+        for (int p = 0; p < retValue.length; p++)
+            retValue[p] = evaluateState(gs, p);
+        return retValue;
+    }
+
+    /**
+     * Returns the score of each of the states for one player, as evaluateState(states[i], playerId).
+     * @param states - game states to evaluate and score.
+     * @param playerId - id of the player we're evaluating the games for.
+     * @return - value of each state.
+     */
+    default double[] evaluateStates(AbstractGameState[] states, int playerId) {
+        double[] retValue = new double[states.length];
+        for (int i = 0; i < states.length; i++)
+            retValue[i] = evaluateState(states[i], playerId);
+        return retValue;
+    }
+
     default double minValue() {
         return -1;
     }
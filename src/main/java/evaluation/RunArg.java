@@ -22,6 +22,11 @@ public enum RunArg {
             "\t This may be useful if you want to use the same destDir for multiple experiments.",
             false,
             new Usage[]{Usage.RunGames}),
+    batchSize("The number of settings NTBEA evaluates between each update of its model (default is 0, which uses nThreads).\n" +
+            "\t 1 is standard NTBEA. With a larger batch, the current point and its best neighbours are all evaluated,\n" +
+            "\t in parallel if nThreads > 1, before any of the results are added to the model.",
+            0,
+            new Usage[]{Usage.ParameterSearch}),
     budget("The budget to be used by all agent (if they support the IAnyTime interface). \n" +
             "\t If non-zero then this will override the value in any JSON definitions.\n",
             0,
@@ -121,6 +126,12 @@ public enum RunArg {
     nPlayers("The number of players in each game. Overrides playerRange.",
             -1,
             new Usage[]{Usage.ParameterSearch, Usage.RunGames}),
+    nThreads("The number of threads to use for running games (default is 1, which runs everything on one thread).\n" +
+            "\t Each thread uses its own copies of the agents and its own game instances.\n" +
+            "\t With one game and player count, the games of the tournament are run in parallel; otherwise whole tournaments are.\n" +
+            "\t In NTBEA this is used to evaluate each batch of settings (see batchSize), and the final tournament.",
+            1,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     neighbourhood("The size of neighbourhood to look at in NTBEA. Default is min(50, |searchSpace|/100) ",
             50,
             new Usage[]{Usage.ParameterSearch}),
@@ -139,6 +150,11 @@ public enum RunArg {
             "\t Exception: if no player directory is set, then maximum number of players per game will be 5.",
             "all",
             new Usage[]{Usage.RunGames}),
+    ponder("If false (the default is true), then pondering is switched off for all agents that support it (IPonderingPlayer). \n" +
+            "\t Pondering agents keep thinking while other players take their turns, which is extra budget beyond the per-decision budget.\n" +
+            "\t If true, then each agent's own setting is used.",
+            true,
+            new Usage[]{Usage.RunGames}),
     randomGameParams("(Optional) If specified, parameters for the game will be randomized for each game, and printed before the run.",
             false,
             new Usage[]{Usage.RunGames}),
@@ -25,6 +25,10 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static evaluation.RunArg.*;
@@ -110,18 +114,31 @@ public class RunGames implements IGameRunner {
 
     @Override
     public void run() {
+        int nThreads = (int) config.getOrDefault(RunArg.nThreads, 1);
+        List<Runnable> tournaments = new ArrayList<>();
+        // With several tournaments we run whole tournaments in parallel, and each one runs its own games on one thread;
+        // with just one, the tournament runs its games in parallel instead
+        int nTournaments = gamesAndPlayerCounts.values().stream().mapToInt(counts -> counts.length).sum();
+        Map<RunArg, Object> tournamentConfig = config;
+        if (nThreads > 1 && nTournaments > 1) {
+            tournamentConfig = new HashMap<>(config);
+            tournamentConfig.put(RunArg.nThreads, 1);
+        }
+
         // Now we loop over each game and player count combination
         for (GameType gameType : gamesAndPlayerCounts.keySet()) {
             String gameName = gameType.name();
             //     timeDir.insert(0, gameName + "_");
 
             for (int playerCount : gamesAndPlayerCounts.get(gameType)) {
-                System.out.printf("Game: %s, Players: %d\n", gameName, playerCount);
                 String playersDir = playerCount + "-players";
 
                 AbstractParameters params = config.get(gameParams).equals("") ? null : AbstractParameters.createFromFile(gameType, (String) config.get(gameParams));
 
-                RoundRobinTournament tournament = new RoundRobinTournament(agents, gameType, playerCount, params, config);
+                // If tournaments run in parallel, then each needs its own copies of the agents
+                List<AbstractPlayer> tournamentAgents = nThreads > 1 ?
+                        agents.stream().map(AbstractPlayer::copy).collect(toList()) : agents;
+                RoundRobinTournament tournament = new RoundRobinTournament(tournamentAgents, gameType, playerCount, params, tournamentConfig);
 
                 // Add listeners
                 //noinspection unchecked
@@ -139,10 +156,33 @@ public class RunGames implements IGameRunner {
                     gameTracker.setOutputDirectory(directories.toArray(new String[0]));
                 }
 
-                // run tournament
-                tournament.run();
+                tournaments.add(() -> {
+                    System.out.printf("Game: %s, Players: %d\n", gameName, playerCount);
+                    tournament.run();
+                });
             }
         }
+
+        // run tournaments
+        if (nThreads > 1 && tournaments.size() > 1) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(nThreads, tournaments.size()));
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (Runnable tournament : tournaments)
+                    futures.add(executor.submit(tournament));
+                for (Future<?> future : futures)
+                    future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while running tournaments", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Error running tournament", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        } else {
+            tournaments.forEach(Runnable::run);
+        }
     }
 
     private void initialiseGamesAndPlayerCount() {
@@ -0,0 +1,20 @@
+package evaluation.features;
+
+import core.AbstractGameState;
+import core.interfaces.IStateKey;
+import utilities.ZobristHash;
+
+/**
+ * Uses AbstractGameState.getZobristHash() as the key for a state; this is a single Long, so is much cheaper to
+ * calculate, store and compare than a feature vector or String key (e.g. as MCGSStateKey in MCTSParams).
+ * <p>
+ * Two different states will very occasionally share a key, which for search purposes is harmless.
+ */
+public class ZobristStateKey implements IStateKey {
+
+    @Override
+    public Long getKey(AbstractGameState state, int playerId) {
+        return state.getZobristHash() ^ ZobristHash.key(-100, playerId);
+    }
+
+}
@@ -0,0 +1,293 @@
+package evaluation.listeners;
+
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.Event;
+
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Wraps another listener so that its onEvent() runs on a background thread rather than on the game thread, so that
+ * slow listeners (e.g. metrics that record on every action) do not hold up the game.
+ * <p>
+ * Each event the wrapped listener listens() to is snapshotted (the state and action are copied) and put into a bounded
+ * buffer, from which the background thread passes the events to the wrapped listener in order; other events are ignored
+ * without being copied. The state of an ACTION_TAKEN event (the commonest kind) is copied on another thread, while the
+ * game gets on with the next decision: Game does not change the state again until it has called beforeStateChange(),
+ * which waits for the copy. All other events can be followed at once by changes to the state (e.g. TURN_OVER is sent
+ * part-way through an action), so their states are copied on the game thread.
+ * If the buffer is full, the BackPressure policy decides what happens:
+ * <ul>
+ *     <li>BLOCK - the game waits until there is room, so no events are lost</li>
+ *     <li>DROP - the event is discarded (see getDroppedEvents())</li>
+ *     <li>SAMPLE - once the buffer is half full, only one in every sampleInterval events is kept, and the game waits
+ *     for room for those</li>
+ * </ul>
+ * Once-per-game events (ABOUT_TO_START, GAME_OVER) are never dropped; the buffer is drained and they are then passed
+ * on synchronously, as are all the other calls (report(), reset() etc.). So the wrapped listener sees all of a game's
+ * events before GAME_OVER, and everything before report().
+ * <p>
+ * The wrapped listener must only use the state and action in the Event. The Game it is given may have moved on, so it
+ * must not use the Game's current state or forward model; the Game's timers are copied into Event.timings.
+ * The same goes for anything else reached through getGame(), which is not copied and is in use on the game thread at the
+ * same time: for example MCTSMetrics reads the live MCTSPlayer and its search tree, so it must not be wrapped.
+ */
+public class AsyncGameListener implements IGameListener {
+
+    public enum BackPressure {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private static final ExecutorService snapshotter = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "AsyncGameListener snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final IGameListener delegate;
+    // the snapshots of the events, in order; some may still be being made
+    private final BlockingQueue<Future<Event>> buffer;
+    private final BackPressure policy;
+    private final int sampleInterval;
+
+    private Thread worker;
+    // events put in the buffer, and events passed on to the delegate; guarded by this
+    private long queued, processed;
+    private long dropped, sampleCount;
+    private volatile RuntimeException failure;
+    // the snapshot of the last ACTION_TAKEN event, until beforeStateChange() has waited for it
+    private Future<Event> pendingSnapshot;
+
+    public AsyncGameListener(IGameListener delegate, int capacity, BackPressure policy) {
+        this(delegate, capacity, policy, 10);
+    }
+
+    /**
+     * @param capacity       - the maximum number of events waiting to be processed
+     * @param sampleInterval - the SAMPLE policy keeps one in this many events when the buffer is over half full
+     */
+    public AsyncGameListener(IGameListener delegate, int capacity, BackPressure policy, int sampleInterval) {
+        if (delegate == null)
+            throw new IllegalArgumentException("A listener to wrap must be specified");
+        if (capacity < 1)
+            throw new IllegalArgumentException("Buffer capacity must be positive, not " + capacity);
+        if (sampleInterval < 1)
+            throw new IllegalArgumentException("Sample interval must be positive, not " + sampleInterval);
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.sampleInterval = sampleInterval;
+    }
+
+    public IGameListener getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return the number of events discarded by the DROP or SAMPLE policies
+     */
+    public synchronized long getDroppedEvents() {
+        return dropped;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        checkFailure();
+        if (!delegate.listens(event.type))
+            return;
+        if (event.type instanceof Event.GameEvent ge && ge.isOncePerGame()) {
+            flush();
+            delegate.onEvent(event);
+            return;
+        }
+        if (policy == BackPressure.DROP && buffer.remainingCapacity() == 0) {
+            synchronized (this) {
+                dropped++;
+            }
+            return;
+        }
+        if (policy == BackPressure.SAMPLE && buffer.size() * 2 > capacity()) {
+            if (sampleCount++ % sampleInterval != 0) {
+                synchronized (this) {
+                    dropped++;
+                }
+                return;
+            }
+        } else {
+            sampleCount = 0;
+        }
+        if (event.type == Event.GameEvent.ACTION_TAKEN) {
+            pendingSnapshot = snapshotter.submit(() -> snapshot(event));
+            enqueue(pendingSnapshot);
+        } else {
+            enqueue(CompletableFuture.completedFuture(snapshot(event)));
+        }
+    }
+
+    /**
+     * Waits until the state of the last ACTION_TAKEN event has been copied. A failure to copy it is rethrown when
+     * the background thread reaches the event.
+     */
+    @Override
+    public void beforeStateChange() {
+        Future<Event> snapshot = pendingSnapshot;
+        if (snapshot == null)
+            return;
+        pendingSnapshot = null;
+        try {
+            snapshot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an event to be copied", e);
+        } catch (ExecutionException e) {
+            // passed on by processEvents()
+        }
+    }
+
+    private int capacity() {
+        return buffer.size() + buffer.remainingCapacity();
+    }
+
+    private static Event snapshot(Event event) {
+        Event copy = Event.createEvent(event.type,
+                event.state == null ? null : event.state.copy(),
+                event.action == null ? null : event.action.copy(),
+                event.playerID);
+        copy.timings = event.timings;
+        return copy;
+    }
+
+    private void enqueue(Future<Event> event) {
+        if (worker == null) {
+            worker = new Thread(this::processEvents, "AsyncGameListener-" + delegate.getClass().getSimpleName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+        synchronized (this) {
+            queued++;
+        }
+        try {
+            buffer.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room in the event buffer", e);
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (true) {
+                Future<Event> event = buffer.take();
+                try {
+                    if (failure == null)
+                        delegate.onEvent(event.get());
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+                } catch (RuntimeException e) {
+                    // we keep the first failure to rethrow on the game thread, and discard the remaining events
+                    failure = e;
+                }
+                synchronized (this) {
+                    processed++;
+                    notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Waits until all the events in the buffer have been passed on to the wrapped listener
+     */
+    public void flush() {
+        synchronized (this) {
+            try {
+                while (processed < queued)
+                    wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the event buffer to drain", e);
+            }
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new RuntimeException("Error in asynchronous listener " + delegate.getClass().getSimpleName(), failure);
+    }
+
+    /**
+     * Stops the background thread (after processing the events in the buffer). It is restarted if any more events
+     * are received.
+     */
+    public void close() {
+        flush();
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    @Override
+    public void report() {
+        close();
+        delegate.report();
+        if (getDroppedEvents() > 0)
+            System.out.printf("AsyncGameListener: %d events were dropped for %s%n", getDroppedEvents(), delegate.getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean listens(IGameEvent type) {
+        return delegate.listens(type);
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        return delegate.setOutputDirectory(nestedDirectories);
+    }
+
+    @Override
+    public void setGame(Game game) {
+        flush();
+        delegate.setGame(game);
+    }
+
+    @Override
+    public Game getGame() {
+        return delegate.getGame();
+    }
+
+    @Override
+    public void reset() {
+        flush();
+        delegate.reset();
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        flush();
+        delegate.init(game, nPlayersPerGame, playerNames);
+    }
+
+    @Override
+    public IGameListener emptyCopy() {
+        if (!IGameListener.supportsParallelGames(delegate))
+            return null;
+        return new AsyncGameListener(delegate.emptyCopy(), capacity(), policy, sampleInterval);
+    }
+
+    @Override
+    public void merge(IGameListener other) {
+        if (!(other instanceof AsyncGameListener async))
+            throw new IllegalArgumentException("Cannot merge " + other.getClass().getSimpleName() + " into AsyncGameListener");
+        flush();
+        async.close();
+        delegate.merge(async.delegate);
+        synchronized (this) {
+            dropped += async.getDroppedEvents();
+        }
+    }
+}
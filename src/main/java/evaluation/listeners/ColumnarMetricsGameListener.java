@@ -0,0 +1,51 @@
+package evaluation.listeners;
+
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.columnar.ColumnarDataLogger;
+
+import static evaluation.metrics.IDataLogger.ReportDestination.ToFile;
+import static evaluation.metrics.IDataLogger.ReportType.*;
+
+/**
+ * As MetricsGameListener, but the metrics record their data with a ColumnarDataLogger, which streams it to disk in
+ * batches rather than holding it all in memory. Use this for long runs with metrics that record on every action
+ * (e.g. ACTION_CHOSEN), which would otherwise run out of heap.
+ * <p>
+ * Summaries and plots are the same as for MetricsGameListener. RawDataPerEvent is not supported.
+ */
+public class ColumnarMetricsGameListener extends MetricsGameListener {
+
+    private int batchSize = ColumnarDataLogger.DEFAULT_BATCH_SIZE;
+    private boolean compress = true;
+
+    public ColumnarMetricsGameListener(AbstractMetric[] metrics) {
+        this(ToFile, metrics);
+    }
+
+    public ColumnarMetricsGameListener(IDataLogger.ReportDestination logTo, AbstractMetric[] metrics) {
+        this(logTo, new IDataLogger.ReportType[]{RawData, Summary, Plot}, metrics);
+    }
+
+    public ColumnarMetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics) {
+        this(logTo, dataTypes, metrics, ColumnarDataLogger.DEFAULT_BATCH_SIZE, true);
+    }
+
+    /**
+     * @param batchSize - the number of rows per metric kept in memory before they are written to disk
+     * @param compress  - if true, the data are deflated on disk
+     */
+    public ColumnarMetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics,
+                                       int batchSize, boolean compress) {
+        super(logTo, dataTypes, metrics);
+        this.batchSize = batchSize;
+        this.compress = compress;
+        for (AbstractMetric m : this.metrics.values())
+            m.setDataLogger(newDataLogger(m));
+    }
+
+    @Override
+    protected IDataLogger newDataLogger(AbstractMetric metric) {
+        return new ColumnarDataLogger(metric, batchSize, compress);
+    }
+}
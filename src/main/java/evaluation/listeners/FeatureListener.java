@@ -2,7 +2,9 @@ package evaluation.listeners;
 
 import core.*;
 import core.actions.AbstractAction;
+import core.interfaces.IGameEvent;
 import core.interfaces.IStatisticLogger;
+import evaluation.loggers.BinaryStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 import utilities.Utils;
@@ -22,6 +24,8 @@ import static evaluation.metrics.IDataLogger.ReportDestination.ToFile;
  */
 public abstract class FeatureListener implements IGameListener {
 
+    public static final String BINARY_EXTENSION = ".bin";
+
     List<StateFeatureListener.LocalDataWrapper> currentData = new ArrayList<>();
     Event.GameEvent frequency;
     boolean currentPlayerOnly;
@@ -37,6 +41,21 @@ public abstract class FeatureListener implements IGameListener {
         this.logger = logger;
     }
 
+    /**
+     * @return a BinaryStatsLogger if the file name ends with BINARY_EXTENSION, otherwise a (tab-separated) FileStatsLogger.
+     * The learners read either.
+     */
+    public static IStatisticLogger createLogger(String fileName, boolean append) {
+        if (fileName.endsWith(BINARY_EXTENSION))
+            return new BinaryStatsLogger(fileName, append);
+        return new FileStatsLogger(fileName, "\t", append);
+    }
+
+    @Override
+    public boolean listens(IGameEvent type) {
+        return type == frequency || type == Event.GameEvent.GAME_OVER;
+    }
+
     @Override
     public void onEvent(Event event) {
 
@@ -59,6 +78,8 @@ public abstract class FeatureListener implements IGameListener {
 
         if (logger instanceof FileStatsLogger fileLogger) {
             fileLogger.setOutPutDirectory(nestedDirectories);
+        } else if (logger instanceof BinaryStatsLogger binaryLogger) {
+            binaryLogger.setOutPutDirectory(nestedDirectories);
         }
         return true;
     }
@@ -1,6 +1,7 @@
 package evaluation.listeners;
 
 import core.Game;
+import core.interfaces.IGameEvent;
 import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
 import evaluation.metrics.GameMetrics;
@@ -24,6 +25,13 @@ public interface IGameListener {
      */
     void onEvent(Event event);
 
+    /**
+     * @return false if onEvent() ignores all events of this type. This lets a wrapper (e.g. AsyncGameListener) skip
+     * the event without first copying its state.
+     */
+    default boolean listens(IGameEvent type) {
+        return true;
+    }
 
     /**
      * This is called when all processing is finished, for example after running a sequence of games
@@ -66,6 +74,53 @@ public interface IGameListener {
     default void reset() {
     }
 
+    /**
+     * Called by Game before it next changes the game state after an ACTION_TAKEN event: before the next action is
+     * chosen, before the game ends, and before the game is reset. Until then the state in that event is not changed,
+     * so a listener may go on reading it on another thread after onEvent() has returned (as AsyncGameListener does),
+     * but it must have finished with it by the time this returns.
+     */
+    default void beforeStateChange() {
+    }
+
+    /**
+     * Creates a new listener with the same configuration as this one, but with no data recorded.
+     * This is used when games are run in parallel, so that each game has its own listener; the data
+     * each copy records is then folded back into this listener with merge() before report() is called.
+     * A listener that overrides this must also override merge().
+     *
+     * @return - new listener, or null if this listener cannot be used with games run in parallel
+     */
+    default IGameListener emptyCopy() {
+        return null;
+    }
+
+    /**
+     * Adds all the data recorded by another listener (created with emptyCopy()) to this one.
+     *
+     * @param other - listener to take the data from
+     */
+    default void merge(IGameListener other) {
+        throw new UnsupportedOperationException("Listener " + getClass().getSimpleName() + " does not support merging");
+    }
+
+    /**
+     * Checks, before any games are run, whether a listener can be used with games run in parallel; that is
+     * whether it provides both emptyCopy() and merge(). This calls emptyCopy(), so any problem copying the
+     * listener is thrown now, rather than once the games are under way.
+     *
+     * @return - true if the listener can be used with games run in parallel
+     */
+    static boolean supportsParallelGames(IGameListener listener) {
+        if (listener.emptyCopy() == null)
+            return false;
+        try {
+            return listener.getClass().getMethod("merge", IGameListener.class).getDeclaringClass() != IGameListener.class;
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     default void init(Game game, int nPlayersPerGame, Set<String> playerNames) {}
 
 }
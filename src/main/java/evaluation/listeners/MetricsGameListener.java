@@ -68,6 +68,11 @@ public class MetricsGameListener implements IGameListener {
         eventsOfInterest.add(Event.GameEvent.GAME_OVER);
     }
 
+    @Override
+    public boolean listens(IGameEvent type) {
+        return eventsOfInterest.contains(type);
+    }
+
     /**
      * Manages all events.
      *
@@ -141,6 +146,10 @@ public class MetricsGameListener implements IGameListener {
                         }
                     }
                     if (!eventMetrics.isEmpty()) {
+                        if (!eventMetrics.stream().allMatch(m -> m.getDataLogger() instanceof DataTableSaw)) {
+                            System.out.println("RawDataPerEvent is only supported for metrics logged with DataTableSaw; skipping " + event);
+                            continue;
+                        }
                         IDataLogger dataLogger = new DataTableSaw(eventMetrics, event, eventToIndexingColumn(event));
                         dataLogger.getDefaultProcessor().processRawDataToFile(dataLogger, destDir);
                     }
@@ -180,6 +189,39 @@ public class MetricsGameListener implements IGameListener {
         }
     }
 
+    /**
+     * @return a new data logger for the metric, of the type this listener uses to record data
+     */
+    protected IDataLogger newDataLogger(AbstractMetric metric) {
+        return new DataTableSaw(metric);
+    }
+
+    @Override
+    public MetricsGameListener emptyCopy() {
+        MetricsGameListener retValue = new MetricsGameListener();
+        retValue.metrics = new LinkedHashMap<>();
+        for (AbstractMetric m : metrics.values()) {
+            AbstractMetric copy = m.emptyCopy();
+            copy.setDataLogger(newDataLogger(copy));
+            retValue.metrics.put(copy.getName(), copy);
+        }
+        retValue.eventsOfInterest = eventsOfInterest;
+        retValue.reportTypes = reportTypes;
+        retValue.reportDestinations = reportDestinations;
+        retValue.destDir = destDir;
+        return retValue;
+    }
+
+    @Override
+    public void merge(IGameListener other) {
+        MetricsGameListener otherListener = (MetricsGameListener) other;
+        for (AbstractMetric metric : metrics.values()) {
+            AbstractMetric otherMetric = otherListener.metrics.get(metric.getName());
+            if (otherMetric != null)
+                metric.merge(otherMetric);
+        }
+    }
+
     @Override
     public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
         this.game = game;
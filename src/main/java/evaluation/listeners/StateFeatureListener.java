@@ -3,7 +3,6 @@ package evaluation.listeners;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.interfaces.IStateFeatureVector;
-import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 
 import java.util.regex.Pattern;
@@ -21,7 +20,7 @@ public class StateFeatureListener extends FeatureListener {
     public StateFeatureListener(IStateFeatureVector phi, Event.GameEvent frequency, boolean currentPlayerOnly, String fileName) {
         super(frequency, currentPlayerOnly);
         this.phiFn = phi;
-        logger = new FileStatsLogger(fileName);
+        logger = createLogger(fileName, true);
     }
 
     @Override
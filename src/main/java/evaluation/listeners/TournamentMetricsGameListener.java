@@ -37,4 +37,10 @@ public class TournamentMetricsGameListener extends MetricsGameListener {
         }
     }
 
+    @Override
+    public MetricsGameListener emptyCopy() {
+        // TournamentMetrics track the current matchup, so cannot be split across games run in parallel
+        return null;
+    }
+
 }
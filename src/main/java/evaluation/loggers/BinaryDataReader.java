@@ -0,0 +1,182 @@
+package evaluation.loggers;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static evaluation.loggers.BinaryStatsLogger.*;
+
+/**
+ * Reads the files written by BinaryStatsLogger. The data are memory-mapped rather than read through a stream, so
+ * nothing is parsed, and files larger than the heap can be scanned. Files over 2GB are mapped a window at a time.
+ */
+public class BinaryDataReader implements AutoCloseable {
+
+    // the largest region mapped at once; a block larger than this gets a window of its own
+    private static final long MAX_WINDOW = 1L << 30;
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final long size;
+    private final String[] header;
+    private final byte[] types;
+    private final long dataStart;
+    private final int rowBytes;
+    private long rowCount = -1;
+
+    @FunctionalInterface
+    public interface BlockVisitor {
+        /**
+         * @param block  - the mapped data, which includes the block
+         * @param offset - the position in the buffer of the first value of the first column
+         * @param nRows  - the number of rows in the block; the values of column c start at offset + columnOffset(c, nRows)
+         * @param firstRow - the index in the whole file of the first row of the block
+         */
+        void visit(MappedByteBuffer block, int offset, int nRows, long firstRow);
+    }
+
+    /**
+     * @return true if the file starts with the BinaryStatsLogger header, false if not (e.g. it is text)
+     */
+    public static boolean isBinaryFile(String fileName) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public BinaryDataReader(String fileName) throws IOException {
+        this.fileName = fileName;
+        long position;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(fileName + " is not a BinaryStatsLogger file");
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported version " + version + " of " + fileName);
+            int nColumns = in.readInt();
+            header = new String[nColumns];
+            types = new byte[nColumns];
+            position = 12;
+            int bytes = 0;
+            for (int c = 0; c < nColumns; c++) {
+                byte[] name = new byte[in.readInt()];
+                in.readFully(name);
+                header[c] = new String(name, StandardCharsets.UTF_8);
+                types[c] = in.readByte();
+                if (types[c] != FLOAT64 && types[c] != INT32)
+                    throw new IOException("Unknown type " + types[c] + " for column " + header[c] + " in " + fileName);
+                bytes += width(types[c]);
+                position += 4 + name.length + 1;
+            }
+            rowBytes = bytes;
+        }
+        dataStart = position;
+        channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        size = channel.size();
+    }
+
+    private static int width(byte type) {
+        return type == INT32 ? 4 : 8;
+    }
+
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    public byte[] getTypes() {
+        return types.clone();
+    }
+
+    /**
+     * @return the offset from the start of a block's data to the values of the column
+     */
+    public int columnOffset(int column, int nRows) {
+        int offset = 0;
+        for (int c = 0; c < column; c++)
+            offset += width(types[c]) * nRows;
+        return offset;
+    }
+
+    /**
+     * @return the total number of rows in the file; this only reads the block headers
+     */
+    public long getRowCount() throws IOException {
+        if (rowCount < 0) {
+            long[] count = new long[1];
+            forEachBlock((block, offset, nRows, firstRow) -> count[0] += nRows);
+            rowCount = count[0];
+        }
+        return rowCount;
+    }
+
+    /**
+     * Calls the visitor for each block in the file, in order
+     */
+    public void forEachBlock(BlockVisitor visitor) throws IOException {
+        long position = dataStart;
+        long row = 0;
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        while (position < size) {
+            if (window == null || position + 4 > windowStart + window.capacity()) {
+                window = map(position, 4);
+                windowStart = position;
+            }
+            int nRows = window.getInt((int) (position - windowStart));
+            long blockBytes = 4 + (long) nRows * rowBytes;
+            if (nRows < 0 || position + blockBytes > size)
+                throw new IOException("Truncated block at " + position + " in " + fileName);
+            if (blockBytes > Integer.MAX_VALUE)
+                throw new IOException("Block at " + position + " in " + fileName + " is too large to map");
+            if (position + blockBytes > windowStart + window.capacity()) {
+                window = map(position, blockBytes);
+                windowStart = position;
+            }
+            visitor.visit(window, (int) (position - windowStart) + 4, nRows, row);
+            position += blockBytes;
+            row += nRows;
+        }
+    }
+
+    private MappedByteBuffer map(long position, long minSize) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.max(minSize, Math.min(MAX_WINDOW, size - position)));
+    }
+
+    /**
+     * Calls the consumer with each row of the file in order, with INT_NA values as NaN. The same array is used for
+     * every row, so the consumer must copy anything it keeps; this means the rows are never all held in memory at once.
+     */
+    public void forEachRow(Consumer<double[]> rowConsumer) throws IOException {
+        double[] row = new double[header.length];
+        int[] columnStart = new int[header.length];
+        forEachBlock((block, offset, n, firstRow) -> {
+            for (int c = 0; c < header.length; c++)
+                columnStart[c] = offset + columnOffset(c, n);
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c < header.length; c++) {
+                    if (types[c] == INT32) {
+                        int value = block.getInt(columnStart[c] + 4 * r);
+                        row[c] = value == INT_NA ? Double.NaN : value;
+                    } else {
+                        row[c] = block.getDouble(columnStart[c] + 8 * r);
+                    }
+                }
+                rowConsumer.accept(row);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
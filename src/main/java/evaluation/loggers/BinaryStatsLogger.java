@@ -0,0 +1,224 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import evaluation.summarisers.TAGStatSummary;
+import utilities.Utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * As FileStatsLogger, but writes a typed, columnar binary file that BinaryDataReader can memory-map, rather than text
+ * that has to be parsed. This is intended for numeric training data (e.g. from FeatureListener), so every value
+ * must be a Number; Integer columns are stored as 32-bit ints and all others as 64-bit doubles. A column's type is
+ * set by its first value, and a value that cannot be stored exactly as that type (e.g. 2.5 in an Integer column) is
+ * rejected with an IllegalArgumentException rather than truncated.
+ * <p>
+ * The file is a header, followed by any number of blocks:
+ * <ul>
+ *     <li>Header: MAGIC, VERSION, nColumns, then for each column the length of its name in UTF-8 bytes, the name, and
+ *     its type (FLOAT64 or INT32)</li>
+ *     <li>Block: nRows, then for each column in turn its nRows values</li>
+ * </ul>
+ * All numbers are big-endian. A block is written each time processDataAndNotFinish() is called (i.e. after every game
+ * for a FeatureListener), or when BLOCK_ROWS rows have been recorded. Missing values are written as NaN, or INT_NA.
+ */
+public class BinaryStatsLogger implements IStatisticLogger {
+
+    public static final int MAGIC = 0x54414744; // "TAGD"
+    public static final int VERSION = 1;
+    public static final byte FLOAT64 = 0;
+    public static final byte INT32 = 1;
+    public static final int INT_NA = Integer.MIN_VALUE;
+    public static final int BLOCK_ROWS = 4096;
+
+    private String fileName;
+    private String actionName;
+    private final boolean append;
+    private DataOutputStream out;
+
+    private String[] keys;
+    private String[] columns;
+    private byte[] types;
+    // the rows recorded since the last block was written, row-major
+    private double[] buffer;
+    private int bufferedRows;
+
+    /**
+     * @param fileName The full location of the file to write results to
+     * @param append   If true, and the file already exists, then new data is added to the end of it. The file must
+     *                 have the same columns as the data recorded.
+     */
+    public BinaryStatsLogger(String fileName, boolean append) {
+        this.fileName = fileName;
+        this.append = append;
+    }
+
+    public BinaryStatsLogger(String fileName) {
+        this(fileName, true);
+    }
+
+    public void setOutPutDirectory(String... nestedDirectories) {
+        if (out != null) {
+            throw new AssertionError("Cannot set output directory after initialisation");
+        }
+        String folder = Utils.createDirectory(nestedDirectories);
+        this.fileName = folder + File.separator + this.fileName;
+    }
+
+    private void initialise(Map<String, Object> data) {
+        keys = data.keySet().toArray(new String[0]);
+        columns = new String[data.size()];
+        types = new byte[data.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String name = entry.getKey();
+            if (actionName != null && name.endsWith(":" + actionName))
+                name = name.substring(0, name.length() - actionName.length() - 1);
+            columns[i] = name;
+            types[i] = entry.getValue() instanceof Integer ? INT32 : FLOAT64;
+            i++;
+        }
+        buffer = new double[BLOCK_ROWS * columns.length];
+        try {
+            File file = new File(fileName);
+            boolean headerNeeded = true;
+            if (file.exists() && file.length() > 0 && append) {
+                try (BinaryDataReader reader = new BinaryDataReader(fileName)) {
+                    if (!Arrays.equals(reader.getHeader(), columns))
+                        throw new AssertionError("Cannot append to " + fileName + " as it has different columns : "
+                                + String.join(",", reader.getHeader()));
+                    // the types in the file take precedence, so that they are consistent for all blocks
+                    types = reader.getTypes();
+                }
+                headerNeeded = false;
+            }
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append)));
+            if (headerNeeded) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(columns.length);
+                for (int c = 0; c < columns.length; c++) {
+                    byte[] name = columns[c].getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.writeByte(types[c]);
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Use to register a set of data in one go. The columns are fixed by the first call; data for keys not seen then
+     * are ignored.
+     *
+     * @param rawData A map of name -> value pairs, all of which must be Numbers (or Maps of them)
+     */
+    @Override
+    public void record(Map<String, ?> rawData) {
+        // first we preprocess data to remove nesting, as for FileStatsLogger
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String key : rawData.keySet()) {
+            Object thing = rawData.get(key);
+            if (thing instanceof Map) {
+                data.putAll((Map<? extends String, ?>) thing);
+            } else {
+                data.put(key, thing);
+            }
+        }
+        if (out == null) initialise(data);
+
+        int base = bufferedRows * columns.length;
+        for (int c = 0; c < columns.length; c++) {
+            Object datum = data.get(keys[c]);
+            if (datum == null) {
+                buffer[base + c] = Double.NaN;
+            } else if (datum instanceof Number n) {
+                double value = n.doubleValue();
+                if (types[c] == INT32 && (value != Math.rint(value) || value <= INT_NA || value > Integer.MAX_VALUE))
+                    throw new IllegalArgumentException("BinaryStatsLogger cannot record " + datum + " in the integer column "
+                            + columns[c] + " (whose type is set by its first value); record it as a Double from the start");
+                buffer[base + c] = value;
+            } else {
+                throw new IllegalArgumentException("BinaryStatsLogger only records numbers, not " + datum + " for " + columns[c]);
+            }
+        }
+        bufferedRows++;
+        if (bufferedRows == BLOCK_ROWS)
+            writeBlock();
+    }
+
+    private void writeBlock() {
+        if (bufferedRows == 0) return;
+        try {
+            out.writeInt(bufferedRows);
+            for (int c = 0; c < columns.length; c++) {
+                for (int r = 0; r < bufferedRows; r++) {
+                    double value = buffer[r * columns.length + c];
+                    if (types[c] == INT32)
+                        out.writeInt(Double.isNaN(value) ? INT_NA : (int) value);  // record() checked it is an int
+                    else
+                        out.writeDouble(value);
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+        bufferedRows = 0;
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        // ignored, as for FileStatsLogger
+    }
+
+    /**
+     * This writes any remaining data, and closes the file
+     */
+    @Override
+    public void processDataAndFinish() {
+        if (out == null) return;
+        processDataAndNotFinish();
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void processDataAndNotFinish() {
+        if (out == null) return;
+        writeBlock();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new AssertionError("Problem flushing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * This always returns an empty Map
+     *
+     * @return A summary of the data
+     */
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public BinaryStatsLogger emptyCopy(String id) {
+        String[] fileParts = fileName.split(Pattern.quote("."));
+        if (fileParts.length != 2)
+            throw new AssertionError("Filename does not conform to expected <stem>.<type>");
+        String newFileName = fileParts[0] + "_" + id + "." + fileParts[1];
+        BinaryStatsLogger retValue = new BinaryStatsLogger(newFileName, append);
+        retValue.actionName = id;
+        return retValue;
+    }
+}
@@ -12,7 +12,7 @@ public abstract class AbstractMetric {
     protected IDataLogger dataLogger;
 
     // Set of event types this metric listens to, to record data when they occur
-    private final Set<IGameEvent> eventTypes;
+    private Set<IGameEvent> eventTypes;
 
     // Arguments for the metric, if any
     protected final String[] args;
@@ -267,6 +267,43 @@ public abstract class AbstractMetric {
         return gamesCompleted;
     }
 
+    /**
+     * Creates a new instance of this metric with the same arguments and events of interest, but with no data
+     * recorded. This is used to give each game run in parallel its own metric, with the results folded back
+     * in later via merge(). The data logger is not set, and must be provided by the caller.
+     * <p>
+     * By default the metric is created again with its String[] constructor (if it has arguments) or its no-arg
+     * constructor, as when metrics are loaded from JSON. A metric that is configured any other way must override
+     * this to copy that configuration.
+     *
+     * @throws IllegalStateException if the metric does not have the public constructor needed
+     */
+    public AbstractMetric emptyCopy() {
+        AbstractMetric retValue;
+        try {
+            if (args != null)
+                retValue = getClass().getConstructor(String[].class).newInstance((Object) args);
+            else
+                retValue = getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Metric " + getClass().getName() + " cannot be copied for games run in parallel: it needs a public "
+                    + (args != null ? "String[]" : "no-arg") + " constructor, or to override emptyCopy()", e);
+        }
+        retValue.eventTypes = eventTypes;
+        return retValue;
+    }
+
+    /**
+     * Adds all the data recorded by another instance of this metric (usually created with emptyCopy()) to this one.
+     *
+     * @param other - metric to take the data from
+     */
+    public void merge(AbstractMetric other) {
+        columnNames.addAll(other.columnNames);
+        gamesCompleted += other.gamesCompleted;
+        dataLogger.merge(other.dataLogger);
+    }
+
     public void setDataLogger(IDataLogger logger) {
         this.dataLogger = logger;
     }
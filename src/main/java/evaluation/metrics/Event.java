@@ -1,5 +1,6 @@
 package evaluation.metrics;
 import core.AbstractGameState;
+import core.Game;
 import core.actions.AbstractAction;
 import core.actions.LogEvent;
 import core.interfaces.IGameEvent;
@@ -42,6 +43,8 @@ public class Event
     public AbstractGameState state;
     public AbstractAction action;
     public int playerID;
+    // The Game's timers at the time of the event (ACTION_CHOSEN and ACTION_TAKEN only, otherwise null)
+    public Game.Timings timings;
 
     public static Event createEvent(IGameEvent type,
                                     AbstractGameState gameState,
@@ -56,6 +59,17 @@ public class Event
         return e;
     }
 
+    public static Event createEvent(IGameEvent type,
+                                    AbstractGameState gameState,
+                                    AbstractAction action,
+                                    int playerID,
+                                    Game.Timings timings)
+    {
+        Event e = createEvent(type, gameState, action, playerID);
+        e.timings = timings;
+        return e;
+    }
+
     public static Event createEvent(IGameEvent type)
     {
         return Event.createEvent(type, null, null, -1);
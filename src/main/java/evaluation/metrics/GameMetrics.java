@@ -188,10 +188,11 @@ public class GameMetrics implements IMetricsCollection {
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             // the times are all recorded in nanoseconds, so we convert to milliseconds
-            records.put("Next (ms)", listener.getGame().getNextTime() / 1e6);
-            records.put("Copy (ms)", listener.getGame().getCopyTime() / 1e6);
-            records.put("Actions Available Compute (ms)", listener.getGame().getActionComputeTime() / 1e6);
-            records.put("Agent (ms)", listener.getGame().getAgentTime() / 1e6);
+            Game.Timings timings = e.timings != null ? e.timings : listener.getGame().getTimings();
+            records.put("Next (ms)", timings.next() / 1e6);
+            records.put("Copy (ms)", timings.copy() / 1e6);
+            records.put("Actions Available Compute (ms)", timings.actionCompute() / 1e6);
+            records.put("Agent (ms)", timings.agent() / 1e6);
             records.put("Agent", listener.getGame().getPlayers().get(e.playerID).toString());
             records.put("Player", e.playerID);
             return true;
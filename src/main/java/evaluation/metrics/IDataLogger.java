@@ -45,6 +45,13 @@ public interface IDataLogger
      */
     IDataProcessor getDefaultProcessor();
 
+    /**
+     * Appends all the data recorded by another logger of the same type to this one. Columns that are only
+     * present in one of the two loggers are padded with missing values.
+     * @param other - data logger to take the data from
+     */
+    void merge(IDataLogger other);
+
     IDataLogger copy();
     IDataLogger emptyCopy();
     IDataLogger create();
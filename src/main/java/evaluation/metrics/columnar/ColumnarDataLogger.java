@@ -0,0 +1,379 @@
+package evaluation.metrics.columnar;
+
+import core.Game;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A data logger that does not keep all the data in memory (as DataTableSaw does), but streams it to a spool file on
+ * disk in blocks of batchSize rows. Memory use while games are running is therefore bounded by batchSize rows,
+ * however many games are played.
+ * <p>
+ * Each block is stored column by column, with strings encoded against a dictionary for the block (the default columns
+ * such as GameID and Event repeat a lot), and is optionally deflated. Each block also records which columns it holds,
+ * so that the blocks of one logger can be appended unchanged to those of another in merge().
+ * <p>
+ * Nothing is summarised until report time, when ColumnarDataProcessor reads the spool back in a separate pass.
+ */
+public class ColumnarDataLogger implements IDataLogger {
+
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final byte STRING = 0, INTEGER = 1, DOUBLE = 2, BOOLEAN = 3;
+
+    /**
+     * One block of data as read back from the spool file. Columns not present in the block are not in the map.
+     */
+    record Block(int nRows, Map<String, Object[]> columns) {
+    }
+
+    final AbstractMetric metric;
+    final int batchSize;
+    final boolean compress;
+    // All the columns seen so far (including from merged loggers), in order, with their types
+    final LinkedHashMap<String, Class<?>> columnTypes = new LinkedHashMap<>();
+    // Rows not yet written to the spool file
+    private final LinkedHashMap<String, List<Object>> buffer = new LinkedHashMap<>();
+    private File spool;
+    private DataOutputStream out;
+    private int rowsWritten;
+
+    public ColumnarDataLogger(AbstractMetric metric) {
+        this(metric, DEFAULT_BATCH_SIZE, true);
+    }
+
+    /**
+     * @param batchSize - the number of rows kept in memory before they are written to disk
+     * @param compress  - if true, each block is deflated before it is written
+     */
+    public ColumnarDataLogger(AbstractMetric metric, int batchSize, boolean compress) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1, not " + batchSize);
+        this.metric = metric;
+        this.batchSize = batchSize;
+        this.compress = compress;
+    }
+
+    @Override
+    public void reset() {
+        closeSpool();
+        if (spool != null && !spool.delete())
+            spool.deleteOnExit();
+        spool = null;
+        rowsWritten = 0;
+        buffer.clear();
+        columnTypes.clear();
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        // Add default columns
+        for (Map.Entry<String, Class<?>> entry : metric.getDefaultColumns().entrySet())
+            addColumn(entry.getKey(), entry.getValue());
+
+        // Add metric-defined columns
+        for (Map.Entry<String, Class<?>> entry : metric.getColumns(nPlayersPerGame, playerNames).entrySet()) {
+            if (!buffer.containsKey(entry.getKey())) {
+                addColumn(entry.getKey(), entry.getValue());
+
+                // Keep the name of the column
+                metric.addColumnName(entry.getKey());
+            }
+        }
+    }
+
+    private void addColumn(String name, Class<?> type) {
+        if (buffer.containsKey(name))
+            return;
+        typeCode(type); // checks we can store it
+        columnTypes.putIfAbsent(name, type);
+        // pad the new column to match any rows already buffered
+        List<Object> column = new ArrayList<>(Collections.nCopies(bufferedRows(), null));
+        buffer.put(name, column);
+    }
+
+    @Override
+    public void addData(String columnName, Object data) {
+        List<Object> column = buffer.get(columnName);
+        if (column == null)
+            throw new IllegalArgumentException("Unknown column " + columnName + " for metric " + metric.getName());
+        column.add(data);
+        if (column.size() >= batchSize && bufferedRows() >= batchSize)
+            flush();
+    }
+
+    // the number of complete rows in the buffer
+    private int bufferedRows() {
+        int rows = Integer.MAX_VALUE;
+        for (List<Object> column : buffer.values())
+            rows = Math.min(rows, column.size());
+        return buffer.isEmpty() ? 0 : rows;
+    }
+
+    /**
+     * @return the total number of complete rows recorded, on disk or still in memory
+     */
+    public int rowCount() {
+        return rowsWritten + bufferedRows();
+    }
+
+    /**
+     * Writes all complete rows in memory to the spool file
+     */
+    public void flush() {
+        int nRows = bufferedRows();
+        if (nRows == 0)
+            return;
+        try {
+            writeBlock(nRows);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing data for metric " + metric.getName(), e);
+        }
+        for (List<Object> column : buffer.values())
+            column.subList(0, nRows).clear();
+        rowsWritten += nRows;
+    }
+
+    private void writeBlock(int nRows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream block = new DataOutputStream(compress ? new DeflaterOutputStream(bytes) : bytes);
+        block.writeInt(nRows);
+        block.writeInt(buffer.size());
+        for (Map.Entry<String, List<Object>> entry : buffer.entrySet()) {
+            byte type = typeCode(columnTypes.get(entry.getKey()));
+            byte[] data = encode(type, entry.getValue(), nRows);
+            block.writeUTF(entry.getKey());
+            block.writeByte(type);
+            block.writeInt(data.length);
+            block.write(data);
+        }
+        block.close();
+
+        if (out == null) {
+            spool = File.createTempFile("TAG_" + metric.getName() + "_", ".col");
+            spool.deleteOnExit();
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spool)));
+        }
+        byte[] stored = bytes.toByteArray();
+        out.writeBoolean(compress);
+        out.writeInt(stored.length);
+        out.write(stored);
+    }
+
+    // a bitmap of the missing values, then the values that are not missing
+    private static byte[] encode(byte type, List<Object> values, int nRows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        byte[] missing = new byte[(nRows + 7) / 8];
+        for (int i = 0; i < nRows; i++)
+            if (values.get(i) == null)
+                missing[i / 8] |= (byte) (1 << (i % 8));
+        data.write(missing);
+        if (type == STRING) {
+            Map<String, Integer> dictionary = new LinkedHashMap<>();
+            int[] indices = new int[nRows];
+            for (int i = 0; i < nRows; i++)
+                if (values.get(i) != null)
+                    indices[i] = dictionary.computeIfAbsent(values.get(i).toString(), k -> dictionary.size());
+            data.writeInt(dictionary.size());
+            for (String s : dictionary.keySet()) {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(utf8.length);
+                data.write(utf8);
+            }
+            for (int i = 0; i < nRows; i++)
+                if (values.get(i) != null)
+                    data.writeInt(indices[i]);
+        } else {
+            for (int i = 0; i < nRows; i++) {
+                Object value = values.get(i);
+                if (value == null) continue;
+                switch (type) {
+                    case INTEGER -> data.writeInt((Integer) value);
+                    case DOUBLE -> data.writeDouble(((Number) value).doubleValue());
+                    case BOOLEAN -> data.writeBoolean((Boolean) value);
+                    default -> throw new AssertionError("Unknown column type " + type);
+                }
+            }
+        }
+        data.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Object[] decode(byte type, DataInputStream data, int nRows) throws IOException {
+        byte[] missing = new byte[(nRows + 7) / 8];
+        data.readFully(missing);
+        String[] dictionary = null;
+        if (type == STRING) {
+            dictionary = new String[data.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] utf8 = new byte[data.readInt()];
+                data.readFully(utf8);
+                dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+        }
+        Object[] retValue = new Object[nRows];
+        for (int i = 0; i < nRows; i++) {
+            if ((missing[i / 8] & (1 << (i % 8))) != 0) continue;
+            retValue[i] = switch (type) {
+                case STRING -> dictionary[data.readInt()];
+                case INTEGER -> data.readInt();
+                case DOUBLE -> data.readDouble();
+                case BOOLEAN -> data.readBoolean();
+                default -> throw new AssertionError("Unknown column type " + type);
+            };
+        }
+        return retValue;
+    }
+
+    private static byte typeCode(Class<?> c) {
+        if (c == String.class)
+            return STRING;
+        else if (c == Integer.class)
+            return INTEGER;
+        else if (c == Double.class)
+            return DOUBLE;
+        else if (c == Boolean.class)
+            return BOOLEAN;
+        else
+            throw new AssertionError("Unknown column type");
+    }
+
+    /**
+     * Reads all the data back, one block at a time, in the order it was recorded. Only the columns asked for are
+     * decoded, so that the memory needed is one block of those columns.
+     *
+     * @param columns - the columns to read, or null for all of them
+     */
+    void forEachBlock(Set<String> columns, Consumer<Block> action) {
+        flush();
+        if (spool == null)
+            return;
+        try {
+            out.flush();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(spool)))) {
+                Block block;
+                while ((block = readBlock(in, columns)) != null)
+                    action.accept(block);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading data for metric " + metric.getName(), e);
+        }
+    }
+
+    private static Block readBlock(DataInputStream in, Set<String> columns) throws IOException {
+        boolean compressed;
+        try {
+            compressed = in.readBoolean();
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] stored = new byte[in.readInt()];
+        in.readFully(stored);
+        InputStream bytes = new ByteArrayInputStream(stored);
+        DataInputStream block = new DataInputStream(compressed ? new InflaterInputStream(bytes) : bytes);
+        int nRows = block.readInt();
+        int nColumns = block.readInt();
+        Map<String, Object[]> data = new LinkedHashMap<>();
+        for (int c = 0; c < nColumns; c++) {
+            String name = block.readUTF();
+            byte type = block.readByte();
+            int length = block.readInt();
+            if (columns == null || columns.contains(name)) {
+                data.put(name, decode(type, block, nRows));
+            } else {
+                block.skipNBytes(length);
+            }
+        }
+        return new Block(nRows, data);
+    }
+
+    private void closeSpool() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            out = null;
+        }
+    }
+
+    @Override
+    public IDataProcessor getDefaultProcessor() {
+        return new ColumnarDataProcessor();
+    }
+
+    /**
+     * Appends all the blocks of the other logger to this one (and deletes its spool file). As blocks record their own
+     * columns, columns only present in one of the two loggers are read back as missing values elsewhere.
+     */
+    @Override
+    public void merge(IDataLogger other) {
+        ColumnarDataLogger otherLogger = (ColumnarDataLogger) other;
+        flush();
+        otherLogger.flush();
+        for (Map.Entry<String, Class<?>> entry : otherLogger.columnTypes.entrySet())
+            columnTypes.putIfAbsent(entry.getKey(), entry.getValue());
+        if (otherLogger.spool == null)
+            return;
+        otherLogger.closeSpool();
+        try {
+            if (out == null) {
+                spool = File.createTempFile("TAG_" + metric.getName() + "_", ".col");
+                spool.deleteOnExit();
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spool)));
+            }
+            Files.copy(otherLogger.spool.toPath(), out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error merging data for metric " + metric.getName(), e);
+        }
+        rowsWritten += otherLogger.rowsWritten;
+        otherLogger.reset();
+    }
+
+    @Override
+    public IDataLogger copy() {
+        ColumnarDataLogger retValue = (ColumnarDataLogger) emptyCopy();
+        flush();
+        if (spool != null) {
+            try {
+                out.flush();
+                retValue.spool = File.createTempFile("TAG_" + metric.getName() + "_", ".col");
+                retValue.spool.deleteOnExit();
+                Files.copy(spool.toPath(), retValue.spool.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                retValue.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(retValue.spool, true)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error copying data for metric " + metric.getName(), e);
+            }
+            retValue.rowsWritten = rowsWritten;
+        }
+        return retValue;
+    }
+
+    @Override
+    public IDataLogger emptyCopy() {
+        ColumnarDataLogger retValue = new ColumnarDataLogger(metric, batchSize, compress);
+        retValue.columnTypes.putAll(columnTypes);
+        for (String name : buffer.keySet())
+            retValue.buffer.put(name, new ArrayList<>());
+        return retValue;
+    }
+
+    @Override
+    public IDataLogger create() {
+        return new ColumnarDataLogger(metric, batchSize, compress);
+    }
+}
@@ -0,0 +1,151 @@
+package evaluation.metrics.columnar;
+
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.tablessaw.DataTableSaw;
+import evaluation.metrics.tablessaw.TableSawDataProcessor;
+import tech.tablesaw.api.*;
+import tech.tablesaw.columns.Column;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The summarisation pass for ColumnarDataLogger.
+ * <p>
+ * Raw data is streamed from the spool file to CSV one block at a time. Summaries and plots are those of
+ * TableSawDataProcessor, but each metric column is read back and summarised on its own (with just the GameID and Tick
+ * columns that the summaries also need), so that at most three columns are in memory at once rather than the
+ * whole table.
+ */
+public class ColumnarDataProcessor extends TableSawDataProcessor {
+
+    // columns needed alongside each metric column by the summaries and plots
+    private static final List<String> KEY_COLUMNS = List.of("GameID", "Tick");
+
+    @Override
+    public void processRawDataToFile(IDataLogger logger, String folderName) {
+        ColumnarDataLogger cdl = (ColumnarDataLogger) logger;
+        File file = new File(folderName + "/" + cdl.metric.getName() + ".csv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writeCsv(cdl, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing " + file, e);
+        }
+    }
+
+    @Override
+    public void processRawDataToConsole(IDataLogger logger) {
+        Writer writer = new PrintWriter(System.out);
+        System.out.println();
+        try {
+            writeCsv((ColumnarDataLogger) logger, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsv(ColumnarDataLogger logger, Writer writer) throws IOException {
+        List<String> columns = new ArrayList<>(logger.columnTypes.keySet());
+        writer.write(String.join(",", columns.stream().map(ColumnarDataProcessor::csvValue).toList()));
+        writer.write("\n");
+        try {
+            logger.forEachBlock(null, block -> {
+                try {
+                    StringBuilder row = new StringBuilder();
+                    for (int i = 0; i < block.nRows(); i++) {
+                        row.setLength(0);
+                        for (int c = 0; c < columns.size(); c++) {
+                            if (c > 0) row.append(',');
+                            Object[] values = block.columns().get(columns.get(c));
+                            if (values != null && values[i] != null)
+                                row.append(csvValue(values[i].toString()));
+                        }
+                        writer.write(row.append('\n').toString());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String csvValue(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+    @Override
+    public void processSummaryToConsole(IDataLogger logger) {
+        for (DataTableSaw column : metricColumns((ColumnarDataLogger) logger))
+            super.processSummaryToConsole(column);
+    }
+
+    @Override
+    public void processSummaryToFile(IDataLogger logger, String folderName) {
+        for (DataTableSaw column : metricColumns((ColumnarDataLogger) logger))
+            super.processSummaryToFile(column, folderName);
+    }
+
+    @Override
+    public void processPlotToFile(IDataLogger logger, String folderName) {
+        for (DataTableSaw column : metricColumns((ColumnarDataLogger) logger))
+            super.processPlotToFile(column, folderName);
+    }
+
+    /**
+     * @return one table for each column recorded by the metric, each read back from disk only when it is needed
+     */
+    private Iterable<DataTableSaw> metricColumns(ColumnarDataLogger logger) {
+        List<String> names = logger.columnTypes.keySet().stream()
+                .filter(logger.metric.getColumnNames()::contains)
+                .toList();
+        return () -> names.stream().map(name -> {
+            List<String> columns = new ArrayList<>(KEY_COLUMNS);
+            columns.add(name);
+            return new DataTableSaw(logger.metric, readTable(logger, columns));
+        }).iterator();
+    }
+
+    private static Table readTable(ColumnarDataLogger logger, List<String> columnNames) {
+        Table table = Table.create(logger.metric.getName());
+        List<Column<Object>> columns = new ArrayList<>();
+        for (String name : columnNames) {
+            Class<?> type = logger.columnTypes.get(name);
+            if (type == null || table.containsColumn(name)) continue;
+            @SuppressWarnings("unchecked")
+            Column<Object> column = (Column<Object>) buildColumn(name, type);
+            table.addColumns(column);
+            columns.add(column);
+        }
+        logger.forEachBlock(new HashSet<>(columnNames), block -> {
+            for (Column<Object> column : columns) {
+                Object[] values = block.columns().get(column.name());
+                for (int i = 0; i < block.nRows(); i++) {
+                    if (values == null || values[i] == null)
+                        column.appendMissing();
+                    else
+                        column.append(values[i]);
+                }
+            }
+        });
+        return table;
+    }
+
+    private static Column<?> buildColumn(String name, Class<?> c) {
+        if (c == String.class)
+            return StringColumn.create(name);
+        else if (c == Integer.class)
+            return IntColumn.create(name);
+        else if (c == Double.class)
+            return DoubleColumn.create(name);
+        else if (c == Boolean.class)
+            return BooleanColumn.create(name);
+        else
+            throw new AssertionError("Unknown column type");
+    }
+}
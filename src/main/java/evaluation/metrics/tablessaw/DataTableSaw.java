@@ -24,7 +24,11 @@ public class DataTableSaw implements IDataLogger {
         this.metric = metric;
         this.data = Table.create(metric.getName());
     }
-    private DataTableSaw(AbstractMetric metric, Table data) {
+    /**
+     * Wraps an existing table of data for the metric, e.g. one read back from another IDataLogger so that it can be
+     * summarised with TableSawDataProcessor
+     */
+    public DataTableSaw(AbstractMetric metric, Table data) {
         this.metric = metric;
         this.data = data;
     }
@@ -120,6 +124,28 @@ public class DataTableSaw implements IDataLogger {
         return new TableSawDataProcessor();
     }
 
+    @Override
+    public void merge(IDataLogger other) {
+        Table otherData = ((DataTableSaw) other).data;
+        int existingRows = data.rowCount();
+        for (Column<?> c : otherData.columns()) {
+            if (!data.containsColumn(c.name())) {
+                Column<?> newColumn = c.emptyCopy();
+                for (int i = 0; i < existingRows; i++)
+                    newColumn.appendMissing();
+                data.addColumns(newColumn);
+            }
+        }
+        for (Column<?> c : data.columns()) {
+            if (otherData.containsColumn(c.name())) {
+                ((Column<Object>) c).append((Column<Object>) otherData.column(c.name()));
+            } else {
+                for (int i = 0; i < otherData.rowCount(); i++)
+                    c.appendMissing();
+            }
+        }
+    }
+
     @Override
     public IDataLogger copy() {
         return new DataTableSaw(metric, data.copy());
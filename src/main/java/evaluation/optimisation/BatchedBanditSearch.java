@@ -0,0 +1,98 @@
+package evaluation.optimisation;
+
+import evodef.SearchSpace;
+import ntbea.NTupleSystem;
+
+import java.util.*;
+
+/**
+ * The NTBEA search step (as in NTupleBanditEA), but taking a batch of settings from the landscape model at a time
+ * rather than one, so that all of them can be evaluated (in parallel) before any of the results are added to the model.
+ * <p>
+ * A batch of size K is the current point, plus the K-1 best of its distinct neighbours by the model's UCB estimate
+ * (mean + kExplore * exploration). Once the results of the batch are added to the model, the current point moves to
+ * its best neighbour by UCB. With K = 1 this is the same as the standard sequential NTBEA.
+ */
+final class BatchedBanditSearch {
+
+    private final NTupleSystem model;
+    private final SearchSpace searchSpace;
+    private final double kExplore;
+    private final int neighbourhoodSize;
+    private final Random rnd;
+    private int[] current;
+
+    BatchedBanditSearch(NTupleSystem model, SearchSpace searchSpace, double kExplore, int neighbourhoodSize, long seed) {
+        this.model = model;
+        this.searchSpace = searchSpace;
+        this.kExplore = kExplore;
+        this.neighbourhoodSize = neighbourhoodSize;
+        this.rnd = new Random(seed);
+        current = new int[searchSpace.nDims()];
+        for (int i = 0; i < current.length; i++)
+            current[i] = rnd.nextInt(searchSpace.nValues(i));
+    }
+
+    /**
+     * @return up to size distinct settings to evaluate next, starting with the current point (this may be fewer than
+     * size if the current point does not have enough neighbours)
+     */
+    List<int[]> nextBatch(int size) {
+        List<int[]> batch = new ArrayList<>(size);
+        batch.add(current);
+        if (size > 1)
+            batch.addAll(bestNeighbours(size - 1));
+        return batch;
+    }
+
+    /**
+     * Adds the results for the settings to the landscape model, and then moves the current point to its best neighbour
+     */
+    void addResults(List<int[]> settings, double[] values) {
+        if (settings.size() != values.length)
+            throw new IllegalArgumentException("Have " + values.length + " results for " + settings.size() + " settings");
+        for (int i = 0; i < values.length; i++)
+            model.addPoint(settings.get(i), values[i]);
+        List<int[]> next = bestNeighbours(1);
+        if (!next.isEmpty())
+            current = next.get(0);
+    }
+
+    private List<int[]> bestNeighbours(int n) {
+        // we sample at least n neighbours, so that a large batch is not limited by a small neighbourhood
+        int target = Math.max(neighbourhoodSize, n);
+        Map<String, int[]> neighbours = new LinkedHashMap<>();
+        for (int attempt = 0; attempt < 10 * target && neighbours.size() < target; attempt++) {
+            int[] x = mutate(current);
+            if (!Arrays.equals(x, current))
+                neighbours.putIfAbsent(Arrays.toString(x), x);
+        }
+        Map<int[], Double> ucb = new HashMap<>();
+        for (int[] x : neighbours.values())
+            ucb.put(x, ucb(x));
+        return neighbours.values().stream()
+                .sorted(Comparator.comparingDouble(x -> -ucb.get(x)))
+                .limit(n)
+                .toList();
+    }
+
+    // one dimension always changes, and each of the others with probability 1 / nDims
+    private int[] mutate(int[] x) {
+        int[] retValue = x.clone();
+        int nDims = x.length;
+        int forced = rnd.nextInt(nDims);
+        for (int i = 0; i < nDims; i++) {
+            if ((i == forced || rnd.nextDouble() < 1.0 / nDims) && searchSpace.nValues(i) > 1) {
+                // pick a different value
+                int v = rnd.nextInt(searchSpace.nValues(i) - 1);
+                retValue[i] = v >= x[i] ? v + 1 : v;
+            }
+        }
+        return retValue;
+    }
+
+    private double ucb(int[] x) {
+        Double mean = model.getMeanEstimate(x);
+        return (mean == null ? 0.0 : mean) + kExplore * model.getExplorationEstimate(x);
+    }
+}
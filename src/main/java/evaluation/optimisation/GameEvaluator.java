@@ -13,6 +13,10 @@ import games.GameType;
 import players.IAnyTimePlayer;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.DoubleSupplier;
 import java.util.stream.IntStream;
 
 import static evaluation.optimisation.NTBEAParameters.Mode.CoopNTBEA;
@@ -95,6 +99,53 @@ public class GameEvaluator implements SolutionEvaluator {
      */
     @Override
     public double evaluate(int[] settings) {
+        return prepareEvaluation(settings, false).getAsDouble();
+    }
+
+    /**
+     * Evaluates a batch of settings, running the games for each on the executor (or on this thread if executor is null).
+     * Everything random (the seeds, opponents and positions of the tuned agent) is decided in order before any of the
+     * games start, so each setting gets exactly what it would have done from evaluate(int[]) in the same order.
+     *
+     * @return the game score for each of the settings, in the same order
+     */
+    public double[] evaluate(List<int[]> batch, ExecutorService executor) {
+        List<DoubleSupplier> evaluations = new ArrayList<>(batch.size());
+        for (int[] settings : batch)
+            evaluations.add(prepareEvaluation(settings, executor != null));
+        double[] retValue = new double[batch.size()];
+        if (executor == null) {
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = evaluations.get(i).getAsDouble();
+            return retValue;
+        }
+        List<Future<Double>> futures = new ArrayList<>(batch.size());
+        for (DoubleSupplier evaluation : evaluations)
+            futures.add(executor.submit(evaluation::getAsDouble));
+        try {
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = futures.get(i).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return retValue;
+    }
+
+    /**
+     * Sets up the game(s) and players for one evaluation of the settings; this uses rnd and nEvals, and so must be
+     * called in order on one thread. The returned supplier then runs the games and does not touch anything shared
+     * with other evaluations, so that it can be run on any thread.
+     *
+     * @param ownParams if true the game uses a copy of gameParams, which the game would otherwise change (the seed)
+     */
+    private DoubleSupplier prepareEvaluation(int[] settings, boolean ownParams) {
         if (debug)
             System.out.printf("Starting evaluation %d of %s at %tT%n", nEvals,
                     Arrays.toString(settings), System.currentTimeMillis());
@@ -102,7 +153,8 @@ public class GameEvaluator implements SolutionEvaluator {
         boolean tuningPlayer = configuredThing instanceof AbstractPlayer;
         boolean tuningGame = configuredThing instanceof Game;
 
-        Game newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, gameParams);
+        Game newGame = tuningGame ? (Game) configuredThing :
+                game.createGameInstance(nPlayers, ownParams && gameParams != null ? gameParams.copy() : gameParams);
         // we assign one player to each team (the default for a game is each player being their own team of 1)
         int nTeams = newGame.getGameState().getNTeams();
 
@@ -117,29 +169,35 @@ public class GameEvaluator implements SolutionEvaluator {
             throw new AssertionError("StableNTBEA mode requires tuning of player");
         int gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
         long seed = rnd.nextLong();
-        double retValue = 0.0;
+        List<List<AbstractPlayer>> playersPerGame = new ArrayList<>(gamesToRun);
         for (int loop = 0; loop < gamesToRun; loop++) {
             int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
-            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings);
+            playersPerGame.add(setupPlayers(thisTeamIndex, nTeams, settings));
+        }
+        nEvals++;
 
-            // always reset the random seed for each new game
-            newGame.reset(allPlayers, seed);
-            newGame.run();
+        return () -> {
+            double retValue = 0.0;
+            for (int loop = 0; loop < gamesToRun; loop++) {
+                int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
 
-            int playerOnTeam = -1;
-            for (int p = 0; p < newGame.getGameState().getNPlayers(); p++) {
-                if (newGame.getGameState().getTeam(p) == thisTeamIndex) {
-                    playerOnTeam = p;
+                // always reset the random seed for each new game
+                newGame.reset(playersPerGame.get(loop), seed);
+                newGame.run();
+
+                int playerOnTeam = -1;
+                for (int p = 0; p < newGame.getGameState().getNPlayers(); p++) {
+                    if (newGame.getGameState().getTeam(p) == thisTeamIndex) {
+                        playerOnTeam = p;
+                    }
                 }
+                if (tuningPlayer && playerOnTeam == -1)
+                    throw new AssertionError("No Player found on team " + thisTeamIndex);
+                retValue += tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
             }
-            if (tuningPlayer && playerOnTeam == -1)
-                throw new AssertionError("No Player found on team " + thisTeamIndex);
-            retValue += tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
-        }
-        //    System.out.println("GameEvaluator: " + retValue);
-
-        nEvals++;
-        return retValue;
+            //    System.out.println("GameEvaluator: " + retValue);
+            return retValue;
+        };
     }
 
     private List<AbstractPlayer> setupPlayers(int teamIndex, int nTeams, int[] settings) {
@@ -9,6 +9,10 @@ import evodef.SearchSpace;
 import games.GameType;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * Game Evaluator is used for NTBEA optimisation of parameters. It implements the SolutionEvaluator interface.
@@ -61,6 +65,47 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
      */
     @Override
     public double[] evaluate(List<int[]> settings) {
+        return prepareEvaluation(settings).get();
+    }
+
+    /**
+     * Evaluates a batch of games, each with one setting per team, running them on the executor (or on this thread if
+     * executor is null). The seeds are taken from rnd in order before any game starts, so each game gets the seed it
+     * would have done from evaluate(List) in the same order.
+     *
+     * @return the results of each game (indexed by team, as from evaluate(List)), in the same order
+     */
+    public List<double[]> evaluate(List<List<int[]>> batch, ExecutorService executor) {
+        List<Supplier<double[]>> evaluations = new ArrayList<>(batch.size());
+        for (List<int[]> settings : batch)
+            evaluations.add(prepareEvaluation(settings));
+        if (executor == null)
+            return evaluations.stream().map(Supplier::get).toList();
+        List<Future<double[]>> futures = new ArrayList<>(batch.size());
+        for (Supplier<double[]> evaluation : evaluations)
+            futures.add(executor.submit(evaluation::get));
+        List<double[]> retValue = new ArrayList<>(batch.size());
+        try {
+            for (Future<double[]> future : futures)
+                retValue.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return retValue;
+    }
+
+    /**
+     * Sets up the game and players, using rnd and nEvals in order on this thread. The returned supplier then runs the
+     * game, and can be run on any thread.
+     */
+    private Supplier<double[]> prepareEvaluation(List<int[]> settings) {
    //     System.out.printf("Starting evaluation %d of %n\t%s at %tT%n", nEvals,
      //           settings.stream().map(Arrays::toString).collect(joining(",\n\t")), System.currentTimeMillis());
 
@@ -72,21 +117,24 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
             AbstractPlayer tunedPlayer = (AbstractPlayer) searchSpace.getAgent(settings.get(i));
             allPlayers.add(tunedPlayer);
         }
+        long seed = rnd.nextLong();
+        nEvals++;
 
-        newGame.reset(allPlayers, rnd.nextLong());
+        return () -> {
+            newGame.reset(allPlayers, seed);
 
-        newGame.run();
-        AbstractGameState finalState = newGame.getGameState();
+            newGame.run();
+            AbstractGameState finalState = newGame.getGameState();
 
-        nEvals++;
-        double[] retValue = new double[nPlayers];
-        for (int i = 0; i < nPlayers; i++) {
-            int team = finalState.getTeam(i);
-            retValue[team] = stateHeuristic.evaluateState(finalState, i);
-        }
+            double[] retValue = new double[nPlayers];
+            for (int i = 0; i < nPlayers; i++) {
+                int team = finalState.getTeam(i);
+                retValue[team] = stateHeuristic.evaluateState(finalState, i);
+            }
 
-     //   System.out.printf("Result : %s%n", Arrays.toString(retValue));
-        return retValue;
+            //   System.out.printf("Result : %s%n", Arrays.toString(retValue));
+            return retValue;
+        };
     }
 
     /**
@@ -39,7 +39,34 @@ public class MultiNTBEA extends NTBEA {
     @Override
     protected void runTrials() {
         multiPlayerEvaluator.reset();
-        searchFramework.runTrial(multiPlayerEvaluator, params.iterationsPerRun);
+        if (params.batchSize > 1) {
+            // each game in a batch has one setting per team, all taken from the same batch of the search
+            int nTeams = game.createGameInstance(nPlayers).getGameState().getNTeams();
+            BatchedBanditSearch search = newBatchedSearch();
+            int games = 0;
+            while (games < params.iterationsPerRun) {
+                int batchGames = Math.min(params.batchSize, params.iterationsPerRun - games);
+                List<int[]> points = search.nextBatch(batchGames * nTeams);
+                List<List<int[]>> matchups = new ArrayList<>(batchGames);
+                List<int[]> settings = new ArrayList<>(batchGames * nTeams);
+                for (int g = 0; g < batchGames; g++) {
+                    List<int[]> matchup = new ArrayList<>(nTeams);
+                    for (int t = 0; t < nTeams; t++)
+                        // if the neighbourhood is too small to fill the batch, we re-use points
+                        matchup.add(points.get((g * nTeams + t) % points.size()));
+                    matchups.add(matchup);
+                    settings.addAll(matchup);
+                }
+                List<double[]> results = multiPlayerEvaluator.evaluate(matchups, executor());
+                double[] values = new double[settings.size()];
+                for (int g = 0; g < batchGames; g++)
+                    System.arraycopy(results.get(g), 0, values, g * nTeams, nTeams);
+                search.addResults(settings, values);
+                games += batchGames;
+            }
+        } else {
+            searchFramework.runTrial(multiPlayerEvaluator, params.iterationsPerRun);
+        }
     }
 
 
@@ -28,6 +28,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.IntToDoubleFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -52,6 +54,8 @@ public class NTBEA {
     int currentIteration = 0;
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
+    Random batchRnd;
+    ExecutorService executor;
 
     public NTBEA(NTBEAParameters parameters, GameType game, int nPlayers) {
         // Now initialise the other bits and pieces needed for the NTBEA package
@@ -63,6 +67,7 @@ public class NTBEA {
         searchFramework = new NTupleBanditEA(landscapeModel, params.kExplore, params.neighbourhoodSize);
         this.game = game;
         this.nPlayers = nPlayers;
+        batchRnd = new Random(params.seed);
         // Set up opponents
         // if we are in coop mode, then we have no opponents. This is indicated by leaving the list empty.
         List<AbstractPlayer> opponents = params.mode == NTBEAParameters.Mode.CoopNTBEA ? new ArrayList<>()
@@ -136,6 +141,17 @@ public class NTBEA {
      * @return
      */
     public Pair<Object, int[]> run() {
+        try {
+            return runAll();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private Pair<Object, int[]> runAll() {
 
         for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
             runIteration();
@@ -182,6 +198,7 @@ public class NTBEA {
                 config.put(RunArg.budget, params.budget);
                 config.put(RunArg.verbose, false);
                 config.put(RunArg.destDir, params.destDir);
+                config.put(RunArg.nThreads, params.nThreads);
                 RoundRobinTournament tournament = new RoundRobinTournament(players, game, nPlayers, params.gameParams, config);
                 createListeners().forEach(tournament::addListener);
                 tournament.run();
@@ -235,7 +252,30 @@ public class NTBEA {
 
     protected void runTrials() {
         evaluator.reset();
-        searchFramework.runTrial(evaluator, params.iterationsPerRun);
+        if (params.batchSize > 1) {
+            BatchedBanditSearch search = newBatchedSearch();
+            int evaluations = 0;
+            while (evaluations < params.iterationsPerRun) {
+                List<int[]> batch = search.nextBatch(Math.min(params.batchSize, params.iterationsPerRun - evaluations));
+                search.addResults(batch, evaluator.evaluate(batch, executor()));
+                evaluations += batch.size();
+            }
+        } else {
+            searchFramework.runTrial(evaluator, params.iterationsPerRun);
+        }
+    }
+
+    protected BatchedBanditSearch newBatchedSearch() {
+        return new BatchedBanditSearch(landscapeModel, params.searchSpace, params.kExplore, params.neighbourhoodSize, batchRnd.nextLong());
+    }
+
+    /**
+     * @return the executor to run games on, or null if we are only using one thread
+     */
+    protected ExecutorService executor() {
+        if (params.nThreads > 1 && executor == null)
+            executor = Executors.newFixedThreadPool(params.nThreads);
+        return executor;
     }
 
     protected void runIteration() {
@@ -274,8 +314,7 @@ public class NTBEA {
 
     protected Pair<Double, Double> evaluateWinner(int[] winnerSettings) {
 
-        double[] results = IntStream.range(0, params.evalGames)
-                .mapToDouble(answer -> evaluator.evaluate(winnerSettings)).toArray();
+        double[] results = evaluator.evaluate(Collections.nCopies(params.evalGames, winnerSettings), executor());
 
         double avg = Arrays.stream(results).average().orElse(0.0);
         double stdErr = Math.sqrt(Arrays.stream(results)
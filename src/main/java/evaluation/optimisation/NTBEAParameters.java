@@ -43,6 +43,8 @@ public class NTBEAParameters {
     public ITPSearchSpace searchSpace;
     public AbstractParameters gameParams;
     public boolean byTeam;
+    public int nThreads;
+    public int batchSize;
 
     public NTBEAParameters(Map<RunArg, Object> args) {
         this(args, Function.identity());
@@ -64,6 +66,13 @@ public class NTBEAParameters {
         verbose = (boolean) args.get(RunArg.verbose);
         seed = args.get(RunArg.seed) instanceof Long ? ((Long)args.get(RunArg.seed)).intValue() : (int) args.get(RunArg.seed)  ;
         byTeam = (boolean) args.get(RunArg.byTeam);
+        nThreads = (int) args.get(RunArg.nThreads);
+        if (nThreads < 1)
+            throw new IllegalArgumentException("nThreads must be at least 1, not " + nThreads);
+        batchSize = (int) args.get(RunArg.batchSize);
+        if (batchSize == 0) batchSize = nThreads;
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be at least 1 (or 0 to use nThreads), not " + batchSize);
         GameType game = GameType.valueOf(args.get(RunArg.game).toString());
         gameParams = args.get(RunArg.gameParams).equals("") ? null :
                 AbstractParameters.createFromFile(game, (String) args.get(RunArg.gameParams));
@@ -2,6 +2,8 @@ package evaluation.tournaments;
 
 import core.AbstractParameters;
 import core.AbstractPlayer;
+import core.Game;
+import core.ParallelGameRunner;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
@@ -10,11 +12,16 @@ import org.apache.commons.math3.linear.EigenDecomposition;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import players.IAnyTimePlayer;
+import players.IPonderingPlayer;
 import utilities.*;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -54,6 +61,17 @@ public class RoundRobinTournament extends AbstractTournament {
     int tournamentSeeds;
     String seedFile;
     Random seedRnd;
+    int nThreads;
+
+    // Used only when games are run in parallel; each game has its own Game, players and copies of the listeners.
+    // Finished games are recorded in the order they were submitted, so that the results do not depend on which
+    // thread finishes first
+    private record ParallelGame(Game game, List<AbstractPlayer> players, List<IGameListener> listeners, List<Integer> agentIDs) {
+    }
+
+    private ExecutorService executor;
+    private Set<String> agentNames;
+    private final Deque<Future<ParallelGame>> pendingGames = new ArrayDeque<>();
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -92,6 +110,14 @@ public class RoundRobinTournament extends AbstractTournament {
                 }
             }
         }
+        if (!(boolean) config.getOrDefault(RunArg.ponder, true)) {
+            // pondering gives an agent extra thinking time on other players' turns; so we switch it off for fairness
+            for (AbstractPlayer player : agents) {
+                if (player instanceof IPonderingPlayer) {
+                    ((IPonderingPlayer) player).setPonder(false);
+                }
+            }
+        }
         this.pointsPerPlayer = new double[agents.size()];
         this.pointsPerPlayerSquared = new double[agents.size()];
         this.winsPerPlayer = new double[agents.size()];
@@ -142,6 +168,7 @@ public class RoundRobinTournament extends AbstractTournament {
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
         this.seedRnd = new Random(randomSeed);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        this.nThreads = (int) config.getOrDefault(RunArg.nThreads, 1);
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -163,25 +190,48 @@ public class RoundRobinTournament extends AbstractTournament {
                 //           .peek(a -> System.out.println(a.toString()))
                 .map(AbstractPlayer::toString).collect(Collectors.toSet());
 
+        // Games can only be run in parallel if every listener can be split into one copy per worker
+        boolean parallel = nThreads > 1;
+        for (IGameListener gameTracker : listeners) {
+            if (parallel && !IGameListener.supportsParallelGames(gameTracker)) {
+                System.out.println("Listener " + gameTracker.getClass().getSimpleName() + " does not support parallel games; running sequentially");
+                parallel = false;
+            }
+        }
         for (IGameListener gameTracker : listeners) {
             gameTracker.init(game, nPlayers, agentNames);
-            game.addListener(gameTracker);
+            if (!parallel)
+                game.addListener(gameTracker);
         }
 
-        LinkedList<Integer> matchUp = new LinkedList<>();
-        // add outer loop if we have tournamentSeeds enabled; if not this will just run once
-        List<Integer> allSeeds = new ArrayList<>(gameSeeds);
-        for (int iter = 0; iter < Math.max(1, tournamentSeeds); iter++) {
-            if (tournamentSeeds > 0) {
-                // use the same seed for each game in the tournament
-                // allSeeds contains the ones loaded from file - if empty then use a random one
-                int nextRnd = allSeeds.isEmpty() ? seedRnd.nextInt() : allSeeds.get(iter);
-                gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> nextRnd).collect(toList());
-            } else {
-                // use a seed per matchup
-                gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> seedRnd.nextInt()).collect(toList());
+        if (parallel) {
+            executor = Executors.newFixedThreadPool(nThreads);
+            this.agentNames = agentNames;
+        }
+        try {
+            LinkedList<Integer> matchUp = new LinkedList<>();
+            // add outer loop if we have tournamentSeeds enabled; if not this will just run once
+            List<Integer> allSeeds = new ArrayList<>(gameSeeds);
+            for (int iter = 0; iter < Math.max(1, tournamentSeeds); iter++) {
+                if (tournamentSeeds > 0) {
+                    // use the same seed for each game in the tournament
+                    // allSeeds contains the ones loaded from file - if empty then use a random one
+                    int nextRnd = allSeeds.isEmpty() ? seedRnd.nextInt() : allSeeds.get(iter);
+                    gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> nextRnd).collect(toList());
+                } else {
+                    // use a seed per matchup
+                    gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> seedRnd.nextInt()).collect(toList());
+                }
+                createAndRunMatchUp(matchUp);
             }
-            createAndRunMatchUp(matchUp);
+            while (!pendingGames.isEmpty())
+                recordParallelGame();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            pendingGames.clear();
         }
         reportResults();
 
@@ -328,68 +378,132 @@ public class RoundRobinTournament extends AbstractTournament {
         for (int i = 0; i < nGames; i++) {
             // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
             // so we override the standard random seeds
-            game.reset(matchUpPlayers, seeds.get(i));
-
-            // Randomize parameters
-            if (randomGameParams) {
-                game.getGameState().getGameParameters().randomize();
-                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+            int seed = seeds.get(i);
+            if (executor != null) {
+                // we only keep a few games per thread queued, so that the copies of the players are not all made
+                // up front
+                while (pendingGames.size() >= 2 * nThreads)
+                    recordParallelGame();
+                ParallelGame parallelGame = newParallelGame(matchUpPlayers, agentIDsInThisGame, seed);
+                pendingGames.add(executor.submit(() -> {
+                    runGame(parallelGame.game(), parallelGame.players(), seed);
+                    return parallelGame;
+                }));
+            } else {
+                runGame(game, matchUpPlayers, seed);
+                recordResults(game, agentIDsInThisGame);
             }
+        }
+    }
 
-            game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
+    /**
+     * Sets up one game to be run in parallel. Each game has its own copies of the players, as the same agent may
+     * be in several games at once, and of the listeners. These are made here, on the main thread, as copy() is
+     * not necessarily safe to call from several threads.
+     */
+    private ParallelGame newParallelGame(List<AbstractPlayer> matchUpPlayers, List<Integer> agentIDsInThisGame, int seed) {
+        List<AbstractPlayer> gamePlayers = ParallelGameRunner.copyPlayers(matchUpPlayers, seed);
+        for (int j = 0; j < gamePlayers.size(); j++)
+            gamePlayers.get(j).setName(matchUpPlayers.get(j).toString());
+        Game parallelGame = game.getGameType().createGameInstance(nPlayers, game.getGameState().getGameParameters().copy());
+        List<IGameListener> gameListeners = new ArrayList<>();
+        for (IGameListener listener : listeners) {
+            IGameListener copy = listener.emptyCopy();
+            copy.init(parallelGame, nPlayers, agentNames);
+            parallelGame.addListener(copy);
+            gameListeners.add(copy);
+        }
+        // the caller will change its matchUp
+        return new ParallelGame(parallelGame, gamePlayers, gameListeners, new ArrayList<>(agentIDsInThisGame));
+    }
 
-            int numDraws = 0;
-            for (int j = 0; j < matchUpPlayers.size(); j++) {
-                nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
-                for (int k = 0; k < matchUpPlayers.size(); k++) {
-                    if (k != j) {
-                        nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
-                    }
+    /**
+     * Waits for the oldest game still running in parallel to finish, and adds its results, and the data from its
+     * listeners, to the tournament.
+     */
+    private void recordParallelGame() {
+        ParallelGame finished;
+        try {
+            finished = pendingGames.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running tournament games", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error running tournament game", e.getCause());
+        }
+        recordResults(finished.game(), finished.agentIDs());
+        for (int i = 0; i < listeners.size(); i++)
+            listeners.get(i).merge(finished.listeners().get(i));
+    }
+
+    private void runGame(Game game, List<AbstractPlayer> players, int seed) {
+        game.reset(players, seed);
+
+        // Randomize parameters
+        if (randomGameParams) {
+            game.getGameState().getGameParameters().randomize();
+            System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+        }
+
+        game.run();  // Always running tournaments without visuals
+    }
+
+    /**
+     * Adds the result of one finished game to the tournament totals.
+     */
+    private void recordResults(Game game, List<Integer> agentIDsInThisGame) {
+        GameResult[] results = game.getGameState().getPlayerResults();
+        int nAgents = agentIDsInThisGame.size();
+
+        int numDraws = 0;
+        for (int j = 0; j < nAgents; j++) {
+            nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
+            for (int k = 0; k < nAgents; k++) {
+                if (k != j) {
+                    nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
                 }
+            }
 
-                // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
-                if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+            // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
+            if (byTeam) {
+                for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
+                    if (game.getGameState().getTeam(player) == j) {
+                        numDraws += updatePoints(game, results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                        break; // we stop after one player on the team to avoid double counting
                     }
-                } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
+            } else {
+                numDraws += updatePoints(game, results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
             }
+        }
 
-            if (numDraws > 0) {
-                double pointsPerDraw = 1.0 / numDraws;
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
-                    if (results[j] == GameResult.DRAW_GAME)
-                        pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
-                }
+        if (numDraws > 0) {
+            double pointsPerDraw = 1.0 / numDraws;
+            for (int j = 0; j < nAgents; j++) {
+                if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
+                if (results[j] == GameResult.DRAW_GAME)
+                    pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
             }
+        }
 
-            if (verbose) {
-                StringBuffer sb = new StringBuffer();
-                sb.append("[");
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            sb.append(results[player]).append(",");
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+        if (verbose) {
+            StringBuffer sb = new StringBuffer();
+            sb.append("[");
+            for (int j = 0; j < nAgents; j++) {
+                for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
+                    if (game.getGameState().getTeam(player) == j) {
+                        sb.append(results[player]).append(",");
+                        break; // we stop after one player on the team to avoid double counting
                     }
                 }
-                sb.setCharAt(sb.length() - 1, ']');
-                System.out.println(sb);
             }
-
+            sb.setCharAt(sb.length() - 1, ']');
+            System.out.println(sb);
         }
-        totalGamesRun += nGames;
+        totalGamesRun++;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(Game game, GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
         int ordinalPos = game.getGameState().getOrdinalPosition(player);
         rankPerPlayer[j] += ordinalPos;
@@ -542,16 +656,18 @@ public class RoundRobinTournament extends AbstractTournament {
                 if (verbose) System.out.print(str);
             }
         }
-        // To file
+        // To file (several tournaments may be running in parallel, and sharing the same results file)
         if (toFile) {
-            try {
-                FileWriter writer = new FileWriter(resultsFile, true);
-                for (String line : dataDump)
-                    writer.write(line);
-                writer.write("\n");
-                writer.close();
-            } catch (Exception e) {
-                e.printStackTrace();
+            synchronized (RoundRobinTournament.class) {
+                try {
+                    FileWriter writer = new FileWriter(resultsFile, true);
+                    for (String line : dataDump)
+                        writer.write(line);
+                    writer.write("\n");
+                    writer.close();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
             }
         }
     }
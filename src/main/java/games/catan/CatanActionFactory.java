@@ -165,6 +165,56 @@ public class CatanActionFactory {
         return actions;
     }
 
+    /**
+     * @return the number of actions getPlayerTradeOfferActions() returns for a new offer (tradeOffer == null) with a
+     * flat action space, without creating them
+     */
+    static int countNewTradeOffers(CatanGameState gs, int playerID) {
+        Map<CatanParameters.Resource, Counter> resources = gs.getPlayerResources(playerID);
+        int maxToRequest = ((CatanParameters) gs.getGameParameters()).max_resources_request_trade;
+        int count = 0;
+        for (int playerIndex = 0; playerIndex < gs.getNPlayers(); playerIndex++) {
+            if (playerIndex != playerID && gs.getNResourcesInHand(playerIndex) > 0) {
+                for (CatanParameters.Resource resToOffer : CatanParameters.Resource.values()) {
+                    if (resToOffer == CatanParameters.Resource.WILD) continue;
+                    int maxToOffer = resources.get(resToOffer).getValue();
+                    for (CatanParameters.Resource resToRequest : CatanParameters.Resource.values()) {
+                        if (resToRequest != CatanParameters.Resource.WILD && resToRequest != resToOffer && maxToOffer > 0 && maxToRequest > 0)
+                            count += maxToOffer * maxToRequest;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return getPlayerTradeOfferActions(gs, ActionSpace.Default, playerID, null).get(k), without creating the other
+     * offers. Within each pair of players and resources createTradeOfferActions() lists every quantity offered, and
+     * for each of these every quantity requested, so we can go straight to the k-th.
+     */
+    static AbstractAction getNewTradeOffer(CatanGameState gs, int playerID, int k) {
+        Map<CatanParameters.Resource, Counter> resources = gs.getPlayerResources(playerID);
+        int maxToRequest = ((CatanParameters) gs.getGameParameters()).max_resources_request_trade;
+        for (int playerIndex = 0; playerIndex < gs.getNPlayers(); playerIndex++) {
+            if (playerIndex != playerID && gs.getNResourcesInHand(playerIndex) > 0) {
+                for (CatanParameters.Resource resToOffer : CatanParameters.Resource.values()) {
+                    if (resToOffer == CatanParameters.Resource.WILD) continue;
+                    int maxToOffer = resources.get(resToOffer).getValue();
+                    for (CatanParameters.Resource resToRequest : CatanParameters.Resource.values()) {
+                        if (resToRequest == CatanParameters.Resource.WILD || resToRequest == resToOffer || maxToOffer <= 0 || maxToRequest <= 0)
+                            continue;
+                        if (k < maxToOffer * maxToRequest)
+                            return new OfferPlayerTrade(OfferPlayerTrade.Stage.Offer, resToOffer, k / maxToRequest + 1,
+                                    resToRequest, k % maxToRequest + 1, playerID, playerIndex);
+                        k -= maxToOffer * maxToRequest;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Trade offer index out of range");
+    }
+
     /**
      * Helper function that lists all combinations of trade offers, from 1 to maxToOffer of resource offered, and from 1 to maxToRequest for resource requested
      * @param offeringPlayer - player offering trade originally (may not be active player)
@@ -284,6 +284,59 @@ public class CatanForwardModel extends StandardForwardModel {
         return mainActions;
     }
 
+    /**
+     * In the main phase (with no trade offer to reply to) most of the actions are usually new trade offers to other
+     * players, and these can be counted and indexed without creating them. The other groups of actions are short,
+     * and are still created as lists. In all other cases the full list is needed (-1).
+     */
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        CatanGameState cgs = (CatanGameState) gameState;
+        CatanParameters cp = (CatanParameters) gameState.getGameParameters();
+        int player = cgs.getCurrentPlayer();
+        if (cgs.getGamePhase() == Setup || cgs.getGamePhase() == Robber || cgs.tradeOffer != null)
+            return -1;
+
+        int count = CatanActionFactory.getDefaultTradeActions(cgs, ActionSpace.Default, player).size();
+        if (cp.tradingAllowed && cgs.nTradesThisTurn < cp.max_trade_actions_allowed)
+            count += CatanActionFactory.countNewTradeOffers(cgs, player);
+        count += CatanActionFactory.getBuyActions(cgs, ActionSpace.Default, player).size();
+        if (cgs.noDevelopmentCardPlayed())
+            count += CatanActionFactory.getDevCardActions(cgs, ActionSpace.Default, player).size();
+        return count + 1;  // End turn
+    }
+
+    @Override
+    protected AbstractAction _availableAction(AbstractGameState gameState, int k) {
+        CatanGameState cgs = (CatanGameState) gameState;
+        CatanParameters cp = (CatanParameters) gameState.getGameParameters();
+        int player = cgs.getCurrentPlayer();
+
+        List<AbstractAction> defaultTrades = CatanActionFactory.getDefaultTradeActions(cgs, ActionSpace.Default, player);
+        if (k < defaultTrades.size())
+            return defaultTrades.get(k);
+        k -= defaultTrades.size();
+
+        if (cp.tradingAllowed && cgs.nTradesThisTurn < cp.max_trade_actions_allowed) {
+            int nOffers = CatanActionFactory.countNewTradeOffers(cgs, player);
+            if (k < nOffers)
+                return CatanActionFactory.getNewTradeOffer(cgs, player, k);
+            k -= nOffers;
+        }
+
+        List<AbstractAction> buyActions = CatanActionFactory.getBuyActions(cgs, ActionSpace.Default, player);
+        if (k < buyActions.size())
+            return buyActions.get(k);
+        k -= buyActions.size();
+
+        if (cgs.noDevelopmentCardPlayed()) {
+            List<AbstractAction> devCardActions = CatanActionFactory.getDevCardActions(cgs, ActionSpace.Default, player);
+            if (k < devCardActions.size())
+                return devCardActions.get(k);
+        }
+        return new DoNothing();  // End turn
+    }
+
     private CatanTile[][] generateBoard(CatanParameters params, Random rnd) {
         // Shuffle the tile types
         ArrayList<CatanTile.TileType> tileList = new ArrayList<>();
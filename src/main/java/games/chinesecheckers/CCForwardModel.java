@@ -47,15 +47,6 @@ public class CCForwardModel extends StandardForwardModel {
         return loadPlayerActions(player, state);
     }
 
-    private static CCNode neighbourInDirection(CCNode node, int dir) {
-        for (CCNode neig : node.getNeighbours()) {
-            if (node.getNeighbourSideMapping().get(neig) == dir) {
-                return neig;
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns true if the peg can be placed on the node
      * All board nodes in the main areas are neutral; the colour here refers just to the 10
@@ -75,46 +66,74 @@ public class CCForwardModel extends StandardForwardModel {
         List<AbstractAction> actions = new ArrayList<>();
         for (CCNode node : state.starBoard.getBoardNodes()) { // Check all Nodes
             if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
-                actions.addAll(exploreNodeAction(node, state));
+                for (int destination : exploreNodeAction(node)) {
+                    actions.add(new MovePeg(node.getID(), destination));
+                }
             }
         }
         return actions;
     }
 
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        CCGameState state = (CCGameState) gameState;
+        Peg.Colour playerCol = state.getPlayerColour(state.getCurrentPlayer());
+        int count = 0;
+        for (CCNode node : state.starBoard.getBoardNodes()) {
+            if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
+                count += exploreNodeAction(node).size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    protected AbstractAction _availableAction(AbstractGameState gameState, int k) {
+        CCGameState state = (CCGameState) gameState;
+        Peg.Colour playerCol = state.getPlayerColour(state.getCurrentPlayer());
+        for (CCNode node : state.starBoard.getBoardNodes()) {
+            if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
+                List<Integer> destinations = exploreNodeAction(node);
+                if (k < destinations.size())
+                    return new MovePeg(node.getID(), destinations.get(k));
+                k -= destinations.size();
+            }
+        }
+        throw new AssertionError("Action index out of range");
+    }
+
     /**
      * In which we use a form of breadth-first search to find all the possible moves we can make
      * starting from the given node
      * @param node
-     * @param state
-     * @return
+     * @return the IDs of the nodes the peg on node can move to, in the order of the actions for them
      */
-    private static List<AbstractAction> exploreNodeAction(CCNode node, CCGameState state) {
+    private static List<Integer> exploreNodeAction(CCNode node) {
         Peg.Colour playerCol = node.getOccupiedPeg().getColour();
-        List<AbstractAction> actions = new ArrayList<>();
+        List<Integer> destinations = new ArrayList<>();
         // first get the single directly adjacent moves
-        for (CCNode nei_0 : node.getNeighbours()) {
-            if (!nei_0.isNodeOccupied() && isPlayerPlaceable(nei_0.getBaseColour(), playerCol)) {
+        for (int side = 0; side < StarBoard.N_SIDES; side++) {
+            CCNode nei_0 = node.getNeighbour(side);
+            if (nei_0 != null && !nei_0.isNodeOccupied() && isPlayerPlaceable(nei_0.getBaseColour(), playerCol)) {
                 if (node.getOccupiedPeg().getInDestination()) {
                     if (nei_0.getBaseColour() != Peg.Colour.neutral) {
-                        MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                        if (!actions.contains(action)) {
-                            actions.add(action);
+                        if (!destinations.contains(nei_0.getID())) {
+                            destinations.add(nei_0.getID());
                         }
                     }
                 } else {
-                    MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                    if (!actions.contains(action)) {
-                        actions.add(action);
+                    if (!destinations.contains(nei_0.getID())) {
+                        destinations.add(nei_0.getID());
                     }
                 }
             }
         }
         // then get the jumping stuff
-        repeatAction(node, actions, playerCol);
-        return actions;
+        repeatAction(node, destinations, playerCol);
+        return destinations;
     }
 
-    private static void repeatAction(CCNode node, List<AbstractAction> actions, Peg.Colour playerCol) {
+    private static void repeatAction(CCNode node, List<Integer> destinations, Peg.Colour playerCol) {
         HashSet<CCNode> visited = new HashSet<>();
         HashSet<CCNode> toVisit = new HashSet<>();
         toVisit.add(node);
@@ -129,10 +148,10 @@ public class CCForwardModel extends StandardForwardModel {
             toVisit.remove(expNode);
             // once in target zone, a peg may not leave it
             boolean canLeaveZone = expNode.getBaseColour() != playerCol;
-            for (CCNode neighbour : expNode.getNeighbours()) {
-                int side = expNode.getNeighbourSideMapping().get(neighbour);
-                if (neighbour.isNodeOccupied()) {
-                    CCNode stride = neighbourInDirection(neighbour, side);
+            for (int side = 0; side < StarBoard.N_SIDES; side++) {
+                CCNode neighbour = expNode.getNeighbour(side);
+                if (neighbour != null && neighbour.isNodeOccupied()) {
+                    CCNode stride = neighbour.getNeighbour(side);
                     if (stride != null && !stride.isNodeOccupied() &&
                             (canLeaveZone || stride.getBaseColour() == playerCol) &&
                             !visited.contains(stride)) {
@@ -144,9 +163,8 @@ public class CCForwardModel extends StandardForwardModel {
         visited.remove(node);
         visited.removeIf(n -> (!isPlayerPlaceable(n.getBaseColour(), playerCol)));
         for (CCNode v : visited) {
-            MovePeg action = new MovePeg(node.getID(), v.getID());
-            if (!actions.contains(action)) {
-                actions.add(action);
+            if (!destinations.contains(v.getID())) {
+                destinations.add(v.getID());
             }
         }
     }
@@ -1,7 +1,6 @@
 package games.chinesecheckers.components;
 
 import core.CoreConstants;
-import core.components.BoardNode;
 import core.components.Component;
 import core.properties.Property;
 import org.json.simple.JSONArray;
@@ -9,46 +8,25 @@ import org.json.simple.JSONObject;
 
 import java.util.*;
 
+/**
+ * A node of a StarBoard. The position, colour and neighbours of the node are looked up in the board's shared
+ * layout; the only state a node has of its own is the peg on it.
+ */
 public class CCNode extends Component {
 
-    private Peg.Colour colour;
+    private final StarBoard board;
 
     private Peg occupiedPeg;
 
-    private int x;
-    private int y;
-
-    private Set<CCNode> neighbours;  // Neighbours of this board node
-    private Map<CCNode, Integer> neighbourSideMapping;  // Neighbours mapping to a side of this board node
-    private int maxNeighbours = 6;  // Maximum number of neighbours for this board node
-
-
-    public CCNode() {
-        super(CoreConstants.ComponentType.BOARD_NODE, "CC", 0);
-        this.neighbours = new HashSet<>();
-        this.neighbourSideMapping = new HashMap<>();
-    }
-
-    public CCNode(int id) {
+    CCNode(StarBoard board, int id) {
         super(CoreConstants.ComponentType.BOARD_NODE, "CC", id);
-        colour = Peg.Colour.neutral;
-        this.neighbours = new HashSet<>();
-        this.neighbourSideMapping = new HashMap<>();
+        this.board = board;
     }
 
     public void setOccupiedPeg(Peg peg) {
         occupiedPeg = peg;
     }
 
-    public void setColourNode(Peg.Colour colour) {
-        this.colour = colour;
-    }
-
-    public void setCoordinates(int x, int y) {
-        this.x = x;
-        this.y = y;
-    }
-
     public Peg getOccupiedPeg() {
         if (occupiedPeg == null) return null;
         return occupiedPeg;
@@ -59,59 +37,27 @@ public class CCNode extends Component {
     }
 
     public int getX() {
-        return x;
+        return StarBoard.getX(componentID);
     }
 
     public int getY() {
-        return y;
+        return StarBoard.getY(componentID);
     }
 
     public Peg.Colour getBaseColour() {
-        return colour;
+        return StarBoard.getBaseColour(componentID);
     }
 
     public boolean isNodeOccupied() {
         return occupiedPeg != null;
     }
 
-
-    /**
-     * Adds a neighbour for this node.
-     *
-     * @param neighbour - new neighbour of this node.
-     */
-    public void addNeighbour(CCNode neighbour) {
-        if (neighbours.size() <= maxNeighbours || maxNeighbours == -1) {
-            neighbours.add(neighbour);
-        }
-    }
-
     /**
-     * Removes neighbour of this node.
-     *
-     * @param neighbour - neighbour to remove.
+     * @param side - side of this node, from 0 to StarBoard.N_SIDES - 1
+     * @return the neighbour of this node on that side, or null if there is none
      */
-    public void removeNeighbour(CCNode neighbour) {
-        if (neighbours.contains(neighbour)) {
-            neighbours.remove(neighbour);
-            neighbourSideMapping.remove(neighbour);
-        }
-    }
-
-    /**
-     * Adds neighbour to specific side of this node.
-     *
-     * @param neighbour - new neighbour to be added.
-     * @param side      - side of this node to be added in.
-     * @return - true if added successfully, false otherwise. may fail if too many neighbours added already.
-     */
-    public void addNeighbour(CCNode neighbour, int side) {
-        if (neighbours.size() <= maxNeighbours && side <= maxNeighbours || maxNeighbours == -1) {
-            if (!(neighbours.contains(neighbour)) && !(neighbourSideMapping.containsKey(neighbour))) {
-                neighbours.add(neighbour);
-                neighbourSideMapping.put(neighbour, side);
-            }
-        }
+    public CCNode getNeighbour(int side) {
+        return board.getNeighbour(componentID, side);
     }
 
     /**
@@ -120,15 +66,20 @@ public class CCNode extends Component {
      * @return - a new instance of this node.
      */
     @Override
-    public BoardNode copy() {
-        // WARNING: DO not copy this directly, the GraphBoard copies it to correctly assign neighbour references!
+    public CCNode copy() {
+        // WARNING: DO not copy this directly, the StarBoard copies it so that it is on the right board!
         return null;
     }
 
     /**
-     * @return the neighbours of this node.
+     * @return the neighbours of this node, in order of side
      */
     public Set<CCNode> getNeighbours() {
+        Set<CCNode> neighbours = new LinkedHashSet<>();
+        for (int side = 0; side < StarBoard.N_SIDES; side++) {
+            CCNode n = getNeighbour(side);
+            if (n != null) neighbours.add(n);
+        }
         return neighbours;
     }
 
@@ -136,7 +87,12 @@ public class CCNode extends Component {
      * @return the neighbours mapping to sides of this node.
      */
     public Map<CCNode, Integer> getNeighbourSideMapping() {
-        return neighbourSideMapping;
+        Map<CCNode, Integer> mapping = new LinkedHashMap<>();
+        for (int side = 0; side < StarBoard.N_SIDES; side++) {
+            CCNode n = getNeighbour(side);
+            if (n != null) mapping.put(n, side);
+        }
+        return mapping;
     }
 
     public void loadBoardNode(JSONObject node) {
@@ -147,7 +103,7 @@ public class CCNode extends Component {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("{id: " + componentID + "; maxNeighbours: " + maxNeighbours + "; ");
+        sb.append("{id: " + componentID + "; maxNeighbours: " + StarBoard.N_SIDES + "; ");
         for (int prop_key : properties.keySet()) {
             Property prop = properties.get(prop_key);
             sb.append(prop.getHashString() + ": " + prop.toString() + "; ");
@@ -164,7 +120,8 @@ public class CCNode extends Component {
     public boolean equals(Object o) {
         if (o instanceof CCNode) {
             CCNode other = (CCNode) o;
-            return componentID == other.componentID && occupiedPeg.equals(other.occupiedPeg) && x == other.x && y == other.y && Objects.equals(neighbours, other.neighbours) && Objects.equals(neighbourSideMapping, other.neighbourSideMapping) && maxNeighbours == other.maxNeighbours;
+            // the layout is the same for all nodes with the same ID
+            return componentID == other.componentID && Objects.equals(occupiedPeg, other.occupiedPeg);
         }
         return false;
     }
@@ -4,25 +4,47 @@ import core.CoreConstants;
 import core.components.Component;
 import core.interfaces.IComponentContainer;
 import games.chinesecheckers.CCParameters;
+
 import java.util.*;
 
 public class StarBoard extends Component implements IComponentContainer<CCNode> {
 
+    public static final int N_NODES = 121;
+    public static final int N_SIDES = 6;
+
+    // The layout of the board never changes, so it is built once and shared by all boards (and their copies), which
+    // then only need to hold the pegs on each node.
+    // neighbours[i][side] is the ID of the node next to node i on that side, or -1 if there is none
+    private static final int[][] neighbours = new int[N_NODES][N_SIDES];
+    private static final int[] xs = new int[N_NODES];
+    private static final int[] ys = new int[N_NODES];
+    private static final Peg.Colour[] baseColours = new Peg.Colour[N_NODES];
+
+    static {
+        for (int[] n : neighbours)
+            Arrays.fill(n, -1);
+        Arrays.fill(baseColours, Peg.Colour.neutral);
+        buildBoard();
+        loadNodeBaseColours();
+    }
+
     // List of nodes in the board graph
     protected List<CCNode> boardNodes;
-    
+
     public StarBoard() {
         super(CoreConstants.ComponentType.BOARD);
-        boardNodes = new ArrayList<>();
-        buildBoard();
-        loadNodeBaseColours();
+        createNodes();
     }
 
     public StarBoard(String name, int ID) {
         super(CoreConstants.ComponentType.BOARD, name, ID);
-        boardNodes = new ArrayList<>();
-        buildBoard();
-        loadNodeBaseColours();
+        createNodes();
+    }
+
+    private void createNodes() {
+        boardNodes = new ArrayList<>(N_NODES);
+        for (int i = 0; i < N_NODES; i++)
+            boardNodes.add(new CCNode(this, i));
     }
 
     /**
@@ -31,28 +53,15 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
      */
     @Override
     public StarBoard copy() {
+        // the layout is shared, so we only need to copy the nodes' pegs (and properties)
         StarBoard b = new StarBoard(componentName, componentID);
-        HashMap<Integer, CCNode> nodeCopies = new HashMap<>();
-        // Copy board nodes
-        for (CCNode bn: boardNodes) {
-            CCNode bnCopy = new CCNode(bn.getComponentID());
+        for (CCNode bn : boardNodes) {
+            CCNode bnCopy = b.boardNodes.get(bn.getComponentID());
             bn.copyComponentTo(bnCopy);
-            bnCopy.setColourNode(bn.getBaseColour());
-            if(bn.isNodeOccupied()){
+            if (bn.isNodeOccupied()) {
                 bnCopy.setOccupiedPeg((Peg) bn.getOccupiedPeg().copy());
             }
-            bnCopy.setCoordinates(bn.getX(), bn.getY());
-            nodeCopies.put(bn.getComponentID(), bnCopy);
-        }
-        // Assign neighbours
-        for (CCNode bn: boardNodes) {
-            CCNode bnCopy = nodeCopies.get(bn.getComponentID());
-            for (Map.Entry<CCNode, Integer> e: bn.getNeighbourSideMapping().entrySet()) {
-                bnCopy.addNeighbour(nodeCopies.get(e.getKey().getComponentID()), e.getValue());
-            }
         }
-        // Assign new neighbours
-        b.setBoardNodes(new ArrayList<>(nodeCopies.values()));
         // Copy properties
         copyComponentTo(b);
 
@@ -66,13 +75,24 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
         return boardNodes;
     }
 
-
     /**
-     * Sets the list of board nodes to the given list.
-     * @param boardNodes - new list of board nodes.
+     * @return the node next to the given one on that side (0 to N_SIDES - 1), or null if there is none
      */
-    public void setBoardNodes(List<CCNode> boardNodes) {
-        this.boardNodes = boardNodes;
+    CCNode getNeighbour(int nodeID, int side) {
+        int n = neighbours[nodeID][side];
+        return n < 0 ? null : boardNodes.get(n);
+    }
+
+    static int getX(int nodeID) {
+        return xs[nodeID];
+    }
+
+    static int getY(int nodeID) {
+        return ys[nodeID];
+    }
+
+    static Peg.Colour getBaseColour(int nodeID) {
+        return baseColours[nodeID];
     }
 
     @Override
@@ -99,884 +119,897 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
         return CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
     }
 
-    private void loadNodeBaseColours(){
+    private static void loadNodeBaseColours(){
         // technically we would not have access to CCParameters here...but it prettifies the code
         // enough to be warranted
         CCParameters params = new CCParameters();
         // Load Purple Nodes
         for (Peg.Colour colour : params.colourIndices.keySet()) {
             for (int i : params.colourIndices.get(colour)) {
-                this.getBoardNodes().get(i).setColourNode(colour);
+                baseColours[i] = colour;
             }
         }
     }
-    
-    public void buildBoard(){
-        for(int i = 0; i < 121; i++) {this.getBoardNodes().add(new CCNode(i));}
-        (this.getBoardNodes().get(0)).setCoordinates(6, 0);
-        this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(1),3);
-        this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(2),2);
-
-        ((CCNode)this.getBoardNodes().get(1)).setCoordinates(5, 1);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(3), 3);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(4), 2);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(2), 1);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(0), 0);
-
-        ((CCNode)this.getBoardNodes().get(2)).setCoordinates(6, 1);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(4),3);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(5),2);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(0),5);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(1),4);
-
-        ((CCNode)this.getBoardNodes().get(3)).setCoordinates(5, 2);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(6),3);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(7),2);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(4),1);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(1),0);
-
-        ((CCNode)this.getBoardNodes().get(4)).setCoordinates(6, 2);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(7),3);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(8),2);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(5),1);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(2),0);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(1),5);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(3),4);
-
-        ((CCNode)this.getBoardNodes().get(5)).setCoordinates(7, 2);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(8),3);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(9),2);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(2),5);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(4),4);
-
-        ((CCNode)this.getBoardNodes().get(6)).setCoordinates(4, 3);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(14),3);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(15),2);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(7),1);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(3),0);
-
-        ((CCNode)this.getBoardNodes().get(7)).setCoordinates(5, 3);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(15),3);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(16),2);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(8),1);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(4),0);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(3),5);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(6),4);
-
-        ((CCNode)this.getBoardNodes().get(8)).setCoordinates(6, 3);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(16),3);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(17),2);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(9),1);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(5),0);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(4),5);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(7),4);
-
-        ((CCNode)this.getBoardNodes().get(9)).setCoordinates(7, 3);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(17),3);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(18),2);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(5),5);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(8),4);
-
-        ((CCNode)this.getBoardNodes().get(10)).setCoordinates(0, 4);
-        this.getBoardNodes().get(10).addNeighbour(this.getBoardNodes().get(11),1);
-        this.getBoardNodes().get(10).addNeighbour(this.getBoardNodes().get(23),2);
-
-        ((CCNode)this.getBoardNodes().get(11)).setCoordinates(1, 4);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(12),1);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(24),2);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(23),3);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(10),4);
-
-        ((CCNode)this.getBoardNodes().get(12)).setCoordinates(2, 4);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(13),1);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(25),2);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(24),3);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(11),4);
-
-        ((CCNode)this.getBoardNodes().get(13)).setCoordinates(3, 4);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(14),1);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(26),2);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(25),3);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(12),4);
-
-        ((CCNode)this.getBoardNodes().get(14)).setCoordinates(4, 4);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(6),0);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(15),1);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(27),2);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(26),3);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(13),4);
-
-        ((CCNode)this.getBoardNodes().get(15)).setCoordinates(5, 4);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(7),0);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(16),1);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(28),2);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(27),3);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(14),4);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(6),5);
-
-        ((CCNode)this.getBoardNodes().get(16)).setCoordinates(6, 4);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(8),0);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(17),1);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(29),2);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(28),3);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(15),4);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(7),5);
-
-        ((CCNode)this.getBoardNodes().get(17)).setCoordinates(7, 4);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(9),0);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(18),1);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(30),2);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(29),3);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(16),4);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(8),5);
-
-        ((CCNode)this.getBoardNodes().get(18)).setCoordinates(8, 4);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(19),1);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(31),2);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(30),3);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(17),4);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(9),5);
-
-        ((CCNode)this.getBoardNodes().get(19)).setCoordinates(9, 4);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(20),1);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(32),2);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(31),3);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(18),4);
-
-        ((CCNode)this.getBoardNodes().get(20)).setCoordinates(10, 4);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(21),1);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(33),2);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(32),3);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(19),4);
-
-        ((CCNode)this.getBoardNodes().get(21)).setCoordinates(11, 4);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(22),1);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(34),2);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(33),3);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(20),4);
-
-        ((CCNode)this.getBoardNodes().get(22)).setCoordinates(12, 4);
-        this.getBoardNodes().get(22).addNeighbour(this.getBoardNodes().get(34),3);
-        this.getBoardNodes().get(22).addNeighbour(this.getBoardNodes().get(21),4);
-
-        ((CCNode)this.getBoardNodes().get(23)).setCoordinates(0, 5);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(11),0);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(24),1);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(35),2);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(10),5);
-
-        ((CCNode)this.getBoardNodes().get(24)).setCoordinates(1, 5);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(12),0);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(25),1);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(36),2);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(36),3);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(23),4);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(10),5);
-
-        ((CCNode)this.getBoardNodes().get(25)).setCoordinates(2, 5);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(13),0);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(26),1);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(37),2);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(36),3);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(24),4);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(11),5);
-
-        ((CCNode)this.getBoardNodes().get(26)).setCoordinates(3, 5);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(14),0);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(27),1);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(38),2);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(37),3);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(25),4);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(13),5);
-
-        ((CCNode)this.getBoardNodes().get(27)).setCoordinates(4, 5);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(15),0);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(28),1);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(39),2);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(38),3);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(26),4);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(14),5);
-
-        ((CCNode)this.getBoardNodes().get(28)).setCoordinates(5, 5);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(16),0);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(29),1);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(40),2);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(39),3);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(27),4);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(15),5);
-
-        ((CCNode)this.getBoardNodes().get(29)).setCoordinates(6, 5);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(17),0);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(30),1);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(41),2);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(40),3);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(28),4);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(16),5);
-
-        ((CCNode)this.getBoardNodes().get(30)).setCoordinates(7, 5);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(18),0);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(31),1);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(42),2);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(41),3);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(29),4);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(17),5);
-
-        ((CCNode)this.getBoardNodes().get(31)).setCoordinates(8, 5);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(19),0);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(32),1);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(43),2);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(42),3);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(30),4);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(18),5);
-
-        ((CCNode)this.getBoardNodes().get(32)).setCoordinates(9, 5);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(20),0);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(33),1);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(44),2);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(43),3);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(31),4);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(19),5);
-
-        ((CCNode)this.getBoardNodes().get(33)).setCoordinates(10, 5);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(21),0);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(34),1);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(45),2);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(44),3);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(32),4);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(20),5);
-
-        ((CCNode)this.getBoardNodes().get(34)).setCoordinates(11, 5);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(22),0);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(45),3);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(33),4);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(21),5);
-
-        ((CCNode)this.getBoardNodes().get(35)).setCoordinates(1, 6);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(24),0);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(36),1);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(46),2);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(23),5);
-
-        ((CCNode)this.getBoardNodes().get(36)).setCoordinates(2, 6);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(25),0);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(37),1);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(47),2);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(46),3);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(35),4);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(24),5);
-
-        ((CCNode)this.getBoardNodes().get(37)).setCoordinates(3, 6);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(26),0);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(38),1);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(48),2);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(47),3);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(36),4);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(25),5);
-
-        ((CCNode)this.getBoardNodes().get(38)).setCoordinates(4, 6);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(27),0);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(39),1);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(49),2);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(48),3);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(37),4);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(26),5);
-
-        ((CCNode)this.getBoardNodes().get(39)).setCoordinates(5, 6);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(28),0);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(40),1);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(50),2);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(49),3);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(38),4);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(27),5);
-
-        ((CCNode)this.getBoardNodes().get(40)).setCoordinates(6, 6);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(29),0);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(41),1);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(51),2);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(50),3);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(39),4);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(28),5);
-
-        ((CCNode)this.getBoardNodes().get(41)).setCoordinates(7, 6);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(30),0);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(42),1);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(52),2);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(51),3);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(40),4);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(29),5);
-
-        ((CCNode)this.getBoardNodes().get(42)).setCoordinates(8, 6);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(31),0);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(43),1);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(53),2);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(52),3);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(41),4);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(30),5);
-
-        ((CCNode)this.getBoardNodes().get(43)).setCoordinates(9, 6);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(32),0);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(44),1);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(54),2);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(53),3);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(42),4);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(31),5);
-
-        ((CCNode)this.getBoardNodes().get(44)).setCoordinates(10, 6);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(33),0);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(45),1);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(55),2);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(54),3);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(43),4);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(32),5);
-
-        ((CCNode)this.getBoardNodes().get(45)).setCoordinates(11, 6);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(34),0);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(55),3);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(44),4);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(33),5);
-
-        ((CCNode)this.getBoardNodes().get(46)).setCoordinates(1, 7);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(36),0);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(47),1);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(56),2);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(35),5);
-
-        ((CCNode)this.getBoardNodes().get(47)).setCoordinates(2, 7);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(37),0);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(48),1);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(57),2);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(56),3);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(46),4);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(36),5);
-
-        ((CCNode)this.getBoardNodes().get(48)).setCoordinates(3, 7);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(38),0);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(49),1);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(58),2);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(57),3);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(47),4);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(37),5);
-
-        ((CCNode)this.getBoardNodes().get(49)).setCoordinates(4, 7);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(39),0);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(50),1);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(59),2);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(58),3);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(48),4);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(38),5);
-
-        ((CCNode)this.getBoardNodes().get(50)).setCoordinates(5, 7);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(40),0);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(51),1);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(60),2);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(59),3);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(49),4);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(39),5);
-
-        ((CCNode)this.getBoardNodes().get(51)).setCoordinates(6, 7);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(41),0);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(52),1);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(61),2);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(60),3);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(50),4);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(40),5);
-
-        ((CCNode)this.getBoardNodes().get(52)).setCoordinates(7, 7);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(42),0);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(53),1);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(62),2);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(61),3);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(51),4);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(41),5);
-
-        ((CCNode)this.getBoardNodes().get(53)).setCoordinates(8, 7);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(43),0);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(54),1);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(63),2);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(62),3);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(52),4);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(42),5);
-
-        ((CCNode)this.getBoardNodes().get(54)).setCoordinates(9, 7);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(44),0);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(55),1);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(64),2);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(63),3);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(53),4);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(43),5);
-
-        ((CCNode)this.getBoardNodes().get(55)).setCoordinates(10, 7);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(45),0);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(64),3);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(54),4);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(44),5);
-
-        ((CCNode)this.getBoardNodes().get(56)).setCoordinates(2, 8);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(47),0);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(57),1);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(66),2);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(65),3);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(46),5);
-
-        ((CCNode)this.getBoardNodes().get(57)).setCoordinates(3, 8);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(48),0);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(58),1);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(67),2);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(66),3);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(56),4);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(47),5);
-
-        ((CCNode)this.getBoardNodes().get(58)).setCoordinates(4, 8);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(49),0);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(59),1);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(68),2);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(67),3);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(57),4);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(48),5);
-
-        ((CCNode)this.getBoardNodes().get(59)).setCoordinates(5, 8);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(50),0);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(60),1);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(69),2);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(68),3);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(58),4);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(49),5);
-
-        ((CCNode)this.getBoardNodes().get(60)).setCoordinates(6, 8);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(51),0);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(61),1);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(70),2);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(69),3);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(59),4);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(50),5);
-
-        ((CCNode)this.getBoardNodes().get(61)).setCoordinates(7, 8);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(52),0);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(62),1);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(71),2);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(70),3);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(60),4);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(51),5);
-
-        ((CCNode)this.getBoardNodes().get(62)).setCoordinates(8, 8);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(53),0);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(63),1);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(72),2);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(71),3);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(61),4);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(52),5);
-
-        ((CCNode)this.getBoardNodes().get(63)).setCoordinates(9, 8);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(54),0);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(64),1);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(73),2);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(72),3);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(62),4);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(53),5);
-
-        ((CCNode)this.getBoardNodes().get(64)).setCoordinates(10, 8);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(55),0);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(74),2);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(73),3);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(63),4);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(54),5);
-
-        ((CCNode)this.getBoardNodes().get(65)).setCoordinates(1, 9);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(56),0);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(66),1);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(76),2);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(75),3);
-
-        ((CCNode)this.getBoardNodes().get(66)).setCoordinates(2, 9);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(57),0);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(67),1);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(77),2);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(76),3);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(65),4);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(56),5);
-
-        ((CCNode)this.getBoardNodes().get(67)).setCoordinates(3, 9);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(58),0);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(68),1);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(78),2);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(77),3);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(66),4);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(57),5);
-
-        ((CCNode)this.getBoardNodes().get(68)).setCoordinates(4, 9);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(59),0);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(69),1);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(79),2);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(78),3);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(67),4);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(58),5);
-
-        ((CCNode)this.getBoardNodes().get(69)).setCoordinates(5, 9);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(60),0);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(70),1);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(80),2);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(79),3);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(68),4);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(59),5);
-
-        ((CCNode)this.getBoardNodes().get(70)).setCoordinates(6, 9);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(61),0);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(71),1);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(81),2);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(80),3);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(69),4);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(60),5);
-
-        ((CCNode)this.getBoardNodes().get(71)).setCoordinates(7, 9);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(62),0);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(72),1);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(82),2);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(81),3);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(70),4);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(61),5);
-
-        ((CCNode)this.getBoardNodes().get(72)).setCoordinates(8, 9);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(63),0);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(73),1);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(83),2);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(82),3);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(71),4);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(62),5);
-
-        ((CCNode)this.getBoardNodes().get(73)).setCoordinates(9, 9);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(64),0);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(74),1);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(84),2);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(83),3);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(72),4);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(63),5);
-
-        ((CCNode)this.getBoardNodes().get(74)).setCoordinates(10, 9);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(85),2);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(84),3);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(73),4);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(64),5);
-
-        ((CCNode)this.getBoardNodes().get(75)).setCoordinates(1, 10);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(65),0);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(76),1);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(87),2);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(86),3);
-
-        ((CCNode)this.getBoardNodes().get(76)).setCoordinates(2, 10);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(66),0);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(77),1);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(88),2);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(87),3);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(75),4);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(65),5);
-
-        ((CCNode)this.getBoardNodes().get(77)).setCoordinates(3, 10);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(67),0);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(78),1);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(89),2);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(88),3);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(76),4);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(66),5);
-
-        ((CCNode)this.getBoardNodes().get(78)).setCoordinates(4, 10);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(68),0);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(79),1);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(90),2);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(89),3);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(77),4);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(67),5);
-
-        ((CCNode)this.getBoardNodes().get(79)).setCoordinates(5, 10);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(69),0);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(80),1);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(91),2);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(90),3);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(78),4);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(68),5);
-
-        ((CCNode)this.getBoardNodes().get(80)).setCoordinates(6, 10);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(70),0);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(81),1);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(92),2);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(91),3);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(79),4);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(69),5);
-
-        ((CCNode)this.getBoardNodes().get(81)).setCoordinates(7, 10);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(71),0);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(82),1);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(93),2);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(92),3);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(80),4);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(70),5);
-
-        ((CCNode)this.getBoardNodes().get(82)).setCoordinates(8, 10);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(72),0);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(83),1);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(94),2);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(93),3);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(81),4);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(71),5);
-
-        ((CCNode)this.getBoardNodes().get(83)).setCoordinates(9, 10);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(73),0);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(84),1);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(95),2);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(94),3);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(83),4);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(72),5);
-
-        ((CCNode)this.getBoardNodes().get(84)).setCoordinates(10, 10);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(74),0);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(85),1);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(96),2);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(95),3);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(83),4);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(73),5);
-
-        ((CCNode)this.getBoardNodes().get(85)).setCoordinates(11, 10);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(97),2);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(96),3);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(84),4);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(74),5);
-
-        ((CCNode)this.getBoardNodes().get(86)).setCoordinates(0, 11);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(75),0);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(87),1);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(99),2);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(98),3);
-
-        ((CCNode)this.getBoardNodes().get(87)).setCoordinates(1, 11);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(75),0);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(87),1);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(99),2);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(98),3);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(99),4);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(98),5);
-
-        ((CCNode)this.getBoardNodes().get(88)).setCoordinates(2, 11);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(77),0);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(89),1);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(101),2);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(100),3);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(87),4);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(76),5);
-
-        ((CCNode)this.getBoardNodes().get(89)).setCoordinates(3, 11);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(78),0);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(90),1);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(102),2);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(101),3);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(88),4);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(77),5);
-
-        ((CCNode)this.getBoardNodes().get(90)).setCoordinates(4, 11);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(79),0);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(91),1);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(103),2);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(102),3);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(89),4);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(78),5);
-
-        ((CCNode)this.getBoardNodes().get(91)).setCoordinates(5, 11);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(80),0);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(92),1);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(104),2);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(103),3);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(90),4);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(79),5);
-
-        ((CCNode)this.getBoardNodes().get(92)).setCoordinates(6, 11);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(81),0);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(93),1);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(105),2);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(104),3);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(91),4);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(80),5);
-
-        ((CCNode)this.getBoardNodes().get(93)).setCoordinates(7, 11);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(82),0);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(94),1);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(106),2);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(105),3);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(92),4);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(81),5);
-
-        ((CCNode)this.getBoardNodes().get(94)).setCoordinates(8, 11);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(83),0);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(95),1);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(107),2);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(106),3);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(93),4);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(82),5);
-
-        ((CCNode)this.getBoardNodes().get(95)).setCoordinates(9, 11);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(84),0);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(96),1);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(108),2);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(107),3);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(94),4);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(83),5);
-
-        ((CCNode)this.getBoardNodes().get(96)).setCoordinates(10, 11);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(85),0);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(97),1);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(109),2);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(108),3);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(95),4);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(84),5);
-
-        ((CCNode)this.getBoardNodes().get(97)).setCoordinates(11, 11);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(110),2);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(109),3);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(96),4);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(85),5);
-
-        ((CCNode)this.getBoardNodes().get(98)).setCoordinates(0, 12);
-        this.getBoardNodes().get(98).addNeighbour(this.getBoardNodes().get(86),0);
-        this.getBoardNodes().get(98).addNeighbour(this.getBoardNodes().get(99),1);
-
-        ((CCNode)this.getBoardNodes().get(99)).setCoordinates(1, 12);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(87),0);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(100),1);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(98),4);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(86),5);
-
-        ((CCNode)this.getBoardNodes().get(100)).setCoordinates(2, 12);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(88),0);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(101),1);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(99),4);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(87),5);;
-
-        ((CCNode)this.getBoardNodes().get(101)).setCoordinates(3, 12);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(89),0);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(102),1);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(100),4);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(88),5);;
-
-        ((CCNode)this.getBoardNodes().get(102)).setCoordinates(4, 12);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(90),0);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(103),1);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(111),2);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(101),4);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(89),5);;
-
-        ((CCNode)this.getBoardNodes().get(103)).setCoordinates(5, 12);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(91),0);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(104),1);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(112),2);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(111),3);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(102),4);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(90),5);;
-
-        ((CCNode)this.getBoardNodes().get(104)).setCoordinates(6, 12);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(92),0);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(105),1);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(113),2);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(112),3);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(103),4);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(91),5);;
-
-        ((CCNode)this.getBoardNodes().get(105)).setCoordinates(7, 12);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(93),0);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(106),1);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(114),2);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(113),3);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(104),4);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(92),5);;
-
-        ((CCNode)this.getBoardNodes().get(106)).setCoordinates(8, 12);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(94),0);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(107),1);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(114),3);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(105),4);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(93),5);;
-
-        ((CCNode)this.getBoardNodes().get(107)).setCoordinates(9, 12);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(95),0);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(108),1);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(106),4);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(94),5);;
-
-        ((CCNode)this.getBoardNodes().get(108)).setCoordinates(10, 12);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(96),0);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(109),1);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(107),4);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(95),5);;
-
-        ((CCNode)this.getBoardNodes().get(109)).setCoordinates(11, 12);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(97),0);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(110),1);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(108),4);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(96),5);;
-
-        ((CCNode)this.getBoardNodes().get(110)).setCoordinates(12, 12);
-        this.getBoardNodes().get(110).addNeighbour(this.getBoardNodes().get(109),4);
-        this.getBoardNodes().get(110).addNeighbour(this.getBoardNodes().get(97),5);;
-
-        ((CCNode)this.getBoardNodes().get(111)).setCoordinates(4, 13);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(103),0);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(112),1);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(115),2);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(102),5);;
-
-        ((CCNode)this.getBoardNodes().get(112)).setCoordinates(5, 13);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(104),0);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(113),1);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(116),2);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(115),3);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(111),4);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(103),5);;
-
-        ((CCNode)this.getBoardNodes().get(113)).setCoordinates(6, 13);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(105),0);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(114),1);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(117),2);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(116),3);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(112),4);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(104),5);;
-
-        ((CCNode)this.getBoardNodes().get(114)).setCoordinates(7, 13);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(106),0);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(117),3);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(113),4);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(105),5);;
-
-        ((CCNode)this.getBoardNodes().get(115)).setCoordinates(5, 14);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(112),0);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(116),1);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(118),2);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(111),5);;
-
-        ((CCNode)this.getBoardNodes().get(116)).setCoordinates(6, 14);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(113),0);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(117),1);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(119),2);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(118),3);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(115),4);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(112),5);;
-
-        this.getBoardNodes().get(117).setCoordinates(7, 14);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(114),0);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(119),3);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(116),4);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(113),5);;
-
-        this.getBoardNodes().get(118).setCoordinates(5, 15);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(116),0);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(119),1);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(120),2);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(115),5);;
-
-        this.getBoardNodes().get(119).setCoordinates(6, 15);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(117),0);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(120),3);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(118),4);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(116),5);;
-
-        this.getBoardNodes().get(120).setCoordinates(6, 16);
-        this.getBoardNodes().get(120).addNeighbour(this.getBoardNodes().get(119),0);
-        this.getBoardNodes().get(120).addNeighbour(this.getBoardNodes().get(118),5);;
+
+    private static void place(int node, int x, int y) {
+        xs[node] = x;
+        ys[node] = y;
+    }
+
+    // as for a graph of BoardNodes, a neighbour is only added once, on the first side given for it
+    private static void connect(int node, int neighbour, int side) {
+        int[] n = neighbours[node];
+        for (int existing : n)
+            if (existing == neighbour) return;
+        if (n[side] == -1)
+            n[side] = neighbour;
+    }
+
+    private static void buildBoard() {
+        place(0, 6, 0);
+        connect(0, 1, 3);
+        connect(0, 2, 2);
+
+        place(1, 5, 1);
+        connect(1, 3, 3);
+        connect(1, 4, 2);
+        connect(1, 2, 1);
+        connect(1, 0, 0);
+
+        place(2, 6, 1);
+        connect(2, 4, 3);
+        connect(2, 5, 2);
+        connect(2, 0, 5);
+        connect(2, 1, 4);
+
+        place(3, 5, 2);
+        connect(3, 6, 3);
+        connect(3, 7, 2);
+        connect(3, 4, 1);
+        connect(3, 1, 0);
+
+        place(4, 6, 2);
+        connect(4, 7, 3);
+        connect(4, 8, 2);
+        connect(4, 5, 1);
+        connect(4, 2, 0);
+        connect(4, 1, 5);
+        connect(4, 3, 4);
+
+        place(5, 7, 2);
+        connect(5, 8, 3);
+        connect(5, 9, 2);
+        connect(5, 2, 5);
+        connect(5, 4, 4);
+
+        place(6, 4, 3);
+        connect(6, 14, 3);
+        connect(6, 15, 2);
+        connect(6, 7, 1);
+        connect(6, 3, 0);
+
+        place(7, 5, 3);
+        connect(7, 15, 3);
+        connect(7, 16, 2);
+        connect(7, 8, 1);
+        connect(7, 4, 0);
+        connect(7, 3, 5);
+        connect(7, 6, 4);
+
+        place(8, 6, 3);
+        connect(8, 16, 3);
+        connect(8, 17, 2);
+        connect(8, 9, 1);
+        connect(8, 5, 0);
+        connect(8, 4, 5);
+        connect(8, 7, 4);
+
+        place(9, 7, 3);
+        connect(9, 17, 3);
+        connect(9, 18, 2);
+        connect(9, 5, 5);
+        connect(9, 8, 4);
+
+        place(10, 0, 4);
+        connect(10, 11, 1);
+        connect(10, 23, 2);
+
+        place(11, 1, 4);
+        connect(11, 12, 1);
+        connect(11, 24, 2);
+        connect(11, 23, 3);
+        connect(11, 10, 4);
+
+        place(12, 2, 4);
+        connect(12, 13, 1);
+        connect(12, 25, 2);
+        connect(12, 24, 3);
+        connect(12, 11, 4);
+
+        place(13, 3, 4);
+        connect(13, 14, 1);
+        connect(13, 26, 2);
+        connect(13, 25, 3);
+        connect(13, 12, 4);
+
+        place(14, 4, 4);
+        connect(14, 6, 0);
+        connect(14, 15, 1);
+        connect(14, 27, 2);
+        connect(14, 26, 3);
+        connect(14, 13, 4);
+
+        place(15, 5, 4);
+        connect(15, 7, 0);
+        connect(15, 16, 1);
+        connect(15, 28, 2);
+        connect(15, 27, 3);
+        connect(15, 14, 4);
+        connect(15, 6, 5);
+
+        place(16, 6, 4);
+        connect(16, 8, 0);
+        connect(16, 17, 1);
+        connect(16, 29, 2);
+        connect(16, 28, 3);
+        connect(16, 15, 4);
+        connect(16, 7, 5);
+
+        place(17, 7, 4);
+        connect(17, 9, 0);
+        connect(17, 18, 1);
+        connect(17, 30, 2);
+        connect(17, 29, 3);
+        connect(17, 16, 4);
+        connect(17, 8, 5);
+
+        place(18, 8, 4);
+        connect(18, 19, 1);
+        connect(18, 31, 2);
+        connect(18, 30, 3);
+        connect(18, 17, 4);
+        connect(18, 9, 5);
+
+        place(19, 9, 4);
+        connect(19, 20, 1);
+        connect(19, 32, 2);
+        connect(19, 31, 3);
+        connect(19, 18, 4);
+
+        place(20, 10, 4);
+        connect(20, 21, 1);
+        connect(20, 33, 2);
+        connect(20, 32, 3);
+        connect(20, 19, 4);
+
+        place(21, 11, 4);
+        connect(21, 22, 1);
+        connect(21, 34, 2);
+        connect(21, 33, 3);
+        connect(21, 20, 4);
+
+        place(22, 12, 4);
+        connect(22, 34, 3);
+        connect(22, 21, 4);
+
+        place(23, 0, 5);
+        connect(23, 11, 0);
+        connect(23, 24, 1);
+        connect(23, 35, 2);
+        connect(23, 10, 5);
+
+        place(24, 1, 5);
+        connect(24, 12, 0);
+        connect(24, 25, 1);
+        connect(24, 36, 2);
+        connect(24, 36, 3);
+        connect(24, 23, 4);
+        connect(24, 10, 5);
+
+        place(25, 2, 5);
+        connect(25, 13, 0);
+        connect(25, 26, 1);
+        connect(25, 37, 2);
+        connect(25, 36, 3);
+        connect(25, 24, 4);
+        connect(25, 11, 5);
+
+        place(26, 3, 5);
+        connect(26, 14, 0);
+        connect(26, 27, 1);
+        connect(26, 38, 2);
+        connect(26, 37, 3);
+        connect(26, 25, 4);
+        connect(26, 13, 5);
+
+        place(27, 4, 5);
+        connect(27, 15, 0);
+        connect(27, 28, 1);
+        connect(27, 39, 2);
+        connect(27, 38, 3);
+        connect(27, 26, 4);
+        connect(27, 14, 5);
+
+        place(28, 5, 5);
+        connect(28, 16, 0);
+        connect(28, 29, 1);
+        connect(28, 40, 2);
+        connect(28, 39, 3);
+        connect(28, 27, 4);
+        connect(28, 15, 5);
+
+        place(29, 6, 5);
+        connect(29, 17, 0);
+        connect(29, 30, 1);
+        connect(29, 41, 2);
+        connect(29, 40, 3);
+        connect(29, 28, 4);
+        connect(29, 16, 5);
+
+        place(30, 7, 5);
+        connect(30, 18, 0);
+        connect(30, 31, 1);
+        connect(30, 42, 2);
+        connect(30, 41, 3);
+        connect(30, 29, 4);
+        connect(30, 17, 5);
+
+        place(31, 8, 5);
+        connect(31, 19, 0);
+        connect(31, 32, 1);
+        connect(31, 43, 2);
+        connect(31, 42, 3);
+        connect(31, 30, 4);
+        connect(31, 18, 5);
+
+        place(32, 9, 5);
+        connect(32, 20, 0);
+        connect(32, 33, 1);
+        connect(32, 44, 2);
+        connect(32, 43, 3);
+        connect(32, 31, 4);
+        connect(32, 19, 5);
+
+        place(33, 10, 5);
+        connect(33, 21, 0);
+        connect(33, 34, 1);
+        connect(33, 45, 2);
+        connect(33, 44, 3);
+        connect(33, 32, 4);
+        connect(33, 20, 5);
+
+        place(34, 11, 5);
+        connect(34, 22, 0);
+        connect(34, 45, 3);
+        connect(34, 33, 4);
+        connect(34, 21, 5);
+
+        place(35, 1, 6);
+        connect(35, 24, 0);
+        connect(35, 36, 1);
+        connect(35, 46, 2);
+        connect(35, 23, 5);
+
+        place(36, 2, 6);
+        connect(36, 25, 0);
+        connect(36, 37, 1);
+        connect(36, 47, 2);
+        connect(36, 46, 3);
+        connect(36, 35, 4);
+        connect(36, 24, 5);
+
+        place(37, 3, 6);
+        connect(37, 26, 0);
+        connect(37, 38, 1);
+        connect(37, 48, 2);
+        connect(37, 47, 3);
+        connect(37, 36, 4);
+        connect(37, 25, 5);
+
+        place(38, 4, 6);
+        connect(38, 27, 0);
+        connect(38, 39, 1);
+        connect(38, 49, 2);
+        connect(38, 48, 3);
+        connect(38, 37, 4);
+        connect(38, 26, 5);
+
+        place(39, 5, 6);
+        connect(39, 28, 0);
+        connect(39, 40, 1);
+        connect(39, 50, 2);
+        connect(39, 49, 3);
+        connect(39, 38, 4);
+        connect(39, 27, 5);
+
+        place(40, 6, 6);
+        connect(40, 29, 0);
+        connect(40, 41, 1);
+        connect(40, 51, 2);
+        connect(40, 50, 3);
+        connect(40, 39, 4);
+        connect(40, 28, 5);
+
+        place(41, 7, 6);
+        connect(41, 30, 0);
+        connect(41, 42, 1);
+        connect(41, 52, 2);
+        connect(41, 51, 3);
+        connect(41, 40, 4);
+        connect(41, 29, 5);
+
+        place(42, 8, 6);
+        connect(42, 31, 0);
+        connect(42, 43, 1);
+        connect(42, 53, 2);
+        connect(42, 52, 3);
+        connect(42, 41, 4);
+        connect(42, 30, 5);
+
+        place(43, 9, 6);
+        connect(43, 32, 0);
+        connect(43, 44, 1);
+        connect(43, 54, 2);
+        connect(43, 53, 3);
+        connect(43, 42, 4);
+        connect(43, 31, 5);
+
+        place(44, 10, 6);
+        connect(44, 33, 0);
+        connect(44, 45, 1);
+        connect(44, 55, 2);
+        connect(44, 54, 3);
+        connect(44, 43, 4);
+        connect(44, 32, 5);
+
+        place(45, 11, 6);
+        connect(45, 34, 0);
+        connect(45, 55, 3);
+        connect(45, 44, 4);
+        connect(45, 33, 5);
+
+        place(46, 1, 7);
+        connect(46, 36, 0);
+        connect(46, 47, 1);
+        connect(46, 56, 2);
+        connect(46, 35, 5);
+
+        place(47, 2, 7);
+        connect(47, 37, 0);
+        connect(47, 48, 1);
+        connect(47, 57, 2);
+        connect(47, 56, 3);
+        connect(47, 46, 4);
+        connect(47, 36, 5);
+
+        place(48, 3, 7);
+        connect(48, 38, 0);
+        connect(48, 49, 1);
+        connect(48, 58, 2);
+        connect(48, 57, 3);
+        connect(48, 47, 4);
+        connect(48, 37, 5);
+
+        place(49, 4, 7);
+        connect(49, 39, 0);
+        connect(49, 50, 1);
+        connect(49, 59, 2);
+        connect(49, 58, 3);
+        connect(49, 48, 4);
+        connect(49, 38, 5);
+
+        place(50, 5, 7);
+        connect(50, 40, 0);
+        connect(50, 51, 1);
+        connect(50, 60, 2);
+        connect(50, 59, 3);
+        connect(50, 49, 4);
+        connect(50, 39, 5);
+
+        place(51, 6, 7);
+        connect(51, 41, 0);
+        connect(51, 52, 1);
+        connect(51, 61, 2);
+        connect(51, 60, 3);
+        connect(51, 50, 4);
+        connect(51, 40, 5);
+
+        place(52, 7, 7);
+        connect(52, 42, 0);
+        connect(52, 53, 1);
+        connect(52, 62, 2);
+        connect(52, 61, 3);
+        connect(52, 51, 4);
+        connect(52, 41, 5);
+
+        place(53, 8, 7);
+        connect(53, 43, 0);
+        connect(53, 54, 1);
+        connect(53, 63, 2);
+        connect(53, 62, 3);
+        connect(53, 52, 4);
+        connect(53, 42, 5);
+
+        place(54, 9, 7);
+        connect(54, 44, 0);
+        connect(54, 55, 1);
+        connect(54, 64, 2);
+        connect(54, 63, 3);
+        connect(54, 53, 4);
+        connect(54, 43, 5);
+
+        place(55, 10, 7);
+        connect(55, 45, 0);
+        connect(55, 64, 3);
+        connect(55, 54, 4);
+        connect(55, 44, 5);
+
+        place(56, 2, 8);
+        connect(56, 47, 0);
+        connect(56, 57, 1);
+        connect(56, 66, 2);
+        connect(56, 65, 3);
+        connect(56, 46, 5);
+
+        place(57, 3, 8);
+        connect(57, 48, 0);
+        connect(57, 58, 1);
+        connect(57, 67, 2);
+        connect(57, 66, 3);
+        connect(57, 56, 4);
+        connect(57, 47, 5);
+
+        place(58, 4, 8);
+        connect(58, 49, 0);
+        connect(58, 59, 1);
+        connect(58, 68, 2);
+        connect(58, 67, 3);
+        connect(58, 57, 4);
+        connect(58, 48, 5);
+
+        place(59, 5, 8);
+        connect(59, 50, 0);
+        connect(59, 60, 1);
+        connect(59, 69, 2);
+        connect(59, 68, 3);
+        connect(59, 58, 4);
+        connect(59, 49, 5);
+
+        place(60, 6, 8);
+        connect(60, 51, 0);
+        connect(60, 61, 1);
+        connect(60, 70, 2);
+        connect(60, 69, 3);
+        connect(60, 59, 4);
+        connect(60, 50, 5);
+
+        place(61, 7, 8);
+        connect(61, 52, 0);
+        connect(61, 62, 1);
+        connect(61, 71, 2);
+        connect(61, 70, 3);
+        connect(61, 60, 4);
+        connect(61, 51, 5);
+
+        place(62, 8, 8);
+        connect(62, 53, 0);
+        connect(62, 63, 1);
+        connect(62, 72, 2);
+        connect(62, 71, 3);
+        connect(62, 61, 4);
+        connect(62, 52, 5);
+
+        place(63, 9, 8);
+        connect(63, 54, 0);
+        connect(63, 64, 1);
+        connect(63, 73, 2);
+        connect(63, 72, 3);
+        connect(63, 62, 4);
+        connect(63, 53, 5);
+
+        place(64, 10, 8);
+        connect(64, 55, 0);
+        connect(64, 74, 2);
+        connect(64, 73, 3);
+        connect(64, 63, 4);
+        connect(64, 54, 5);
+
+        place(65, 1, 9);
+        connect(65, 56, 0);
+        connect(65, 66, 1);
+        connect(65, 76, 2);
+        connect(65, 75, 3);
+
+        place(66, 2, 9);
+        connect(66, 57, 0);
+        connect(66, 67, 1);
+        connect(66, 77, 2);
+        connect(66, 76, 3);
+        connect(66, 65, 4);
+        connect(66, 56, 5);
+
+        place(67, 3, 9);
+        connect(67, 58, 0);
+        connect(67, 68, 1);
+        connect(67, 78, 2);
+        connect(67, 77, 3);
+        connect(67, 66, 4);
+        connect(67, 57, 5);
+
+        place(68, 4, 9);
+        connect(68, 59, 0);
+        connect(68, 69, 1);
+        connect(68, 79, 2);
+        connect(68, 78, 3);
+        connect(68, 67, 4);
+        connect(68, 58, 5);
+
+        place(69, 5, 9);
+        connect(69, 60, 0);
+        connect(69, 70, 1);
+        connect(69, 80, 2);
+        connect(69, 79, 3);
+        connect(69, 68, 4);
+        connect(69, 59, 5);
+
+        place(70, 6, 9);
+        connect(70, 61, 0);
+        connect(70, 71, 1);
+        connect(70, 81, 2);
+        connect(70, 80, 3);
+        connect(70, 69, 4);
+        connect(70, 60, 5);
+
+        place(71, 7, 9);
+        connect(71, 62, 0);
+        connect(71, 72, 1);
+        connect(71, 82, 2);
+        connect(71, 81, 3);
+        connect(71, 70, 4);
+        connect(71, 61, 5);
+
+        place(72, 8, 9);
+        connect(72, 63, 0);
+        connect(72, 73, 1);
+        connect(72, 83, 2);
+        connect(72, 82, 3);
+        connect(72, 71, 4);
+        connect(72, 62, 5);
+
+        place(73, 9, 9);
+        connect(73, 64, 0);
+        connect(73, 74, 1);
+        connect(73, 84, 2);
+        connect(73, 83, 3);
+        connect(73, 72, 4);
+        connect(73, 63, 5);
+
+        place(74, 10, 9);
+        connect(74, 85, 2);
+        connect(74, 84, 3);
+        connect(74, 73, 4);
+        connect(74, 64, 5);
+
+        place(75, 1, 10);
+        connect(75, 65, 0);
+        connect(75, 76, 1);
+        connect(75, 87, 2);
+        connect(75, 86, 3);
+
+        place(76, 2, 10);
+        connect(76, 66, 0);
+        connect(76, 77, 1);
+        connect(76, 88, 2);
+        connect(76, 87, 3);
+        connect(76, 75, 4);
+        connect(76, 65, 5);
+
+        place(77, 3, 10);
+        connect(77, 67, 0);
+        connect(77, 78, 1);
+        connect(77, 89, 2);
+        connect(77, 88, 3);
+        connect(77, 76, 4);
+        connect(77, 66, 5);
+
+        place(78, 4, 10);
+        connect(78, 68, 0);
+        connect(78, 79, 1);
+        connect(78, 90, 2);
+        connect(78, 89, 3);
+        connect(78, 77, 4);
+        connect(78, 67, 5);
+
+        place(79, 5, 10);
+        connect(79, 69, 0);
+        connect(79, 80, 1);
+        connect(79, 91, 2);
+        connect(79, 90, 3);
+        connect(79, 78, 4);
+        connect(79, 68, 5);
+
+        place(80, 6, 10);
+        connect(80, 70, 0);
+        connect(80, 81, 1);
+        connect(80, 92, 2);
+        connect(80, 91, 3);
+        connect(80, 79, 4);
+        connect(80, 69, 5);
+
+        place(81, 7, 10);
+        connect(81, 71, 0);
+        connect(81, 82, 1);
+        connect(81, 93, 2);
+        connect(81, 92, 3);
+        connect(81, 80, 4);
+        connect(81, 70, 5);
+
+        place(82, 8, 10);
+        connect(82, 72, 0);
+        connect(82, 83, 1);
+        connect(82, 94, 2);
+        connect(82, 93, 3);
+        connect(82, 81, 4);
+        connect(82, 71, 5);
+
+        place(83, 9, 10);
+        connect(83, 73, 0);
+        connect(83, 84, 1);
+        connect(83, 95, 2);
+        connect(83, 94, 3);
+        connect(83, 83, 4);
+        connect(83, 72, 5);
+
+        place(84, 10, 10);
+        connect(84, 74, 0);
+        connect(84, 85, 1);
+        connect(84, 96, 2);
+        connect(84, 95, 3);
+        connect(84, 83, 4);
+        connect(84, 73, 5);
+
+        place(85, 11, 10);
+        connect(85, 97, 2);
+        connect(85, 96, 3);
+        connect(85, 84, 4);
+        connect(85, 74, 5);
+
+        place(86, 0, 11);
+        connect(86, 75, 0);
+        connect(86, 87, 1);
+        connect(86, 99, 2);
+        connect(86, 98, 3);
+
+        place(87, 1, 11);
+        connect(87, 75, 0);
+        connect(87, 87, 1);
+        connect(87, 99, 2);
+        connect(87, 98, 3);
+        connect(87, 99, 4);
+        connect(87, 98, 5);
+
+        place(88, 2, 11);
+        connect(88, 77, 0);
+        connect(88, 89, 1);
+        connect(88, 101, 2);
+        connect(88, 100, 3);
+        connect(88, 87, 4);
+        connect(88, 76, 5);
+
+        place(89, 3, 11);
+        connect(89, 78, 0);
+        connect(89, 90, 1);
+        connect(89, 102, 2);
+        connect(89, 101, 3);
+        connect(89, 88, 4);
+        connect(89, 77, 5);
+
+        place(90, 4, 11);
+        connect(90, 79, 0);
+        connect(90, 91, 1);
+        connect(90, 103, 2);
+        connect(90, 102, 3);
+        connect(90, 89, 4);
+        connect(90, 78, 5);
+
+        place(91, 5, 11);
+        connect(91, 80, 0);
+        connect(91, 92, 1);
+        connect(91, 104, 2);
+        connect(91, 103, 3);
+        connect(91, 90, 4);
+        connect(91, 79, 5);
+
+        place(92, 6, 11);
+        connect(92, 81, 0);
+        connect(92, 93, 1);
+        connect(92, 105, 2);
+        connect(92, 104, 3);
+        connect(92, 91, 4);
+        connect(92, 80, 5);
+
+        place(93, 7, 11);
+        connect(93, 82, 0);
+        connect(93, 94, 1);
+        connect(93, 106, 2);
+        connect(93, 105, 3);
+        connect(93, 92, 4);
+        connect(93, 81, 5);
+
+        place(94, 8, 11);
+        connect(94, 83, 0);
+        connect(94, 95, 1);
+        connect(94, 107, 2);
+        connect(94, 106, 3);
+        connect(94, 93, 4);
+        connect(94, 82, 5);
+
+        place(95, 9, 11);
+        connect(95, 84, 0);
+        connect(95, 96, 1);
+        connect(95, 108, 2);
+        connect(95, 107, 3);
+        connect(95, 94, 4);
+        connect(95, 83, 5);
+
+        place(96, 10, 11);
+        connect(96, 85, 0);
+        connect(96, 97, 1);
+        connect(96, 109, 2);
+        connect(96, 108, 3);
+        connect(96, 95, 4);
+        connect(96, 84, 5);
+
+        place(97, 11, 11);
+        connect(97, 110, 2);
+        connect(97, 109, 3);
+        connect(97, 96, 4);
+        connect(97, 85, 5);
+
+        place(98, 0, 12);
+        connect(98, 86, 0);
+        connect(98, 99, 1);
+
+        place(99, 1, 12);
+        connect(99, 87, 0);
+        connect(99, 100, 1);
+        connect(99, 98, 4);
+        connect(99, 86, 5);
+
+        place(100, 2, 12);
+        connect(100, 88, 0);
+        connect(100, 101, 1);
+        connect(100, 99, 4);
+        connect(100, 87, 5);
+
+        place(101, 3, 12);
+        connect(101, 89, 0);
+        connect(101, 102, 1);
+        connect(101, 100, 4);
+        connect(101, 88, 5);
+
+        place(102, 4, 12);
+        connect(102, 90, 0);
+        connect(102, 103, 1);
+        connect(102, 111, 2);
+        connect(102, 101, 4);
+        connect(102, 89, 5);
+
+        place(103, 5, 12);
+        connect(103, 91, 0);
+        connect(103, 104, 1);
+        connect(103, 112, 2);
+        connect(103, 111, 3);
+        connect(103, 102, 4);
+        connect(103, 90, 5);
+
+        place(104, 6, 12);
+        connect(104, 92, 0);
+        connect(104, 105, 1);
+        connect(104, 113, 2);
+        connect(104, 112, 3);
+        connect(104, 103, 4);
+        connect(104, 91, 5);
+
+        place(105, 7, 12);
+        connect(105, 93, 0);
+        connect(105, 106, 1);
+        connect(105, 114, 2);
+        connect(105, 113, 3);
+        connect(105, 104, 4);
+        connect(105, 92, 5);
+
+        place(106, 8, 12);
+        connect(106, 94, 0);
+        connect(106, 107, 1);
+        connect(106, 114, 3);
+        connect(106, 105, 4);
+        connect(106, 93, 5);
+
+        place(107, 9, 12);
+        connect(107, 95, 0);
+        connect(107, 108, 1);
+        connect(107, 106, 4);
+        connect(107, 94, 5);
+
+        place(108, 10, 12);
+        connect(108, 96, 0);
+        connect(108, 109, 1);
+        connect(108, 107, 4);
+        connect(108, 95, 5);
+
+        place(109, 11, 12);
+        connect(109, 97, 0);
+        connect(109, 110, 1);
+        connect(109, 108, 4);
+        connect(109, 96, 5);
+
+        place(110, 12, 12);
+        connect(110, 109, 4);
+        connect(110, 97, 5);
+
+        place(111, 4, 13);
+        connect(111, 103, 0);
+        connect(111, 112, 1);
+        connect(111, 115, 2);
+        connect(111, 102, 5);
+
+        place(112, 5, 13);
+        connect(112, 104, 0);
+        connect(112, 113, 1);
+        connect(112, 116, 2);
+        connect(112, 115, 3);
+        connect(112, 111, 4);
+        connect(112, 103, 5);
+
+        place(113, 6, 13);
+        connect(113, 105, 0);
+        connect(113, 114, 1);
+        connect(113, 117, 2);
+        connect(113, 116, 3);
+        connect(113, 112, 4);
+        connect(113, 104, 5);
+
+        place(114, 7, 13);
+        connect(114, 106, 0);
+        connect(114, 117, 3);
+        connect(114, 113, 4);
+        connect(114, 105, 5);
+
+        place(115, 5, 14);
+        connect(115, 112, 0);
+        connect(115, 116, 1);
+        connect(115, 118, 2);
+        connect(115, 111, 5);
+
+        place(116, 6, 14);
+        connect(116, 113, 0);
+        connect(116, 117, 1);
+        connect(116, 119, 2);
+        connect(116, 118, 3);
+        connect(116, 115, 4);
+        connect(116, 112, 5);
+
+        place(117, 7, 14);
+        connect(117, 114, 0);
+        connect(117, 119, 3);
+        connect(117, 116, 4);
+        connect(117, 113, 5);
+
+        place(118, 5, 15);
+        connect(118, 116, 0);
+        connect(118, 119, 1);
+        connect(118, 120, 2);
+        connect(118, 115, 5);
+
+        place(119, 6, 15);
+        connect(119, 117, 0);
+        connect(119, 120, 3);
+        connect(119, 118, 4);
+        connect(119, 116, 5);
+
+        place(120, 6, 16);
+        connect(120, 119, 0);
+        connect(120, 118, 5);
     }
 }
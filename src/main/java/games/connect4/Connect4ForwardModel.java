@@ -61,6 +61,32 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         super._afterAction(currentState, action);
     }
 
+    // What is needed to reverse a move: the cell that was set, what was in it before, and the winning cells
+    private record Connect4Undo(SetGridValueAction<Token> previousCell, LinkedList<Pair<Integer, Integer>> winnerCells) {
+    }
+
+    @Override
+    public boolean supportsUndo() {
+        return true;
+    }
+
+    @Override
+    protected Object _recordUndo(AbstractGameState currentState, AbstractAction action) {
+        SetGridValueAction<Token> setAction = (SetGridValueAction<Token>) action;
+        Connect4GameState state = (Connect4GameState) currentState;
+        SetGridValueAction<Token> previousCell = new SetGridValueAction<>(setAction.getGridBoard(), setAction.getX(),
+                setAction.getY(), state.gridBoard.getElement(setAction.getX(), setAction.getY()));
+        return new Connect4Undo(previousCell, state.winnerCells);
+    }
+
+    @Override
+    protected void _undo(AbstractGameState currentState, Object undoData) {
+        Connect4Undo undo = (Connect4Undo) undoData;
+        undo.previousCell.execute(currentState);
+        // registerWinningCells() replaces the list rather than changing it, so we can just put the old one back
+        ((Connect4GameState) currentState).registerWinningCells(undo.winnerCells);
+    }
+
     /**
      * Checks if the game ended.
      *
@@ -5,6 +5,8 @@ import core.interfaces.IStateFeatureJSON;
 import core.interfaces.IStateFeatureVector;
 import org.json.simple.JSONObject;
 
+import java.nio.DoubleBuffer;
+
 public class DiamantFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
@@ -30,20 +32,30 @@ public class DiamantFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
     public double[] featureVector(AbstractGameState gameState, int playerId) {
-        DiamantGameState gs = (DiamantGameState) gameState;
         double[] retVal = new double[getObservationSpace()];
-        retVal[0] = gs.getTreasureChests().get(playerId).getValue();
-        retVal[1] = gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems(); // nGemsOnPath;
-        retVal[2] = gs.playerInCave.size();
-        retVal[3] = gs.nCave;
-        retVal[4] = gs.nHazardExplosionsOnPath;
-        retVal[5] = gs.nHazardPoissonGasOnPath;
-        retVal[6] = gs.nHazardRockfallsOnPath;
-        retVal[7] = gs.nHazardScorpionsOnPath;
-        retVal[8] = gs.nHazardSnakesOnPath;
+        featureVector(gameState, playerId, DoubleBuffer.wrap(retVal), 0);
         return retVal;
     }
 
+    @Override
+    public void featureVector(AbstractGameState gameState, int playerId, DoubleBuffer buffer, int index) {
+        DiamantGameState gs = (DiamantGameState) gameState;
+        buffer.put(index, gs.getTreasureChests().get(playerId).getValue());
+        buffer.put(index + 1, gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems()); // nGemsOnPath;
+        buffer.put(index + 2, gs.playerInCave.size());
+        buffer.put(index + 3, gs.nCave);
+        buffer.put(index + 4, gs.nHazardExplosionsOnPath);
+        buffer.put(index + 5, gs.nHazardPoissonGasOnPath);
+        buffer.put(index + 6, gs.nHazardRockfallsOnPath);
+        buffer.put(index + 7, gs.nHazardScorpionsOnPath);
+        buffer.put(index + 8, gs.nHazardSnakesOnPath);
+    }
+
+    @Override
+    public boolean readsHiddenInformation() {
+        return false;  // only the player's own chest, and what is on the path
+    }
+
 //    public double[] normFeatureVector() {
 //        double[] retVal = new double[getObservationSpace()];
 //        retVal[0] = getTreasureChests().get(getCurrentPlayer()).getValue() / 100d;
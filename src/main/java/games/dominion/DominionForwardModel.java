@@ -99,7 +99,7 @@ public class DominionForwardModel extends StandardForwardModel {
                         // 2) draw 5 new cards
                         // 3) shuffle and move discard if we run out
                         Deck<DominionCard> hand = state.playerHands[playerID];
-                        Deck<DominionCard> discard = state.playerDiscards[playerID];
+                        CardPile discard = state.playerDiscards[playerID];
                         Deck<DominionCard> table = state.playerTableaux[playerID];
 
                         discard.add(hand);
@@ -178,4 +178,94 @@ public class DominionForwardModel extends StandardForwardModel {
                 throw new AssertionError("Unknown Game Phase " + state.getGamePhase());
         }
     }
+
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        DominionGameState state = (DominionGameState) gameState;
+        int playerID = state.getCurrentPlayer();
+        int count = 1; // EndPhase
+        switch (state.getGamePhase().toString()) {
+            case "Play":
+                if (state.actionsLeft() > 0) {
+                    Deck<DominionCard> hand = state.getDeck(DeckType.HAND, playerID);
+                    for (int i = 0; i < hand.getSize(); i++) {
+                        if (isFirstActionCardOfType(hand, i))
+                            count++;
+                    }
+                }
+                return count;
+            case "Buy":
+                int budget = state.availableSpend(playerID);
+                for (Map.Entry<CardType, Integer> supply : state.getCardsIncludedInGame().entrySet()) {
+                    if (supply.getValue() > 0 && supply.getKey().cost <= budget)
+                        count++;
+                }
+                return count;
+            default:
+                throw new AssertionError("Unknown Game Phase " + state.getGamePhase());
+        }
+    }
+
+    @Override
+    protected AbstractAction _availableAction(AbstractGameState gameState, int k) {
+        DominionGameState state = (DominionGameState) gameState;
+        int playerID = state.getCurrentPlayer();
+        switch (state.getGamePhase().toString()) {
+            case "Play":
+                if (state.actionsLeft() > 0) {
+                    Deck<DominionCard> hand = state.getDeck(DeckType.HAND, playerID);
+                    for (int i = 0; i < hand.getSize(); i++) {
+                        if (isFirstActionCardOfType(hand, i) && k-- == 0)
+                            return hand.get(i).getAction(playerID);
+                    }
+                }
+                return new EndPhase(DominionGameState.DominionGamePhase.Play);
+            case "Buy":
+                CardType cardType = cardToBuy(state.getCardsIncludedInGame(), state.availableSpend(playerID), k);
+                return cardType == null ? new EndPhase(DominionGameState.DominionGamePhase.Buy) : new BuyCard(cardType, playerID);
+            default:
+                throw new AssertionError("Unknown Game Phase " + state.getGamePhase());
+        }
+    }
+
+    // The actions for cards in hand are distinct by card type, so only the first card of each type gives an action
+    private static boolean isFirstActionCardOfType(Deck<DominionCard> hand, int index) {
+        DominionCard card = hand.get(index);
+        if (!card.isActionCard())
+            return false;
+        for (int i = 0; i < index; i++) {
+            if (hand.get(i).cardType() == card.cardType())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The card type for the k-th BuyCard action, in the same order as _computeAvailableActions(): the most expensive
+     * first, and cards of the same cost in the (stable) order of the supply map. There are only a few card types in
+     * the supply, so we rank each one rather than sort them.
+     *
+     * @return the card type, or null if k is past the last card that can be bought
+     */
+    private static CardType cardToBuy(Map<CardType, Integer> supply, int budget, int k) {
+        int position = 0;
+        for (Map.Entry<CardType, Integer> candidate : supply.entrySet()) {
+            CardType type = candidate.getKey();
+            if (candidate.getValue() <= 0 || type.cost > budget)
+                continue;
+            int rank = 0, otherPosition = 0;
+            for (Map.Entry<CardType, Integer> other : supply.entrySet()) {
+                CardType otherType = other.getKey();
+                if (other.getValue() <= 0 || otherType.cost > budget)
+                    continue;
+                if (otherType.cost > type.cost || (otherType.cost == type.cost && otherPosition < position))
+                    rank++;
+                otherPosition++;
+            }
+            if (rank == k)
+                return type;
+            position++;
+        }
+        return null;
+    }
 }
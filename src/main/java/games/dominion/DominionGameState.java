@@ -12,6 +12,7 @@ import core.interfaces.IPrintable;
 import games.GameType;
 import games.dominion.DominionConstants.DeckType;
 import games.dominion.actions.IDelayedAction;
+import games.dominion.cards.CardPile;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
 
@@ -29,10 +30,11 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     // Then Decks for each player - Hand, Discard and Draw
     PartialObservableDeck<DominionCard>[] playerHands;
     PartialObservableDeck<DominionCard>[] playerDrawPiles;
-    Deck<DominionCard>[] playerDiscards;
+    // The order of the cards in the discard piles and the trash does not matter, so these just count the cards
+    CardPile[] playerDiscards;
     Deck<DominionCard>[] playerTableaux;
     // Trash pile and other global decks
-    Deck<DominionCard> trashPile;
+    CardPile trashPile;
     boolean[] defenceStatus;
     int buysLeftForCurrentPlayer = 1;
     int actionsLeftForCurrentPlayer = 1;
@@ -66,9 +68,14 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     }
 
     public void addCard(CardType type, int playerId, DeckType deckType) {
-        DominionCard newCard = DominionCard.create(type);
-        Deck<DominionCard> deck = getDeck(deckType, playerId);
-        deck.add(newCard);
+        if (isPile(deckType))
+            getPile(deckType, playerId).add(type);
+        else
+            getDeck(deckType, playerId).add(DominionCard.create(type));
+    }
+
+    private static boolean isPile(DeckType deckType) {
+        return deckType == DeckType.DISCARD || deckType == DeckType.TRASH;
     }
 
 
@@ -82,16 +89,20 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         return drawCard(playerId, DeckType.DRAW, playerId, DeckType.HAND);
     }
 
+    /**
+     * Moves the top card of one deck to another. The DISCARD and TRASH piles have no top card, so cannot be drawn from.
+     */
     public boolean drawCard(int fromPlayer, DeckType fromDeck, int toPlayer, DeckType toDeck) {
+        if (isPile(fromDeck))
+            throw new IllegalArgumentException("Cannot draw a card from the " + fromDeck + " pile, as it is unordered");
         Deck<DominionCard> source = getDeck(fromDeck, fromPlayer);
-        Deck<DominionCard> destination = getDeck(toDeck, toPlayer);
         if (source.getSize() == 0) {
             // do stuff
             if (fromDeck == DeckType.DRAW) {
-                Deck<DominionCard> discard = getDeck(DeckType.DISCARD, fromPlayer);
+                CardPile discard = playerDiscards[fromPlayer];
                 if (discard.getSize() == 0)
                     return false;
-                source.add(discard);
+                discard.addTo(source);
                 discard.clear();
                 source.shuffle(rnd);
             } else {
@@ -99,14 +110,19 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             }
         }
         DominionCard cardDrawn = source.draw();
-        destination.add(cardDrawn);
+        putCard(cardDrawn, toPlayer, toDeck);
         return true;
     }
 
     public boolean moveCard(CardType type, int fromPlayer, DeckType fromDeck, int toPlayer, DeckType toDeck) {
-        DominionCard cardToMove = getDeck(fromDeck, fromPlayer).stream()
-                .filter(c -> c.cardType() == type)
-                .findFirst().orElse(null);
+        DominionCard cardToMove;
+        if (isPile(fromDeck)) {
+            cardToMove = getPile(fromDeck, fromPlayer).count(type) > 0 ? DominionCard.create(type) : null;
+        } else {
+            cardToMove = getDeck(fromDeck, fromPlayer).stream()
+                    .filter(c -> c.cardType() == type)
+                    .findFirst().orElse(null);
+        }
         if (cardToMove == null)
             return false;
 
@@ -114,14 +130,22 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     }
 
     public boolean moveCard(DominionCard cardToMove, int fromPlayer, DeckType fromDeck, int toPlayer, DeckType toDeck) {
-        boolean cardFound = getDeck(fromDeck, fromPlayer).remove(cardToMove);
+        boolean cardFound = isPile(fromDeck) ? getPile(fromDeck, fromPlayer).remove(cardToMove.cardType())
+                : getDeck(fromDeck, fromPlayer).remove(cardToMove);
         if (cardFound) {
-            getDeck(toDeck, toPlayer).add(cardToMove);
+            putCard(cardToMove, toPlayer, toDeck);
             return true;
         }
         return false;
     }
 
+    private void putCard(DominionCard card, int playerId, DeckType deckType) {
+        if (isPile(deckType))
+            getPile(deckType, playerId).add(card.cardType());
+        else
+            getDeck(deckType, playerId).add(card);
+    }
+
     public int actionsLeft() {
         return actionsLeftForCurrentPlayer;
     }
@@ -175,6 +199,10 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         return components;
     }
 
+    /**
+     * The DISCARD and TRASH piles are held as a CardPile, so for these this returns a new, unmodifiable, Deck of the
+     * cards in the pile (use getPile() to read these, and addCard() or moveCard() to change them).
+     */
     public Deck<DominionCard> getDeck(DeckType deck, int playerId) {
         switch (deck) {
             case HAND:
@@ -182,39 +210,50 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             case DRAW:
                 return playerDrawPiles[playerId];
             case DISCARD:
-                return playerDiscards[playerId];
+                return playerDiscards[playerId].toDeck();
             case TABLE:
                 return playerTableaux[playerId];
             case TRASH:
-                return trashPile;
+                return trashPile.toDeck();
         }
         throw new AssertionError("Unknown deck type " + deck);
     }
 
+    public CardPile getPile(DeckType deck, int playerId) {
+        switch (deck) {
+            case DISCARD:
+                return playerDiscards[playerId];
+            case TRASH:
+                return trashPile;
+        }
+        throw new AssertionError("Deck type " + deck + " is not held as a CardPile");
+    }
+
     public int cardsOfType(CardType type, int playerId, DeckType deck) {
-        Deck<DominionCard> allCards;
         switch (deck) {
             case SUPPLY:
                 return cardsIncludedInGame.getOrDefault(type, 0);
+            case DISCARD:
+            case TRASH:
+                return getPile(deck, playerId).count(type);
             case HAND:
             case TABLE:
             case DRAW:
-            case DISCARD:
-            case TRASH:
-                allCards = getDeck(deck, playerId);
-                break;
+                return countOfType(type, getDeck(deck, playerId));
             case ALL:
-                allCards = new Deck<>("temp", VISIBLE_TO_ALL);
-                allCards.add(playerHands[playerId]);
-                allCards.add(playerDiscards[playerId]);
-                allCards.add(playerDrawPiles[playerId]);
-                allCards.add(playerTableaux[playerId]);
-                break;
+                return countOfType(type, playerHands[playerId]) + countOfType(type, playerDrawPiles[playerId]) +
+                        countOfType(type, playerTableaux[playerId]) + playerDiscards[playerId].count(type);
             default:
                 throw new IllegalStateException("Unexpected value: " + deck);
         }
+    }
 
-        return (int) allCards.stream().filter(c -> c.cardType() == type).count();
+    private static int countOfType(CardType type, Deck<DominionCard> deck) {
+        int retValue = 0;
+        for (DominionCard c : deck.getComponents())
+            if (c.cardType() == type)
+                retValue++;
+        return retValue;
     }
 
     public List<CardType> cardsToBuy() {
@@ -338,6 +377,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     }
 
     public int getTotal(int playerId, DeckType deck, Function<DominionCard, Integer> cardValuer) {
+        if (isPile(deck))
+            return getPile(deck, playerId).sumInt(cardValuer);
         return getDeck(deck, playerId).sumInt(cardValuer);
     }
 
@@ -373,16 +414,16 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     protected void reset() {
         playerHands = new PartialObservableDeck[nPlayers];
         playerDrawPiles = new PartialObservableDeck[nPlayers];
-        playerDiscards = new Deck[nPlayers];
+        playerDiscards = new CardPile[nPlayers];
         playerTableaux = new Deck[nPlayers];
 
-        trashPile = new Deck<>("Trash", VISIBLE_TO_ALL);
+        trashPile = new CardPile("Trash", -1);
         for (int i = 0; i < nPlayers; i++) {
             boolean[] handVisibility = new boolean[nPlayers];
             handVisibility[i] = true;
             playerHands[i] = new PartialObservableDeck<>("Hand of Player " + i + 1, i, handVisibility);
             playerDrawPiles[i] = new PartialObservableDeck<>("Drawpile of Player " + i + 1, i, new boolean[nPlayers]);
-            playerDiscards[i] = new Deck<>("Discard of Player " + i + 1, i, VISIBLE_TO_ALL);
+            playerDiscards[i] = new CardPile("Discard of Player " + i + 1, i);
             playerTableaux[i] = new Deck<>("Tableau of Player " + i + 1, i, VISIBLE_TO_ALL);
         }
         super.reset();
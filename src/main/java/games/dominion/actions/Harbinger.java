@@ -6,7 +6,6 @@ import core.actions.DoNothing;
 import core.interfaces.IExtendedSequence;
 import games.dominion.DominionGameState;
 import games.dominion.cards.CardType;
-import games.dominion.cards.DominionCard;
 
 import java.util.*;
 
@@ -26,7 +25,7 @@ public class Harbinger extends DominionAction implements IExtendedSequence {
 
     @Override
     boolean _execute(DominionGameState state) {
-        if (state.getDeck(DeckType.DISCARD, player).getSize() > 0)
+        if (state.getPile(DeckType.DISCARD, player).getSize() > 0)
             state.setActionInProgress(this);
         return true;
     }
@@ -34,8 +33,7 @@ public class Harbinger extends DominionAction implements IExtendedSequence {
     @Override
     public List<AbstractAction> _computeAvailableActions(AbstractGameState gs) {
         DominionGameState state = (DominionGameState) gs;
-        List<CardType> discardTypes = state.getDeck(DeckType.DISCARD, player).stream()
-                .map(DominionCard::cardType).distinct().collect(toList());
+        List<CardType> discardTypes = state.getPile(DeckType.DISCARD, player).types();
         List<AbstractAction> retValue = discardTypes.stream()
                 .map(ct -> new MoveCard(ct, player, DeckType.DISCARD, player, DeckType.DRAW, false))
                 .collect(toList());
@@ -30,12 +30,7 @@ public class MoveCard extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState ags) {
         DominionGameState state = (DominionGameState) ags;
-        Optional<DominionCard> cardToMove = state.getDeck(fromDeck, playerFrom).stream()
-                .filter(card -> card.cardType() == this.type).findFirst();
-
-        if (cardToMove.isPresent()) {
-            DominionCard card = cardToMove.get();
-            state.moveCard(card, playerFrom, fromDeck, playerTo, toDeck);
+        if (state.moveCard(type, playerFrom, fromDeck, playerTo, toDeck)) {
             PartialObservableDeck<DominionCard> destination = (PartialObservableDeck<DominionCard>) state.getDeck(toDeck, playerTo);
             boolean[] cardVisibility = new boolean[state.getNPlayers()];
             cardVisibility[playerFrom] = true;
@@ -4,13 +4,10 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import games.dominion.DominionGameState;
 import games.dominion.cards.CardType;
-import games.dominion.cards.DominionCard;
 
 import java.util.*;
 
 import static games.dominion.DominionConstants.*;
-import static java.util.stream.Collectors.*;
-
 public class TrashCard extends AbstractAction {
 
     final int player;
@@ -37,12 +34,9 @@ public class TrashCard extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState gs) {
         DominionGameState state = (DominionGameState) gs;
-        List<DominionCard> matchingCards = state.getDeck(fromDeck, player).stream()
-                .filter(c -> c.cardType() == trashedCard).collect(toList());
-        if (matchingCards.isEmpty()) {
+        if (!state.moveCard(trashedCard, player, fromDeck, -1, DeckType.TRASH)) {
             throw new AssertionError("Cannot trash a card you do not have: " + trashedCard + " from " + fromDeck);
         }
-        state.moveCard(matchingCards.get(0), player, fromDeck, -1, DeckType.TRASH);
         return true;
     }
 
@@ -0,0 +1,172 @@
+package games.dominion.cards;
+
+import core.CoreConstants;
+import core.components.Component;
+import core.components.Deck;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
+
+/**
+ * A pile of Dominion cards in which the order of the cards does not matter (e.g. a discard pile), held as the number
+ * of cards of each CardType. All DominionCards of the same type are interchangeable, so this is all there is to know
+ * about the pile, and copying, comparing or valuing it is O(number of card types) rather than O(number of cards).
+ */
+public class CardPile extends Component {
+
+    private static final CardType[] TYPES = CardType.values();
+    // One card of each type, used to value the cards in a pile; DominionCards are immutable, so these can be shared
+    private static final DominionCard[] prototypes = new DominionCard[TYPES.length];
+
+    private int[] counts = new int[TYPES.length];
+    private int size;
+
+    public CardPile(String name, int ownerId) {
+        super(CoreConstants.ComponentType.DECK, name);
+        this.ownerId = ownerId;
+    }
+
+    private CardPile(String name, int ownerId, int ID) {
+        super(CoreConstants.ComponentType.DECK, name, ID);
+        this.ownerId = ownerId;
+    }
+
+    private static DominionCard prototype(CardType type) {
+        DominionCard retValue = prototypes[type.ordinal()];
+        if (retValue == null) {
+            retValue = DominionCard.create(type);
+            prototypes[type.ordinal()] = retValue;
+        }
+        return retValue;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int count(CardType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * @return the types of card in the pile, in CardType order
+     */
+    public List<CardType> types() {
+        List<CardType> retValue = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++)
+            if (counts[i] > 0)
+                retValue.add(TYPES[i]);
+        return retValue;
+    }
+
+    public void add(CardType type) {
+        counts[type.ordinal()]++;
+        size++;
+    }
+
+    public void add(Deck<DominionCard> deck) {
+        for (DominionCard card : deck.getComponents())
+            add(card.cardType());
+    }
+
+    public void add(CardPile other) {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        size += other.size;
+    }
+
+    /**
+     * @return true if there was a card of the type to remove, false otherwise
+     */
+    public boolean remove(CardType type) {
+        if (counts[type.ordinal()] == 0)
+            return false;
+        counts[type.ordinal()]--;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * The equivalent of Deck.sumInt(); the valuer is applied once per type of card in the pile, so it must depend only
+     * on the type of the card (as all DominionCard methods do)
+     */
+    public int sumInt(Function<DominionCard, Integer> cardValuer) {
+        int retValue = 0;
+        for (int i = 0; i < counts.length; i++)
+            if (counts[i] > 0)
+                retValue += counts[i] * cardValuer.apply(prototype(TYPES[i]));
+        return retValue;
+    }
+
+    /**
+     * Adds new cards to the deck for everything in the pile, in CardType order
+     */
+    public void addTo(Deck<DominionCard> deck) {
+        for (int i = counts.length - 1; i >= 0; i--)
+            for (int j = 0; j < counts[i]; j++)
+                deck.add(DominionCard.create(TYPES[i]));
+    }
+
+    /**
+     * @return a new Deck of the cards in the pile, in CardType order. This cannot be changed (anything that would
+     * change it throws UnsupportedOperationException), as changes would not affect the pile. The Deck has the componentID of the pile, so the Decks of a pile (or of copies of it) with the same cards in
+     * it are equal.
+     */
+    public Deck<DominionCard> toDeck() {
+        PileDeck retValue = new PileDeck(componentName, ownerId, componentID);
+        addTo(retValue);
+        retValue.makeUnmodifiable();
+        return retValue;
+    }
+
+    // Has the ID of the pile, and cannot be changed (as changes would not reach the pile); a copy() of it can be
+    private static class PileDeck extends Deck<DominionCard> {
+        PileDeck(String name, int ownerId, int ID) {
+            super(name, ownerId, ID, VISIBLE_TO_ALL);
+        }
+
+        void makeUnmodifiable() {
+            components = Collections.unmodifiableList(components);
+        }
+    }
+
+    @Override
+    public CardPile copy() {
+        CardPile retValue = new CardPile(componentName, ownerId, componentID);
+        retValue.counts = counts.clone();
+        retValue.size = size;
+        copyComponentTo(retValue);
+        return retValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardPile other)) return false;
+        return ownerId == other.ownerId && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ownerId, Arrays.hashCode(counts));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                if (sb.length() > 0) sb.append(", ");
+                sb.append(counts[i]).append(" ").append(TYPES[i]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -152,8 +152,8 @@ public class DominionGUIManager extends AbstractGUIManager {
                 }
             }
 
-            // trashPile should not need to be formally updated, as it is linked to the Game trashpile
-            // so the later repaint() should do the trick.
+            // trashPile is a CardPile, so we get a new Deck of its current contents
+            trashPile.updateComponent(state.getDeck(DominionConstants.DeckType.TRASH, -1));
 
             // MarketView however needs to be updated
             marketView.update(state);
@@ -76,7 +76,9 @@ public class DominionPlayerView extends JComponent {
 
     public void update(DominionGameState state) {
         // There is no need to updateComponent on the DeckViews, as once initialised, the same Deck is retained throughout a Game
-        // (if we ignore the copies of GameState used in MCTS etc.)
+        // (if we ignore the copies of GameState used in MCTS etc.). The exception is the discard pile, which is a CardPile,
+        // so we get a new Deck of its current contents
+        playerDiscard.updateComponent(state.getDeck(DeckType.DISCARD, playerId));
         if (state.getCurrentPlayer() == playerId) {
             actions = state.actionsLeft();
             spendAvailable = state.availableSpend(playerId);
@@ -1,21 +1,18 @@
 package games.dominion.metrics;
 
 import core.AbstractGameState;
-import core.components.Deck;
 import games.dominion.DominionConstants;
 import games.dominion.DominionGameState;
+import games.dominion.cards.CardPile;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
 import players.heuristics.AbstractStateFeature;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import static games.dominion.DominionConstants.DeckType.*;
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
 
 public class DomStateFeatures extends AbstractStateFeature {
 
@@ -75,12 +72,11 @@ public class DomStateFeatures extends AbstractStateFeature {
             retValue[baseFeatureCount + index * 3 + 2] = state.cardsOfType(card, -1, DominionConstants.DeckType.SUPPLY) / 10.0;
         }
         List<CardType> hand = state.getDeck(HAND, playerId).stream().map(DominionCard::cardType).collect(Collectors.toList());
-        Deck<DominionCard> deck = state.getDeck(DRAW, playerId).copy();
-        deck.add(state.getDeck(DISCARD, playerId));
-        Map<CardType, Long> allCards = deck.stream().collect(groupingBy(DominionCard::cardType, counting()));
-        for (CardType card : allCards.keySet()) {
+        CardPile allCards = state.getPile(DISCARD, playerId).copy();
+        allCards.add(state.getDeck(DRAW, playerId));
+        for (CardType card : allCards.types()) {
             int index = cardTypes.indexOf(card);
-            retValue[baseFeatureCount + index * 3 + 0] = allCards.get(card) / 5.0;
+            retValue[baseFeatureCount + index * 3 + 0] = allCards.count(card) / 5.0;
             if (hand.contains(card))
                 retValue[baseFeatureCount + index * 3 + 1] = 1.0;
         }
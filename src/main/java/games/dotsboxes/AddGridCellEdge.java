@@ -21,6 +21,7 @@ public class AddGridCellEdge extends AbstractAction {
         int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
         // Mark this edge as complete by current player and check if connected cells are complete too
         dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
+        dbgs.toggleOwnerHash(edge, gs.getCurrentPlayer());
 
         HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
         for (DBCell c : cells) {
@@ -28,6 +29,7 @@ public class AddGridCellEdge extends AbstractAction {
             if (nEdgesComplete == 4) {  // A cell has 4 sides
                 // All edges complete, this box complete
                 dbgs.cellToOwnerMap.put(c, gs.getCurrentPlayer());
+                dbgs.toggleOwnerHash(c, gs.getCurrentPlayer());
                 dbgs.nCellsPerPlayer[gs.getCurrentPlayer()]++;
             }
         }
@@ -20,6 +20,7 @@ public class DBForwardModel extends StandardForwardModel {
         dbgs.cellToEdgesMap = new HashMap<>();
         dbgs.cellToOwnerMap = new HashMap<>();
         dbgs.edgeToOwnerMap = new HashMap<>();
+        dbgs.ownerHash = 0;
         dbgs.edges = new HashSet<>();
         dbgs.cells = new HashSet<>();
         for (int i = 0; i < dbp.gridHeight; i++) {
@@ -62,6 +63,43 @@ public class DBForwardModel extends StandardForwardModel {
         }
     }
 
+    // What is needed to reverse AddGridCellEdge: the edge, the cells next to it that were not yet complete,
+    // the player who placed it and whether the previous action scored
+    private record DBUndo(DBEdge edge, List<DBCell> incompleteCells, int player, boolean lastActionDidNotScore) {
+    }
+
+    @Override
+    public boolean supportsUndo() {
+        return true;
+    }
+
+    @Override
+    protected Object _recordUndo(AbstractGameState currentState, AbstractAction action) {
+        DBGameState dbgs = (DBGameState) currentState;
+        DBEdge edge = ((AddGridCellEdge) action).edge;
+        List<DBCell> incompleteCells = new ArrayList<>(2);
+        for (DBCell c : dbgs.edgeToCellMap.get(edge)) {
+            if (!dbgs.cellToOwnerMap.containsKey(c))
+                incompleteCells.add(c);
+        }
+        return new DBUndo(edge, incompleteCells, dbgs.getCurrentPlayer(), dbgs.lastActionDidNotScore);
+    }
+
+    @Override
+    protected void _undo(AbstractGameState currentState, Object undoData) {
+        DBGameState dbgs = (DBGameState) currentState;
+        DBUndo undo = (DBUndo) undoData;
+        dbgs.edgeToOwnerMap.remove(undo.edge);
+        dbgs.toggleOwnerHash(undo.edge, undo.player);
+        for (DBCell c : undo.incompleteCells) {
+            if (dbgs.cellToOwnerMap.remove(c) != null) {
+                dbgs.nCellsPerPlayer[undo.player]--;
+                dbgs.toggleOwnerHash(c, undo.player);
+            }
+        }
+        dbgs.lastActionDidNotScore = undo.lastActionDidNotScore;
+    }
+
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
 
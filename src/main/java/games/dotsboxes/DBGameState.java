@@ -5,6 +5,7 @@ import core.AbstractParameters;
 import core.components.Component;
 import core.interfaces.IStateHeuristic;
 import games.GameType;
+import utilities.ZobristHash;
 
 import java.util.*;
 
@@ -26,6 +27,8 @@ public class DBGameState extends AbstractGameState {
     HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
     HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
     boolean lastActionDidNotScore;
+    // XOR of a key for each (edge or cell, owner) pair in the maps above, kept up to date as they change
+    long ownerHash;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -55,6 +58,7 @@ public class DBGameState extends AbstractGameState {
         dbgs.edgeToCellMap = edgeToCellMap;
         dbgs.cellToEdgesMap = cellToEdgesMap;
         dbgs.lastActionDidNotScore = lastActionDidNotScore;
+        dbgs.ownerHash = ownerHash;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
         dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
@@ -88,7 +92,6 @@ public class DBGameState extends AbstractGameState {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DBGameState)) return false;
-        if (!super.equals(o)) return false;
         DBGameState that = (DBGameState) o;
         return lastActionDidNotScore == that.lastActionDidNotScore && Objects.equals(heuristic, that.heuristic)
                 && Objects.equals(edges, that.edges) && Objects.equals(cells, that.cells) &&
@@ -162,4 +165,31 @@ public class DBGameState extends AbstractGameState {
     public boolean getLastActionDidNotScore(){return lastActionDidNotScore;}
     public void setLastActionDidNotScore(boolean value){
         lastActionDidNotScore = value;}
+
+    // Adds or removes (they are the same operation) the ownership of an edge or cell from ownerHash
+    void toggleOwnerHash(Component edgeOrCell, int owner) {
+        int offset = edgeOrCell instanceof DBCell ? getNPlayers() : 0;
+        ownerHash ^= ZobristHash.key(edgeOrCell.hashCode(), owner + offset);
+    }
+
+    @Override
+    protected long _getZobristHash() {
+        // edges and cells never change; all the rest of the state is in the owner maps
+        return lastActionDidNotScore ? ~ownerHash : ownerHash;
+    }
+
+    @Override
+    protected long _computeZobristHash() {
+        long hash = 0;
+        for (Map.Entry<DBEdge, Integer> e : edgeToOwnerMap.entrySet())
+            hash ^= ZobristHash.key(e.getKey().hashCode(), e.getValue());
+        for (Map.Entry<DBCell, Integer> e : cellToOwnerMap.entrySet())
+            hash ^= ZobristHash.key(e.getKey().hashCode(), e.getValue() + getNPlayers());
+        return lastActionDidNotScore ? ~hash : hash;
+    }
+
+    @Override
+    public boolean hasZobristHash() {
+        return true;
+    }
 }
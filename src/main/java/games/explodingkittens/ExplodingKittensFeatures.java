@@ -5,6 +5,7 @@ import core.CoreConstants;
 import core.interfaces.IStateFeatureVector;
 import games.explodingkittens.cards.ExplodingKittensCard;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -21,34 +22,47 @@ public class ExplodingKittensFeatures implements IStateFeatureVector {
 
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
+        double[] obs = new double[this.nDims];
+        featureVector(state, playerID, DoubleBuffer.wrap(obs), 0);
+        return obs;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, DoubleBuffer buffer, int index) {
         // TODO: see the future is not actually encoded here - could leave a placeholder for 3 cards?
         ExplodingKittensGameState ekgs = (ExplodingKittensGameState) state;
 
-        double[] obs = new double[this.nDims];
+        for (int i = 0; i < nDims; i++)
+            buffer.put(index + i, 0.0);
         // player's hand : 12 card types, cards in drawpile, n players alive, n_cards per player
         for (ExplodingKittensCard cardType : ekgs.playerHandCards.get(playerID).getComponents()){
-            obs[cardTypes.indexOf(cardType.toString())] += 1;
+            int i = index + cardTypes.indexOf(cardType.toString());
+            buffer.put(i, buffer.get(i) + 1);
         }
-        obs[13] = ekgs.drawPile.getSize();
+        buffer.put(index + 13, ekgs.drawPile.getSize());
         int nPlayersActive = 0;
         for (int i = 0; i < ekgs.getNPlayers(); i++) {
             if (ekgs.getPlayerResults()[i] == CoreConstants.GameResult.GAME_ONGOING) nPlayersActive++;
-            obs[15+i] = ekgs.playerHandCards.get(i).getComponents().size();
+            buffer.put(index + 15 + i, ekgs.playerHandCards.get(i).getComponents().size());
         }
-        obs[14] = nPlayersActive;
+        buffer.put(index + 14, nPlayersActive);
         // gamephases are represented here: main/favor/nope/see the future...
         if (ekgs.getGamePhase().equals(CoreConstants.DefaultGamePhase.Main)){
-            obs[20] = 1.0;
+            buffer.put(index + 20, 1.0);
         } else{
             // find id of gamephase
             for (int i = 0; i < ExplodingKittensGameState.ExplodingKittensGamePhase.values().length; i++) {
                 if (ExplodingKittensGameState.ExplodingKittensGamePhase.values()[i].equals(ekgs.getGamePhase())){
-                    obs[21+i] = 1.0;
+                    buffer.put(index + 21 + i, 1.0);
                     break;
                 }
             }
         }
-        return obs;
+    }
+
+    @Override
+    public boolean readsHiddenInformation() {
+        return false;  // only the player's own hand, and the sizes of the other hands and the draw pile
     }
 
 //    public double[] getNormalizedObservationVector() {
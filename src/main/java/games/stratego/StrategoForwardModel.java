@@ -94,6 +94,36 @@ public class StrategoForwardModel extends StandardForwardModel implements ITreeA
         return _computeAvailableActions(gameState, ActionSpace.Default);
     }
 
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        StrategoGameState state = (StrategoGameState) gameState;
+        Piece.Alliance playerAlliance = StrategoConstants.playerMapping.get(gameState.getCurrentPlayer());
+        List<Piece> pieces = state.gridBoard.getComponents();
+        if (pieces.isEmpty())
+            throw new AssertionError("Error: No Pieces Found");
+        int count = 0;
+        for (Piece piece : pieces) {
+            if (piece != null && piece.getPieceAlliance() == playerAlliance)
+                count += piece.countMoves(state);
+        }
+        return count;
+    }
+
+    @Override
+    protected AbstractAction _availableAction(AbstractGameState gameState, int k) {
+        StrategoGameState state = (StrategoGameState) gameState;
+        Piece.Alliance playerAlliance = StrategoConstants.playerMapping.get(gameState.getCurrentPlayer());
+        for (Piece piece : state.gridBoard.getComponents()) {
+            if (piece != null && piece.getPieceAlliance() == playerAlliance) {
+                int nMoves = piece.countMoves(state);
+                if (k < nMoves)
+                    return piece.getMove(state, ActionSpace.Default, k);
+                k -= nMoves;
+            }
+        }
+        throw new AssertionError("Action index out of range");
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         if (currentState.getGameStatus() == CoreConstants.GameResult.GAME_END || currentState.isActionInProgress()){
@@ -77,49 +77,94 @@ public class Piece extends Token {
             return moves;
         }
 
-        int maxTravel = params.moveSpeed;
-        if (pieceType == PieceType.SCOUT) maxTravel = params.gridSize;
-
+        int maxTravel = maxTravel(params);
         for (Vector2D.Direction dir: Vector2D.Direction.values4()) {
-            for (int j = 1; j <= maxTravel; j++) {
+            int reach = reach(board, params, dir, maxTravel);
+            for (int j = 1; j <= reach; j++) {
                 Vector2D dirCustom = dir.vector2D.mult(j);
                 Vector2D newPos = position.copy();
                 newPos = newPos.add(dirCustom);
-                Piece pieceAtTile = board.getElement(newPos.getX(), newPos.getY());
-                if (params.isTileValid(newPos.getX(), newPos.getY())  // Must be walkable tile
-                        && (pieceAtTile == null // Ok if empty tile, we can move there
-                        || pieceAtTile.getPieceAlliance() != alliance)) {  // Ok if enemy piece at tile, we attack
-                    addMove(board, moves, newPos, dirCustom, actionSpace);
-                } else {
-                    // No more valid moves in this direction
-                    break;
-                }
+                moves.add(createMove(board, newPos, dirCustom, actionSpace));
             }
         }
 
         return moves;
     }
 
-    private void addMove(GridBoard<Piece> board, List<AbstractAction> moves, Vector2D newPos,
-                            Vector2D dir, ActionSpace actionSpace) {
+    /**
+     * @return the number of moves calculateMoves() would return (for any action space), without creating them
+     */
+    public int countMoves(StrategoGameState gs) {
+        if (!getPieceType().isMovable())
+            return 0;
+        StrategoParams params = (StrategoParams) gs.getGameParameters();
+        int maxTravel = maxTravel(params);
+        int count = 0;
+        for (Vector2D.Direction dir: Vector2D.Direction.values4()) {
+            count += reach(gs.getGridBoard(), params, dir, maxTravel);
+        }
+        return count;
+    }
+
+    /**
+     * @return calculateMoves(gs, actionSpace).get(k), without creating the other moves
+     */
+    public AbstractAction getMove(StrategoGameState gs, ActionSpace actionSpace, int k) {
+        if (getPieceType().isMovable()) {
+            GridBoard<Piece> board = gs.getGridBoard();
+            StrategoParams params = (StrategoParams) gs.getGameParameters();
+            int maxTravel = maxTravel(params);
+            for (Vector2D.Direction dir : Vector2D.Direction.values4()) {
+                int reach = reach(board, params, dir, maxTravel);
+                if (k < reach) {
+                    Vector2D dirCustom = dir.vector2D.mult(k + 1);
+                    return createMove(board, position.copy().add(dirCustom), dirCustom, actionSpace);
+                }
+                k -= reach;
+            }
+        }
+        throw new IllegalArgumentException("Piece " + this + " does not have a move " + k);
+    }
+
+    private int maxTravel(StrategoParams params) {
+        return pieceType == PieceType.SCOUT ? params.gridSize : params.moveSpeed;
+    }
+
+    // The number of tiles this piece can move to in the direction; it can carry on past an enemy piece
+    private int reach(GridBoard<Piece> board, StrategoParams params, Vector2D.Direction dir, int maxTravel) {
+        for (int j = 1; j <= maxTravel; j++) {
+            int x = position.getX() + dir.vector2D.getX() * j;
+            int y = position.getY() + dir.vector2D.getY() * j;
+            Piece pieceAtTile = board.getElement(x, y);
+            if (!params.isTileValid(x, y)  // Must be walkable tile
+                    || (pieceAtTile != null  // Ok if empty tile, we can move there
+                    && pieceAtTile.getPieceAlliance() == alliance)) {  // Ok if enemy piece at tile, we attack
+                // No more valid moves in this direction
+                return j - 1;
+            }
+        }
+        return maxTravel;
+    }
+
+    private AbstractAction createMove(GridBoard<Piece> board, Vector2D newPos, Vector2D dir, ActionSpace actionSpace) {
         Piece pieceAtTile = board.getElement(newPos.getX(), newPos.getY());
         if (pieceAtTile == null) {
             // Just move
             if (actionSpace.context == ActionSpace.Context.Dependent) {
                 // Dependent
-                moves.add(new NormalMove(position, dir));
+                return new NormalMove(position, dir);
             } else {
                 // Independent, default
-                moves.add(new NormalMove(getComponentID(), newPos));
+                return new NormalMove(getComponentID(), newPos);
             }
         } else {
             // Attack
             if (actionSpace.context == ActionSpace.Context.Dependent) {
                 // Dependent
-                moves.add(new AttackMove(position, newPos));
+                return new AttackMove(position, newPos);
             } else {
                 // Independent, default
-                moves.add(new AttackMove(getComponentID(), pieceAtTile.getComponentID()));
+                return new AttackMove(getComponentID(), pieceAtTile.getComponentID());
             }
         }
     }
@@ -5,17 +5,27 @@ import core.interfaces.IStateFeatureJSON;
 import core.interfaces.IStateFeatureVector;
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.DoubleBuffer;
 
 public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
+    // the width (and height) of the board; there is one feature per cell
+    private final int gridSize;
+
+    public TTTFeatures() {
+        this(3);
+    }
+
+    public TTTFeatures(int gridSize) {
+        this.gridSize = gridSize;
+    }
+
     @Override
     public String[] names() {
-        String[] names = new String[]{
-                "0,0", "0,1", "0,2",
-                "1,0", "1,1", "1,2",
-                "2,0", "2,1", "2,2"};
+        String[] names = new String[gridSize * gridSize];
+        for (int x = 0; x < gridSize; x++)
+            for (int y = 0; y < gridSize; y++)
+                names[x * gridSize + y] = x + "," + y;
         return names;
     }
 
@@ -42,21 +52,42 @@ public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
         TicTacToeGameState tttgs = (TicTacToeGameState) state;
-        List<Double> listVec = new ArrayList<>();
+        double[] retValue = new double[tttgs.gridBoard.getWidth() * tttgs.gridBoard.getHeight()];
+        writeCells(tttgs, playerID, DoubleBuffer.wrap(retValue), 0);
+        return retValue;
+    }
+
+    /**
+     * Writes names().length values, so the board must be gridSize x gridSize
+     */
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, DoubleBuffer buffer, int index) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) state;
+        if (tttgs.gridBoard.getWidth() != gridSize || tttgs.gridBoard.getHeight() != gridSize)
+            throw new IllegalArgumentException("These features are for a " + gridSize + "x" + gridSize + " board, not "
+                    + tttgs.gridBoard.getWidth() + "x" + tttgs.gridBoard.getHeight());
+        writeCells(tttgs, playerID, buffer, index);
+    }
+
+    private void writeCells(TicTacToeGameState tttgs, int playerID, DoubleBuffer buffer, int index) {
         String playerSymbol = (playerID == 0) ? "x" : "o";
         for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
             for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
                 String cellSymbol = tttgs.gridBoard.getElement(x, y).toString();
                 if (cellSymbol.equals(playerSymbol)) {
-                    listVec.add(1.0);
+                    buffer.put(index++, 1.0);
                 } else if (cellSymbol.equals(".")) {
-                    listVec.add(0.0);
+                    buffer.put(index++, 0.0);
                 } else {
-                    listVec.add(-1.0);
+                    buffer.put(index++, -1.0);
                 }
             }
         }
-        return listVec.stream().mapToDouble(i -> i).toArray();
+    }
+
+    @Override
+    public boolean readsHiddenInformation() {
+        return false;  // everything is on the board
     }
 
 //    @Override
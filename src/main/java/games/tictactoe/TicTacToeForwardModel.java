@@ -58,6 +58,27 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
         endPlayerTurn(currentState);
     }
 
+    @Override
+    public boolean supportsUndo() {
+        return true;
+    }
+
+    /**
+     * The only game-specific change is the cell that is set, so we record what was there before.
+     */
+    @Override
+    protected Object _recordUndo(AbstractGameState currentState, AbstractAction action) {
+        SetGridValueAction<Token> setAction = (SetGridValueAction<Token>) action;
+        TicTacToeGameState state = (TicTacToeGameState) currentState;
+        return new SetGridValueAction<>(setAction.getGridBoard(), setAction.getX(), setAction.getY(),
+                state.gridBoard.getElement(setAction.getX(), setAction.getY()));
+    }
+
+    @Override
+    protected void _undo(AbstractGameState currentState, Object undoData) {
+        ((SetGridValueAction<?>) undoData).execute(currentState);
+    }
+
     /**
      * Checks if the game ended.
      *
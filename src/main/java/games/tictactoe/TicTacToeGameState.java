@@ -73,6 +73,16 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     public int hashCode() {
         return Objects.hash(super.hashCode(), gridBoard);
     }
+
+    @Override
+    protected long _getZobristHash() {
+        return 0; // everything is on the board
+    }
+
+    @Override
+    public boolean hasZobristHash() {
+        return true;
+    }
     @Override
     public String toString() {
         return Objects.hash(gameParameters) + "|" +
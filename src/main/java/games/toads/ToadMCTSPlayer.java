@@ -51,6 +51,7 @@ public class ToadMCTSPlayer extends MCTSPlayer {
         if (getPlayerID() != currentPlayer)
             throw new AssertionError("Player ID mismatch in ToadMCTSPlayer");
 
+        stopPondering();  // before we change the tree
         if (flankAction != null && params.reuseTree) { // from the last action; we may have some clean up to do
             if (root == null) {
                 throw new AssertionError("Root node is null");
@@ -141,7 +142,6 @@ public class ToadMCTSPlayer extends MCTSPlayer {
             if (root instanceof MCGSNode mcgsRoot) {
                 mcgsRoot.getTranspositionMap().clear();
                 mcgsRoot.getTranspositionMap().put(getParameters().MCGSStateKey.getKey(gameState, getPlayerID()), mcgsRoot);
-                this.oldGraphKeys.clear();
             }
         }
     }
@@ -50,8 +50,8 @@ public class PlayLatexGlove extends PlayVirusCard implements IPrintable {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (!(o instanceof PlayLatexGlove)) return false;
-        return super.equals(o);
+        if (!(o instanceof PlayLatexGlove other)) return false;
+        return super.equals(o) && otherPlayerId == other.otherPlayerId && otherPlayerHandId == other.otherPlayerHandId;
     }
 
     @Override
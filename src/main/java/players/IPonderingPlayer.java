@@ -0,0 +1,11 @@
+package players;
+
+/**
+ * A player that can carry on thinking (pondering) while the other players take their turns.
+ * Tournaments use this to switch pondering off for all players when it would be unfair to allow it.
+ */
+public interface IPonderingPlayer {
+
+    void setPonder(boolean ponder);
+    boolean getPonder();
+}
@@ -15,16 +15,35 @@ public abstract class AbstractStateFeature implements IStateFeatureVector {
 
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
+        double[] scores = new double[state.getNPlayers()];
+        for (int p = 0; p < scores.length; p++)
+            scores[p] = state.getGameScore(p);
+        return featureVector(state, playerID, scores);
+    }
+
+    @Override
+    public double[][] featureVectors(AbstractGameState state) {
+        // the scores are needed for every player's features, so we only get them once
+        double[] scores = new double[state.getNPlayers()];
+        for (int p = 0; p < scores.length; p++)
+            scores[p] = state.getGameScore(p);
+        double[][] retValue = new double[scores.length][];
+        for (int p = 0; p < scores.length; p++)
+            retValue[p] = featureVector(state, p, scores);
+        return retValue;
+    }
+
+    private double[] featureVector(AbstractGameState state, int playerID, double[] scores) {
         double[] localFeatures = localFeatureVector(state, playerID);
         double[] retValue = new double[coreNames.length + localFeatures.length];
 
         // POINT_ADVANTAGE
         int ordinal = 1;
         double maxOtherScore = -1;
-        double ourSc = state.getGameScore(playerID);
-        for (int p = 0; p < state.getNPlayers(); p++) {
+        double ourSc = scores[playerID];
+        for (int p = 0; p < scores.length; p++) {
             if (p == playerID) continue;
-            double sc = state.getGameScore(p);
+            double sc = scores[p];
             if (sc > maxOtherScore) {
                 maxOtherScore = sc;
                 if (sc > ourSc)
@@ -5,6 +5,7 @@ import core.interfaces.*;
 import utilities.Pair;
 import utilities.Utils;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -39,5 +40,58 @@ public class LinearStateHeuristic extends GLMHeuristic implements IStateHeuristi
         return 0;
     }
 
+    @Override
+    public double[] evaluateAllPlayers(AbstractGameState state) {
+        if (coefficients != null && (defaultHeuristic == null || state.isNotTerminal())) {
+            // we extract the features for all players in one go, and then apply the coefficients to them all
+            double[] retValue = new double[state.getNPlayers()];
+            applyCoefficients(features.featureVectors(state), retValue);
+            link(retValue);
+            return retValue;
+        }
+        if (defaultHeuristic != null)
+            return defaultHeuristic.evaluateAllPlayers(state);
+        return new double[state.getNPlayers()];
+    }
+
+    @Override
+    public double[] evaluateStates(AbstractGameState[] states, int playerId) {
+        if (coefficients == null)
+            return IStateHeuristic.super.evaluateStates(states, playerId);
+        // the feature vectors of all the states the model applies to are scored in one batch; as in evaluateState(),
+        // the default heuristic is used just for the terminal states
+        double[] retValue = new double[states.length];
+        double[][] phis = new double[states.length][];
+        int[] rows = new int[states.length];
+        int nRows = 0;
+        for (int i = 0; i < states.length; i++) {
+            if (defaultHeuristic == null || states[i].isNotTerminal()) {
+                rows[nRows] = i;
+                phis[nRows++] = features.featureVector(states[i], playerId);
+            } else {
+                retValue[i] = defaultHeuristic.evaluateState(states[i], playerId);
+            }
+        }
+        if (nRows == states.length) {
+            applyCoefficients(phis, retValue);
+            link(retValue);
+            return retValue;
+        }
+        double[] batch = new double[nRows];
+        applyCoefficients(Arrays.copyOf(phis, nRows), batch);
+        link(batch);
+        for (int r = 0; r < nRows; r++)
+            retValue[rows[r]] = batch[r];
+        return retValue;
+    }
+
+    // applies the inverse link function (and clamps to the range of the default heuristic) in place
+    private void link(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = inverseLinkFunction.applyAsDouble(values[i]);
+            if (defaultHeuristic != null)
+                values[i] = Utils.clamp(values[i], defaultHeuristic.minValue(), defaultHeuristic.maxValue());
+        }
+    }
 
 }
@@ -1,6 +1,7 @@
 package players.learners;
 
 import core.interfaces.ILearner;
+import evaluation.loggers.BinaryDataReader;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -58,15 +59,27 @@ public abstract class AbstractLearner implements ILearner {
     }
 
     protected void loadData(String... files) {
-        List<double[]> data = new ArrayList<>();
+        // each row is converted as it is read, so we only ever hold the converted data
+        List<double[]> features = new ArrayList<>();
+        List<double[]> targets = new ArrayList<>();
+        List<double[]> scores = new ArrayList<>();
         for (String file : files) {
+            if (BinaryDataReader.isBinaryFile(file)) {
+                // written by BinaryStatsLogger, so we can map the data directly rather than parse it
+                try (BinaryDataReader reader = new BinaryDataReader(file)) {
+                    setHeader(reader.getHeader());
+                    reader.forEachRow(row -> convertRow(row, features, targets, scores));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    throw new AssertionError("Problem reading file " + file);
+                }
+                continue;
+            }
             try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                header = reader.readLine().split("\\t");
-                descriptions = new String[header.length - 11];
-                System.arraycopy(header, 5, descriptions, 0, descriptions.length);
+                setHeader(reader.readLine().split("\\t"));
                 while (reader.ready()) {
                     double[] datum = Arrays.stream(reader.readLine().split("\\t")).mapToDouble(Double::parseDouble).toArray();
-                    data.add(datum);
+                    convertRow(datum, features, targets, scores);
                 }
             } catch (IOException e) {
                 e.printStackTrace();
@@ -77,7 +90,12 @@ public abstract class AbstractLearner implements ILearner {
             }
         }
 
-        // now convert data to [][]
+        dataArray = features.toArray(new double[0][]);
+        target = targets.toArray(new double[0][]);
+        currentScore = scores.toArray(new double[0][]);
+    }
+
+    private void setHeader(String[] header) {
         // we assume (for the moment) that the columns are: GameID, Player, Round, Turn, CurrentScore... Win, Ordinal, FinalScore
         // with ... representing the game specific features
         // these fields are all defined in FeatureListener, and we assume that any Listener that records data
@@ -91,38 +109,43 @@ public abstract class AbstractLearner implements ILearner {
                 || !header[header.length - 5].equals("TotalRounds") || !header[header.length - 6].equals("PlayerCount")) {
             throw new AssertionError("Unexpected final header entries " + String.join("", header));
         }
+        this.header = header;
+        descriptions = new String[header.length - 11];
+        System.arraycopy(header, 5, descriptions, 0, descriptions.length);
+    }
 
-        dataArray = new double[data.size()][];
-        target = new double[data.size()][1];
-        currentScore = new double[data.size()][1];
-        for (int i = 0; i < dataArray.length; i++) {
-            double[] allData = data.get(i);
-            // calculate the number of turns from this point until the end of the game
-            double turns = allData[header.length - 5] - allData[2];
-            double playerCount = allData[header.length - 6];
-            // discount target (towards expected result where relevant)
-            double expectedAverage = 0.0;
-            if (targetType == Target.WIN_MEAN)
-                expectedAverage = 1.0 / playerCount;
-            if (targetType == Target.ORD_MEAN || targetType == Target.ORD_MEAN_SCALE)
-                expectedAverage = (1.0 + playerCount) / 2.0;
-
-            if (targetType == Target.SCORE_DELTA)
-                target[i][0] = (allData[header.length - targetType.indexOffset] - allData[4]) * Math.pow(gamma, turns);
-            else
-                target[i][0] = (allData[header.length - targetType.indexOffset] - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
-
-            if (targetType == Target.ORDINAL || targetType == Target.ORD_MEAN)
-                target[i][0] = -target[i][0];  // if we are targeting the Ordinal position, then high is bad!
-            if (targetType == Target.ORD_MEAN_SCALE || targetType == Target.ORD_SCALE)
-                target[i][0] = (playerCount - target[i][0]) / (playerCount - 1.0);  // scale to [0, 1]
-
-            currentScore[i][0] = allData[4];
-            double[] regressionData = new double[header.length - 10];
-            regressionData[0] = 1.0; // the bias term
-            System.arraycopy(allData, 5, regressionData, 1, regressionData.length - 1);
-            dataArray[i] = regressionData;
-        }
+    /**
+     * Converts one row of the file into the features, target and current score used for learning, and adds these to
+     * the lists. allData is not kept, so it can be reused for the next row.
+     */
+    private void convertRow(double[] allData, List<double[]> features, List<double[]> targets, List<double[]> scores) {
+        // calculate the number of turns from this point until the end of the game
+        double turns = allData[header.length - 5] - allData[2];
+        double playerCount = allData[header.length - 6];
+        // discount target (towards expected result where relevant)
+        double expectedAverage = 0.0;
+        if (targetType == Target.WIN_MEAN)
+            expectedAverage = 1.0 / playerCount;
+        if (targetType == Target.ORD_MEAN || targetType == Target.ORD_MEAN_SCALE)
+            expectedAverage = (1.0 + playerCount) / 2.0;
+
+        double value;
+        if (targetType == Target.SCORE_DELTA)
+            value = (allData[header.length - targetType.indexOffset] - allData[4]) * Math.pow(gamma, turns);
+        else
+            value = (allData[header.length - targetType.indexOffset] - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
+
+        if (targetType == Target.ORDINAL || targetType == Target.ORD_MEAN)
+            value = -value;  // if we are targeting the Ordinal position, then high is bad!
+        if (targetType == Target.ORD_MEAN_SCALE || targetType == Target.ORD_SCALE)
+            value = (playerCount - value) / (playerCount - 1.0);  // scale to [0, 1]
+
+        double[] regressionData = new double[header.length - 10];
+        regressionData[0] = 1.0; // the bias term
+        System.arraycopy(allData, 5, regressionData, 1, regressionData.length - 1);
+        features.add(regressionData);
+        targets.add(new double[]{value});
+        scores.add(new double[]{allData[4]});
     }
 
 }
@@ -0,0 +1,195 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+
+import java.util.*;
+
+/**
+ * The actions that have been seen at a node, with their statistics and child nodes.
+ * <p>
+ * Each action is given a slot (its position in the order in which it was first seen), and everything else about it
+ * is held in flat arrays indexed by slot; values are held in one array of slot * nPlayers + player. The only hashing
+ * of actions is in slotOf(), which maps an action to its slot. SingleTreeNode does this once per action when it
+ * visits the node (and not at all if the actions are in the same order as last time), after which selection and
+ * backup work purely on slots.
+ * <p>
+ * Compared to a HashMap of ActionStats (each holding two arrays) plus a LinkedHashMap of children, this is also far
+ * smaller, which matters in games with a large branching factor.
+ */
+final class ActionTable {
+
+    private final int nPlayers;
+    private final Map<AbstractAction, Integer> index = new HashMap<>();
+    private AbstractAction[] actions;
+    private SingleTreeNode[][] children;
+    private int[] visits;
+    private int[] validVisits;
+    private double[] totValue;
+    private double[] squaredTotValue;
+    private int size;
+
+    ActionTable(int nPlayers) {
+        this(nPlayers, 4);
+    }
+
+    ActionTable(int nPlayers, int initialCapacity) {
+        this.nPlayers = nPlayers;
+        int capacity = Math.max(1, initialCapacity);
+        actions = new AbstractAction[capacity];
+        children = new SingleTreeNode[capacity][];
+        visits = new int[capacity];
+        validVisits = new int[capacity];
+        totValue = new double[capacity * nPlayers];
+        squaredTotValue = new double[capacity * nPlayers];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int nPlayers() {
+        return nPlayers;
+    }
+
+    /**
+     * @return the slot of the action, or -1 if it has not been seen at this node
+     */
+    int slotOf(AbstractAction action) {
+        Integer slot = index.get(action);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @return the slot of the action, adding it (with no visits) if it has not been seen before
+     */
+    int slotOrAdd(AbstractAction action) {
+        Integer slot = index.get(action);
+        if (slot != null)
+            return slot;
+        if (size == actions.length)
+            grow();
+        // we keep a copy, as the action may be changed later by whoever created it
+        AbstractAction copy = action.copy();
+        index.put(copy, size);
+        if (!index.containsKey(action))
+            throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
+        actions[size] = copy;
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = actions.length * 2;
+        actions = Arrays.copyOf(actions, capacity);
+        children = Arrays.copyOf(children, capacity);
+        visits = Arrays.copyOf(visits, capacity);
+        validVisits = Arrays.copyOf(validVisits, capacity);
+        totValue = Arrays.copyOf(totValue, capacity * nPlayers);
+        squaredTotValue = Arrays.copyOf(squaredTotValue, capacity * nPlayers);
+    }
+
+    AbstractAction action(int slot) {
+        return actions[slot];
+    }
+
+    /**
+     * @return the child nodes for the action (one per player who may act next), or null if it has not been expanded
+     */
+    SingleTreeNode[] children(int slot) {
+        return children[slot];
+    }
+
+    void setChildren(int slot, SingleTreeNode[] nodes) {
+        children[slot] = nodes;
+    }
+
+    int visits(int slot) {
+        return visits[slot];
+    }
+
+    int validVisits(int slot) {
+        return validVisits[slot];
+    }
+
+    double totValue(int slot, int player) {
+        return totValue[slot * nPlayers + player];
+    }
+
+    double squaredTotValue(int slot, int player) {
+        return squaredTotValue[slot * nPlayers + player];
+    }
+
+    void addValidVisit(int slot) {
+        validVisits[slot]++;
+    }
+
+    void addValidVisitToAll() {
+        for (int slot = 0; slot < size; slot++)
+            validVisits[slot]++;
+    }
+
+    /**
+     * Records one more visit to the action, with the given result for each player
+     */
+    void update(int slot, double[] results) {
+        int base = slot * nPlayers;
+        for (int p = 0; p < results.length; p++) {
+            totValue[base + p] += results[p];
+            squaredTotValue[base + p] += results[p] * results[p];
+        }
+        visits[slot]++;
+    }
+
+    /**
+     * Adds n visits to the action, all with the same value for the player. A negative n removes them again
+     * (as used for virtual loss). The visits are also counted as valid visits, as UCB needs at least as many
+     * of these as there are visits.
+     */
+    void addVisits(int slot, int player, int n, double value) {
+        visits[slot] += n;
+        validVisits[slot] += n;
+        totValue[slot * nPlayers + player] += n * value;
+        squaredTotValue[slot * nPlayers + player] += n * value * value;
+    }
+
+    /**
+     * Sets the statistics of an action to those of visits trials that each had the given value (for player only).
+     * Used to seed the statistics from a heuristic.
+     */
+    void initialise(int slot, int player, int visits, int validVisits, double value) {
+        this.visits[slot] = visits;
+        this.validVisits[slot] = validVisits;
+        totValue[slot * nPlayers + player] = value * visits;
+        squaredTotValue[slot * nPlayers + player] = value * value * visits;
+    }
+
+    void setTotValue(int slot, int player, double value) {
+        totValue[slot * nPlayers + player] = value;
+    }
+
+    /**
+     * Adds the statistics of every action in another (independently searched) table to this one
+     */
+    void add(ActionTable other) {
+        for (int o = 0; o < other.size; o++) {
+            int slot = slotOrAdd(other.actions[o]);
+            visits[slot] += other.visits[o];
+            validVisits[slot] += other.validVisits[o];
+            for (int p = 0; p < nPlayers; p++) {
+                totValue[slot * nPlayers + p] += other.totValue[o * nPlayers + p];
+                squaredTotValue[slot * nPlayers + p] += other.squaredTotValue[o * nPlayers + p];
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the statistics for the action, for reporting
+     */
+    ActionStats getStats(int slot) {
+        ActionStats retValue = new ActionStats(nPlayers);
+        retValue.nVisits = visits[slot];
+        retValue.validVisits = validVisits[slot];
+        System.arraycopy(totValue, slot * nPlayers, retValue.totValue, 0, nPlayers);
+        System.arraycopy(squaredTotValue, slot * nPlayers, retValue.squaredTotValue, 0, nPlayers);
+        return retValue;
+    }
+}
@@ -0,0 +1,160 @@
+package players.mcts;
+
+import core.AbstractGameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Provides the redeterminisations of the root state used by Information_Set MCTS, i.e. copies of the state from the
+ * point of view of the redeterminisation player, with everything they cannot see reshuffled.
+ * <p>
+ * With nThreads > 0, background threads make the redeterminisations ahead of time into a bounded queue, and the search
+ * thread only has to take them from it. In games with a lot of hidden information (Hanabi, Love Letter, Exploding
+ * Kittens, Sushi Go etc.) this is most of the cost of an iteration. With nThreads = 0 they are made on demand, as
+ * without a sampler.
+ * <p>
+ * Copying a state is not read-only (e.g. Deck.copy() marks the contents of the original as shared), so the background
+ * threads never touch the root state. Each has its own copy of it, made when the sampler is created, to redeterminise.
+ * The threads come from a pool shared by all samplers, so starting a search does not start new threads.
+ * <p>
+ * Each redeterminisation is used for reuse consecutive iterations (copies of it for all but the last). A plain copy is
+ * cheaper than a redeterminisation, at the cost of sampling fewer different versions of the hidden information.
+ * <p>
+ * Every copy the search uses counts against a budget of copies: each redeterminisation it takes (wherever it was
+ * made), and each plain copy of one. See takeCopiesUsed(). Redeterminisations made in the background but never used
+ * are not counted.
+ * <p>
+ * The background threads each use the redeterminisation Random of their copy of the root state, so the search is no
+ * longer reproducible from the random seed when nThreads > 0.
+ */
+class DeterminisationSampler {
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "MCTS determinisation");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AbstractGameState rootState;
+    private final int player;
+    private final int reuse;
+    private final BlockingQueue<AbstractGameState> queue;
+    private final List<Future<?>> workers = new ArrayList<>();
+    private volatile boolean stopped;
+    private volatile RuntimeException failure;
+
+    private AbstractGameState current;
+    private int usesLeft;
+    private int copiesUsed;
+
+    /**
+     * @param rootState - the state to redeterminise; this must not be changed until stop() is called
+     * @param player    - the player from whose point of view the state is redeterminised
+     * @param nThreads  - the number of background threads; 0 for none
+     * @param capacity  - the most redeterminisations that are made ahead of time
+     * @param reuse     - the number of times each redeterminisation is used
+     */
+    DeterminisationSampler(AbstractGameState rootState, int player, int nThreads, int capacity, int reuse) {
+        if (nThreads < 0)
+            throw new IllegalArgumentException("Number of determinisation threads cannot be negative: " + nThreads);
+        if (capacity < 1)
+            throw new IllegalArgumentException("Determinisation queue capacity must be positive, not " + capacity);
+        if (reuse < 1)
+            throw new IllegalArgumentException("Determinisation reuse must be positive, not " + reuse);
+        this.rootState = rootState;
+        this.player = player;
+        this.reuse = reuse;
+        this.queue = nThreads > 0 ? new ArrayBlockingQueue<>(capacity) : null;
+        for (int t = 0; t < nThreads; t++) {
+            AbstractGameState source = rootState.copy();
+            workers.add(executor.submit(() -> produce(source)));
+        }
+    }
+
+    private void produce(AbstractGameState source) {
+        try {
+            while (!stopped) {
+                AbstractGameState state = source.copy(player);
+                // we wait for room a little at a time, so that stop() is not waited on forever
+                boolean queued = false;
+                while (!stopped && !queued)
+                    queued = queue.offer(state, 10, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            // the pool is being shut down
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * @return a redeterminisation of the root state, which the caller is free to change
+     */
+    AbstractGameState next() {
+        if (usesLeft == 0) {
+            current = queue == null ? rootState.copy(player) : take();
+            usesLeft = reuse;
+            copiesUsed++;
+        }
+        usesLeft--;
+        if (usesLeft > 0) {
+            copiesUsed++;
+            return current.copy();
+        }
+        AbstractGameState retValue = current;
+        current = null;
+        return retValue;
+    }
+
+    /**
+     * @return the number of copies of the state (redeterminisations and plain copies) that next() has used since
+     * the last call to this
+     */
+    int takeCopiesUsed() {
+        int retValue = copiesUsed;
+        copiesUsed = 0;
+        return retValue;
+    }
+
+    private AbstractGameState take() {
+        try {
+            while (true) {
+                // we poll so that a failure on a background thread is not waited on forever
+                AbstractGameState retValue = queue.poll(10, TimeUnit.MILLISECONDS);
+                if (retValue != null)
+                    return retValue;
+                if (failure != null)
+                    throw new RuntimeException("Error redeterminising the root state", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a redeterminisation", e);
+        }
+    }
+
+    /**
+     * Stops the background threads, waiting for them to finish, and discards any redeterminisations not yet used.
+     * After this the root state can be changed.
+     */
+    void stop() {
+        stopped = true;
+        try {
+            for (Future<?> worker : workers)
+                worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the determinisation threads to stop", e);
+        } catch (ExecutionException e) {
+            // produce() catches everything it can recover from
+            throw new AssertionError("Determinisation thread failed", e.getCause());
+        }
+        workers.clear();
+        if (queue != null)
+            queue.clear();
+        current = null;
+        usesLeft = 0;
+    }
+}
@@ -7,7 +7,8 @@ import java.util.*;
 
 public class MCGSNode extends SingleTreeNode {
 
-    private Map<Object, MCGSNode> transpositionMap = new HashMap<>();
+    // only used on the root node, and created when it is first needed
+    private TranspositionTable transpositionMap;
     public List<Object> trajectory = new ArrayList<>();
     protected MCGSNode() {
     }
@@ -23,7 +24,7 @@ public class MCGSNode extends SingleTreeNode {
     private void addToTranspositionTable(MCGSNode node, AbstractGameState keyState) {
         Object key = params.MCGSStateKey.getKey(keyState);
         MCGSNode graphRoot = (MCGSNode) root;
-        graphRoot.transpositionMap.put(key, node);
+        graphRoot.getTranspositionMap().put(key, node);
     }
 
     /**
@@ -39,11 +40,11 @@ public class MCGSNode extends SingleTreeNode {
         // this enforces (for the moment) the rule that each iteration adds one new node.
         MCGSNode graphRoot = (MCGSNode) root;
         Object key = params.MCGSStateKey.getKey(nextState);
-        if (graphRoot.transpositionMap.containsKey(key)) {
+        if (graphRoot.getTranspositionMap().containsKey(key)) {
             if (params.MCGSExpandAfterClash) {
                 throw new AssertionError("Unexpected?");
             } else {
-                MCGSNode retValue = graphRoot.transpositionMap.get(key);
+                MCGSNode retValue = graphRoot.getTranspositionMap().get(key);
                 retValue.setActionsFromOpenLoopState(openLoopState);
                 return retValue;
             }
@@ -55,10 +56,10 @@ public class MCGSNode extends SingleTreeNode {
     protected SingleTreeNode nextNodeInTree(AbstractAction actionChosen) {
         // we look up the node in the transposition table using the feature vector for the openLoopState
         Object key = params.MCGSStateKey.getKey(openLoopState);
-        MCGSNode nextNode = ((MCGSNode) root).transpositionMap.get(key);
+        MCGSNode nextNode = ((MCGSNode) root).getTranspositionMap().get(key);
 
         if (nextNode != null) {
-            if (actionValues.get(actionChosen).nVisits == 0) {
+            if (actionVisits(actionChosen) == 0) {
                 root.nodeClash++;
                 if (!params.MCGSExpandAfterClash) {
                     // we then return null so we rollout from this point
@@ -94,10 +95,10 @@ public class MCGSNode extends SingleTreeNode {
     protected void resetDepth(SingleTreeNode unusedArgument) {
         int depthDelta = depth;
         root = this;
-        for (MCGSNode node : transpositionMap.values()) {
+        getTranspositionMap().forEach((key, node) -> {
             node.depth -= depthDelta;
             node.root = this;
-        }
+        });
     }
 
     /**
@@ -117,21 +118,24 @@ public class MCGSNode extends SingleTreeNode {
 
         for (int i = nRoot.trajectory.size() - 1; i >= 0; i--) {
             Object key = nRoot.trajectory.get(i);
-            MCGSNode node = nRoot.transpositionMap.get(key);
+            MCGSNode node = nRoot.getTranspositionMap().get(key);
             AbstractAction action = nRoot.actionsInTree.get(i).b;
             if (node == null) {
-                throw new AssertionError("Node should not be null");
+                // evicted from the transposition table during this iteration
+                continue;
             }
             result = node.backUpSingleNode(action, result);
         }
         nRoot.trajectory.clear();
     }
 
-    public Map<Object, MCGSNode> getTranspositionMap() {
+    public TranspositionTable getTranspositionMap() {
+        if (transpositionMap == null)
+            transpositionMap = TranspositionTable.fromParams(params);
         return transpositionMap;
     }
 
-    public void setTranspositionMap(Map<Object, MCGSNode> transposition) {
+    public void setTranspositionMap(TranspositionTable transposition) {
         transpositionMap = transposition;
     }
 
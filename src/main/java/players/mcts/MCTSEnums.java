@@ -41,6 +41,19 @@ public class MCTSEnums {
         // END_TURN|ROUND is triggered when the game round/turn changes
     }
 
+    public enum Parallelism {
+        None, Root, Tree
+        // Root runs several independent trees (one per thread), and merges the statistics of their root nodes at the end
+        // Tree runs several threads on one shared tree. Selection, expansion and backup are done under a lock, and
+        // rollouts in parallel; virtualLoss is used to stop the threads all following the same path through the tree.
+    }
+
+    public enum TTReplacement {
+        Depth, Visits, LRU
+        // How MCGS chooses which node to evict from a full bucket of the transposition table (after the oldest first)
+        // Depth evicts the deepest node, Visits the least visited, and LRU the least recently used
+    }
+
     public enum OpponentTreePolicy {
         SelfOnly(true), OneTree(false),
         MultiTree(true),
@@ -19,43 +19,62 @@ public class MCTSMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             AbstractPlayer player = listener.getGame().getPlayers().get(e.state.getCurrentPlayer());
             if (player instanceof MCTSPlayer mctsPlayer) {
-                SingleTreeNode root = mctsPlayer.root;
-                if (root instanceof MultiTreeNode) {
-                    root = Arrays.stream(((MultiTreeNode) root).roots).filter(Objects::nonNull)
-                            .filter(node -> node.decisionPlayer == e.state.getCurrentPlayer())
-                            .findFirst().orElse(null);
+                // the player may be pondering on the tree in the background
+                synchronized (mctsPlayer.treeLock) {
+                    // if so, it will have recorded the statistics of the decision before it started
+                    Map<String, Object> decision = mctsPlayer.lastDecisionRecords;
+                    if (decision == null)
+                        decision = decisionRecords(mctsPlayer, e.state.getCurrentPlayer());
+                    if (decision == null) return false;
+                    records.putAll(decision);
+                    records.put("Action", e.action.getString(e.state));
+                    records.put("PonderIterations", mctsPlayer.lastPonderIterations);
+                    return true;
                 }
-                if (root == null) return false;
-                TreeStatistics treeStats = new TreeStatistics(root);
-                int visits = root.getVisits();
-                if (visits == 0) visits = 1;
-                records.put("PlayerType", mctsPlayer.toString());
-                records.put("PlayerID", e.state.getCurrentPlayer());
-                records.put("Iterations", root.getVisits());
-                records.put("ReusedVisits", mctsPlayer.root.inheritedVisits);
-                records.put("MaxDepth", treeStats.depthReached);
-                records.put("MeanLeafDepth", treeStats.meanLeafDepth);
-                records.put("MeanNodeDepth", treeStats.meanNodeDepth);
-                records.put("Nodes", treeStats.totalNodes);
-                records.put("LeafNodes", treeStats.totalLeaves);
-                records.put("OneActionNodes", treeStats.oneActionNodes);
-                records.put("MeanActionsAtNode", treeStats.meanActionsAtNode);
-                records.put("MeanActionsExpanded", treeStats.meanActionsExpanded);
-                records.put("RolloutLength", mctsPlayer.root.rolloutActionsTaken / (double) visits);
-                records.put("NodeClashes", mctsPlayer.root.nodeClash);
-                OptionalInt maxVisits = Arrays.stream(root.actionVisits()).max();
-                records.put("maxVisitProportion", (maxVisits.isPresent() ? maxVisits.getAsInt() : 0) / (double) visits);
-                records.put("Action", e.action.getString(e.state));
-                records.put("ActionsAtRoot", root.actionValues.size());
-                records.put("fmCalls", mctsPlayer.root.fmCallsCount / visits);
-                records.put("copyCalls", mctsPlayer.root.copyCount / visits);
-                records.put("time", mctsPlayer.root.timeTaken);
-                records.put("initTime", mctsPlayer.root.initialisationTimeTaken);
-                return true;
             }
             return false;
         }
 
+        /**
+         * The records for the tree of the player's last decision (everything apart from Action and PonderIterations),
+         * or null if there is no tree
+         */
+        static Map<String, Object> decisionRecords(MCTSPlayer mctsPlayer, int playerID) {
+            SingleTreeNode root = mctsPlayer.root;
+            if (root instanceof MultiTreeNode) {
+                root = Arrays.stream(((MultiTreeNode) root).roots).filter(Objects::nonNull)
+                        .filter(node -> node.decisionPlayer == playerID)
+                        .findFirst().orElse(null);
+            }
+            if (root == null) return null;
+            Map<String, Object> records = new HashMap<>();
+            TreeStatistics treeStats = new TreeStatistics(root);
+            int visits = root.getVisits();
+            if (visits == 0) visits = 1;
+            records.put("PlayerType", mctsPlayer.toString());
+            records.put("PlayerID", playerID);
+            records.put("Iterations", root.getVisits());
+            records.put("ReusedVisits", mctsPlayer.root.inheritedVisits);
+            records.put("MaxDepth", treeStats.depthReached);
+            records.put("MeanLeafDepth", treeStats.meanLeafDepth);
+            records.put("MeanNodeDepth", treeStats.meanNodeDepth);
+            records.put("Nodes", treeStats.totalNodes);
+            records.put("LeafNodes", treeStats.totalLeaves);
+            records.put("OneActionNodes", treeStats.oneActionNodes);
+            records.put("MeanActionsAtNode", treeStats.meanActionsAtNode);
+            records.put("MeanActionsExpanded", treeStats.meanActionsExpanded);
+            records.put("RolloutLength", mctsPlayer.root.rolloutActionsTaken / (double) visits);
+            records.put("NodeClashes", mctsPlayer.root.nodeClash);
+            OptionalInt maxVisits = Arrays.stream(root.actionVisits()).max();
+            records.put("maxVisitProportion", (maxVisits.isPresent() ? maxVisits.getAsInt() : 0) / (double) visits);
+            records.put("ActionsAtRoot", root.nActions());
+            records.put("fmCalls", mctsPlayer.root.fmCallsCount / visits);
+            records.put("copyCalls", mctsPlayer.root.copyCount / visits);
+            records.put("time", mctsPlayer.root.timeTaken);
+            records.put("initTime", mctsPlayer.root.initialisationTimeTaken);
+            return records;
+        }
+
         @Override
         public Set<IGameEvent> getDefaultEventTypes() {
             return new HashSet<>(Collections.singletonList(Event.GameEvent.ACTION_CHOSEN));
@@ -85,6 +104,7 @@ public class MCTSMetrics implements IMetricsCollection {
             cols.put("copyCalls", Integer.class);
             cols.put("time", Double.class);
             cols.put("initTime", Double.class);
+            cols.put("PonderIterations", Integer.class); // iterations run while pondering before this decision
             return cols;
         }
     }
@@ -117,7 +137,7 @@ public class MCTSMetrics implements IMetricsCollection {
                 records.put("OneActionNodes", treeStats.stream().mapToInt(ts -> ts.oneActionNodes).average().orElse(0.0));
                 records.put("MeanActionsAtNode", treeStats.stream().mapToDouble(ts -> ts.meanActionsAtNode).average().orElse(0.0));
                 records.put("MeanActionsExpanded", treeStats.stream().mapToDouble(ts -> ts.meanActionsExpanded).average().orElse(0.0));
-                records.put("ActionsAtRoot", otherRoots.stream().mapToInt(node -> node.actionValues.size()).average().orElse(0.0));
+                records.put("ActionsAtRoot", otherRoots.stream().mapToInt(SingleTreeNode::nActions).average().orElse(0.0));
                 return true;
             }
             return false;
@@ -57,6 +57,9 @@ public class MCTSParams extends PlayerParameters {
     public IActionKey MASTActionKey;
     public IStateKey MCGSStateKey;
     public boolean MCGSExpandAfterClash = true;
+    public int MCGSTableSize = 1 << 18;  // maximum number of nodes in the MCGS transposition table
+    public int MCGSTableMB = 0;  // if positive, this sets the (approximate) size of the table instead of MCGSTableSize
+    public MCTSEnums.TTReplacement MCGSReplacement = MCTSEnums.TTReplacement.Depth;
     public double firstPlayUrgency = 1000000000.0;
     @NotNull public IActionHeuristic actionHeuristic = IActionHeuristic.nullReturn;
     public int actionHeuristicRecalculationThreshold = 20;
@@ -72,6 +75,14 @@ public class MCTSParams extends PlayerParameters {
     public double backupLambda = 1.0;
     public int maxBackupThreshold = 1000000;
     public Class<?> instantiationClass;
+    public MCTSEnums.Parallelism parallelism = MCTSEnums.Parallelism.None;
+    public int nThreads = 1;
+    public int virtualLoss = 1;
+    public boolean ponder = false;  // keep searching in the background during other players' turns (needs reuseTree)
+    public int ponderBudget = 0;  // budget for pondering between our decisions, in budgetType units; 0 is no limit
+    public int determinisationThreads = 0;  // Information_Set only: background threads making redeterminisations ahead of the search
+    public int determinisationQueue = 16;  // the most redeterminisations made ahead of time
+    public int determinisationReuse = 1;  // the number of consecutive iterations that use each redeterminisation
 
     public MCTSParams() {
         addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
@@ -108,6 +119,9 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("MASTDefaultValue", 0.0);
         addTunableParameter("MCGSStateKey", IStateKey.class);
         addTunableParameter("MCGSExpandAfterClash", true);
+        addTunableParameter("MCGSTableSize", 1 << 18);
+        addTunableParameter("MCGSTableMB", 0);
+        addTunableParameter("MCGSReplacement", MCTSEnums.TTReplacement.Depth, Arrays.asList(MCTSEnums.TTReplacement.values()));
         addTunableParameter("FPU", 1000000000.0);
         addTunableParameter("actionHeuristic",  IActionHeuristic.nullReturn);
         addTunableParameter("progressiveBias", 0.0);
@@ -120,6 +134,14 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("backupLambda", 1.0);
         addTunableParameter("maxBackupThreshold", 1000000);
         addTunableParameter("instantiationClass", "players.mcts.MCTSPlayer");
+        addTunableParameter("parallelism", MCTSEnums.Parallelism.None, Arrays.asList(MCTSEnums.Parallelism.values()));
+        addTunableParameter("nThreads", 1);
+        addTunableParameter("virtualLoss", 1);
+        addTunableParameter("ponder", false);
+        addTunableParameter("ponderBudget", 0);
+        addTunableParameter("determinisationThreads", 0);
+        addTunableParameter("determinisationQueue", 16);
+        addTunableParameter("determinisationReuse", 1, Arrays.asList(1, 2, 4, 8, 16));
     }
 
     @Override
@@ -164,6 +186,9 @@ public class MCTSParams extends PlayerParameters {
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         MCGSStateKey = (IStateKey) getParameterValue("MCGSStateKey");
         MCGSExpandAfterClash = (boolean) getParameterValue("MCGSExpandAfterClash");
+        MCGSTableSize = (int) getParameterValue("MCGSTableSize");
+        MCGSTableMB = (int) getParameterValue("MCGSTableMB");
+        MCGSReplacement = (MCTSEnums.TTReplacement) getParameterValue("MCGSReplacement");
         rolloutPolicyParams = (TunableParameters) getParameterValue("rolloutPolicyParams");
         opponentModelParams = (TunableParameters) getParameterValue("opponentModelParams");
         // we then null those elements of params which are constructed (lazily) from the above
@@ -174,6 +199,14 @@ public class MCTSParams extends PlayerParameters {
         backupPolicy = (MCTSEnums.BackupPolicy) getParameterValue("backupPolicy");
         backupLambda = (double) getParameterValue("backupLambda");
         maxBackupThreshold = (int) getParameterValue("maxBackupThreshold");
+        parallelism = (MCTSEnums.Parallelism) getParameterValue("parallelism");
+        nThreads = (int) getParameterValue("nThreads");
+        virtualLoss = (int) getParameterValue("virtualLoss");
+        ponder = (boolean) getParameterValue("ponder");
+        ponderBudget = (int) getParameterValue("ponderBudget");
+        determinisationThreads = (int) getParameterValue("determinisationThreads");
+        determinisationQueue = (int) getParameterValue("determinisationQueue");
+        determinisationReuse = (int) getParameterValue("determinisationReuse");
         try {
             instantiationClass = Class.forName((String) getParameterValue("instantiationClass"));
         } catch (ClassNotFoundException e) {
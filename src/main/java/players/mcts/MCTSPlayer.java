@@ -9,10 +9,16 @@ import evaluation.listeners.IGameListener;
 import core.interfaces.IStateHeuristic;
 import evaluation.metrics.Event;
 import players.IAnyTimePlayer;
+import players.IPonderingPlayer;
 import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -21,14 +27,28 @@ import java.util.stream.Collectors;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.MultiTree;
 
-public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
+public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IPonderingPlayer {
 
     // Heuristics used for the agent
     protected boolean debug = false;
     protected SingleTreeNode root;
     protected Pair<Integer, AbstractAction> lastAction;
     List<Map<Object, Pair<Integer, Double>>> MASTStats;
-    protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
+    // Used for root parallelisation; each has its own parameters, forward model and tree
+    protected List<MCTSPlayer> rootWorkers;
+    // Used for pondering (see startPondering()). Anything that looks at the tree from outside the player while it
+    // may be pondering (listeners, metrics) must synchronise on treeLock.
+    final Object treeLock = new Object();
+    private ExecutorService ponderExecutor;
+    // Used for tree and root parallelisation; created on the first parallel search, and kept until finalizePlayer()
+    private ExecutorService searchExecutor;
+    private Future<Integer> ponderResult;
+    private final AtomicBoolean ponderStop = new AtomicBoolean();
+    // iterations run while pondering before the current decision, and in total
+    protected int lastPonderIterations;
+    protected long totalPonderIterations;
+    // MCTSMetrics.TreeStats for the last decision, recorded before pondering starts to change the tree (else null)
+    Map<String, Object> lastDecisionRecords;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -60,9 +80,13 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         }
         if (getParameters().actionHeuristic instanceof AbstractPlayer)
             ((AbstractPlayer) getParameters().actionHeuristic).initializePlayer(state);
+        stopPondering();
         MASTStats = null;
         root = null;
-        oldGraphKeys = new HashMap<>();
+        rootWorkers = null;
+        lastPonderIterations = 0;
+        totalPonderIterations = 0;
+        lastDecisionRecords = null;
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
     }
@@ -121,35 +145,21 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected SingleTreeNode newRootNode(AbstractGameState gameState) {
         MCTSParams params = getParameters();
         if (params.reuseTree && (params.opponentTreePolicy == MCGS || params.opponentTreePolicy == MCGSSelfOnly)) {
-            // In this case we remove any nodes from the graph that were not present before the last action was taken
             MCGSNode mcgsRoot = (MCGSNode) root;
-            for (Object key : oldGraphKeys.keySet()) {
-                int oldVisits = oldGraphKeys.get(key);
-                int newVisits = mcgsRoot.getTranspositionMap().get(key) != null ? mcgsRoot.getTranspositionMap().get(key).nVisits : 0;
-                if (newVisits == oldVisits) {
-                    // no change, so remove
-                    mcgsRoot.getTranspositionMap().remove(key);
-                } else if (newVisits < oldVisits) {
-                    throw new AssertionError("Unexpectedly fewer visits to a state than before");
-                }
-            }
-            // then reset the old keys
-            if (mcgsRoot == null) {
-                oldGraphKeys = new HashMap<>();
+            if (mcgsRoot == null)
                 return null;
-            }
-
-            oldGraphKeys = mcgsRoot.getTranspositionMap().entrySet().stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().nVisits));
+            // Nodes that are not used from now on (because they are no longer reachable) will age out of the
+            // transposition table, and be replaced first as new nodes are added
+            TranspositionTable table = mcgsRoot.getTranspositionMap();
+            table.newGeneration();
             // we create the root node as we would have done normally; and then override the transposition map
-            MCGSNode retValue = ((MCGSNode) root).getTranspositionMap().get(params.MCGSStateKey.getKey(gameState));
+            MCGSNode retValue = table.get(params.MCGSStateKey.getKey(gameState));
             if (retValue == null) {
                 // have left graph; start from scratch
-                oldGraphKeys = new HashMap<>();
                 return null;
             }
         //    int oldDepth = retValue.depth;
-            retValue.setTranspositionMap(mcgsRoot.getTranspositionMap());
+            retValue.setTranspositionMap(table);
             retValue.rootify(root, gameState);
       //      retValue.depth = oldDepth;
             return retValue;
@@ -216,8 +226,9 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
                     nextActionPlayer = selfOnly ? rootPlayer : nextActionPlayer;
                     if (debug)
                         System.out.println("\tAction: " + action.toString() + "\t Next Player: " + nextActionPlayer);
-                    if (newRoot.children != null && newRoot.children.get(action) != null)
-                        newRoot = newRoot.children.get(action)[nextActionPlayer];
+                    SingleTreeNode[] nextNodes = newRoot.childrenFor(action);
+                    if (nextNodes != null)
+                        newRoot = nextNodes[nextActionPlayer];
                     else
                         newRoot = null;
                     if (newRoot == null)
@@ -261,10 +272,18 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
         // Search for best action from the root
         long currentTimeNano = System.nanoTime();
+        stopPondering();
+        lastDecisionRecords = null;
         createRootNode(gameState);
         long timeTaken = System.nanoTime() - currentTimeNano;
 
-        root.mctsSearch(timeTaken / 1000000);
+        if (getParameters().parallelism == MCTSEnums.Parallelism.Root && getParameters().nThreads > 1)
+            rootParallelSearch(gameState, timeTaken / 1000000);
+        else {
+            if (getParameters().parallelism == MCTSEnums.Parallelism.Tree && getParameters().nThreads > 1)
+                root.searchExecutor = searchExecutor();
+            root.mctsSearch(timeTaken / 1000000);
+        }
 
         if (getParameters().actionHeuristic instanceof ITreeProcessor)
             ((ITreeProcessor) getParameters().actionHeuristic).process(root);
@@ -283,14 +302,144 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         }
         MASTStats = root.MASTStatistics;
 
-        if (root.children.size() > 3 * actions.size() && !(root instanceof MCGSNode) && !getParameters().reuseTree && !getParameters().actionSpace.equals(gameState.getCoreGameParameters().actionSpace))
-            throw new AssertionError(String.format("Unexpectedly large number of children: %d with action size of %d", root.children.size(), actions.size()));
+        if (root.nActions() > 3 * actions.size() && !(root instanceof MCGSNode) && !getParameters().reuseTree && !getParameters().actionSpace.equals(gameState.getCoreGameParameters().actionSpace))
+            throw new AssertionError(String.format("Unexpectedly large number of children: %d with action size of %d", root.nActions(), actions.size()));
         lastAction = new Pair<>(gameState.getCurrentPlayer(), root.bestAction());
+        startPondering();
         return lastAction.b.copy();
     }
 
+    /**
+     * Pondering. Once we have chosen our action, we keep searching the tree below it on a background thread until
+     * we are next asked for an action (or the ponderBudget runs out). At that point createRootNode() moves the root
+     * down the tree to the position we are now in, as it does for any reused tree, and the rest is discarded; so
+     * anything learned about the actual position while pondering is kept.
+     * <p>
+     * This needs reuseTree, and is not supported with MultiTree. Note that the pondering thread competes for CPU
+     * with anything else running, including the other players' searches, and that the number of iterations run
+     * depends on how long the other players take; so games are no longer exactly reproducible from the seed.
+     */
+    protected void startPondering() {
+        MCTSParams params = getParameters();
+        if (!params.ponder || !params.reuseTree || params.opponentTreePolicy == MultiTree)
+            return;
+        if (ponderExecutor == null)
+            ponderExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "MCTS pondering: " + this);
+                t.setDaemon(true);
+                return t;
+            });
+        SingleTreeNode ponderRoot = root;
+        AbstractAction ponderAction = lastAction.b;
+        // the ACTION_CHOSEN listeners have not yet been told about this decision, and by the time they are the
+        // pondering thread may have added to the tree, and to its counts of iterations, FM calls, time taken etc.
+        synchronized (treeLock) {
+            lastDecisionRecords = MCTSMetrics.TreeStats.decisionRecords(this, lastAction.a);
+        }
+        ponderStop.set(false);
+        ponderResult = ponderExecutor.submit(() -> ponderRoot.ponder(ponderAction, ponderStop, params.ponderBudget, treeLock));
+    }
+
+    /**
+     * Stops any pondering, and waits for the current iteration to finish
+     */
+    public void stopPondering() {
+        if (ponderResult == null)
+            return;
+        ponderStop.set(true);
+        try {
+            lastPonderIterations = ponderResult.get();
+            totalPonderIterations += lastPonderIterations;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for MCTS pondering to stop", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } finally {
+            ponderResult = null;
+        }
+    }
+
+    /**
+     * The threads used for parallel search, which are reused for every decision. These are daemon threads, so
+     * that a player that is never finalised does not stop the JVM from exiting.
+     */
+    protected ExecutorService searchExecutor() {
+        if (searchExecutor == null)
+            searchExecutor = Executors.newFixedThreadPool(getParameters().nThreads, r -> {
+                Thread t = new Thread(r, "MCTS search: " + this);
+                t.setDaemon(true);
+                return t;
+            });
+        return searchExecutor;
+    }
+
+    /**
+     * Root parallelisation. nThreads - 1 worker players each build their own tree from their own copy of the
+     * game state, while this player searches from the main root. Each tree is given the full budget, and the
+     * statistics of the root actions from all trees are then summed into the main root, from which the
+     * final action is chosen.
+     */
+    protected void rootParallelSearch(AbstractGameState gameState, long initialisationTime) {
+        MCTSParams params = getParameters();
+        if (params.opponentTreePolicy == MultiTree)
+            throw new IllegalArgumentException("Root parallelisation is not supported with MultiTree MCTS");
+        if (rootWorkers == null) {
+            rootWorkers = new ArrayList<>();
+            for (int i = 1; i < params.nThreads; i++) {
+                MCTSParams workerParams = (MCTSParams) params.copy();
+                workerParams.setRandomSeed(params.getRandomSeed() + 7919L * i);
+                workerParams.parallelism = MCTSEnums.Parallelism.None;
+                MCTSPlayer worker = new MCTSPlayer(workerParams, toString());
+                worker.setForwardModel(getForwardModel().copy());
+                worker.initializePlayer(gameState);
+                rootWorkers.add(worker);
+            }
+        }
+        ExecutorService executor = searchExecutor();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (MCTSPlayer worker : rootWorkers) {
+                // the copy is taken here, as the main thread is about to start using gameState
+                AbstractGameState workerState = gameState.copy();
+                worker.lastAction = lastAction;
+                futures.add(executor.submit(() -> {
+                    worker.createRootNode(workerState);
+                    worker.root.mctsSearch(initialisationTime);
+                }));
+            }
+            root.mctsSearch(initialisationTime);
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during root parallel MCTS search", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // the threads are kept for the next decision, so we stop any workers still searching after a failure
+            for (Future<?> future : futures)
+                future.cancel(true);
+        }
+        for (MCTSPlayer worker : rootWorkers)
+            root.mergeRootStatistics(worker.root);
+    }
+
     @Override
     public void finalizePlayer(AbstractGameState state) {
+        stopPondering();
+        if (ponderExecutor != null) {
+            ponderExecutor.shutdown();
+            ponderExecutor = null;
+        }
+        if (searchExecutor != null) {
+            searchExecutor.shutdown();
+            searchExecutor = null;
+        }
         getParameters().getRolloutStrategy().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
         getParameters().getOpponentModel().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
         if (getParameters().heuristic instanceof IGameListener)
@@ -321,22 +470,24 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     public Map<AbstractAction, Map<String, Object>> getDecisionStats() {
         Map<AbstractAction, Map<String, Object>> retValue = new LinkedHashMap<>();
 
-        if (root != null && root.getVisits() > 1) {
-            for (AbstractAction action : root.actionValues.keySet()) {
-                ActionStats stats = root.actionValues.get(action);
-                int visits = stats == null ? 0 : stats.nVisits;
-                double visitProportion = visits / (double) root.getVisits();
-                double meanValue = stats == null || visits == 0 ? 0.0 : stats.totValue[root.decisionPlayer] / visits;
-                double heuristicValue = getParameters().heuristic.evaluateState(root.state, root.decisionPlayer);
-                double actionValue = getParameters().actionHeuristic.evaluateAction(action, root.state, root.actionsFromOpenLoopState);
-
-                Map<String, Object> actionValues = new HashMap<>();
-                actionValues.put("visits", visits);
-                actionValues.put("visitProportion", visitProportion);
-                actionValues.put("meanValue", meanValue);
-                actionValues.put("heuristic", heuristicValue);
-                actionValues.put("actionValue", actionValue);
-                retValue.put(action, actionValues);
+        synchronized (treeLock) {
+            if (root != null && root.getVisits() > 1) {
+                for (AbstractAction action : root.getActions()) {
+                    ActionStats stats = root.getActionStats(action);
+                    int visits = stats == null ? 0 : stats.nVisits;
+                    double visitProportion = visits / (double) root.getVisits();
+                    double meanValue = stats == null || visits == 0 ? 0.0 : stats.totValue[root.decisionPlayer] / visits;
+                    double heuristicValue = getParameters().heuristic.evaluateState(root.state, root.decisionPlayer);
+                    double actionValue = getParameters().actionHeuristic.evaluateAction(action, root.state, root.actionsFromOpenLoopState);
+
+                    Map<String, Object> actionValues = new HashMap<>();
+                    actionValues.put("visits", visits);
+                    actionValues.put("visitProportion", visitProportion);
+                    actionValues.put("meanValue", meanValue);
+                    actionValues.put("heuristic", heuristicValue);
+                    actionValues.put("actionValue", actionValue);
+                    retValue.put(action, actionValues);
+                }
             }
         }
 
@@ -354,6 +505,17 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         return parameters.budget;
     }
 
+    @Override
+    public void setPonder(boolean ponder) {
+        getParameters().ponder = ponder;
+        parameters.setParameterValue("ponder", ponder);
+    }
+
+    @Override
+    public boolean getPonder() {
+        return getParameters().ponder;
+    }
+
     @Override
     public String toString() {
         return super.toString();
@@ -36,7 +36,9 @@ public class MCTSTreeActionStatisticsListener extends ActionFeatureListener {
             // We extract the root node from the current player's tree
             AbstractPlayer player = this.getGame().getPlayers().get(event.state.getCurrentPlayer());
             if (player instanceof MCTSPlayer mctsPlayer) {
-                recordData(mctsPlayer.root, this.getGame().getForwardModel());
+                synchronized (mctsPlayer.treeLock) {
+                    recordData(mctsPlayer.root, this.getGame().getForwardModel());
+                }
             }
         } else if (event.type == Event.GameEvent.GAME_OVER) {
             writeDataWithStandardHeaders(event.state);
@@ -88,7 +90,7 @@ public class MCTSTreeActionStatisticsListener extends ActionFeatureListener {
                 actionTargets.get("ACTION_VISITS").put(action, (double) node.actionVisits(action));
                 actionTargets.get("ACTIONS_TOTAL").put(action, (double) actionsFromState.size());
                 actionTargets.get("PLAYER").put(action, (double) player);
-                if (node.actionValues.get(action) == null) {
+                if (node.actionTable.slotOf(action) == -1) {
                     actionTargets.get("CHOSEN").put(action, 0.0);  // we have no data for this action
                     actionTargets.get("VISIT_PROPORTION").put(action, 0.0);  // we have no data for this action
                     actionTargets.get("ADVANTAGE").put(action, 0.0);  // we have no data for this action
@@ -115,10 +117,7 @@ public class MCTSTreeActionStatisticsListener extends ActionFeatureListener {
                 processStateWithTargets(node.state, bestAction, actionTargets);
 
             // add children of current node to queue if they meet the criteria
-            for (SingleTreeNode child : node.children.values().stream()
-                    .filter(Objects::nonNull)
-                    .flatMap(Arrays::stream)
-                    .filter(Objects::nonNull)
+            for (SingleTreeNode child : node.childNodes().stream()
                     .filter(n -> n.depth <= maxDepth)
                     .filter(n -> n.getVisits() >= visitThreshold)
                     .toList()) {
@@ -128,11 +128,7 @@ public class MultiTreeNode extends SingleTreeNode {
         } while (currentState.isNotTerminal() && !finishRollout(currentState));
 
         // Evaluate final state and return normalised score
-        double[] finalValues = new double[state.getNPlayers()];
-
-        for (int i = 0; i < finalValues.length; i++) {
-            finalValues[i] = params.heuristic.evaluateState(currentState, i);
-        }
+        double[] finalValues = params.heuristic.evaluateAllPlayers(currentState);
         for (int p = 0; p < roots.length; p++) {
             if (currentLocation[p] != null) { // the currentLocation will be null if the player has not acted at all (if, say they have been eliminated)
                 // the full actions in tree and rollout are stored on the overall root
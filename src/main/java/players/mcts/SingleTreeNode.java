@@ -8,6 +8,8 @@ import players.PlayerConstants;
 import utilities.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.*;
 import java.util.stream.IntStream;
 
@@ -57,19 +59,31 @@ public class SingleTreeNode {
     boolean terminalNode;
     double timeTaken;
     double initialisationTimeTaken;
-    protected double highReward = Double.NEGATIVE_INFINITY;
-    protected double lowReward = Double.POSITIVE_INFINITY;
+    // The range of rewards seen (only used on the root). Tree-parallel search reads these outside any lock, and
+    // changes them with widenRewardRange()
+    protected volatile double highReward = Double.NEGATIVE_INFINITY;
+    protected volatile double lowReward = Double.POSITIVE_INFINITY;
     protected Map<AbstractAction, Double> regretMatchingAverage = new HashMap<>();
     protected int nodeClash;
     // Root node of tree
     protected SingleTreeNode root;
     // Parent of this node
     SingleTreeNode parent;
-    // Children of this node. The value is an Array because we have to cater for the possibility that the next decision
-    // could be by any player - each of which would transition to a different Node OpenLoop search. (Closed Loop will
-    // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
-    Map<AbstractAction, SingleTreeNode[]> children = new LinkedHashMap<>();
-    Map<AbstractAction, ActionStats> actionValues = new HashMap<>();
+    // The actions seen at this node, with their statistics and children. The children of an action are an Array
+    // because we have to cater for the possibility that the next decision could be by any player - each of which
+    // would transition to a different Node OpenLoop search. (Closed Loop will only ever have one position in the
+    // array populated: and similarly if we are using a SelfOnly tree).
+    ActionTable actionTable;
+    // The slot in actionTable of each action in actionsFromOpenLoopState, and the position in the latter of the
+    // action last chosen by the tree policy; between them these save us from hashing actions in selection and backup
+    int[] openLoopSlots = new int[0];
+    int lastChosenPosition = -1;
+    // Only used on the root, when the forward model supports undo in Open_Loop search. Instead of copying the root
+    // state on each iteration, we use one working copy and undo all the actions on it at the end of the iteration.
+    protected AbstractGameState undoState;
+    protected Deque<UndoRecord> undoRecords;
+    // Only used on the root while pondering (see ponder()); the tree policy always takes this action from the root
+    private AbstractAction ponderAction;
     List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
     // ToDoubleBiFunction<AbstractAction, AbstractGameState> MASTFunction;
     // The total value of all trajectories through this node (one element per player)
@@ -78,6 +92,9 @@ public class SingleTreeNode {
     protected List<SingleTreeNode> currentNodeTrajectory;
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
     List<Pair<Integer, AbstractAction>> actionsInRollout;
+    // Only used on the root; the threads to use for tree-parallel search. These belong to the MCTSPlayer, which
+    // shuts them down. If null, then TreeParallelSearch starts its own threads for each search.
+    ExecutorService searchExecutor;
 
     protected SingleTreeNode() {
     }
@@ -108,6 +125,8 @@ public class SingleTreeNode {
     }
 
     protected void instantiate(SingleTreeNode parent, AbstractAction actionToReach, AbstractGameState rootState) {
+        if (actionTable == null)  // a reused root keeps its statistics
+            actionTable = new ActionTable(rootState.getNPlayers());
         this.fmCallsCount = 0;
         this.parent = parent;
         this.root = parent == null ? this : parent.root;
@@ -164,7 +183,8 @@ public class SingleTreeNode {
     protected void resetDepth(SingleTreeNode newRoot) {
         depth = parent == null ? 0 : parent.depth + 1;
         root = newRoot;
-        for (SingleTreeNode[] childArray : children.values()) {
+        for (int slot = 0; slot < actionTable.size(); slot++) {
+            SingleTreeNode[] childArray = actionTable.children(slot);
             if (childArray == null) continue;
             for (SingleTreeNode child : childArray) {
                 if (child != null) child.resetDepth(newRoot);
@@ -199,9 +219,6 @@ public class SingleTreeNode {
             actionsFromOpenLoopState = forwardModel.computeAvailableActions(actionState, params.actionSpace);
             //      System.out.printf("Setting OLS actions for P%d (%d)%n%s%n", decisionPlayer, actionState.getCurrentPlayer(),
 //                actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
-            if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
-                throw new AssertionError("Duplicate actions found in action list: " +
-                        actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
             if ((params.actionHeuristic != IActionHeuristic.nullReturn && nVisits < actionsFromOpenLoopState.size())
                     || params.pUCT || params.progressiveBias > 0 || params.initialiseVisits > 0 || params.progressiveWideningConstant >= 1.0) {
                 // We only need to calculate actionValueEstimates if we are going to be using the data in one of these variants
@@ -254,46 +271,78 @@ public class SingleTreeNode {
                     actionPDFEstimates.put(actionsFromOpenLoopState.get(i), pdf[i]);
                 }
             }
-            for (AbstractAction action : actionsFromOpenLoopState) {
-                if (!actionValues.containsKey(action)) {
-                    actionValues.put(action, new ActionStats(actionState.getNPlayers()));
-                    children.put(action.copy(), null); // mark a new node to be expanded
+            int[] slots = new int[actionsFromOpenLoopState.size()];
+            BitSet slotsUsed = new BitSet(actionTable.size() + slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                AbstractAction action = actionsFromOpenLoopState.get(i);
+                // The actions usually come in the same order as on the last visit, in which case we can check the
+                // slot we used last time rather than looking the action up. We compare hashCode() as well as
+                // equals(), so that this matches the lookup exactly even for actions whose equals() is looser
+                int slot = i < openLoopSlots.length ? openLoopSlots[i] : -1;
+                if (slot == -1 || actionTable.action(slot).hashCode() != action.hashCode() || !actionTable.action(slot).equals(action)) {
+                    int nKnown = actionTable.size();
                     // This *does* rely on a good equals method being implemented for Actions
-                    if (!children.containsKey(action))
-                        throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
-                    // Then we seed the statistics with heuristic biases (if so parameterised)
-                    // This assumes that we have had params.initialiseVisits trials of each action before we start
-                    if (params.initialiseVisits > 0) {
-                        // This also ignores Progressive widening and initialises all possible actions
-                        // As with pUCT, this won't cause any major issues, but will mean that the effective node visits
-                        // will be higher than the visits of the considered actions.
-                        ActionStats stats = actionValues.get(action);
-                        double actionEstimate = actionValueEstimates.getOrDefault(action, 0.0);
-                        if (params.normaliseRewards) {
-                            if (actionEstimate > root.highReward) root.highReward = actionEstimate;
-                            if (actionEstimate < root.lowReward) root.lowReward = actionEstimate;
-                        }
-                        int nActions = Math.max(actionValues.size(), actionsFromOpenLoopState.size());
-                        stats.nVisits = params.initialiseVisits;
-                        stats.validVisits = params.initialiseVisits * nActions;
-                        stats.totValue[decisionPlayer] = actionEstimate * params.initialiseVisits;
-                        stats.squaredTotValue[decisionPlayer] = actionEstimate * actionEstimate * params.initialiseVisits;
-                        if (params.paranoid) // default to zero for other players, unless we're paranoid
-                            for (int i = 0; i < actionState.getNPlayers(); i++)
-                                if (i != decisionPlayer)
-                                    stats.totValue[i] = -stats.totValue[decisionPlayer];
-                        if (nVisits < params.initialiseVisits * nActions) {
-                            nVisits = params.initialiseVisits * nActions;
-                        }
-                    }
+                    slot = actionTable.slotOrAdd(action);
+                    if (slot == nKnown)
+                        initialiseActionStatistics(slot, action);
                 }
+                if (slotsUsed.get(slot))
+                    throw new AssertionError("Duplicate actions found in action list: " +
+                            actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
+                slotsUsed.set(slot);
+                slots[i] = slot;
             }
+            openLoopSlots = slots;
+            lastChosenPosition = -1;
         } else if (!params.opponentTreePolicy.selfOnlyTree) {
             throw new AssertionError("Expected?");
             // How have we got to a state in which the decision player is not the active player?
         }
     }
 
+    /**
+     * Seeds the statistics of a newly seen action with heuristic biases (if so parameterised)
+     * This assumes that we have had params.initialiseVisits trials of each action before we start
+     */
+    private void initialiseActionStatistics(int slot, AbstractAction action) {
+        if (params.initialiseVisits > 0) {
+            // This also ignores Progressive widening and initialises all possible actions
+            // As with pUCT, this won't cause any major issues, but will mean that the effective node visits
+            // will be higher than the visits of the considered actions.
+            double actionEstimate = actionValueEstimates.getOrDefault(action, 0.0);
+            if (params.normaliseRewards)
+                widenRewardRange(actionEstimate, actionEstimate);
+            int nActions = Math.max(actionTable.size(), actionsFromOpenLoopState.size());
+            actionTable.initialise(slot, decisionPlayer, params.initialiseVisits, params.initialiseVisits * nActions, actionEstimate);
+            if (params.paranoid) // default to zero for other players, unless we're paranoid
+                for (int i = 0; i < actionTable.nPlayers(); i++)
+                    if (i != decisionPlayer)
+                        actionTable.setTotValue(slot, i, -actionTable.totValue(slot, decisionPlayer));
+            if (nVisits < params.initialiseVisits * nActions) {
+                nVisits = params.initialiseVisits * nActions;
+            }
+        }
+    }
+
+    /**
+     * @return the slot in actionTable of the action, or -1 if it has not been seen here.
+     * Most lookups are for the action just chosen from actionsFromOpenLoopState, so we check that before hashing.
+     */
+    int slotFor(AbstractAction action) {
+        if (lastChosenPosition >= 0 && lastChosenPosition < actionsFromOpenLoopState.size()
+                && actionsFromOpenLoopState.get(lastChosenPosition) == action)
+            return openLoopSlots[lastChosenPosition];
+        return actionTable.slotOf(action);
+    }
+
+    /**
+     * @return the child nodes reached by the action (indexed by the player to act next), or null if there are none
+     */
+    SingleTreeNode[] childrenFor(AbstractAction action) {
+        int slot = slotFor(action);
+        return slot == -1 ? null : actionTable.children(slot);
+    }
+
     protected void initialiseRootMetrics() {
         timeTaken = 0.0;
         initialisationTimeTaken = 0.0;
@@ -306,6 +355,10 @@ public class SingleTreeNode {
      * Performs full MCTS search, using the defined budget limits.
      */
     public void mctsSearch(long initialisationTime) {
+        if (params.parallelism == MCTSEnums.Parallelism.Tree && params.nThreads > 1) {
+            new TreeParallelSearch(this).run(initialisationTime);
+            return;
+        }
         initialiseRootMetrics();
         initialisationTimeTaken = initialisationTime;
         // Variables for tracking time budget
@@ -320,54 +373,143 @@ public class SingleTreeNode {
         // Tracking number of iterations for iteration budget
         int numIters = 0;
         boolean stop = false;
-        while (!stop) {
-            switch (params.information) {
-                case Closed_Loop:
-                    setActionsFromOpenLoopState(state);
-                    break;
-                case Open_Loop:
+        DeterminisationSampler determinisations = startDeterminisations();
+        try {
+            while (!stop) {
+                searchIteration(determinisations);
+
+                // Finished iteration
+                numIters++;
+                //       System.out.printf("MCTS Iteration %d, timeLeft: %d\n", numIters, elapsedTimer.remainingTimeMillis());
+                // Check stopping condition
+                PlayerConstants budgetType = params.budgetType;
+                if (budgetType == BUDGET_TIME) {
+                    // Time budget
+                    remaining = elapsedTimer.remainingTimeMillis();
+                    avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
+                    stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
+                } else if (budgetType == BUDGET_ITERATIONS) {
+                    // Iteration budget
+                    stop = numIters >= params.budget;
+                } else if (budgetType == BUDGET_FM_CALLS) {
+                    // FM calls budget
+                    stop = fmCallsCount > params.budget || numIters > params.budget;
+                } else if (budgetType == BUDGET_COPY_CALLS) {
+                    stop = copyCount > params.budget || numIters > params.budget;
+                } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
+                    stop = (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
+                }
+            }
+        } finally {
+            if (determinisations != null)
+                determinisations.stop();
+        }
+        timeTaken = elapsedTimer.elapsedMillis();
+    }
+
+    /**
+     * @return a DeterminisationSampler for the redeterminisations of the root state, or null if they are to be
+     * made by searchIteration() itself
+     */
+    private DeterminisationSampler startDeterminisations() {
+        if (params.information != MCTSEnums.Information.Information_Set ||
+                (params.determinisationThreads == 0 && params.determinisationReuse == 1))
+            return null;
+        if (redeterminisationPlayer == -1)
+            redeterminisationPlayer = decisionPlayer;
+        return new DeterminisationSampler(state, redeterminisationPlayer, params.determinisationThreads,
+                params.determinisationQueue, params.determinisationReuse);
+    }
+
+    /**
+     * One iteration of search from this (root) node, starting from a fresh copy of the root state
+     *
+     * @param determinisations - where to get a redeterminisation of the root state from, if not null
+     */
+    private void searchIteration(DeterminisationSampler determinisations) {
+        switch (params.information) {
+            case Closed_Loop:
+                setActionsFromOpenLoopState(state);
+                break;
+            case Open_Loop:
+                if (forwardModel.supportsUndo() && params.opponentTreePolicy != MultiTree) {
+                    if (undoState == null) {
+                        undoState = state.copy();
+                        undoRecords = new ArrayDeque<>();
+                        copyCount++;
+                    }
+                    setActionsFromOpenLoopState(undoState);
+                } else {
                     setActionsFromOpenLoopState(state.copy());
                     copyCount++;
-                    break;
-                case Information_Set:
-                    if (redeterminisationPlayer == -1)
-                        redeterminisationPlayer = decisionPlayer;
+                }
+                break;
+            case Information_Set:
+                if (redeterminisationPlayer == -1)
+                    redeterminisationPlayer = decisionPlayer;
+                if (determinisations != null) {
+                    // with reuse, an iteration may use both a redeterminisation and a copy of it
+                    setActionsFromOpenLoopState(determinisations.next());
+                    copyCount += determinisations.takeCopiesUsed();
+                } else {
                     setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
                     copyCount++;
-                    break;
-            }
+                }
+                break;
+        }
+
+        // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
+        oneSearchIteration();
+        if (undoRecords != null) {
+            while (!undoRecords.isEmpty())
+                forwardModel.undo(undoState, undoRecords.pop());
+        }
+    }
 
-            // New timer for this iteration
-            //      ElapsedCpuTimer elapsedTimerIteration = new ElapsedCpuTimer();
-
-            //   System.out.println("Starting MCTS Search iteration " + numIters);
-
-            // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
-            oneSearchIteration();
-
-            // Finished iteration
-            numIters++;
-            //       System.out.printf("MCTS Iteration %d, timeLeft: %d\n", numIters, elapsedTimer.remainingTimeMillis());
-            // Check stopping condition
-            PlayerConstants budgetType = params.budgetType;
-            if (budgetType == BUDGET_TIME) {
-                // Time budget
-                remaining = elapsedTimer.remainingTimeMillis();
-                avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
-                stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
-            } else if (budgetType == BUDGET_ITERATIONS) {
-                // Iteration budget
-                stop = numIters >= params.budget;
-            } else if (budgetType == BUDGET_FM_CALLS) {
-                // FM calls budget
-                stop = fmCallsCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_COPY_CALLS) {
-                stop = copyCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
-                stop = (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
+    /**
+     * Searches from this (root) node with the action taken at the root fixed, so that every iteration goes into the
+     * part of the tree below it. MCTSPlayer uses this to ponder after it has chosen an action, while the other
+     * players take their turns; the subtree for the position it finds itself in next is then reused.
+     * <p>
+     * This runs until stop is set, or the budget is used up. The budget is in the same units as params.budgetType,
+     * is counted separately from the budget of the main search, and 0 means no limit. Each iteration holds the lock,
+     * so that anything else can look at the tree safely by synchronising on it.
+     *
+     * @return the number of iterations run
+     */
+    int ponder(AbstractAction action, AtomicBoolean stop, int budget, Object lock) {
+        ponderAction = action;
+        int fmCallsAtStart = fmCallsCount;
+        int copiesAtStart = copyCount;
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+        int numIters = 0;
+        DeterminisationSampler determinisations = startDeterminisations();
+        try {
+            while (!stop.get()) {
+                synchronized (lock) {
+                    searchIteration(determinisations);
+                }
+                numIters++;
+                if (budget > 0) {
+                    int fmCalls = fmCallsCount - fmCallsAtStart;
+                    int copies = copyCount - copiesAtStart;
+                    boolean budgetUsed = switch (params.budgetType) {
+                        case BUDGET_TIME -> elapsedTimer.elapsedMillis() >= budget;
+                        case BUDGET_ITERATIONS -> numIters >= budget;
+                        case BUDGET_FM_CALLS -> fmCalls >= budget;
+                        case BUDGET_COPY_CALLS -> copies >= budget;
+                        case BUDGET_FMANDCOPY_CALLS -> fmCalls + copies >= budget;
+                    };
+                    if (budgetUsed)
+                        break;
+                }
             }
+        } finally {
+            ponderAction = null;
+            if (determinisations != null)
+                determinisations.stop();
         }
-        timeTaken = elapsedTimer.elapsedMillis();
+        return numIters;
     }
 
     /**
@@ -421,15 +563,15 @@ public class SingleTreeNode {
      * (this is called often enough it can make a measurable difference)
      */
     public int actionVisits(AbstractAction action) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0 : stats.nVisits;
+        int slot = slotFor(action);
+        return slot == -1 ? 0 : actionTable.visits(slot);
     }
 
     private int validVisitsFor(AbstractAction action) {
         if (params.information == Closed_Loop)
             return nVisits;
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 1 : stats.validVisits;
+        int slot = slotFor(action);
+        return slot == -1 ? 1 : actionTable.validVisits(slot);
     }
 
     /**
@@ -437,18 +579,16 @@ public class SingleTreeNode {
      * (this is called often enough it can make a measurable difference)
      */
     public double actionTotValue(AbstractAction action, int playerId) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0.0 : stats.totValue[playerId];
+        int slot = slotFor(action);
+        return slot == -1 ? 0.0 : actionTable.totValue(slot, playerId);
     }
 
     public double nodeValue(int playerId) {
         if (nVisits == 0) return 0.0;
-        return actionValues.values().stream().mapToDouble(s -> s.totValue[playerId]).sum() / nVisits;
-    }
-
-    private double actionSquaredValue(AbstractAction action, int playerId) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0.0 : stats.squaredTotValue[playerId];
+        double total = 0.0;
+        for (int slot = 0; slot < actionTable.size(); slot++)
+            total += actionTable.totValue(slot, playerId);
+        return total / nVisits;
     }
 
     /**
@@ -456,9 +596,50 @@ public class SingleTreeNode {
      * For this reason not converted to old-style java loop as there would be no performance gain
      */
     int[] actionVisits() {
-        return actionValues.values().stream()
-                .mapToInt(a -> a.nVisits)
-                .toArray();
+        int[] retValue = new int[actionTable.size()];
+        for (int slot = 0; slot < retValue.length; slot++)
+            retValue[slot] = actionTable.visits(slot);
+        return retValue;
+    }
+
+    /**
+     * @return the number of different actions that have been seen at this node
+     */
+    public int nActions() {
+        return actionTable.size();
+    }
+
+    /**
+     * @return a copy of the statistics for the action (or null if it has not been seen at this node), for reporting
+     */
+    public ActionStats getActionStats(AbstractAction action) {
+        int slot = slotFor(action);
+        return slot == -1 ? null : actionTable.getStats(slot);
+    }
+
+    /**
+     * @return all the actions seen at this node, in the order in which they were first seen
+     */
+    public List<AbstractAction> getActions() {
+        List<AbstractAction> retValue = new ArrayList<>(actionTable.size());
+        for (int slot = 0; slot < actionTable.size(); slot++)
+            retValue.add(actionTable.action(slot));
+        return retValue;
+    }
+
+    /**
+     * @return all the child nodes of this one
+     */
+    List<SingleTreeNode> childNodes() {
+        List<SingleTreeNode> retValue = new ArrayList<>();
+        for (int slot = 0; slot < actionTable.size(); slot++) {
+            SingleTreeNode[] childArray = actionTable.children(slot);
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray)
+                if (child != null)
+                    retValue.add(child);
+        }
+        return retValue;
     }
 
     /**
@@ -478,7 +659,7 @@ public class SingleTreeNode {
         while (cur.openLoopState.isNotTerminalForPlayer(cur.decisionPlayer) &&
                 cur.depth < params.maxTreeDepth && !cur.actionsFromOpenLoopState.isEmpty()) {
             // Move to next child given by relevant selection function
-            AbstractAction chosen = cur.treePolicyAction(true);
+            AbstractAction chosen = cur == this && ponderAction != null ? ponderPolicyAction() : cur.treePolicyAction(true);
 
             // In Open_Loop (and all variants other than Closed_Loop), we make a single copy of the state at the start of each iteration
             // this is then updated with all actions (and stored in openLoopState on each node it visits).
@@ -518,23 +699,53 @@ public class SingleTreeNode {
             // However, we do break ties in favour of already expanded actions
             List<AbstractAction> sortedActions = new ArrayList<>(allAvailable);
             sortedActions.sort(Comparator.comparingDouble(a -> -actionValueEstimates.getOrDefault(a, 0.0) -
-                    actionValues.getOrDefault(a, new ActionStats(1)).nVisits * 1e-6));
+                    actionVisits(a) * 1e-6));
             return new ArrayList<>(sortedActions.subList(0, actionsToConsider));
         }
         return new ArrayList<>(allAvailable);
     }
 
+    /**
+     * As actionsToConsider(actionsFromOpenLoopState), but returns the positions of the actions in
+     * actionsFromOpenLoopState. This is what is used during search, as we can then go straight to their slots.
+     */
+    protected int[] positionsToConsider() {
+        int nAvailable = actionsFromOpenLoopState.size();
+        if (nAvailable > 0 && params.progressiveWideningConstant >= 1.0) {
+            int actionsToConsider = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
+            actionsToConsider = Math.min(actionsToConsider, nAvailable);
+            if (actionsToConsider <= 0) return new int[0];
+            // the same ordering as in actionsToConsider()
+            Integer[] sortedPositions = new Integer[nAvailable];
+            for (int i = 0; i < nAvailable; i++)
+                sortedPositions[i] = i;
+            Arrays.sort(sortedPositions, Comparator.comparingDouble(i -> -actionValueEstimates.getOrDefault(actionsFromOpenLoopState.get(i), 0.0) -
+                    actionTable.visits(openLoopSlots[i]) * 1e-6));
+            int[] retValue = new int[actionsToConsider];
+            for (int i = 0; i < actionsToConsider; i++)
+                retValue[i] = sortedPositions[i];
+            return retValue;
+        }
+        int[] retValue = new int[nAvailable];
+        for (int i = 0; i < nAvailable; i++)
+            retValue[i] = i;
+        return retValue;
+    }
+
 
     protected SingleTreeNode expandNode(AbstractAction actionCopy, AbstractGameState nextState) {
         // then instantiate a new node
         int nextPlayer = params.opponentTreePolicy.selfOnlyTree ? decisionPlayer : nextState.getCurrentPlayer();
         SingleTreeNode tn = createChildNode(actionCopy, nextState);
         // It is possible that we are expanding a node because a different player is the next to act
-        SingleTreeNode[] newNodeArray = children.get(actionCopy);
+        int slot = slotFor(actionCopy);
+        if (slot == -1)
+            slot = actionTable.slotOrAdd(actionCopy);
+        SingleTreeNode[] newNodeArray = actionTable.children(slot);
         if (newNodeArray == null)
             newNodeArray = new SingleTreeNode[nextState.getNPlayers()];
         newNodeArray[nextPlayer] = tn; // we store this by id of the player who will take their turn next
-        children.put(actionCopy, newNodeArray);
+        actionTable.setChildren(slot, newNodeArray);
         return tn;
     }
 
@@ -560,7 +771,7 @@ public class SingleTreeNode {
         } else {
             root.actionsInTree.add(new Pair<>(gs.getCurrentPlayer(), act));
         }
-        forwardModel.next(gs, act.copy());
+        applyAction(gs, act.copy());
         root.fmCallsCount++;
         if (params.opponentTreePolicy != MultiTree &&
                 params.opponentTreePolicy.selfOnlyTree &&
@@ -580,19 +791,41 @@ public class SingleTreeNode {
         while (gs.getCurrentPlayer() != id && gs.isNotTerminalForPlayer(id) && !(inRollout && finishRollout(gs))) {
             //       AbstractGameState preGS = gs.copy();
             AbstractPlayer oppModel = params.getOpponentModel();
-            List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
-            if (availableActions.isEmpty())
-                throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
-            action = oppModel.getAction(gs, availableActions);
+            action = oppModel.getAction(gs, forwardModel, params.actionSpace);
             if (inRollout) {
                 root.actionsInRollout.add(new Pair<>(gs.getCurrentPlayer(), action));
                 lastActorInRollout = gs.getCurrentPlayer();
             }
-            forwardModel.next(gs, action);
+            applyAction(gs, action);
             root.fmCallsCount++;
         }
     }
 
+    /**
+     * Applies the action with the forward model; if this is the root's working state for undo, then we keep the
+     * record so that the root can undo the action at the end of the iteration.
+     */
+    protected void applyAction(AbstractGameState gs, AbstractAction action) {
+        if (gs == root.undoState && root.undoRecords != null)
+            root.undoRecords.push(forwardModel.nextWithUndo(gs, action));
+        else
+            forwardModel.next(gs, action);
+    }
+
+    /**
+     * The action being pondered on, as found in the actions available at the root on this iteration. It may not be
+     * available in every determinisation of the state, in which case we fall back to the usual tree policy.
+     */
+    private AbstractAction ponderPolicyAction() {
+        for (int i = 0; i < actionsFromOpenLoopState.size(); i++) {
+            if (actionsFromOpenLoopState.get(i).equals(ponderAction)) {
+                lastChosenPosition = i;
+                return actionsFromOpenLoopState.get(i);
+            }
+        }
+        return treePolicyAction(true);
+    }
+
     /**
      * Apply relevant policy to choose a child.
      *
@@ -602,70 +835,62 @@ public class SingleTreeNode {
         if (params.opponentTreePolicy == SelfOnly && parent != null && openLoopState != null && openLoopState.getCurrentPlayer() != decisionPlayer)
             throw new AssertionError("An error has occurred. SelfOnly should only call uct when we are moving.");
 
-        // actionsToConsider takes care of any Progressive Widening in play, so we only consider the
+        // positionsToConsider takes care of any Progressive Widening in play, so we only consider the
         // widened subset
-        List<AbstractAction> availableActions = actionsToConsider(actionsFromOpenLoopState);
-        if (availableActions.isEmpty())
+        int[] positions = positionsToConsider();
+        if (positions.length == 0)
             throw new AssertionError("We need to have at least one option");
 
-        AbstractAction actionChosen;
-        if (availableActions.size() == 1) {
-            actionChosen = availableActions.get(0);
+        int chosen;
+        if (positions.length == 1) {
+            chosen = positions[0];
         } else {
-            // first we shuffle to break ties
-            Collections.shuffle(availableActions, rnd);
+            // first we shuffle to break ties (in the same way as Collections.shuffle())
+            for (int i = positions.length; i > 1; i--) {
+                int j = rnd.nextInt(i);
+                int tmp = positions[i - 1];
+                positions[i - 1] = positions[j];
+                positions[j] = tmp;
+            }
             // then get the actionValues
-            double[] actionValues = actionValues(availableActions);
+            double[] actionValues = actionValues(positions);
             // then pick the best one
-            actionChosen = switch (params.treePolicy) {
-                case Uniform -> availableActions.get(rnd.nextInt(availableActions.size()));
-                case Greedy -> {
+            chosen = switch (params.treePolicy) {
+                case Uniform -> positions[rnd.nextInt(positions.length)];
+                case Greedy, UCB, AlphaGo, UCB_Tuned -> {
                     // check exploration first
-                    if (explore && rnd.nextDouble() < params.exploreEpsilon) {
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                    if (params.treePolicy == Greedy && explore && rnd.nextDouble() < params.exploreEpsilon) {
+                        yield positions[rnd.nextInt(positions.length)];
                     }
-                    AbstractAction bestAction = null;
+                    // These take the max
+                    int best = -1;
                     double bestValue = -Double.MAX_VALUE;
-                    for (int i = 0; i < availableActions.size(); i++) {
+                    for (int i = 0; i < positions.length; i++) {
                         if (actionValues[i] > bestValue) {
                             bestValue = actionValues[i];
-                            bestAction = availableActions.get(i);
-                        }
-                    }
-                    yield bestAction;
-                }
-                case UCB, AlphaGo, UCB_Tuned -> {
-                    // These take the max
-                    // Find child with highest UCB value
-                    AbstractAction bestAction = null;
-                    double bestValue = -Double.MAX_VALUE;
-                    for (AbstractAction availableAction : availableActions) {
-                        double uctValue = ucbValue(availableAction);
-                        if (uctValue > bestValue) {
-                            bestValue = uctValue;
-                            bestAction = availableAction;
+                            best = positions[i];
                         }
                     }
-                    yield bestAction;
+                    yield best;
                 }
                 case RegretMatching, EXP3 -> {
                     // check exploration first
                     if (explore && rnd.nextDouble() < params.exploreEpsilon) {
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                        yield positions[rnd.nextInt(positions.length)];
                     }
                     double[] pdf = pdf(actionValues);
                     long nonZeroActions = Arrays.stream(actionValues).filter(v -> v > 0.0).count();
                     if (nonZeroActions == 0) {
                         // if we have no non-zero values, then we just pick one at random
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                        yield positions[rnd.nextInt(positions.length)];
                     }
-                    yield availableActions.get(sampleFrom(pdf, rnd.nextDouble()));
+                    yield positions[sampleFrom(pdf, rnd.nextDouble())];
                 }
-                default -> throw new AssertionError("Unknown treePolicy: " + params.treePolicy);
             };
         }
 
-        return actionChosen;
+        lastChosenPosition = chosen;
+        return actionsFromOpenLoopState.get(chosen);
     }
 
 
@@ -679,7 +904,7 @@ public class SingleTreeNode {
         // We check to see if we have finished. This is true if the gameState is terminal; or if
         // this is a selfOnly tree and it is terminal for the root decision player
 
-        SingleTreeNode[] nodeArray = children.get(actionChosen);
+        SingleTreeNode[] nodeArray = childrenFor(actionChosen);
         if (nodeArray == null) return null;
         if (params.information == Closed_Loop) {
             // in this case we have determinism...there should just be a single child node in the array...so we get that
@@ -699,82 +924,94 @@ public class SingleTreeNode {
     }
 
 
-    // Returns the values according to the selection policy (UCB, EXP3, etc.)
-    // This is stage 1 of processing, before we use these to pick an action to take
+    // As actionValues(int[]), for actions in actionsFromOpenLoopState
     protected double[] actionValues(List<AbstractAction> actionsToConsider) {
-        double[] retValue = new double[actionsToConsider.size()];
-        for (int i = 0; i < actionsToConsider.size(); i++) {
-            AbstractAction action = actionsToConsider.get(i);
+        int[] positions = new int[actionsToConsider.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = actionsFromOpenLoopState.indexOf(actionsToConsider.get(i));
+            if (positions[i] == -1)
+                throw new IllegalArgumentException("Action is not available in the current state: " + actionsToConsider.get(i));
+        }
+        return actionValues(positions);
+    }
+
+    // Returns the values according to the selection policy (UCB, EXP3, etc.), for the actions at the given
+    // positions in actionsFromOpenLoopState
+    // This is stage 1 of processing, before we use these to pick an action to take
+    protected double[] actionValues(int[] positions) {
+        double[] retValue = new double[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
             retValue[i] = switch (params.treePolicy) {
                 case Uniform -> 1.0;
-                case Greedy -> getFullValue(action);
-                case UCB, AlphaGo, UCB_Tuned -> ucbValue(action);
-                case RegretMatching -> rmValue(action);
-                case EXP3 -> exp3Value(action);
+                case Greedy -> getFullValue(position);
+                case UCB, AlphaGo, UCB_Tuned -> ucbValue(position);
+                case RegretMatching -> rmValue(position);
+                case EXP3 -> exp3Value(position);
             };
         }
         return retValue;
     }
 
-    private double getFullValue(AbstractAction action) {
-        double value = getActionValue(action);
-        int actionVisits = actionVisits(action);
+    private double getFullValue(int position) {
+        int slot = openLoopSlots[position];
+        double value = getActionValue(slot);
+        int actionVisits = actionTable.visits(slot);
         if (params.normaliseRewards && actionVisits > 0) {
             value = normalise(value, root.lowReward, root.highReward);
         }
         if (params.progressiveBias > 0)
-            value += getBiasValue(action);
+            value += getBiasValue(position);
         // apply OMA
-        value = getOMAValue(action, value);
+        if (params.omaVisits > 0 && (params.opponentTreePolicy == OMA_All || params.opponentTreePolicy == OMA))
+            value = getOMAValue(actionsFromOpenLoopState.get(position), actionVisits, value);
         return value;
     }
 
-    private double getOMAValue(AbstractAction action, double childValue) {
-        int actionVisits = actionVisits(action);
+    private double getOMAValue(AbstractAction action, int actionVisits, double childValue) {
         double retValue = childValue;
         // consider OMA term
-        if (params.omaVisits > 0 && (params.opponentTreePolicy == OMA_All || params.opponentTreePolicy == OMA)) {
-            OMATreeNode oma = ((OMATreeNode) this).OMAParent.orElse(null);
-            if (oma != null) {
-                double beta = Math.sqrt(params.omaVisits / (double) (params.omaVisits + 3 * actionVisits));
-                // we need to find the action taken from the OMAParent
-                SingleTreeNode iteratingNode = this;
-                List<AbstractAction> actionsTaken = new ArrayList<>();
-                do {
-                    actionsTaken.add(iteratingNode.actionToReach);
-                    iteratingNode = iteratingNode.parent;
-                    if (iteratingNode == null)
-                        throw new AssertionError("Should always find OMA node before root");
-                } while (iteratingNode != oma);
-                Map<AbstractAction, OMATreeNode.OMAStats> tmp = oma.OMAChildren.get(actionsTaken.get(actionsTaken.size() - 1));
-                if (tmp == null) {
-                    if (actionVisits == 0) {
-                        // do nothing - this is possible as we do not create OMA node until we back-propagate
-                        // so on the first visit there may not be one yet
-                    } else {
-                        throw new AssertionError("We have somehow failed to find the OMA node for this action");
-                    }
+        OMATreeNode oma = ((OMATreeNode) this).OMAParent.orElse(null);
+        if (oma != null) {
+            double beta = Math.sqrt(params.omaVisits / (double) (params.omaVisits + 3 * actionVisits));
+            // we need to find the action taken from the OMAParent
+            SingleTreeNode iteratingNode = this;
+            List<AbstractAction> actionsTaken = new ArrayList<>();
+            do {
+                actionsTaken.add(iteratingNode.actionToReach);
+                iteratingNode = iteratingNode.parent;
+                if (iteratingNode == null)
+                    throw new AssertionError("Should always find OMA node before root");
+            } while (iteratingNode != oma);
+            Map<AbstractAction, OMATreeNode.OMAStats> tmp = oma.OMAChildren.get(actionsTaken.get(actionsTaken.size() - 1));
+            if (tmp == null) {
+                if (actionVisits == 0) {
+                    // do nothing - this is possible as we do not create OMA node until we back-propagate
+                    // so on the first visit there may not be one yet
                 } else {
-                    OMATreeNode.OMAStats stats = tmp.get(action);
-                    if (stats != null && stats.OMAVisits > 0) {
-                        double omaValue = stats.OMATotValue / stats.OMAVisits;
-                        retValue = (1.0 - beta) * childValue + beta * omaValue;
-                    }
+                    throw new AssertionError("We have somehow failed to find the OMA node for this action");
+                }
+            } else {
+                OMATreeNode.OMAStats stats = tmp.get(action);
+                if (stats != null && stats.OMAVisits > 0) {
+                    double omaValue = stats.OMATotValue / stats.OMAVisits;
+                    retValue = (1.0 - beta) * childValue + beta * omaValue;
                 }
             }
         }
         return retValue;
     }
 
-    private double ucbValue(AbstractAction action) {
+    private double ucbValue(int position) {
+        int slot = openLoopSlots[position];
 
         // Find 'UCB' value - this is the base to which we then add exploration
-        double childValue = getFullValue(action);
-        int actionVisits = actionVisits(action);
+        double childValue = getFullValue(position);
+        int actionVisits = actionTable.visits(slot);
 
         // Now for the exploration term
         // default to standard UCB
-        int effectiveTotalVisits = validVisitsFor(action);
+        int effectiveTotalVisits = params.information == Closed_Loop ? nVisits : actionTable.validVisits(slot);
         // use first play urgency as replacement for exploration term if action not previously taken
         // we add in the second term based on the AlphaGo selection rule, so that the exploration term is monotonically increasing with N
         // this will come into play for small values of FPU and acts as soft-pruning rather than the harder form if FPU is a fixed constant
@@ -784,13 +1021,13 @@ public class SingleTreeNode {
                 case UCB_Tuned -> {
                     double range = root.highReward - root.lowReward;
                     if (range < 1e-6) range = 1e-6;
-                    double meanSq = actionSquaredValue(action, decisionPlayer) / actionVisits;
+                    double meanSq = actionTable.squaredTotValue(slot, decisionPlayer) / actionVisits;
                     double standardVar = 0.25;
                     if (params.normaliseRewards) {
                         // we also need to standardise the sum of squares to calculate the variance
                         meanSq = (meanSq
                                 + root.lowReward * root.lowReward
-                                - 2 * root.lowReward * actionTotValue(action, decisionPlayer) / actionVisits
+                                - 2 * root.lowReward * actionTable.totValue(slot, decisionPlayer) / actionVisits
                         ) / (range * range);
                     } else {
                         // we need to modify the standard variance as it is not on a 0..1 basis (which is where 0.25 comes from)
@@ -807,7 +1044,7 @@ public class SingleTreeNode {
         if (params.pUCT) {
             // in this case we multiply the exploration term by the pUCT factor (the probability that the action would be taken by
             // our actionHeuristic). These were calculated in setActionsFromOpenLoopState
-            explorationTerm *= actionPDFEstimates.get(action);
+            explorationTerm *= actionPDFEstimates.get(actionsFromOpenLoopState.get(position));
         }
 
         // Paranoid/SelfOnly control determines childValue here
@@ -823,8 +1060,16 @@ public class SingleTreeNode {
     }
 
     public double exp3Value(AbstractAction action) {
-        double actionValue = getActionValue(action);
-        int actionVisits = actionVisits(action);
+        int position = actionsFromOpenLoopState.indexOf(action);
+        if (position == -1)
+            throw new IllegalArgumentException("Action is not currently available: " + action);
+        return exp3Value(position);
+    }
+
+    private double exp3Value(int position) {
+        int slot = openLoopSlots[position];
+        double actionValue = getActionValue(slot);
+        int actionVisits = actionTable.visits(slot);
         // we then normalise to [0, 1], or we subtract the mean action value to get an advantage (and reduce risk of
         // NaN or Infinities when we exponentiate)
         if (actionVisits > 0) {
@@ -834,11 +1079,11 @@ public class SingleTreeNode {
                 actionValue = actionValue - nodeValue(decisionPlayer);
         }
         if (params.progressiveBias > 0)
-            actionValue += getBiasValue(action);
+            actionValue += getBiasValue(position);
         double retValue = Math.exp(actionValue / params.exp3Boltzmann);
 
         if (Double.isNaN(retValue) || Double.isInfinite(retValue)) {
-            System.out.printf("We have a non-number %s in EXP3 (from %.0f) somewhere from %s %n", retValue, actionValue, action);
+            System.out.printf("We have a non-number %s in EXP3 (from %.0f) somewhere from %s %n", retValue, actionValue, actionsFromOpenLoopState.get(position));
             retValue = 1e6;  // to avoid numeric issues later
         }
         // We add FPU after exponentiation for safety (as it likely a large number)
@@ -849,15 +1094,23 @@ public class SingleTreeNode {
     }
 
     public double rmValue(AbstractAction action) {
-        double actionValue = getActionValue(action);
+        int position = actionsFromOpenLoopState.indexOf(action);
+        if (position == -1)
+            throw new IllegalArgumentException("Action is not currently available: " + action);
+        return rmValue(position);
+    }
+
+    private double rmValue(int position) {
+        int slot = openLoopSlots[position];
+        double actionValue = getActionValue(slot);
         if (params.progressiveBias > 0)
-            actionValue += getBiasValue(action);
+            actionValue += getBiasValue(position);
         double nodeValue = nodeValue(decisionPlayer);
         // potential value is our estimate of our accumulated reward if we had always taken this action
         double potentialValue = actionValue * nVisits;
         double regret = potentialValue - nodeValue * nVisits;
         // We add FPU after all the exponentiation for safety
-        int actionVisits = actionVisits(action);
+        int actionVisits = actionTable.visits(slot);
         if (actionVisits == 0) {
             regret += params.firstPlayUrgency;
         }
@@ -865,15 +1118,15 @@ public class SingleTreeNode {
     }
 
 
-    private double getActionValue(AbstractAction action) {
-        int actionVisits = actionVisits(action);
+    private double getActionValue(int slot) {
+        int actionVisits = actionTable.visits(slot);
         // if we are at 'expansion' phase, then we break ties by expansion policy (which is the same actionHeuristic as progressive bias)
-        return actionVisits > 0 ? actionTotValue(action, decisionPlayer) / actionVisits : 0.0;
+        return actionVisits > 0 ? actionTable.totValue(slot, decisionPlayer) / actionVisits : 0.0;
     }
 
-    private double getBiasValue(AbstractAction action) {
-        int actionVisits = actionVisits(action);
-        return params.progressiveBias * actionValueEstimates.getOrDefault(action, 0.0) / (actionVisits + 1);
+    private double getBiasValue(int position) {
+        int actionVisits = actionTable.visits(openLoopSlots[position]);
+        return params.progressiveBias * actionValueEstimates.getOrDefault(actionsFromOpenLoopState.get(position), 0.0) / (actionVisits + 1);
     }
 
     /**
@@ -900,21 +1153,17 @@ public class SingleTreeNode {
 
             AbstractAction next = null;
             while (!finishRollout(rolloutState)) {
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
-                if (availableActions.isEmpty()) {
-                    throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
-                }
                 AbstractPlayer agent = rolloutState.getCurrentPlayer() == root.decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                next = agent.getAction(rolloutState, availableActions);
+                // a random agent can pick from the forward model's indexed actions, without creating the full list
+                next = agent.getAction(rolloutState, forwardModel, params.actionSpace);
                 lastActorInRollout = rolloutState.getCurrentPlayer();
                 advanceState(rolloutState, next, true);
             }
         }
         // Evaluate final state and return normalised score
-        double[] retValue = new double[rolloutState.getNPlayers()];
+        double[] retValue = params.heuristic.evaluateAllPlayers(rolloutState);
 
         for (int i = 0; i < retValue.length; i++) {
-            retValue[i] = params.heuristic.evaluateState(rolloutState, i);
             if (Double.isNaN(retValue[i]))
                 throw new AssertionError("Illegal heuristic value - should be a number");
         }
@@ -968,10 +1217,20 @@ public class SingleTreeNode {
         // These are only stored on the root
         if (params.normaliseRewards || params.treePolicy == UCB_Tuned) {
             DoubleSummaryStatistics stats = Arrays.stream(result).summaryStatistics();
-            if (root.lowReward > stats.getMin())
-                root.lowReward = stats.getMin();
-            if (root.highReward < stats.getMax())
-                root.highReward = stats.getMax();
+            widenRewardRange(stats.getMin(), stats.getMax());
+        }
+    }
+
+    /**
+     * Extends the range of rewards seen on the root to include low and high. This locks the root, as
+     * tree-parallel search calls it from several threads.
+     */
+    protected void widenRewardRange(double low, double high) {
+        synchronized (root) {
+            if (root.lowReward > low)
+                root.lowReward = low;
+            if (root.highReward < high)
+                root.highReward = high;
         }
     }
 
@@ -1017,40 +1276,39 @@ public class SingleTreeNode {
         nVisits++;
         // Here we look at actionsFromOpenLoopState to see which ones were valid
         // when we passed through, and keep track of valid visits
-        List<AbstractAction> actionsToConsider = actionsToConsider(actionsFromOpenLoopState);
+        int[] positions = positionsToConsider();
+        int takenSlot = slotFor(actionTaken);
 
         // then we update the statistics for the action taken
-        if (!actionsToConsider.contains(actionTaken)) {
+        boolean takenIsValid = false;
+        for (int position : positions)
+            if (openLoopSlots[position] == takenSlot)
+                takenIsValid = true;
+        if (!takenIsValid) {
             if (params.opponentTreePolicy != MCGS && params.opponentTreePolicy != MCGSSelfOnly)
                 throw new AssertionError("We have somehow failed to find the action taken in the list of valid actions");
 
             // If MCGS, then this is possible if we have looped in the graph, so that OpenLoopState refers
             // to a different state than the one for which the action was taken. This is awkward.
             // In the absence of any good information, we just increment the valid visits of all actions
-            for (ActionStats stats : actionValues.values()) {
-                stats.validVisits++;
-            }
+            actionTable.addValidVisitToAll();
         } else {
-            for (AbstractAction action : actionsToConsider) {
-                if (!actionValues.containsKey(action))
-                    actionValues.put(action, new ActionStats(result.length));
-                actionValues.get(action).validVisits++;
-            }
+            for (int position : positions)
+                actionTable.addValidVisit(openLoopSlots[position]);
         }
-        ActionStats stats = actionValues.get(actionTaken);
-        if (stats == null)
+        if (takenSlot == -1)
             throw new AssertionError("We have somehow failed to find the action taken in the list of actions");
-        if (stats.validVisits == 0)
+        if (actionTable.validVisits(takenSlot) == 0)
             throw new AssertionError("We have somehow failed to find the action taken in the list of valid actions");
 
-        stats.update(result);
+        actionTable.update(takenSlot, result);
 
-        if (params.treePolicy == RegretMatching && nVisits >= actionsToConsider.size() && nVisits % Math.max(actionsToConsider.size(), 10) == 0) {
+        if (params.treePolicy == RegretMatching && nVisits >= positions.length && nVisits % Math.max(positions.length, 10) == 0) {
             // we update the average policy each time we have had the opportunity to take each action once (or every 10 visits, if that is greater)
-            double[] av = actionValues(actionsToConsider);
+            double[] av = actionValues(positions);
             double[] pdf = pdf(av);
-            for (int i = 0; i < actionsToConsider.size(); i++) {
-                regretMatchingAverage.merge(actionsToConsider.get(i), pdf[i], Double::sum);
+            for (int i = 0; i < positions.length; i++) {
+                regretMatchingAverage.merge(actionsFromOpenLoopState.get(positions[i]), pdf[i], Double::sum);
             }
         }
 
@@ -1059,10 +1317,12 @@ public class SingleTreeNode {
 
         // otherwise we do some more complex backup
         double resultToPropagateUpwards[] = result.clone();
-        AbstractAction bestAction = bestAction(actionsToConsider);
-        double[] maxValue = actionValues.get(bestAction).totValue.clone();
+        int bestPosition = bestPosition(positions);
+        int bestSlot = openLoopSlots[bestPosition];
+        AbstractAction bestAction = actionsFromOpenLoopState.get(bestPosition);
+        double[] maxValue = new double[result.length];
         for (int i = 0; i < maxValue.length; i++) {
-            maxValue[i] /= actionValues.get(bestAction).nVisits;
+            maxValue[i] = actionTable.totValue(bestSlot, i) / actionTable.visits(bestSlot);
         }
         return switch (params.backupPolicy) {
             case MonteCarlo:
@@ -1070,7 +1330,7 @@ public class SingleTreeNode {
             case Lambda:
                 // SARSA-style on-policy update. We weight the action average by 1 - lambda
                 for (int i = 0; i < result.length; i++) {
-                    resultToPropagateUpwards[i] = params.backupLambda * result[i] + (1.0 - params.backupLambda) * stats.totValue[i] / stats.nVisits;
+                    resultToPropagateUpwards[i] = params.backupLambda * result[i] + (1.0 - params.backupLambda) * actionTable.totValue(takenSlot, i) / actionTable.visits(takenSlot);
                 }
                 yield resultToPropagateUpwards;
             case MaxLambda:
@@ -1107,9 +1367,9 @@ public class SingleTreeNode {
         AbstractAction bestAction = null;
         double maxValue = -Double.MAX_VALUE;
         for (AbstractAction action : actionsToConsider) {
-            ActionStats temp = actionValues.get(action);
-            double value = temp.nVisits == 0 ? -Double.MAX_VALUE :
-                    temp.totValue[decisionPlayer] / temp.nVisits;
+            int slot = actionTable.slotOf(action);
+            double value = slot == -1 || actionTable.visits(slot) == 0 ? -Double.MAX_VALUE :
+                    actionTable.totValue(slot, decisionPlayer) / actionTable.visits(slot);
             if (value > maxValue) {
                 maxValue = value;
                 bestAction = action;
@@ -1120,6 +1380,24 @@ public class SingleTreeNode {
         return bestAction;
     }
 
+    // As bestAction(List), for the actions at the given positions in actionsFromOpenLoopState
+    private int bestPosition(int[] positions) {
+        int best = -1;
+        double maxValue = -Double.MAX_VALUE;
+        for (int position : positions) {
+            int slot = openLoopSlots[position];
+            double value = actionTable.visits(slot) == 0 ? -Double.MAX_VALUE :
+                    actionTable.totValue(slot, decisionPlayer) / actionTable.visits(slot);
+            if (value > maxValue) {
+                maxValue = value;
+                best = position;
+            }
+        }
+        if (best == -1)
+            return positions[rnd.nextInt(positions.length)];
+        return best;
+    }
+
 
     protected void MASTBackup(List<Pair<Integer, AbstractAction>> rolloutActions, double[] delta) {
         for (Pair<Integer, AbstractAction> pair : rolloutActions) {
@@ -1169,23 +1447,21 @@ public class SingleTreeNode {
                 availableActions = actionsToConsider(forwardModel.computeAvailableActions(state, params.actionSpace));
             }
             for (AbstractAction action : availableActions) {
-                if (!actionValues.containsKey(action)) {
+                int slot = actionTable.slotOf(action);
+                if (slot == -1) {
                     throw new AssertionError("Hashcode / equals contract issue for " + action);
                 }
-                if (actionValues.get(action) != null) {
-                    ActionStats stats = actionValues.get(action);
-                    double childValue = stats.nVisits; // if ROBUST
-                    if (policy == SIMPLE)
-                        childValue = stats.totValue[decisionPlayer] / (stats.nVisits + params.noiseEpsilon);
-
-                    // Apply small noise to break ties randomly
-                    childValue = noise(childValue, params.noiseEpsilon, rnd.nextDouble());
-
-                    // Save best value
-                    if (childValue > bestValue) {
-                        bestValue = childValue;
-                        bestAction = action;
-                    }
+                double childValue = actionTable.visits(slot); // if ROBUST
+                if (policy == SIMPLE)
+                    childValue = actionTable.totValue(slot, decisionPlayer) / (actionTable.visits(slot) + params.noiseEpsilon);
+
+                // Apply small noise to break ties randomly
+                childValue = noise(childValue, params.noiseEpsilon, rnd.nextDouble());
+
+                // Save best value
+                if (childValue > bestValue) {
+                    bestValue = childValue;
+                    bestAction = action;
                 }
             }
         }
@@ -1193,7 +1469,9 @@ public class SingleTreeNode {
         if (bestAction == null) {
             if (nVisits < 2) {
 //                System.out.println("Only one visit to root node - insufficient information - hopefully due to JVM warming up");
-                bestAction = actionValues.keySet().stream().findFirst().orElseThrow(() -> new AssertionError("No children"));
+                if (actionTable.size() == 0)
+                    throw new AssertionError("No children");
+                bestAction = actionTable.action(0);
             } else
                 throw new AssertionError("Unexpected - no selection made.");
         }
@@ -1201,6 +1479,22 @@ public class SingleTreeNode {
         return bestAction;
     }
 
+    /**
+     * Used in Root parallelisation. This adds the statistics of each action at the root of another
+     * (independently searched) tree to those of this root node.
+     *
+     * @param other - root of the other tree
+     */
+    public void mergeRootStatistics(SingleTreeNode other) {
+        actionTable.add(other.actionTable);
+        nVisits += other.nVisits;
+        fmCallsCount += other.fmCallsCount;
+        copyCount += other.copyCount;
+        rolloutActionsTaken += other.rolloutActionsTaken;
+        highReward = Math.max(highReward, other.highReward);
+        lowReward = Math.min(lowReward, other.lowReward);
+    }
+
     protected AbstractAction regretMatchingAverage() {
         double[] potentials = new double[regretMatchingAverage.size()];
         int count = 0;
@@ -1229,8 +1523,60 @@ public class SingleTreeNode {
         redeterminisationPlayer = player;
     }
 
+    /**
+     * @return a read-only view of the map from each action seen at this node to its child nodes (null if it has not
+     * been expanded), in the order in which the actions were first seen
+     */
     public Map<AbstractAction, SingleTreeNode[]> getChildren() {
-        return children;
+        return new AbstractMap<>() {
+            @Override
+            public SingleTreeNode[] get(Object key) {
+                int slot = key instanceof AbstractAction action ? actionTable.slotOf(action) : -1;
+                return slot == -1 ? null : actionTable.children(slot);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof AbstractAction action && actionTable.slotOf(action) != -1;
+            }
+
+            @Override
+            public int size() {
+                return actionTable.size();
+            }
+
+            @Override
+            public Set<Entry<AbstractAction, SingleTreeNode[]>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<AbstractAction, SingleTreeNode[]>> iterator() {
+                        return new Iterator<>() {
+                            int slot = 0;
+
+                            @Override
+                            public boolean hasNext() {
+                                return slot < actionTable.size();
+                            }
+
+                            @Override
+                            public Entry<AbstractAction, SingleTreeNode[]> next() {
+                                if (!hasNext())
+                                    throw new NoSuchElementException();
+                                Entry<AbstractAction, SingleTreeNode[]> retValue =
+                                        new SimpleImmutableEntry<>(actionTable.action(slot), actionTable.children(slot));
+                                slot++;
+                                return retValue;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return actionTable.size();
+                    }
+                };
+            }
+        };
     }
 
     public AbstractAction getActionToReach() {
@@ -1290,11 +1636,7 @@ public class SingleTreeNode {
         while (!nodeQueue.isEmpty()) {
             SingleTreeNode node = nodeQueue.poll();
             retValue.add(node);
-            nodeQueue.addAll(node.getChildren().values().stream()
-                    .filter(Objects::nonNull)
-                    .flatMap(Arrays::stream)
-                    .filter(Objects::nonNull)
-                    .collect(toList()));
+            nodeQueue.addAll(node.childNodes());
         }
         return retValue;
     }
@@ -1313,9 +1655,9 @@ public class SingleTreeNode {
                     .collect(joining(", "));
         }
         retValue.append(String.format("%d total visits, value %s, with %d children, %d actions, depth %d, FMCalls %d: \n",
-                nVisits, valueString, children.size(), actionValues.size(), depth, fmCallsCount));
+                nVisits, valueString, childNodes().size(), actionTable.size(), depth, fmCallsCount));
         // sort all actions by visit count
-        List<AbstractAction> sortedActions = actionValues.keySet().stream()
+        List<AbstractAction> sortedActions = getActions().stream()
                 .filter(Objects::nonNull)
                 .sorted(Comparator.comparingInt(a -> -actionVisits(a)))
                 .toList();
@@ -1328,7 +1670,7 @@ public class SingleTreeNode {
                 actionName = actionName.substring(0, 50);
             valueString = String.format("%.2f", actionTotValue(action, decisionPlayer) / actionVisits);
             if (params.opponentTreePolicy == OneTree) {
-                int players = state == null ? children.get(action).length : state.getNPlayers();
+                int players = state == null ? actionTable.nPlayers() : state.getNPlayers();
                 valueString = IntStream.range(0, players)
                         .mapToObj(p -> String.format("%.2f", actionTotValue(action, p) / actionVisits))
                         .collect(joining(", "));
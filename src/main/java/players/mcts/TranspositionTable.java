@@ -0,0 +1,277 @@
+package players.mcts;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * The transposition table used by MCGS to find the node for a state key.
+ * <p>
+ * This has a maximum capacity, set from MCTSParams (MCGSTableSize, or MCGSTableMB), so that long searches cannot grow
+ * the graph without limit. The table starts small, and doubles in size when it is three-quarters full (or a bucket is
+ * full) until it reaches that capacity, so short searches do not pay for a large table. Keys are hashed to a bucket
+ * of BUCKET_SIZE slots; once the table is at full size, and a new key arrives at a full bucket, one of the nodes
+ * already there is evicted, chosen by:
+ * <ol>
+ * <li>Age: every entry records the generation in which it was last used (looked up or added), and the generation is
+ * incremented each time the root moves on (newGeneration()). Entries from older generations go first. This takes the
+ * place of the old scan of the whole graph after every move to remove nodes that were not visited in the last search;
+ * these are now simply overwritten when space is needed.</li>
+ * <li>The replacement policy (MCGSReplacement): Depth evicts the deepest node (those near the root being the most
+ * valuable), Visits the least visited node, and LRU the least recently used one.</li>
+ * </ol>
+ * The current root of the graph is never evicted. Any other node can be, including one on the path of the current
+ * iteration; it is then skipped during backup, and re-created if it is reached again.
+ */
+public class TranspositionTable extends AbstractMap<Object, MCGSNode> {
+
+    public static final int BUCKET_SIZE = 4;
+    // A rough estimate of the memory used by one node and its statistics, for converting MCGSTableMB to a capacity
+    public static final int ESTIMATED_BYTES_PER_NODE = 1024;
+    private static final int INITIAL_BUCKETS = 64;
+
+    private final MCTSEnums.TTReplacement replacement;
+    private final int maxBuckets;
+    private Object[] keys;
+    private MCGSNode[] nodes;
+    private int[] generations;
+    private long[] lastUsed;
+    private int bucketMask;
+    private int size;
+    private int generation;
+    private long useCounter;
+
+    /**
+     * @param capacity    - the maximum number of nodes; this is rounded up to a power of two
+     * @param replacement - the policy used to choose which node to evict from a full bucket
+     */
+    public TranspositionTable(int capacity, MCTSEnums.TTReplacement replacement) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Transposition table capacity must be positive, not " + capacity);
+        maxBuckets = Integer.highestOneBit(Math.max(1, (capacity - 1) / BUCKET_SIZE)) << 1;
+        this.replacement = replacement;
+        allocate(Math.min(maxBuckets, INITIAL_BUCKETS));
+    }
+
+    private void allocate(int buckets) {
+        keys = new Object[buckets * BUCKET_SIZE];
+        nodes = new MCGSNode[buckets * BUCKET_SIZE];
+        generations = new int[buckets * BUCKET_SIZE];
+        lastUsed = new long[buckets * BUCKET_SIZE];
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * Doubles the number of buckets. Each old bucket splits into two new ones (as one more bit of the hash is used),
+     * so everything fits without evicting anything.
+     */
+    private void grow() {
+        Object[] oldKeys = keys;
+        MCGSNode[] oldNodes = nodes;
+        int[] oldGenerations = generations;
+        long[] oldLastUsed = lastUsed;
+        allocate((bucketMask + 1) * 2);
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] == null)
+                continue;
+            int slot = bucketStart(oldKeys[i]);
+            while (nodes[slot] != null)
+                slot++;
+            keys[slot] = oldKeys[i];
+            nodes[slot] = oldNodes[i];
+            generations[slot] = oldGenerations[i];
+            lastUsed[slot] = oldLastUsed[i];
+        }
+    }
+
+    private boolean bucketFull(int start) {
+        for (int i = start; i < start + BUCKET_SIZE; i++)
+            if (nodes[i] == null)
+                return false;
+        return true;
+    }
+
+    public static TranspositionTable fromParams(MCTSParams params) {
+        int capacity = params.MCGSTableMB > 0 ?
+                (int) Math.min(Integer.MAX_VALUE / 2, params.MCGSTableMB * 1024L * 1024L / ESTIMATED_BYTES_PER_NODE) :
+                params.MCGSTableSize;
+        return new TranspositionTable(capacity, params.MCGSReplacement);
+    }
+
+    private int bucketStart(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & bucketMask) * BUCKET_SIZE;
+    }
+
+    private int slotOf(Object key) {
+        int start = bucketStart(key);
+        for (int i = start; i < start + BUCKET_SIZE; i++) {
+            if (nodes[i] != null && keys[i].equals(key))
+                return i;
+        }
+        return -1;
+    }
+
+    private void touch(int slot) {
+        generations[slot] = generation;
+        lastUsed[slot] = ++useCounter;
+    }
+
+    /**
+     * Marks the start of a new search (after the root has moved on). Everything in the table is now one generation
+     * older, and will be replaced before anything that is used from now on.
+     */
+    public void newGeneration() {
+        generation++;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return the generation in which the node for the key was last used, or -1 if it is not in the table
+     */
+    int generationOf(Object key) {
+        int slot = slotOf(key);
+        return slot == -1 ? -1 : generations[slot];
+    }
+
+    /**
+     * @return the most nodes the table will hold
+     */
+    public int getCapacity() {
+        return maxBuckets * BUCKET_SIZE;
+    }
+
+    @Override
+    public MCGSNode get(Object key) {
+        int slot = slotOf(key);
+        if (slot == -1)
+            return null;
+        touch(slot);
+        return nodes[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) != -1;
+    }
+
+    @Override
+    public MCGSNode put(Object key, MCGSNode node) {
+        if (key == null || node == null)
+            throw new IllegalArgumentException("Transposition table does not support null keys or nodes");
+        int slot = slotOf(key);
+        MCGSNode previous = null;
+        if (slot == -1) {
+            int start = bucketStart(key);
+            while (bucketMask + 1 < maxBuckets && (size >= nodes.length / 4 * 3 || bucketFull(start))) {
+                grow();
+                start = bucketStart(key);
+            }
+            slot = victim(start);
+            if (nodes[slot] == null)
+                size++;
+        } else {
+            previous = nodes[slot];
+        }
+        keys[slot] = key;
+        nodes[slot] = node;
+        touch(slot);
+        return previous;
+    }
+
+    // An empty slot in the bucket if there is one, and otherwise the least valuable entry
+    private int victim(int start) {
+        int worst = -1;
+        for (int i = start; i < start + BUCKET_SIZE; i++) {
+            if (nodes[i] == null)
+                return i;
+            if (nodes[i].root == nodes[i])
+                continue;  // never evict the root
+            if (worst == -1 || lessValuable(i, worst))
+                worst = i;
+        }
+        if (worst == -1)
+            throw new AssertionError("No slot available in transposition table bucket");
+        return worst;
+    }
+
+    private boolean lessValuable(int a, int b) {
+        if (generations[a] != generations[b])
+            return generations[a] < generations[b];
+        return switch (replacement) {
+            case Depth -> nodes[a].depth > nodes[b].depth;
+            case Visits -> nodes[a].nVisits < nodes[b].nVisits;
+            case LRU -> lastUsed[a] < lastUsed[b];
+        };
+    }
+
+    @Override
+    public MCGSNode remove(Object key) {
+        int slot = slotOf(key);
+        if (slot == -1)
+            return null;
+        MCGSNode previous = nodes[slot];
+        keys[slot] = null;
+        nodes[slot] = null;
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        allocate(Math.min(maxBuckets, INITIAL_BUCKETS));
+        size = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super Object, ? super MCGSNode> action) {
+        // directly over the arrays, to avoid creating an Entry for every node
+        for (int i = 0; i < nodes.length; i++)
+            if (nodes[i] != null)
+                action.accept(keys[i], nodes[i]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Object, MCGSNode>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Object, MCGSNode>> iterator() {
+                return new Iterator<>() {
+                    int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < nodes.length && nodes[from] == null)
+                            from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < nodes.length;
+                    }
+
+                    @Override
+                    public Entry<Object, MCGSNode> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        Entry<Object, MCGSNode> retValue = new SimpleImmutableEntry<>(keys[next], nodes[next]);
+                        next = advance(next + 1);
+                        return retValue;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,266 @@
+package players.mcts;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import players.PlayerConstants;
+import utilities.ElapsedCpuTimer;
+import utilities.Pair;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static players.PlayerConstants.*;
+import static players.mcts.MCTSEnums.Information.Closed_Loop;
+import static players.mcts.MCTSEnums.OpponentTreePolicy.OneTree;
+import static players.mcts.MCTSEnums.OpponentTreePolicy.SelfOnly;
+
+/**
+ * Tree parallelisation of MCTS: several threads run iterations on one shared tree.
+ * <p>
+ * Each node is locked only while a thread is using it: to choose the next action from it (and apply virtual loss
+ * to that action), to find or expand the child that action leads to, and to back up the result. No thread holds
+ * more than one node lock at a time, other than briefly taking the lock on the root to widen the range of rewards
+ * seen; so threads only wait for each other when they reach the same node at the same time. Each thread takes its
+ * own copy (or redeterminisation) of the root state, and applies the actions chosen in the tree and in the rollout
+ * to it with a thread-local forward model, rollout policy and opponent model, without holding any lock. The shared
+ * forward model is still used by the nodes to compute the actions available, which does not change it.
+ * <p>
+ * While a thread has an iteration in flight, virtual loss is applied to every action on its path through the tree
+ * (params.virtualLoss visits at the lowest reward seen so far), so that the other threads are pushed to explore
+ * different lines. This is removed before the real result is backed up.
+ * <p>
+ * The counts of copies, FM calls and rollout actions on the root are guarded by a separate lock, which is also
+ * used to check the budget.
+ * <p>
+ * Only OneTree and SelfOnly trees in Open_Loop or Information_Set mode are supported, and MAST cannot be used.
+ */
+class TreeParallelSearch {
+
+    private final SingleTreeNode root;
+    private final MCTSParams params;
+    private final AtomicInteger iterationsStarted = new AtomicInteger();
+    // guards root.copyCount, root.fmCallsCount and root.rolloutActionsTaken
+    private final Object countLock = new Object();
+
+    TreeParallelSearch(SingleTreeNode root) {
+        this.root = root;
+        this.params = root.params;
+        if (params.information == Closed_Loop)
+            throw new IllegalArgumentException("Tree parallelisation is not supported with Closed_Loop MCTS");
+        if (params.opponentTreePolicy != OneTree && params.opponentTreePolicy != SelfOnly)
+            throw new IllegalArgumentException("Tree parallelisation only supports OneTree and SelfOnly trees, not " + params.opponentTreePolicy);
+        if (params.useMAST)
+            throw new IllegalArgumentException("Tree parallelisation cannot be used with MAST");
+    }
+
+    void run(long initialisationTime) {
+        root.initialiseRootMetrics();
+        root.initialisationTimeTaken = initialisationTime;
+        if (root.redeterminisationPlayer == -1)
+            root.redeterminisationPlayer = root.decisionPlayer;
+        ElapsedCpuTimer wallTimer = new ElapsedCpuTimer();
+
+        // the player's threads are reused across decisions; if we have none, then we use our own for this search
+        ExecutorService executor = root.searchExecutor != null ? root.searchExecutor : Executors.newFixedThreadPool(params.nThreads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < params.nThreads; t++) {
+                Worker worker = createWorker(t);
+                futures.add(executor.submit(() -> worker.search(initialisationTime)));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during parallel MCTS search", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException(e.getCause());
+        } finally {
+            for (Future<?> future : futures)
+                future.cancel(true);
+            if (executor != root.searchExecutor)
+                executor.shutdownNow();
+        }
+        root.timeTaken = wallTimer.elapsedMillis();
+    }
+
+    /**
+     * Each worker has its own forward model and parameters (and hence rollout policy and opponent model), and a
+     * 'shell' node that is used to apply actions and run rollouts. The shell acts as its own root, so that all the
+     * per-iteration bookkeeping in SingleTreeNode is local to the thread.
+     */
+    private Worker createWorker(int index) {
+        MCTSParams threadParams = (MCTSParams) params.copy();
+        threadParams.setRandomSeed(params.getRandomSeed() + 7919L * (index + 1));
+        threadParams.rolloutPolicy = null;
+        threadParams.opponentModel = null;
+        AbstractForwardModel threadModel = root.forwardModel.copy();
+        threadParams.getRolloutStrategy().setForwardModel(threadModel);
+        threadParams.getOpponentModel().setForwardModel(threadModel);
+
+        SingleTreeNode shell = new SingleTreeNode();
+        shell.params = threadParams;
+        shell.forwardModel = threadModel;
+        shell.rnd = new Random(threadParams.getRandomSeed());
+        shell.root = shell;
+        shell.decisionPlayer = root.decisionPlayer;
+        return new Worker(shell);
+    }
+
+    private boolean budgetRemaining(int numIters, ElapsedCpuTimer elapsedTimer) {
+        PlayerConstants budgetType = params.budgetType;
+        if (budgetType == BUDGET_TIME) {
+            long remaining = elapsedTimer.remainingTimeMillis();
+            double avgTimeTaken = numIters == 0 ? 0.0 : (double) elapsedTimer.elapsedMillis() / numIters;
+            return remaining > 2 * avgTimeTaken && remaining > params.breakMS;
+        }
+        // all other budgets are shared between the threads
+        int started = iterationsStarted.incrementAndGet();
+        synchronized (countLock) {
+            return switch (budgetType) {
+                case BUDGET_ITERATIONS -> started <= params.budget;
+                case BUDGET_FM_CALLS -> root.fmCallsCount <= params.budget && started <= params.budget + 1;
+                case BUDGET_COPY_CALLS -> root.copyCount <= params.budget && started <= params.budget + 1;
+                case BUDGET_FMANDCOPY_CALLS -> root.copyCount + root.fmCallsCount <= params.budget && started <= params.budget + 1;
+                default -> throw new AssertionError("Unexpected budget type " + budgetType);
+            };
+        }
+    }
+
+    /**
+     * One step of a trajectory through the tree: the node, the player who acted and the action they took, the
+     * actions (and their slots) that were available at the node on this iteration, and the virtual loss applied
+     * to the action (to slot, which is -1 if none was applied)
+     */
+    private record Step(SingleTreeNode node, int actor, AbstractAction action,
+                        List<AbstractAction> actionsAvailable, int[] slotsAvailable,
+                        int virtualLossSlot, double virtualLoss) {
+    }
+
+    private class Worker {
+        final SingleTreeNode shell;
+
+        Worker(SingleTreeNode shell) {
+            this.shell = shell;
+        }
+
+        void search(long initialisationTime) {
+            ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+            if (params.budgetType == BUDGET_TIME)
+                elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
+            int numIters = 0;
+            while (budgetRemaining(numIters, elapsedTimer)) {
+                oneIteration();
+                numIters++;
+            }
+        }
+
+        void oneIteration() {
+            AbstractGameState state = params.information == MCTSEnums.Information.Open_Loop ?
+                    root.state.copy() : root.state.copy(root.redeterminisationPlayer);
+            shell.actionsInTree = new ArrayList<>();
+            shell.actionsInRollout = new ArrayList<>();
+            shell.fmCallsCount = 0;
+            synchronized (countLock) {
+                root.copyCount++;
+            }
+
+            List<Step> trajectory = new ArrayList<>();
+            SingleTreeNode cur = root;
+            while (cur != null) {
+                AbstractAction chosen;
+                synchronized (cur) {
+                    cur.setActionsFromOpenLoopState(state);
+                    if (!state.isNotTerminalForPlayer(cur.decisionPlayer) || cur.depth >= params.maxTreeDepth
+                            || cur.actionsFromOpenLoopState.isEmpty())
+                        break;
+                    chosen = cur.treePolicyAction(true);
+                    trajectory.add(recordChoice(cur, state.getCurrentPlayer(), chosen));
+                }
+                // the action (and, in a SelfOnly tree, the opponents' replies) are applied with our own forward model
+                shell.advanceState(state, chosen, false);
+                if (!state.isNotTerminal() || (params.opponentTreePolicy.selfOnlyTree && !state.isNotTerminalForPlayer(root.decisionPlayer)))
+                    break;
+                cur = childOrExpand(cur, chosen, state);
+            }
+
+            int lastActorInTree = trajectory.isEmpty() ? root.decisionPlayer : trajectory.get(trajectory.size() - 1).actor;
+            shell.openLoopState = state;
+            double[] delta = shell.rollout(lastActorInTree);
+
+            backUp(trajectory, delta);
+            synchronized (countLock) {
+                root.fmCallsCount += shell.fmCallsCount;
+                root.rolloutActionsTaken += shell.actionsInRollout.size();
+            }
+        }
+    }
+
+    /**
+     * Records the action chosen at a node, and adds params.virtualLoss visits to it with the lowest reward seen so
+     * far. Must be called while holding the lock on the node.
+     */
+    private Step recordChoice(SingleTreeNode node, int actor, AbstractAction chosen) {
+        boolean noRewardsYet = Double.isInfinite(root.lowReward);
+        double loss = noRewardsYet ? 0.0 : root.lowReward;
+        // with normalised rewards, an action with visits needs a range to normalise by; so until the first
+        // result has been backed up there is no virtual loss.
+        // Slots are never moved or removed, so the same slot can be used to remove the loss later, even if
+        // other threads add actions to the node in the meantime
+        boolean apply = params.virtualLoss > 0 && !(noRewardsYet && params.normaliseRewards);
+        int slot = apply ? node.actionTable.slotOf(chosen) : -1;
+        if (slot != -1)
+            node.actionTable.addVisits(slot, actor, params.virtualLoss, loss);
+        return new Step(node, actor, chosen, node.actionsFromOpenLoopState, node.openLoopSlots, slot, loss);
+    }
+
+    /**
+     * @return the child of node that taking the action has led to; or null if there was none, in which case a new
+     * child is added to the tree, and selection stops there
+     */
+    private SingleTreeNode childOrExpand(SingleTreeNode node, AbstractAction chosen, AbstractGameState state) {
+        synchronized (node) {
+            SingleTreeNode[] children = node.childrenFor(chosen);
+            SingleTreeNode child = children == null ? null : children[state.getCurrentPlayer()];
+            if (child != null)
+                return child;
+            if (params.maintainMasterState) {
+                // the new node copies the state, and counts the copy on the root
+                synchronized (countLock) {
+                    node.expandNode(chosen, state);
+                }
+            } else {
+                node.expandNode(chosen, state);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the virtual loss from each node on the trajectory, and backs up the result, from the leaf upwards.
+     * Each node is locked in turn.
+     */
+    private void backUp(List<Step> trajectory, double[] delta) {
+        root.normaliseRewardsAfterIteration(delta);
+        double[] result = root.processResultsForParanoidOrSelfOnly(delta);
+        for (int i = trajectory.size() - 1; i >= 0; i--) {
+            Step step = trajectory.get(i);
+            SingleTreeNode n = step.node;
+            if (n.decisionPlayer != step.actor)
+                throw new AssertionError("We have a mismatch between the player who took the action and the player who should be acting");
+            synchronized (n) {
+                if (step.virtualLossSlot != -1)
+                    n.actionTable.addVisits(step.virtualLossSlot, step.actor, -params.virtualLoss, step.virtualLoss);
+                // other threads will have overwritten the per-iteration data on the node since our selection,
+                // so we restore ours before backing up
+                n.actionsFromOpenLoopState = step.actionsAvailable;
+                n.openLoopSlots = step.slotsAvailable;
+                result = n.backUpSingleNode(step.action, result);
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import utilities.Pair;
 
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 public class RHEAIndividual implements Comparable<RHEAIndividual> {
 
@@ -22,6 +23,9 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     IStateHeuristic heuristic;
     AbstractPlayer rolloutPolicy;
     private Random gen;               // Random generator
+    // set once this has been evaluated in parallel with others; rollouts then use gen for chance events in the game,
+    // rather than the Random of the stored state (which may be shared with other individuals)
+    private boolean rolloutsUseGen;
 
     RHEAIndividual(int L, double discountFactor, AbstractForwardModel fm, AbstractGameState gs,
                    int playerID, Random gen, IStateHeuristic heuristic,
@@ -57,6 +61,28 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         gen = I.gen;
     }
 
+    /**
+     * Sets the Random and rollout policy to use for the next evaluation (rollout or mutation), when this is one of
+     * several evaluated in parallel
+     */
+    void setEvaluationPolicy(Random gen, AbstractPlayer rolloutPolicy) {
+        this.gen = gen;
+        this.rolloutPolicy = rolloutPolicy;
+        this.rolloutsUseGen = true;
+    }
+
+    /**
+     * Replaces each game state that is already in seen (so held by another individual) with a copy, and adds the
+     * rest to seen. Stored states are only read, but reading can still update internal caches (such as the component
+     * index), so individuals that are evaluated in parallel must not share them.
+     */
+    void unshareStates(Set<AbstractGameState> seen) {
+        for (int i = 0; i <= length && i < gameStates.length; i++) {
+            if (gameStates[i] != null && !seen.add(gameStates[i]))
+                gameStates[i] = gameStates[i].copy();
+        }
+    }
+
     /**
      * Mutates this individual, by picking an index and changing all genes from that point on.
      * Updates the length of the individual in case the rollout hits game end.
@@ -104,6 +130,8 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         double previousScore = 0;
         int fmCalls = 0, copyCalls = 0;
         AbstractGameState gs = gameStates[startIndex].copy();
+        if (rolloutsUseGen)
+            gs.setRnd(gen);
 
         // This lot are a local record for use in debugging; Very useful, with no compute overhead for keeping a local copy
         AbstractGameState[] oldGameStates = new AbstractGameState[gameStates.length];
@@ -152,11 +180,11 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 while (gsCopy.isNotTerminal() && !(gsCopy.getCurrentPlayer() == playerID)) {
                     // now we fast forward through any opponent moves with a random OM
                     // TODO: Add in other opponent model options, and record other player moves for MAST
-                    List<AbstractAction> moves = fm.computeAvailableActions(gsCopy);
-                    if (moves.isEmpty()) {
+                    AbstractAction move = fm.sampleAvailableAction(gsCopy, rolloutPolicy.getParameters().actionSpace, gen);
+                    if (move == null) {
                         throw new AssertionError("No moves found in state " + gsCopy);
                     }
-                    fm.next(gsCopy, moves.get(gen.nextInt(moves.size())));
+                    fm.next(gsCopy, move);
                     fmCalls++;
                 }
                 oldGameStates[i+1] = gameStates[i+1];
@@ -23,6 +23,8 @@ public class RHEAParams extends PlayerParameters
     public boolean shiftLeft;
     public IStateHeuristic heuristic = AbstractGameState::getGameScore;
     public boolean useMAST;
+    // if more than one, the individuals in each generation are evaluated in parallel on this many threads
+    public int nThreads = 1;
 
 
     public RHEAParams() {
@@ -38,6 +40,7 @@ public class RHEAParams extends PlayerParameters
         addTunableParameter("mutationCount", 1, Arrays.asList(1, 3, 10));
         addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getGameScore);
         addTunableParameter("useMAST", false, Arrays.asList(false, true));
+        addTunableParameter("nThreads", 1);
     }
 
     @Override
@@ -54,6 +57,7 @@ public class RHEAParams extends PlayerParameters
         shiftLeft = (boolean) getParameterValue("shiftLeft");
         mutationCount = (int) getParameterValue("mutationCount");
         useMAST = (boolean) getParameterValue("useMAST");
+        nThreads = (int) getParameterValue("nThreads");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         if (heuristic instanceof TunableParameters) {
             TunableParameters tunableHeuristic = (TunableParameters) heuristic;
@@ -1,5 +1,6 @@
 package players.rhea;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
@@ -12,10 +13,13 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
-    private static final AbstractPlayer randomPlayer = new RandomPlayer();
     List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
     protected List<RHEAIndividual> population = new ArrayList<>();
     // Budgets
@@ -25,6 +29,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected int copyCalls = 0;
     protected int repairCount, nonRepairCount;
     private MASTPlayer mastPlayer;
+    private RandomPlayer randomPlayer;
+    private ForkJoinPool pool;
 
     public RHEAPlayer(RHEAParams params) {
         super(params, "RHEAPlayer");
@@ -42,6 +48,14 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         population = new ArrayList<>();
     }
 
+    @Override
+    public void finalizePlayer(AbstractGameState state) {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
         ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
@@ -63,11 +77,39 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                         .map(m -> Utils.decay(m, params.discountFactor))
                         .collect(Collectors.toList());
             }
-            mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
+            mastPlayer = new MASTPlayer(null, 1.0, 0.0, rnd.nextLong(), 0.0);
             mastPlayer.setStats(MASTStatistics);
+        } else if (randomPlayer == null || randomPlayer.getRnd() != rnd) {
+            // rollouts draw from our rnd, so that a seeded player makes the same decisions each time
+            randomPlayer = new RandomPlayer(rnd);
         }
         // Initialise individuals
-        if (params.shiftLeft && !population.isEmpty()) {
+        if (params.shiftLeft && !population.isEmpty() && params.nThreads > 1) {
+            population.forEach(i -> i.value = Double.NEGATIVE_INFINITY);  // so that any we don't have time to shift are ignored when picking an action
+            // the genomes are shifted one batch (of one per thread) at a time, so that we stop once the budget is spent
+            for (int next = 0; next < population.size() && budgetLeft(timer); next += params.nThreads) {
+                List<RHEAIndividual> batch = population.subList(next, Math.min(next + params.nThreads, population.size()));
+                List<Evaluation<Pair<Integer, Integer>>> evaluations = new ArrayList<>();
+                for (RHEAIndividual genome : batch) {
+                    System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
+                    genome.gameStates[0] = stateObs.copy();
+                    evaluations.add((fm, gen, policy) -> {
+                        genome.setEvaluationPolicy(gen, policy);
+                        return genome.rollout(fm, 0, getPlayerID(), true);
+                    });
+                }
+                // we count the calls in order, exactly as if the genomes had been shifted one at a time
+                List<Pair<Integer, Integer>> results = evaluateInParallel(evaluations);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!budgetLeft(timer)) {
+                        batch.get(i).value = Double.NEGATIVE_INFINITY;
+                        continue;
+                    }
+                    fmCalls += results.get(i).a;
+                    copyCalls += results.get(i).b;
+                }
+            }
+        } else if (params.shiftLeft && !population.isEmpty()) {
             population.forEach(i -> i.value = Double.NEGATIVE_INFINITY);  // so that any we don't have time to shift are ignored when picking an action
             for (RHEAIndividual genome : population) {
                 if (!budgetLeft(timer)) break;
@@ -78,6 +120,27 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                 fmCalls += calls.a;
                 copyCalls += calls.b;
             }
+        } else if (params.nThreads > 1) {
+            population = new ArrayList<>();
+            // as with shiftLeft, these are created one batch at a time, so that we stop once the budget is spent
+            for (int next = 0; next < params.populationSize && budgetLeft(timer); next += params.nThreads) {
+                List<Evaluation<RHEAIndividual>> evaluations = new ArrayList<>();
+                for (int i = next; i < Math.min(next + params.nThreads, params.populationSize); ++i) {
+                    AbstractGameState start = stateObs.copy();  // so that no two threads copy the same state
+                    evaluations.add((fm, gen, policy) -> {
+                        start.setRnd(gen);  // and so that chance events in the first rollout use gen
+                        return new RHEAIndividual(params.horizon, params.discountFactor, fm, start,
+                                getPlayerID(), gen, params.heuristic, policy);
+                    });
+                }
+                // we keep them for as long as the budget allows, exactly as if they had been created one at a time
+                for (RHEAIndividual individual : evaluateInParallel(evaluations)) {
+                    if (!budgetLeft(timer)) break;
+                    population.add(individual);
+                    fmCalls += individual.length;
+                    copyCalls += individual.length;
+                }
+            }
         } else {
             population = new ArrayList<>();
             for (int i = 0; i < params.populationSize; ++i) {
@@ -128,7 +191,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         RHEAParams newParams = (RHEAParams) parameters.copy();
         newParams.setRandomSeed(rnd.nextInt());
         RHEAPlayer retValue = new RHEAPlayer(newParams);
-        retValue.setForwardModel(getForwardModel().copy());
+        if (getForwardModel() != null)
+            retValue.setForwardModel(getForwardModel().copy());
         return retValue;
     }
 
@@ -248,8 +312,25 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             population.add(child);
         }
 
-        for (RHEAIndividual individual : population) {
-            Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
+        List<Pair<Integer, Integer>> parallelCalls = null;
+        if (params.nThreads > 1) {
+            Set<AbstractGameState> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Evaluation<Pair<Integer, Integer>>> evaluations = new ArrayList<>();
+            for (RHEAIndividual individual : population) {
+                // crossover and elitism share states between individuals
+                individual.unshareStates(seen);
+                evaluations.add((fm, gen, policy) -> {
+                    individual.setEvaluationPolicy(gen, policy);
+                    return individual.mutate(fm, getPlayerID(), params.mutationCount);
+                });
+            }
+            parallelCalls = evaluateInParallel(evaluations);
+        }
+
+        for (int i = 0; i < population.size(); i++) {
+            RHEAIndividual individual = population.get(i);
+            Pair<Integer, Integer> calls = parallelCalls != null ? parallelCalls.get(i) :
+                    individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
             fmCalls += calls.a;
             copyCalls += calls.b;
             repairCount += individual.repairCount;
@@ -274,6 +355,56 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     }
 
 
+    private interface Evaluation<T> {
+        T evaluate(AbstractForwardModel forwardModel, Random gen, AbstractPlayer rolloutPolicy);
+    }
+
+    /**
+     * Runs the evaluations on a fork-join pool of params.nThreads threads, and returns their results in the same order.
+     * Each thread has its own copy of the forward model. Each evaluation has its own Random, and its own rollout
+     * policy seeded from it, with the seeds drawn in order from our rnd before any are run. The results therefore do
+     * not depend on how the evaluations are scheduled, and are reproducible with a fixed seed.
+     */
+    private <T> List<T> evaluateInParallel(List<Evaluation<T>> evaluations) {
+        RHEAParams params = getParameters();
+        if (pool == null || pool.getParallelism() != params.nThreads) {
+            if (pool != null)
+                pool.shutdownNow();
+            pool = new ForkJoinPool(params.nThreads);
+        }
+        AbstractForwardModel forwardModel = getForwardModel();
+        ThreadLocal<AbstractForwardModel> threadModel = ThreadLocal.withInitial(forwardModel::copy);
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (Evaluation<T> evaluation : evaluations) {
+            long seed = rnd.nextLong();
+            tasks.add(() -> {
+                Random gen = new Random(seed);
+                AbstractPlayer rolloutPolicy;
+                if (params.useMAST) {
+                    MASTPlayer policy = new MASTPlayer(null, 1.0, 0.0, gen.nextLong(), 0.0);
+                    policy.setStats(MASTStatistics);  // only read during the evaluations
+                    rolloutPolicy = policy;
+                } else {
+                    rolloutPolicy = new RandomPlayer(new Random(gen.nextLong()));
+                }
+                return evaluation.evaluate(threadModel.get(), gen, rolloutPolicy);
+            });
+        }
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : pool.invokeAll(tasks))
+                results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     protected void MASTBackup(AbstractAction[] rolloutActions, double delta, int player) {
         for (int i = 0; i < rolloutActions.length; i++) {
             AbstractAction action = rolloutActions[i];
@@ -1,5 +1,6 @@
 package players.search;
 
+import core.interfaces.IActionHeuristic;
 import core.interfaces.IStateHeuristic;
 import players.PlayerConstants;
 import players.PlayerParameters;
@@ -15,12 +16,24 @@ public class MaxNSearchParameters extends PlayerParameters {
     protected SearchUnit searchUnit = SearchUnit.ACTION;
     protected IStateHeuristic heuristic;
     protected boolean paranoid = false;
+    // alpha-beta pruning; this uses the paranoid value of a state, so applies to two-player games and paranoid search
+    protected boolean alphaBeta = false;
+    // search to depth 1, 2, ... searchDepth, and use the deepest search that completes within the budget
+    protected boolean iterativeDeepening = false;
+    // used to order the actions at each node, best first (which makes alpha-beta prune much more)
+    protected IActionHeuristic moveOrdering = IActionHeuristic.nullReturn;
+    // the number of entries in the transposition table; 0 for none. Only used for games with hasZobristHash()
+    protected int transpositionTableSize = 0;
 
     public MaxNSearchParameters() {
         this.addTunableParameter("searchDepth", 1);
         this.addTunableParameter("searchUnit", SearchUnit.ACTION);
         this.addTunableParameter("heuristic", IStateHeuristic.class);
         this.addTunableParameter("paranoid", false);
+        this.addTunableParameter("alphaBeta", false);
+        this.addTunableParameter("iterativeDeepening", false);
+        this.addTunableParameter("moveOrdering", IActionHeuristic.nullReturn);
+        this.addTunableParameter("transpositionTableSize", 0);
     }
 
     @Override
@@ -30,9 +43,16 @@ public class MaxNSearchParameters extends PlayerParameters {
         searchUnit = (SearchUnit) getParameterValue("searchUnit");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         paranoid = (boolean) getParameterValue("paranoid");
+        alphaBeta = (boolean) getParameterValue("alphaBeta");
+        iterativeDeepening = (boolean) getParameterValue("iterativeDeepening");
+        moveOrdering = (IActionHeuristic) getParameterValue("moveOrdering");
+        transpositionTableSize = (int) getParameterValue("transpositionTableSize");
         if (heuristic == null) {
             heuristic = new GameDefaultHeuristic();
         }
+        if (moveOrdering == null) {
+            moveOrdering = IActionHeuristic.nullReturn;
+        }
         if (budgetType != PlayerConstants.BUDGET_TIME) {
             System.out.println("Warning: SearchPlayer only supports time-based budget limits. Setting to BUDGET_TIME.");
             budgetType = PlayerConstants.BUDGET_TIME;
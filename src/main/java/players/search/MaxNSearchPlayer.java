@@ -2,9 +2,9 @@ package players.search;
 
 import core.*;
 import core.actions.AbstractAction;
+import core.interfaces.IActionHeuristic;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 public class MaxNSearchPlayer extends AbstractPlayer {
     /**
@@ -28,11 +28,27 @@ public class MaxNSearchPlayer extends AbstractPlayer {
      * - TURN: D is decremented at each decision node where the turn number changes
      *
      * Additionally, the BUDGET can be specified as a cutoff for the search. If this much time passes
-     * without the search finishing, the best action found so far is returned (likely to be pretty random).
+     * without the search finishing, the best action found so far is returned (likely to be pretty random),
+     * unless iterativeDeepening is set. Then we search to depth 1, 2, ... up to searchDepth, and use the result of
+     * the deepest search that completed in time.
+     * <p></p>
+     * Further options:
+     * - alphaBeta: alpha-beta pruning. This values each state by the heuristic for this player only, with all other
+     * players trying to minimise it (so is Minimax in a two-player game, and paranoid search otherwise). With more
+     * than two players and paranoid false we use plain MaxN, as this does not support pruning in the same way.
+     * - moveOrdering: an IActionHeuristic used to search the actions at each node best-first
+     * - transpositionTableSize: if > 0, a table of this size holds the results for states (keyed by their Zobrist
+     * hash), so that each is searched only once however it is reached. It also records the best action from each
+     * state, which is searched first the next time (for example in the next iteration of iterative deepening).
      */
 
 
     private long startTime;
+    private boolean outOfTime;
+    private TranspositionTable table;
+    // the best action from the last completed iteration, searched first at the root in the next iteration
+    private AbstractAction rootFirstAction;
+
     public MaxNSearchPlayer(MaxNSearchParameters parameters) {
         super(parameters, "MinMaxSearch");
     }
@@ -42,6 +58,12 @@ public class MaxNSearchPlayer extends AbstractPlayer {
         return (MaxNSearchParameters) this.parameters;
     }
 
+    @Override
+    public void initializePlayer(AbstractGameState gameState) {
+        // a new game, so nothing in the table will be reached again
+        table = null;
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState gs, List<AbstractAction> actions) {
         // For each action we copy the state and recursively call the expand method
@@ -49,8 +71,48 @@ public class MaxNSearchPlayer extends AbstractPlayer {
         // - ACTION: always
         // - MACRO_ACTION: only when the currentPlayer() has changed as a result of applying the action
         // - TURN: only when turn number has changed as a result of applying the action
+        MaxNSearchParameters params = getParameters();
         startTime = System.currentTimeMillis();
-        return expand(gs, actions, getParameters().searchDepth).action;
+        outOfTime = false;
+        rootFirstAction = null;
+        // Without a true Zobrist hash, getZobristHash() is little better than a 32-bit hashCode(), and a collision
+        // would give a wrong value (or a wrong alpha-beta cutoff) with nothing to detect it
+        if (params.transpositionTableSize > 0 && gs.hasZobristHash()) {
+            if (table == null || table.getCapacity() < params.transpositionTableSize)
+                table = new TranspositionTable(params.transpositionTableSize);
+            table.newGeneration();
+        } else {
+            table = null;
+        }
+        // If the forward model supports undo, then we search on a single copy of the state, undoing each action
+        // on the way back up the tree, instead of copying the state for every action
+        AbstractGameState searchState = getForwardModel().supportsUndo() ? gs.copy() : gs;
+        if (!params.iterativeDeepening)
+            return search(searchState, actions, params.searchDepth).action;
+
+        AbstractAction bestAction = null;
+        for (int depth = 1; depth <= params.searchDepth; depth++) {
+            SearchResult result = search(searchState, new ArrayList<>(actions), depth);
+            if (outOfTime)
+                break;  // this iteration is incomplete, so we ignore it
+            bestAction = result.action;
+            rootFirstAction = bestAction;
+        }
+        // if not even the depth 1 search completed, we have nothing better than a random choice
+        return bestAction != null ? bestAction : actions.get(getRnd().nextInt(actions.size()));
+    }
+
+    private SearchResult search(AbstractGameState state, List<AbstractAction> actions, int searchDepth) {
+        MaxNSearchParameters params = getParameters();
+        if (params.alphaBeta && (params.paranoid || state.getNPlayers() == 2))
+            return alphaBeta(state, actions, searchDepth, 0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        return expand(state, actions, searchDepth, 0);
+    }
+
+    private boolean outOfTime() {
+        if (!outOfTime && System.currentTimeMillis() - startTime > getParameters().budget)
+            outOfTime = true;
+        return outOfTime;
     }
 
     /**
@@ -58,67 +120,211 @@ public class MaxNSearchPlayer extends AbstractPlayer {
      * The first element is the best action to take, based on the recursive search.
      * The second element is the value of the state on the assumption this best action is taken.
      */
-    protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth) {
-        MaxNSearchParameters params = getParameters();
-        if (System.currentTimeMillis() - startTime > params.budget) {
+    protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth, int ply) {
+        if (outOfTime()) {
             // out of time - return null action and a vector of zeros
             return new SearchResult(null, new double[state.getNPlayers()]);
         }
         // if we have reached the end of the search, or the state is terminal, we evaluate the state
         if (searchDepth == 0 || !state.isNotTerminal()) {
-            // when valuing a state, we need to record the full vector of values for each player
-            // as all of these need to be back-propagated up so that the relevant one can be used for decision-making
-            // if paranoid and this action belongs to another player, we assume they try to minimise our score
-            double[] values = new double[state.getNPlayers()];
-            if (params.paranoid) {
-                double value = params.heuristic.evaluateState(state, getPlayerID());
-                for (int i = 0; i < state.getNPlayers(); i++) {
-                    values[i] = i == getPlayerID() ? value : -value;
-                }
-            } else {
-                for (int i = 0; i < state.getNPlayers(); i++) {
-                    values[i] = params.heuristic.evaluateState(state, i);
-                }
+            return new SearchResult(null, evaluate(state));
+        }
+
+        long key = 0;
+        AbstractAction firstAction = ply == 0 ? rootFirstAction : null;
+        if (table != null) {
+            key = state.getZobristHash();
+            TranspositionTable.Entry entry = table.get(key);
+            if (entry != null) {
+                // At the root we always search, as we need one of the actions we have been given
+                if (ply > 0 && entry.depth() >= searchDepth)
+                    return new SearchResult(entry.bestAction(), entry.value());
+                if (firstAction == null)
+                    firstAction = entry.bestAction();
             }
-            return new SearchResult(null, values);
         }
 
         // otherwise we recurse to find the best action and value
         double bestValue = Double.NEGATIVE_INFINITY;
         double[] bestValues = new double[state.getNPlayers()];
         AbstractAction bestAction = null;
-        // we shuffle the actions so that ties are broken at random
-        Collections.shuffle(actions, getRnd());
+        actions = orderActions(state, actions, firstAction);
+        AbstractForwardModel fm = getForwardModel();
+        // with undo, state itself changes, so we record what we need from it now
+        int actingPlayer = state.getCurrentPlayer();
         for (AbstractAction action : actions) {
-            AbstractGameState stateCopy = state.copy();
-            getForwardModel().next(stateCopy, action);
-            // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
-            List<AbstractAction> nextActions = searchDepth > 0 ? getForwardModel().computeAvailableActions(stateCopy) : List.of();
-
-            int newDepth = switch (params.searchUnit) {
-                case ACTION -> searchDepth - 1;
-                case MACRO_ACTION ->
-                        state.getCurrentPlayer() != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
-                case TURN -> state.getTurnCounter() != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
-            };
-
-            // recurse - we are here just interested in the value of stateCopy, and hence of taking action
-            // We are not interested in the best action from stateCopy
-            SearchResult result = expand(stateCopy, nextActions, newDepth);
+            SearchResult result = searchChild(state, action, searchDepth, ply, fm, 0, 0);
 
             // we make the decision based on the actor at state, not the actor at stateCopy
-            if (result.value[state.getCurrentPlayer()]  > bestValue) {
+            if (result.value[actingPlayer]  > bestValue) {
+                bestAction = action;
+                bestValues = result.value;
+                bestValue = bestValues[actingPlayer];
+            }
+        }
+        if (bestAction == null) {
+            throw new AssertionError("No best action found");
+        }
+        if (table != null && !outOfTime)
+            table.put(key, searchDepth, TranspositionTable.Bound.EXACT, bestValues, bestAction);
+        return new SearchResult(bestAction, bestValues);
+    }
+
+    /**
+     * Alpha-beta search on the paranoid value of the state (the heuristic value to this player, which all others
+     * try to minimise). alpha and beta are the usual bounds on this value.
+     * The SearchResult has the same value vector as expand() would give with paranoid set.
+     */
+    protected SearchResult alphaBeta(AbstractGameState state, List<AbstractAction> actions, int searchDepth, int ply,
+                                     double alpha, double beta) {
+        if (outOfTime()) {
+            return new SearchResult(null, new double[state.getNPlayers()]);
+        }
+        if (searchDepth == 0 || !state.isNotTerminal()) {
+            return new SearchResult(null, paranoidValues(state));
+        }
+
+        int me = getPlayerID();
+        double originalAlpha = alpha, originalBeta = beta;
+        long key = 0;
+        AbstractAction firstAction = ply == 0 ? rootFirstAction : null;
+        if (table != null) {
+            key = state.getZobristHash();
+            TranspositionTable.Entry entry = table.get(key);
+            if (entry != null) {
+                if (ply > 0 && entry.depth() >= searchDepth) {
+                    double value = entry.value()[me];
+                    switch (entry.bound()) {
+                        case EXACT -> {
+                            return new SearchResult(entry.bestAction(), entry.value());
+                        }
+                        case LOWER -> alpha = Math.max(alpha, value);
+                        case UPPER -> beta = Math.min(beta, value);
+                    }
+                    if (alpha >= beta)
+                        return new SearchResult(entry.bestAction(), entry.value());
+                }
+                if (firstAction == null)
+                    firstAction = entry.bestAction();
+            }
+        }
+
+        boolean maximising = state.getCurrentPlayer() == me;
+        double bestValue = maximising ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] bestValues = null;
+        AbstractAction bestAction = null;
+        actions = orderActions(state, actions, firstAction);
+        AbstractForwardModel fm = getForwardModel();
+        for (AbstractAction action : actions) {
+            SearchResult result = searchChild(state, action, searchDepth, ply, fm, alpha, beta);
+            double value = result.value[me];
+            if (bestAction == null || (maximising ? value > bestValue : value < bestValue)) {
                 bestAction = action;
                 bestValues = result.value;
-                bestValue = bestValues[state.getCurrentPlayer()];
+                bestValue = value;
             }
+            if (maximising)
+                alpha = Math.max(alpha, bestValue);
+            else
+                beta = Math.min(beta, bestValue);
+            if (alpha >= beta)
+                break;  // the other player will never let us reach this state
         }
         if (bestAction == null) {
             throw new AssertionError("No best action found");
         }
+        if (table != null && !outOfTime) {
+            TranspositionTable.Bound bound = bestValue <= originalAlpha ? TranspositionTable.Bound.UPPER :
+                    bestValue >= originalBeta ? TranspositionTable.Bound.LOWER : TranspositionTable.Bound.EXACT;
+            table.put(key, searchDepth, bound, bestValues, bestAction);
+        }
         return new SearchResult(bestAction, bestValues);
     }
 
+    /**
+     * Applies the action to (a copy of) state, searches the resulting state, and then undoes the action (if we
+     * are using undo). alpha and beta are only used by alphaBeta().
+     */
+    private SearchResult searchChild(AbstractGameState state, AbstractAction action, int searchDepth, int ply,
+                                     AbstractForwardModel fm, double alpha, double beta) {
+        MaxNSearchParameters params = getParameters();
+        // with undo, state itself changes, so we record what we need from it now
+        int actingPlayer = state.getCurrentPlayer();
+        int turn = state.getTurnCounter();
+        AbstractGameState stateCopy;
+        UndoRecord undo = null;
+        if (fm.supportsUndo()) {
+            stateCopy = state;
+            undo = fm.nextWithUndo(stateCopy, action);
+        } else {
+            stateCopy = state.copy();
+            fm.next(stateCopy, action);
+        }
+
+        int newDepth = switch (params.searchUnit) {
+            case ACTION -> searchDepth - 1;
+            case MACRO_ACTION ->
+                    actingPlayer != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
+            case TURN -> turn != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
+        };
+        // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
+        List<AbstractAction> nextActions = newDepth > 0 && stateCopy.isNotTerminal() ?
+                fm.computeAvailableActions(stateCopy) : List.of();
+
+        // recurse - we are here just interested in the value of stateCopy, and hence of taking action
+        // We are not interested in the best action from stateCopy
+        SearchResult result = params.alphaBeta && (params.paranoid || state.getNPlayers() == 2) ?
+                alphaBeta(stateCopy, nextActions, newDepth, ply + 1, alpha, beta) :
+                expand(stateCopy, nextActions, newDepth, ply + 1);
+        if (undo != null)
+            fm.undo(state, undo);
+        return result;
+    }
+
+    /**
+     * Orders the actions to search. We shuffle them so that ties are broken at random, then (stably) sort them by
+     * the moveOrdering heuristic if there is one, and finally move firstAction (if any) to the front.
+     */
+    private List<AbstractAction> orderActions(AbstractGameState state, List<AbstractAction> actions, AbstractAction firstAction) {
+        IActionHeuristic moveOrdering = getParameters().moveOrdering;
+        if (moveOrdering == IActionHeuristic.nullReturn && firstAction == null) {
+            Collections.shuffle(actions, getRnd());
+            return actions;
+        }
+        // the list we are given may be immutable
+        List<AbstractAction> ordered = new ArrayList<>(actions);
+        Collections.shuffle(ordered, getRnd());
+        if (moveOrdering != IActionHeuristic.nullReturn) {
+            Map<AbstractAction, Double> scores = new HashMap<>();
+            for (AbstractAction action : ordered)
+                scores.put(action, moveOrdering.evaluateAction(action, state, actions));
+            ordered.sort(Comparator.comparingDouble(a -> -scores.get(a)));
+        }
+        int index = firstAction == null ? -1 : ordered.indexOf(firstAction);
+        if (index > 0)
+            ordered.add(0, ordered.remove(index));
+        return ordered;
+    }
+
+    // when valuing a state, we need to record the full vector of values for each player
+    // as all of these need to be back-propagated up so that the relevant one can be used for decision-making
+    private double[] evaluate(AbstractGameState state) {
+        MaxNSearchParameters params = getParameters();
+        if (params.paranoid)
+            return paranoidValues(state);
+        return params.heuristic.evaluateAllPlayers(state);
+    }
+
+    // if paranoid, we assume all other players try to minimise our score
+    private double[] paranoidValues(AbstractGameState state) {
+        double value = getParameters().heuristic.evaluateState(state, getPlayerID());
+        double[] values = new double[state.getNPlayers()];
+        for (int i = 0; i < state.getNPlayers(); i++) {
+            values[i] = i == getPlayerID() ? value : -value;
+        }
+        return values;
+    }
+
     @Override
     public MaxNSearchPlayer copy() {
         MaxNSearchPlayer retValue = new MaxNSearchPlayer((MaxNSearchParameters) getParameters().shallowCopy());
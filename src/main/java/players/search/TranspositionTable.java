@@ -0,0 +1,74 @@
+package players.search;
+
+import core.actions.AbstractAction;
+
+/**
+ * A fixed-size transposition table for MaxNSearchPlayer, keyed by AbstractGameState.getZobristHash(). This is
+ * only used for games for which hasZobristHash() is true, as entries are matched on the hash alone.
+ * <p>
+ * Each key maps to a single slot. A new entry replaces the one in its slot if that is from an earlier search
+ * (generation), or was searched to no greater depth; so deep results from the current search are kept in preference
+ * to shallow ones, but nothing from an old search can block the slot for ever.
+ */
+final class TranspositionTable {
+
+    enum Bound {
+        EXACT, LOWER, UPPER
+    }
+
+    /**
+     * @param depth      - the remaining search depth at which the state was searched
+     * @param bound      - whether value[player] is exact, or a lower or upper bound (alpha-beta only)
+     * @param value      - the value of the state to each player
+     * @param bestAction - the best action found from the state, used to order the moves when it is searched again
+     */
+    record Entry(long key, int depth, Bound bound, double[] value, AbstractAction bestAction, int generation) {
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+    private int generation;
+
+    /**
+     * @param capacity - the maximum number of entries; this is rounded up to a power of two
+     */
+    TranspositionTable(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Transposition table capacity must be positive, not " + capacity);
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        entries = new Entry[size];
+        mask = size - 1;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Marks the start of a new search, after which entries from earlier searches are replaced first
+     */
+    void newGeneration() {
+        generation++;
+    }
+
+    /**
+     * @return the entry for the key, or null if there is none
+     */
+    Entry get(long key) {
+        Entry entry = entries[index(key)];
+        return entry != null && entry.key() == key ? entry : null;
+    }
+
+    void put(long key, int depth, Bound bound, double[] value, AbstractAction bestAction) {
+        int i = index(key);
+        Entry old = entries[i];
+        if (old == null || old.generation() != generation || old.depth() <= depth) {
+            // we keep a copy of the action, as the original may be changed later by whoever created it
+            entries[i] = new Entry(key, depth, bound, value, bestAction == null ? null : bestAction.copy(), generation);
+        }
+    }
+}
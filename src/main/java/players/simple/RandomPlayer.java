@@ -28,6 +28,11 @@ public class RandomPlayer extends AbstractPlayer {
         return actions.get(randomAction);
     }
 
+    @Override
+    protected boolean choosesUniformlyAtRandom() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return "Random";
@@ -33,8 +33,8 @@ public class DeterminisationUtilities {
         for (Deck<C> d : decks) {
             int length = d.getSize();
             if (d instanceof PartialObservableDeck<C> pod) {
-                for (int i = 0; i < length; i++) {
-                    if (!pod.getVisibilityForPlayer(i, player) && lambda.test(pod.get(i)))
+                for (int i : pod.getHiddenIndices(player)) {
+                    if (lambda.test(pod.get(i)))
                         allCards.add(pod.get(i));
                 }
             } else {
@@ -71,8 +71,8 @@ public class DeterminisationUtilities {
         for (Deck<C> d : decks) {
             int length = d.getSize();
             if (d instanceof PartialObservableDeck<C> pod) {
-                for (int i = 0; i < length; i++) {
-                    if (!pod.getVisibilityForPlayer(i, player) && lambda.test(pod.get(i)))
+                for (int i : pod.getHiddenIndices(player)) {
+                    if (lambda.test(pod.get(i)))
                         pod.setComponent(i, allCards.draw());
                 }
             } else {
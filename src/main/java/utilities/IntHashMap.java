@@ -0,0 +1,104 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open-addressing hash map from int keys to objects.
+ * <p>
+ * This avoids the boxing of keys and the per-entry objects of a HashMap&lt;Integer, V&gt;, which matters when
+ * a map is rebuilt many times (for example once per copy of a game state).
+ * Null values are not supported; a slot with a null value is empty.
+ */
+public class IntHashMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    public IntHashMap() {
+        this(16);
+    }
+
+    public IntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key)
+                return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value for the key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("IntHashMap does not support null values");
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size * 2 > values.length)
+            resize(values.length * 2);
+        return null;
+    }
+
+    private void resize(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+        mask = newCapacity - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != null)
+                    i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+}
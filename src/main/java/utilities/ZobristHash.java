@@ -0,0 +1,38 @@
+package utilities;
+
+/**
+ * Helpers for the 64-bit incremental state hashes used by components (see Component.getZobristHash()).
+ * <p>
+ * A classic Zobrist hash XORs together a random 64-bit key for every (position, value) feature of a state, so that
+ * changing one feature only needs two XORs. Here the random table is replaced by a strong mixing function of the
+ * feature, which gives keys with the same properties without needing to enumerate all features in advance.
+ */
+public final class ZobristHash {
+
+    private ZobristHash() {
+    }
+
+    /**
+     * The SplitMix64 finaliser; a bijection on longs with good avalanche behaviour.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return the key for the given value at the given position. XOR these together for an order-independent
+     * combination in which the position still matters (e.g. the cells of a grid).
+     */
+    public static long key(long position, long value) {
+        return mix(value + mix(position + 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * @return a hash of the object (using its hashCode()), or 0 for null
+     */
+    public static long of(Object o) {
+        return o == null ? 0 : mix(o.hashCode());
+    }
+}
@@ -0,0 +1,81 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.components.Component;
+import games.GameType;
+import games.dominion.DominionConstants;
+import games.dominion.DominionGameState;
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ComponentIndexTest {
+
+    /**
+     * Plays random games, checking now and then that getComponentById() finds every component of the state and of a
+     * copy of it, and that the copy's lookups give its own components rather than the original's
+     */
+    private void checkRandomGames(GameType gameType, int nPlayers) {
+        Random rnd = new Random(42);
+        for (int g = 0; g < 3; g++) {
+            Game game = gameType.createGameInstance(nPlayers, 100 + g);
+            AbstractForwardModel fm = game.getForwardModel();
+            AbstractGameState state = game.getGameState();
+            for (int step = 0; step < 200 && state.isNotTerminal(); step++) {
+                if (step % 10 == 0) {
+                    // the copy's index is built by the first lookup
+                    AbstractGameState copy = state.copy();
+                    List<Component> components = state.getAllComponents().getComponents();
+                    assertFalse(components.isEmpty());
+                    for (Component c : components)
+                        assertSame(gameType + " step " + step, c, state.getComponentById(c.getComponentID()));
+                    for (Component c : components) {
+                        Component inCopy = copy.getComponentById(c.getComponentID());
+                        assertNotNull(gameType + " step " + step, inCopy);
+                        assertSame(copy.getAllComponents().getComponent(c.getComponentID()), inCopy);
+                    }
+                    assertNull(state.getComponentById(-12345));
+                }
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+        }
+    }
+
+    @Test
+    public void dominion() {
+        checkRandomGames(GameType.Dominion, 3);
+    }
+
+    @Test
+    public void loveLetter() {
+        checkRandomGames(GameType.LoveLetter, 4);
+    }
+
+    @Test
+    public void ticTacToe() {
+        checkRandomGames(GameType.TicTacToe, 2);
+    }
+
+    @Test
+    public void componentsAddedAfterTheIndexIsBuiltAreFound() {
+        DominionGameState state = (DominionGameState) GameType.Dominion.createGameInstance(2, 1).getGameState();
+        DominionCard inHand = state.getDeck(DominionConstants.DeckType.HAND, 0).get(0);
+        assertSame(inHand, state.getComponentById(inHand.getComponentID()));
+
+        DominionCard gold = DominionCard.create(CardType.GOLD);
+        state.getDeck(DominionConstants.DeckType.HAND, 1).add(gold);
+        assertSame(gold, state.getComponentById(gold.getComponentID()));
+
+        // and a copy finds its own copy of the new card
+        AbstractGameState copy = state.copy();
+        Component goldInCopy = copy.getComponentById(gold.getComponentID());
+        assertNotNull(goldInCopy);
+        assertSame(((DominionGameState) copy).getDeck(DominionConstants.DeckType.HAND, 1).get(0), goldInCopy);
+    }
+}
@@ -0,0 +1,121 @@
+package core;
+
+import core.components.*;
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class CopyOnWriteCopiesTest {
+
+    @Test
+    public void snapshotIsUnaffectedByChangesToOriginal() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>(List.of(1, 2, 3, 4));
+        CopyOnWriteList<Integer> copy = list.snapshot();
+        list.add(0, 0);
+        list.remove(Integer.valueOf(3));
+        list.set(1, 10);
+        assertEquals(List.of(0, 10, 2, 4), list);
+        assertEquals(List.of(1, 2, 3, 4), copy);
+    }
+
+    @Test
+    public void originalIsUnaffectedByChangesToSnapshot() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>(List.of(1, 2, 3, 4));
+        CopyOnWriteList<Integer> copy = list.snapshot();
+        CopyOnWriteList<Integer> copyOfCopy = copy.snapshot();
+        copy.removeIf(i -> i % 2 == 0);
+        copy.add(5);
+        copyOfCopy.sort((a, b) -> b - a);
+        assertEquals(List.of(1, 2, 3, 4), list);
+        assertEquals(List.of(1, 3, 5), copy);
+        assertEquals(List.of(4, 3, 2, 1), copyOfCopy);
+    }
+
+    @Test
+    public void removeIfWithNothingToRemoveDoesNotChangeList() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>(List.of(1, 2, 3));
+        CopyOnWriteList<Integer> copy = list.snapshot();
+        long version = list.getVersion();
+        assertFalse(list.removeIf(i -> i > 3));
+        assertEquals(version, list.getVersion());
+        assertTrue(list.removeIf(i -> i == 2));
+        assertEquals(List.of(1, 3), list);
+        assertEquals(List.of(1, 2, 3), copy);
+    }
+
+    @Test
+    public void gridBoardCopiesAreIndependent() {
+        GridBoard<Token> board = new GridBoard<>(3, 3, new Token("."));
+        GridBoard<Token> copy = board.copy();
+        board.setElement(0, 0, new Token("x"));
+        GridBoard<Token> copyOfCopy = copy.copy();
+        copy.setElement(1, 1, new Token("o"));
+        copyOfCopy.setElement(0, 0, new Token("o"));
+        // a row the original has already copied is shared again once the original is copied
+        GridBoard<Token> secondCopy = board.copy();
+        board.setElement(1, 0, new Token("x"));
+
+        assertEquals("x", board.getElement(0, 0).getTokenType());
+        assertEquals("x", board.getElement(1, 0).getTokenType());
+        assertEquals(".", board.getElement(1, 1).getTokenType());
+        assertEquals(".", copy.getElement(0, 0).getTokenType());
+        assertEquals("o", copy.getElement(1, 1).getTokenType());
+        assertEquals("o", copyOfCopy.getElement(0, 0).getTokenType());
+        assertEquals(".", copyOfCopy.getElement(1, 1).getTokenType());
+        assertEquals("x", secondCopy.getElement(0, 0).getTokenType());
+        assertEquals(".", secondCopy.getElement(1, 0).getTokenType());
+    }
+
+    @Test
+    public void deckCopiesAreIndependent() {
+        Deck<DominionCard> deck = new Deck<>("Test", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        for (CardType type : List.of(CardType.COPPER, CardType.SILVER, CardType.GOLD))
+            deck.add(DominionCard.create(type));
+        Deck<DominionCard> copy = deck.copy();
+        deck.draw();
+        copy.shuffle(new Random(1));
+        copy.add(DominionCard.create(CardType.ESTATE));
+        assertEquals(2, deck.getSize());
+        assertEquals(4, copy.getSize());
+        assertEquals(CardType.SILVER, deck.get(0).cardType());
+    }
+
+    @Test
+    public void concurrentCopiesOfUnchangedStateAreConsistent() throws Exception {
+        GridBoard<Token> board = new GridBoard<>(4, 4, new Token("."));
+        Deck<DominionCard> deck = new Deck<>("Test", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 20; i++)
+            deck.add(DominionCard.create(CardType.values()[i % 5]));
+        List<DominionCard> contents = new ArrayList<>(deck.getComponents());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<GridBoard<Token>>> boards = new ArrayList<>();
+            List<Future<Deck<DominionCard>>> decks = new ArrayList<>();
+            for (int t = 0; t < 100; t++) {
+                boards.add(executor.submit(() -> board.copy()));
+                decks.add(executor.submit(() -> deck.copy()));
+            }
+            // once all the copies have been made, changing the original must not change any of them
+            for (Future<GridBoard<Token>> f : boards)
+                f.get();
+            for (Future<Deck<DominionCard>> f : decks)
+                f.get();
+            board.setElement(2, 2, new Token("x"));
+            deck.draw();
+            for (Future<GridBoard<Token>> f : boards)
+                assertEquals(".", f.get().getElement(2, 2).getTokenType());
+            for (Future<Deck<DominionCard>> f : decks)
+                assertEquals(contents, f.get().getComponents());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
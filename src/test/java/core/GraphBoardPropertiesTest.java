@@ -0,0 +1,64 @@
+package core;
+
+import core.components.BoardNode;
+import core.components.GraphBoard;
+import core.properties.PropertyString;
+import org.junit.Before;
+import org.junit.Test;
+
+import static core.CoreConstants.nameHash;
+import static org.junit.Assert.*;
+
+public class GraphBoardPropertiesTest {
+
+    GraphBoard board;
+    BoardNode a, b;
+
+    @Before
+    public void setup() {
+        board = new GraphBoard("Test");
+        a = new BoardNode(2, "A");
+        b = new BoardNode(2, "B");
+        a.setProperty(new PropertyString("name", "A"));
+        b.setProperty(new PropertyString("name", "B"));
+        board.addBoardNode(a);
+        board.addBoardNode(b);
+    }
+
+    @Test
+    public void nodesAreFoundByProperty() {
+        assertSame(a, board.getNodeByStringProperty(nameHash, "A"));
+        assertSame(b, board.getNodeByProperty(nameHash, new PropertyString("B")));
+        assertNull(board.getNodeByStringProperty(nameHash, "C"));
+    }
+
+    @Test
+    public void propertyGivenAfterMissIsFound() {
+        assertNull(board.getNodeByStringProperty(nameHash, "C"));
+        b.setProperty(new PropertyString("name", "C"));
+        assertSame(b, board.getNodeByStringProperty(nameHash, "C"));
+        assertNull(board.getNodeByStringProperty(nameHash, "B"));
+    }
+
+    @Test
+    public void propertyChangedAfterLookupIsFound() {
+        assertSame(a, board.getNodeByStringProperty(nameHash, "A"));
+        a.setProperty(new PropertyString("name", "B"));
+        b.setProperty(new PropertyString("name", "A"));
+        assertSame(b, board.getNodeByStringProperty(nameHash, "A"));
+        assertSame(a, board.getNodeByProperty(nameHash, new PropertyString("B")));
+    }
+
+    @Test
+    public void copiesAreIndexedByTheirOwnProperties() {
+        assertSame(a, board.getNodeByStringProperty(nameHash, "A"));
+        assertNull(board.getNodeByStringProperty(nameHash, "C"));
+        GraphBoard copy = board.copy();
+        BoardNode copyOfA = copy.getNodeByID(a.getComponentID());
+        copyOfA.setProperty(new PropertyString("name", "C"));
+        assertSame(copyOfA, copy.getNodeByStringProperty(nameHash, "C"));
+        assertNull(copy.getNodeByStringProperty(nameHash, "A"));
+        assertSame(a, board.getNodeByStringProperty(nameHash, "A"));
+        assertNull(board.getNodeByStringProperty(nameHash, "C"));
+    }
+}
@@ -0,0 +1,68 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedActionsTest {
+
+    /**
+     * Plays random games, checking in every state where the game can count its actions that the count is the size
+     * of the list, that the k-th indexed action is the k-th action in the list, and that sampling picks the same
+     * action as picking from the list.
+     *
+     * @return the number of states in which the actions were indexed
+     */
+    private int checkRandomGames(GameType gameType, int nPlayers, int maxSteps) {
+        Random rnd = new Random(42);
+        int indexedStates = 0;
+        for (int g = 0; g < 3; g++) {
+            Game game = gameType.createGameInstance(nPlayers, 100 + g);
+            AbstractForwardModel fm = game.getForwardModel();
+            AbstractGameState state = game.getGameState();
+            ActionSpace actionSpace = ActionSpace.Default;
+            for (int step = 0; step < maxSteps && state.isNotTerminal(); step++) {
+                int count = fm.countAvailableActions(state, actionSpace);
+                List<AbstractAction> actions = fm.computeAvailableActions(state, actionSpace);
+                if (count >= 0) {
+                    String message = gameType + " game " + g + " step " + step;
+                    assertEquals(message, actions.size(), count);
+                    for (int k = 0; k < count; k++)
+                        assertEquals(message + " action " + k, actions.get(k), fm.getAvailableAction(state, actionSpace, k));
+                    long seed = rnd.nextLong();
+                    assertEquals(message, actions.get(new Random(seed).nextInt(count)),
+                            fm.sampleAvailableAction(state, actionSpace, new Random(seed)));
+                    indexedStates++;
+                }
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+        }
+        return indexedStates;
+    }
+
+    @Test
+    public void chineseCheckers() {
+        assertTrue(checkRandomGames(GameType.ChineseCheckers, 2, 300) > 0);
+    }
+
+    @Test
+    public void dominion() {
+        assertTrue(checkRandomGames(GameType.Dominion, 3, 500) > 0);
+    }
+
+    @Test
+    public void catan() {
+        assertTrue(checkRandomGames(GameType.Catan, 3, 500) > 0);
+    }
+
+    @Test
+    public void stratego() {
+        assertTrue(checkRandomGames(GameType.Stratego, 2, 300) > 0);
+    }
+}
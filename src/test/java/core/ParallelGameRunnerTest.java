@@ -0,0 +1,130 @@
+package core;
+
+import core.interfaces.IGameEvent;
+import evaluation.listeners.IGameListener;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParallelGameRunnerTest {
+
+    static class Recorder implements IGameListener {
+        final List<String> results = new ArrayList<>();
+        Game game;
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.GAME_OVER)
+                results.add(event.state.getGameTick() + Arrays.toString(event.state.getPlayerResults()));
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    static class GameRecorder extends Recorder {
+        @Override
+        public GameRecorder emptyCopy() {
+            return new GameRecorder();
+        }
+
+        @Override
+        public void merge(IGameListener other) {
+            results.addAll(((GameRecorder) other).results);
+        }
+    }
+
+    // provides emptyCopy(), but not merge()
+    static class UnmergeableRecorder extends Recorder {
+        @Override
+        public UnmergeableRecorder emptyCopy() {
+            return new UnmergeableRecorder();
+        }
+    }
+
+    public static class ConfiguredMetric extends AbstractMetric {
+        final int setting;
+
+        public ConfiguredMetric(int setting) {
+            this.setting = setting;
+        }
+
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            return false;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Collections.singleton(Event.GameEvent.GAME_OVER);
+        }
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            return new HashMap<>();
+        }
+    }
+
+    private final List<AbstractPlayer> players = List.of(new RandomPlayer(), new RandomPlayer(), new RandomPlayer());
+    private final long[] seeds = {11, 22, 33, 44, 55, 66, 77, 88};
+
+    private List<String> run(int nThreads, IGameListener... listeners) {
+        List<String> summaries = new ArrayList<>();
+        new ParallelGameRunner(nThreads).run(GameType.LoveLetter, null, players, seeds, false, List.of(listeners),
+                g -> g.getGameState().getGameTick() + Arrays.toString(g.getGameState().getPlayerResults()), summaries::add);
+        return summaries;
+    }
+
+    @Test
+    public void resultsDoNotDependOnThreads() {
+        GameRecorder sequential = new GameRecorder();
+        List<String> first = run(1, sequential);
+        GameRecorder parallel = new GameRecorder();
+        List<String> second = run(4, parallel);
+        assertEquals(seeds.length, first.size());
+        assertEquals(first, second);
+        // the listener copies are merged in the order of the seeds
+        assertEquals(first, sequential.results);
+        assertEquals(first, parallel.results);
+    }
+
+    @Test
+    public void listenerWithoutMergeRunsGamesSequentially() {
+        assertFalse(IGameListener.supportsParallelGames(new UnmergeableRecorder()));
+        UnmergeableRecorder recorder = new UnmergeableRecorder();
+        List<String> results = run(4, recorder);
+        assertEquals(results, recorder.results);
+        assertEquals(run(1), results);
+    }
+
+    @Test
+    public void metricThatCannotBeCopiedFailsBeforeAnyGame() {
+        MetricsGameListener metrics = new MetricsGameListener(new AbstractMetric[]{new ConfiguredMetric(3)});
+        GameRecorder recorder = new GameRecorder();
+        try {
+            run(4, recorder, metrics);
+            fail("Expected the metric to fail to copy");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("ConfiguredMetric"));
+        }
+        assertTrue(recorder.results.isEmpty());
+    }
+}
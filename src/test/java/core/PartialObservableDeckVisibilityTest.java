@@ -0,0 +1,292 @@
+package core;
+
+import core.components.Card;
+import core.components.PartialObservableDeck;
+import org.junit.Test;
+
+import java.util.*;
+
+import static core.CoreConstants.VisibilityMode.*;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the per-card visibility masks of PartialObservableDeck against a model with the original semantics (a
+ * boolean[] per card), through random sequences of adds, picks, shuffles, visibility changes and copies.
+ */
+public class PartialObservableDeckVisibilityTest {
+
+    static final int N_PLAYERS = 4;
+
+    // A card ID and its boolean[] visibility for each position in the deck, updated as the old implementation did
+    static class Model {
+        final boolean[] deckVisibility;
+        final CoreConstants.VisibilityMode mode;
+        List<Integer> ids = new ArrayList<>();
+        List<boolean[]> visibility = new ArrayList<>();
+
+        Model(boolean[] deckVisibility, CoreConstants.VisibilityMode mode) {
+            this.deckVisibility = deckVisibility.clone();
+            this.mode = mode;
+        }
+
+        // a deck's copy does not keep its visibility mode
+        Model copy(CoreConstants.VisibilityMode copyMode) {
+            Model copy = new Model(deckVisibility, copyMode);
+            copy.ids = new ArrayList<>(ids);
+            for (boolean[] v : visibility)
+                copy.visibility.add(v.clone());
+            return copy;
+        }
+
+        void applyVisibilityMode() {
+            if (ids.isEmpty())
+                return;
+            if (mode == TOP_VISIBLE_TO_ALL)
+                Arrays.fill(visibility.get(0), true);
+            if (mode == BOTTOM_VISIBLE_TO_ALL)
+                Arrays.fill(visibility.get(ids.size() - 1), true);
+        }
+
+        void add(int id, int index, boolean[] v) {
+            ids.add(index, id);
+            visibility.add(index, v.clone());
+            applyVisibilityMode();
+        }
+
+        void remove(int index) {
+            ids.remove(index);
+            visibility.remove(index);
+        }
+
+        void shuffle() {
+            visibility.replaceAll(ignored -> deckVisibility.clone());
+            applyVisibilityMode();
+        }
+
+        void shuffleAndKeepVisibility(Random rnd) {
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++)
+                indices.add(i);
+            Collections.shuffle(indices, rnd);
+            List<Integer> newIds = new ArrayList<>();
+            List<boolean[]> newVisibility = new ArrayList<>();
+            for (int source : indices) {
+                newIds.add(ids.get(source));
+                newVisibility.add(visibility.get(source));
+            }
+            ids = newIds;
+            visibility = newVisibility;
+            applyVisibilityMode();
+        }
+    }
+
+    private static void check(String message, Model model, PartialObservableDeck<Card> deck) {
+        assertEquals(message, model.ids.size(), deck.getSize());
+        for (int i = 0; i < deck.getSize(); i++) {
+            assertEquals(message + " card " + i, (int) model.ids.get(i), deck.get(i).getComponentID());
+            boolean[] expected = model.visibility.get(i);
+            assertArrayEquals(message + " card " + i, expected, deck.getVisibilityOfComponent(i));
+            long mask = 0;
+            for (int p = 0; p < N_PLAYERS; p++) {
+                assertEquals(message, expected[p], deck.getVisibilityForPlayer(i, p));
+                assertEquals(message, expected[p], deck.isComponentVisible(i, p));
+                if (expected[p])
+                    mask |= 1L << p;
+            }
+            assertEquals(message + " card " + i, mask, deck.getVisibilityMask(i));
+        }
+        for (int p = 0; p < N_PLAYERS; p++) {
+            List<Integer> hidden = new ArrayList<>();
+            List<Card> visible = deck.getVisibleComponents(p);
+            for (int i = 0; i < deck.getSize(); i++) {
+                if (!model.visibility.get(i)[p])
+                    hidden.add(i);
+                assertEquals(message, model.visibility.get(i)[p], visible.get(i) != null);
+            }
+            assertEquals(message + " player " + p, hidden, Arrays.stream(deck.getHiddenIndices(p)).boxed().toList());
+        }
+    }
+
+    private static boolean[] randomVisibility(Random rnd) {
+        boolean[] v = new boolean[N_PLAYERS];
+        for (int p = 0; p < N_PLAYERS; p++)
+            v[p] = rnd.nextBoolean();
+        return v;
+    }
+
+    /**
+     * Applies the same random operation to the deck and the model
+     */
+    private static void randomOperation(Random rnd, Model model, PartialObservableDeck<Card> deck) {
+        int size = deck.getSize();
+        switch (rnd.nextInt(12)) {
+            case 0, 1 -> {
+                Card c = new Card("C");
+                deck.add(c);
+                model.add(c.getComponentID(), 0, model.deckVisibility);
+            }
+            case 2 -> {
+                Card c = new Card("C");
+                int index = rnd.nextInt(size + 1);
+                deck.add(c, index);
+                model.add(c.getComponentID(), index, model.deckVisibility);
+            }
+            case 3 -> {
+                Card c = new Card("C");
+                int index = rnd.nextInt(size + 1);
+                boolean[] v = randomVisibility(rnd);
+                deck.add(c, index, v);
+                model.add(c.getComponentID(), index, v);
+            }
+            case 4 -> {
+                Card c = new Card("C");
+                deck.addToBottom(c);
+                model.add(c.getComponentID(), size, model.deckVisibility);
+            }
+            case 5 -> {
+                if (size > 0) {
+                    int index = rnd.nextInt(size);
+                    assertEquals((int) model.ids.get(index), deck.pick(index).getComponentID());
+                    model.remove(index);
+                }
+            }
+            case 6 -> {
+                if (size > 0) {
+                    int index = rnd.nextInt(size);
+                    deck.remove(index);
+                    model.remove(index);
+                }
+            }
+            case 7 -> {
+                if (size > 0) {
+                    int index = rnd.nextInt(size), player = rnd.nextInt(N_PLAYERS);
+                    boolean visible = rnd.nextBoolean();
+                    deck.setVisibilityOfComponent(index, player, visible);
+                    model.visibility.get(index)[player] = visible;
+                }
+            }
+            case 8 -> {
+                if (size > 0) {
+                    int index = rnd.nextInt(size);
+                    boolean[] v = randomVisibility(rnd);
+                    deck.setVisibilityOfComponent(index, v);
+                    // changing the array afterwards must not change the deck
+                    model.visibility.set(index, v.clone());
+                    v[0] = !v[0];
+                }
+            }
+            case 9 -> {
+                if (size > 0) {
+                    deck.shuffle(rnd);
+                    model.shuffle();
+                    // the new order is Deck's business; we only check the visibility is reset
+                    model.ids = new ArrayList<>(deck.getComponents().stream().map(Card::getComponentID).toList());
+                }
+            }
+            case 10 -> {
+                long seed = rnd.nextLong();
+                deck.shuffleAndKeepVisibility(new Random(seed));
+                model.shuffleAndKeepVisibility(new Random(seed));
+            }
+            case 11 -> {
+                // a block of cards from another deck, which keep their own visibility
+                PartialObservableDeck<Card> other = new PartialObservableDeck<>("Other", -1, new boolean[N_PLAYERS]);
+                int n = rnd.nextInt(4);
+                List<Integer> ids = new ArrayList<>();
+                List<boolean[]> vs = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    Card c = new Card("O");
+                    boolean[] v = randomVisibility(rnd);
+                    other.add(c, i, v);
+                    ids.add(c.getComponentID());
+                    vs.add(v);
+                }
+                int index = rnd.nextInt(size + 1);
+                deck.add(other, index);
+                model.ids.addAll(index, ids);
+                model.visibility.addAll(index, vs);
+                model.applyVisibilityMode();
+            }
+        }
+    }
+
+    private void checkRandomOperations(boolean[] deckVisibility, CoreConstants.VisibilityMode mode) {
+        Random rnd = new Random(17);
+        PartialObservableDeck<Card> deck = mode == MIXED_VISIBILITY ?
+                new PartialObservableDeck<>("Test", -1, deckVisibility.clone()) :
+                new PartialObservableDeck<>("Test", 0, N_PLAYERS, mode);
+        Model model = new Model(deck.getDeckVisibility(), mode);
+        // copies taken along the way, each changed independently of the deck and of each other
+        List<PartialObservableDeck<Card>> copies = new ArrayList<>();
+        List<Model> copyModels = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            randomOperation(rnd, model, deck);
+            check(mode + " step " + step, model, deck);
+            if (step % 50 == 0) {
+                PartialObservableDeck<Card> copy = deck.copy();
+                copies.add(copy);
+                copyModels.add(model.copy(copy.getVisibilityMode()));
+            }
+            if (step % 7 == 0 && !copies.isEmpty()) {
+                int c = rnd.nextInt(copies.size());
+                randomOperation(rnd, copyModels.get(c), copies.get(c));
+                // the copies' cards are copies, with the same IDs
+                check(mode + " copy " + c + " step " + step, copyModels.get(c), copies.get(c));
+            }
+        }
+        for (int c = 0; c < copies.size(); c++)
+            check(mode + " copy " + c, copyModels.get(c), copies.get(c));
+        check(mode + " at end", model, deck);
+    }
+
+    @Test
+    public void mixedVisibility() {
+        checkRandomOperations(new boolean[]{true, false, true, false}, MIXED_VISIBILITY);
+    }
+
+    @Test
+    public void topVisibleToAll() {
+        checkRandomOperations(null, TOP_VISIBLE_TO_ALL);
+    }
+
+    @Test
+    public void visibleToOwner() {
+        checkRandomOperations(null, VISIBLE_TO_OWNER);
+    }
+
+    @Test
+    public void copyForPlayerKeepsVisibility() {
+        PartialObservableDeck<Card> deck = new PartialObservableDeck<>("Test", -1, new boolean[N_PLAYERS]);
+        Model model = new Model(new boolean[N_PLAYERS], MIXED_VISIBILITY);
+        Random rnd = new Random(5);
+        for (int i = 0; i < 20; i++) {
+            Card c = new Card("C");
+            boolean[] v = randomVisibility(rnd);
+            deck.add(c, i, v);
+            model.add(c.getComponentID(), i, v);
+        }
+        PartialObservableDeck<Card> copy = deck.copy(1);
+        check("copy(1)", model, copy);
+        // changing the copy does not change the original
+        copy.setVisibilityOfComponent(3, 2, !model.visibility.get(3)[2]);
+        check("original", model, deck);
+    }
+
+    @Test
+    public void tooManyPlayersIsRejected() {
+        try {
+            new PartialObservableDeck<Card>("Test", -1, new boolean[65]);
+            fail("Expected more than 64 players to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        // but 64 is fine
+        PartialObservableDeck<Card> deck = new PartialObservableDeck<>("Test", -1, new boolean[64]);
+        deck.add(new Card("C"));
+        deck.setVisibilityOfComponent(0, 63, true);
+        assertTrue(deck.isComponentVisible(0, 63));
+        assertEquals(1L << 63, deck.getVisibilityMask(0));
+        assertArrayEquals(new int[]{0}, deck.getHiddenIndices(62));
+        assertArrayEquals(new int[0], deck.getHiddenIndices(63));
+    }
+}
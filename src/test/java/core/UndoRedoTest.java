@@ -0,0 +1,78 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class UndoRedoTest {
+
+    private static void assertSameState(String message, AbstractGameState expected, AbstractGameState actual) {
+        assertEquals(message, expected, actual);
+        assertEquals(message, expected.getGameTick(), actual.getGameTick());
+        assertEquals(message, expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        assertEquals(message, expected.getRoundCounter(), actual.getRoundCounter());
+        assertEquals(message, expected.getTurnCounter(), actual.getTurnCounter());
+        assertEquals(message, expected.getGameStatus(), actual.getGameStatus());
+        assertEquals(message, expected.getHistory().size(), actual.getHistory().size());
+        assertEquals(message, expected.getZobristHash(), actual.getZobristHash());
+    }
+
+    /**
+     * Plays random games with nextWithUndo(). After every action the action is undone and redone, and at the end of
+     * the game every action is undone in turn; each time the state must equal a copy taken at that point.
+     */
+    private void checkRandomGames(GameType gameType, int nPlayers) {
+        Random rnd = new Random(42);
+        for (int g = 0; g < 10; g++) {
+            Game game = gameType.createGameInstance(nPlayers, 100 + g);
+            AbstractForwardModel fm = game.getForwardModel();
+            assertTrue(fm.supportsUndo());
+            AbstractGameState state = game.getGameState();
+            List<AbstractGameState> before = new ArrayList<>();
+            List<UndoRecord> records = new ArrayList<>();
+            while (state.isNotTerminal()) {
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                AbstractAction action = actions.get(rnd.nextInt(actions.size()));
+                AbstractGameState start = state.copy();
+                AbstractGameState after = state.copy();
+                fm.next(after, action.copy());
+
+                UndoRecord record = fm.nextWithUndo(state, action.copy());
+                String message = gameType + " game " + g + " action " + records.size();
+                assertSameState(message, after, state);
+                fm.undo(state, record);
+                assertSameState(message + " undone", start, state);
+                record = fm.nextWithUndo(state, action.copy());
+                assertSameState(message + " redone", after, state);
+
+                before.add(start);
+                records.add(record);
+            }
+            for (int i = records.size() - 1; i >= 0; i--) {
+                fm.undo(state, records.get(i));
+                assertSameState(gameType + " game " + g + " back to action " + i, before.get(i), state);
+            }
+        }
+    }
+
+    @Test
+    public void ticTacToe() {
+        checkRandomGames(GameType.TicTacToe, 2);
+    }
+
+    @Test
+    public void connect4() {
+        checkRandomGames(GameType.Connect4, 2);
+    }
+
+    @Test
+    public void dotsAndBoxes() {
+        checkRandomGames(GameType.DotsAndBoxes, 3);
+    }
+}
@@ -0,0 +1,84 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ZobristHashTest {
+
+    /**
+     * Plays random games, checking after every action that the incrementally maintained hash is the same as the
+     * hash calculated from scratch, and that a copy of the state has the same hash
+     */
+    private void checkRandomGames(GameType gameType, int nPlayers) {
+        Random rnd = new Random(42);
+        for (int g = 0; g < 10; g++) {
+            Game game = gameType.createGameInstance(nPlayers, 100 + g);
+            AbstractForwardModel fm = game.getForwardModel();
+            AbstractGameState state = game.getGameState();
+            assertEquals(state.computeZobristHash(), state.getZobristHash());
+            int steps = 0;
+            while (state.isNotTerminal() && steps < 500) {
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+                steps++;
+                long hash = state.getZobristHash();
+                assertEquals(gameType + " after " + steps + " actions", state.computeZobristHash(), hash);
+                if (steps % 5 == 0) {
+                    AbstractGameState copy = state.copy();
+                    assertEquals(hash, copy.getZobristHash());
+                    assertEquals(hash, copy.computeZobristHash());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ticTacToe() {
+        checkRandomGames(GameType.TicTacToe, 2);
+    }
+
+    @Test
+    public void connect4() {
+        checkRandomGames(GameType.Connect4, 2);
+    }
+
+    @Test
+    public void dotsAndBoxes() {
+        checkRandomGames(GameType.DotsAndBoxes, 3);
+    }
+
+    @Test
+    public void dominionDecks() {
+        // Dominion does not opt in, but its decks still keep their hashes incrementally
+        checkRandomGames(GameType.Dominion, 3);
+    }
+
+    @Test
+    public void transpositionsHaveTheSameHash() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 1);
+        AbstractForwardModel fm = game.getForwardModel();
+        AbstractGameState first = game.getGameState().copy();
+        AbstractGameState second = game.getGameState().copy();
+        // the same four moves, in a different order for each player
+        int[][] orders = {{0, 8, 2, 6}, {2, 6, 0, 8}};
+        AbstractGameState[] states = {first, second};
+        for (int s = 0; s < 2; s++) {
+            for (int cell : orders[s]) {
+                List<AbstractAction> actions = fm.computeAvailableActions(states[s]);
+                AbstractAction move = actions.stream()
+                        .filter(a -> ((SetGridValueAction<?>) a).getY() * 3 + ((SetGridValueAction<?>) a).getX() == cell)
+                        .findFirst().orElseThrow();
+                fm.next(states[s], move);
+            }
+        }
+        assertEquals(first, second);
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+    }
+}
@@ -1,6 +1,9 @@
 package evaluation;
 
 import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
 import evaluation.tournaments.AbstractTournament;
 import evaluation.tournaments.RoundRobinTournament;
 import games.GameType;
@@ -132,4 +135,59 @@ public class RunGamesTest {
         assertEquals(66, tournament.getNGamesPlayed()[3], 15);
     }
 
+    /**
+     * Records the end of each game, in the order the games are added to the tournament
+     */
+    static class GameRecorder implements IGameListener {
+        final List<String> results = new ArrayList<>();
+        Game game;
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.GAME_OVER)
+                results.add(event.state.getGameTick() + Arrays.toString(event.state.getPlayerResults()));
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+
+        @Override
+        public GameRecorder emptyCopy() {
+            return new GameRecorder();
+        }
+
+        @Override
+        public void merge(IGameListener other) {
+            results.addAll(((GameRecorder) other).results);
+        }
+    }
+
+    @Test
+    public void parallelResultsDoNotDependOnThreads() {
+        config.put(RunArg.mode, "exhaustive");
+        config.put(RunArg.seed, 42L);
+        List<List<String>> recorded = new ArrayList<>();
+        for (int nThreads : new int[]{2, 4}) {
+            config.put(RunArg.nThreads, nThreads);
+            tournament = new RoundRobinTournament(agents, GameType.Poker, 3, null, config);
+            GameRecorder recorder = new GameRecorder();
+            tournament.addListener(recorder);
+            tournament.run();
+            recorded.add(recorder.results);
+        }
+        assertEquals(96, recorded.get(0).size());
+        assertEquals(recorded.get(0), recorded.get(1));
+    }
+
 }
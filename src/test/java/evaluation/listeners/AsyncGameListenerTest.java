@@ -0,0 +1,254 @@
+package evaluation.listeners;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.metrics.Event;
+import games.GameType;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static evaluation.listeners.AsyncGameListener.BackPressure.*;
+import static org.junit.Assert.*;
+
+public class AsyncGameListenerTest {
+
+    // records the events it is given, and holds up the first one until released
+    static class GatedRecorder implements IGameListener {
+        final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate;
+        Game game;
+
+        GatedRecorder(boolean gated) {
+            gate = new CountDownLatch(gated ? 1 : 0);
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            events.add(event);
+            threads.add(Thread.currentThread());
+        }
+
+        List<Integer> ids() {
+            synchronized (events) {
+                return events.stream().map(e -> e.playerID).toList();
+            }
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    // a state that is slow to copy, and records the thread that copied it
+    static class SlowCopyState extends TicTacToeGameState {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch copying = new CountDownLatch(1);
+        volatile Thread copiedOn;
+
+        SlowCopyState() {
+            super(new TicTacToeGameParameters(), 2);
+            new TicTacToeForwardModel().setup(this);
+        }
+
+        @Override
+        protected TicTacToeGameState _copy(int playerId) {
+            copiedOn = Thread.currentThread();
+            started.countDown();
+            try {
+                copying.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            return new TicTacToeGameState(gameParameters.copy(), getNPlayers());
+        }
+    }
+
+    private static Event event(Event.GameEvent type, int id) {
+        return Event.createEvent(type, null, null, id);
+    }
+
+    @Test
+    public void blockWaitsForRoomAndKeepsEveryEvent() throws Exception {
+        GatedRecorder recorder = new GatedRecorder(true);
+        AsyncGameListener async = new AsyncGameListener(recorder, 2, BLOCK);
+        async.onEvent(event(Event.GameEvent.TURN_OVER, 0));
+        assertTrue(recorder.entered.await(5, TimeUnit.SECONDS));
+
+        // the first event is held by the recorder, so two more fill the buffer and the fourth must wait
+        CountDownLatch fed = new CountDownLatch(1);
+        Thread feeder = new Thread(() -> {
+            for (int i = 1; i < 10; i++)
+                async.onEvent(event(Event.GameEvent.TURN_OVER, i));
+            fed.countDown();
+        });
+        feeder.start();
+        assertFalse(fed.await(200, TimeUnit.MILLISECONDS));
+
+        recorder.gate.countDown();
+        assertTrue(fed.await(5, TimeUnit.SECONDS));
+        async.flush();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), recorder.ids());
+        assertEquals(0, async.getDroppedEvents());
+        async.close();
+    }
+
+    @Test
+    public void dropDiscardsEventsWhenTheBufferIsFull() throws Exception {
+        GatedRecorder recorder = new GatedRecorder(true);
+        AsyncGameListener async = new AsyncGameListener(recorder, 2, DROP);
+        async.onEvent(event(Event.GameEvent.TURN_OVER, 0));
+        assertTrue(recorder.entered.await(5, TimeUnit.SECONDS));
+
+        // the call never waits: the first two fill the buffer, and the rest are dropped
+        for (int i = 1; i < 10; i++)
+            async.onEvent(event(Event.GameEvent.TURN_OVER, i));
+        assertEquals(7, async.getDroppedEvents());
+
+        recorder.gate.countDown();
+        async.flush();
+        assertEquals(List.of(0, 1, 2), recorder.ids());
+        async.close();
+    }
+
+    @Test
+    public void sampleKeepsOneInIntervalOnceTheBufferIsHalfFull() throws Exception {
+        GatedRecorder recorder = new GatedRecorder(true);
+        AsyncGameListener async = new AsyncGameListener(recorder, 10, SAMPLE, 3);
+        async.onEvent(event(Event.GameEvent.TURN_OVER, 0));
+        assertTrue(recorder.entered.await(5, TimeUnit.SECONDS));
+
+        // 1 to 6 are all kept, which takes the buffer over half full; then one in three are kept
+        for (int i = 1; i < 14; i++)
+            async.onEvent(event(Event.GameEvent.TURN_OVER, i));
+        assertEquals(4, async.getDroppedEvents());
+
+        recorder.gate.countDown();
+        async.flush();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 10, 13), recorder.ids());
+        async.close();
+    }
+
+    @Test
+    public void oncePerGameEventsFollowTheBufferedEventsOnTheCallingThread() throws Exception {
+        GatedRecorder recorder = new GatedRecorder(true);
+        AsyncGameListener async = new AsyncGameListener(recorder, 10, BLOCK);
+        for (int i = 0; i < 5; i++)
+            async.onEvent(event(Event.GameEvent.ACTION_CHOSEN, i));
+        assertTrue(recorder.entered.await(5, TimeUnit.SECONDS));
+
+        Thread caller = new Thread(() -> async.onEvent(event(Event.GameEvent.GAME_OVER, 5)));
+        caller.start();
+        caller.join(200);
+        // GAME_OVER waits until the buffered events have been passed on
+        assertTrue(caller.isAlive());
+        assertEquals(0, recorder.ids().size());
+
+        recorder.gate.countDown();
+        caller.join(5000);
+        assertFalse(caller.isAlive());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), recorder.ids());
+        assertSame(caller, recorder.threads.get(5));
+        assertNotSame(caller, recorder.threads.get(4));
+        async.close();
+    }
+
+    @Test(timeout = 10000)
+    public void actionTakenStatesAreCopiedOffTheCallingThread() throws Exception {
+        GatedRecorder recorder = new GatedRecorder(false);
+        AsyncGameListener async = new AsyncGameListener(recorder, 10, BLOCK);
+        SlowCopyState state = new SlowCopyState();
+
+        // the copy has not finished, but onEvent() returns
+        async.onEvent(Event.createEvent(Event.GameEvent.ACTION_TAKEN, state, null, 0));
+        state.started.await();
+        assertNotSame(Thread.currentThread(), state.copiedOn);
+
+        // beforeStateChange() waits for the copy
+        CountDownLatch waited = new CountDownLatch(1);
+        Thread game = new Thread(() -> {
+            async.beforeStateChange();
+            waited.countDown();
+        });
+        game.start();
+        assertFalse(waited.await(200, TimeUnit.MILLISECONDS));
+        state.copying.countDown();
+        assertTrue(waited.await(5, TimeUnit.SECONDS));
+
+        async.flush();
+        assertEquals(1, recorder.events.size());
+        assertNotSame(state, recorder.events.get(0).state);
+        async.close();
+    }
+
+    @Test
+    public void otherEventsAreCopiedOnTheCallingThread() {
+        GatedRecorder recorder = new GatedRecorder(false);
+        AsyncGameListener async = new AsyncGameListener(recorder, 10, BLOCK);
+        SlowCopyState state = new SlowCopyState();
+        state.copying.countDown();
+        async.onEvent(Event.createEvent(Event.GameEvent.ACTION_CHOSEN, state, null, 0));
+        assertSame(Thread.currentThread(), state.copiedOn);
+        async.close();
+    }
+
+    // records the state after every action
+    static class StateRecorder extends GatedRecorder {
+        final List<String> states = Collections.synchronizedList(new ArrayList<>());
+
+        StateRecorder() {
+            super(false);
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.ACTION_TAKEN)
+                states.add(event.state.getGameTick() + ":" + event.state.getCurrentPlayer() + ":" + event.state);
+        }
+    }
+
+    private void play(IGameListener listener) {
+        List<AbstractPlayer> players = List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)));
+        Game game = GameType.Connect4.createGameInstance(2, 42);
+        game.addListener(listener);
+        for (int i = 0; i < 3; i++) {
+            game.reset(players, 42 + i);
+            game.run();
+        }
+    }
+
+    @Test
+    public void gamesSeeTheSameStatesAsASynchronousListener() {
+        StateRecorder direct = new StateRecorder();
+        play(direct);
+        StateRecorder wrapped = new StateRecorder();
+        AsyncGameListener async = new AsyncGameListener(wrapped, 4, BLOCK);
+        play(async);
+        async.close();
+        assertFalse(direct.states.isEmpty());
+        assertEquals(direct.states, wrapped.states);
+    }
+}
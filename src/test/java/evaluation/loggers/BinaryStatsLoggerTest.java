@@ -0,0 +1,131 @@
+package evaluation.loggers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static evaluation.loggers.BinaryStatsLogger.*;
+import static org.junit.Assert.*;
+
+public class BinaryStatsLoggerTest {
+
+    File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("BinaryStatsLoggerTest", ".bin");
+        file.delete();
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    private Map<String, Object> row(Object turn, Object score, Object value) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("Turn", turn);
+        data.put("Score", score);
+        data.put("Value", value);
+        return data;
+    }
+
+    private List<double[]> readRows() throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        try (BinaryDataReader reader = new BinaryDataReader(file.getPath())) {
+            reader.forEachRow(r -> rows.add(r.clone()));
+        }
+        return rows;
+    }
+
+    @Test
+    public void valuesAreReadBackAsWritten() throws IOException {
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), false);
+        int nRows = BLOCK_ROWS + 10;  // so that there is more than one block
+        for (int i = 0; i < nRows; i++) {
+            logger.record(row(i, i * 0.5, i % 3 == 0 ? null : (double) -i));
+            if (i == 5)
+                logger.processDataAndNotFinish();
+        }
+        logger.processDataAndFinish();
+
+        assertTrue(BinaryDataReader.isBinaryFile(file.getPath()));
+        try (BinaryDataReader reader = new BinaryDataReader(file.getPath())) {
+            assertArrayEquals(new String[]{"Turn", "Score", "Value"}, reader.getHeader());
+            assertArrayEquals(new byte[]{INT32, FLOAT64, FLOAT64}, reader.getTypes());
+            assertEquals(nRows, reader.getRowCount());
+        }
+        List<double[]> rows = readRows();
+        assertEquals(nRows, rows.size());
+        for (int i = 0; i < nRows; i++) {
+            double[] expected = {i, i * 0.5, i % 3 == 0 ? Double.NaN : -i};
+            assertArrayEquals(expected, rows.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void missingIntegersAreReadAsNaN() throws IOException {
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), false);
+        logger.record(row(1, 1.0, 1.0));
+        logger.record(row(null, 2.0, 2.0));
+        logger.record(row(Integer.MAX_VALUE, 3.0, 3.0));
+        logger.processDataAndFinish();
+
+        List<double[]> rows = readRows();
+        assertEquals(1.0, rows.get(0)[0], 0.0);
+        assertTrue(Double.isNaN(rows.get(1)[0]));
+        assertEquals(Integer.MAX_VALUE, rows.get(2)[0], 0.0);
+    }
+
+    @Test
+    public void appendedRowsFollowTheExistingOnes() throws IOException {
+        BinaryStatsLogger first = new BinaryStatsLogger(file.getPath(), true);
+        first.record(row(1, 1.5, 2.5));
+        first.processDataAndFinish();
+        BinaryStatsLogger second = new BinaryStatsLogger(file.getPath(), true);
+        second.record(row(2, 3.5, 4.5));
+        second.processDataAndFinish();
+
+        List<double[]> rows = readRows();
+        assertEquals(2, rows.size());
+        assertArrayEquals(new double[]{1, 1.5, 2.5}, rows.get(0), 0.0);
+        assertArrayEquals(new double[]{2, 3.5, 4.5}, rows.get(1), 0.0);
+    }
+
+    @Test
+    public void integralDoublesCanBeRecordedInAnIntegerColumn() throws IOException {
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), false);
+        logger.record(row(1, 1.0, 1.0));
+        logger.record(row(4.0, 2.0, 2.0));
+        logger.record(row(7L, 3.0, 3.0));
+        logger.processDataAndFinish();
+
+        List<double[]> rows = readRows();
+        assertEquals(4.0, rows.get(1)[0], 0.0);
+        assertEquals(7.0, rows.get(2)[0], 0.0);
+    }
+
+    @Test
+    public void nonIntegralValuesAreNotTruncated() {
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), false);
+        logger.record(row(1, 1.0, 1.0));
+        try {
+            logger.record(row(2.5, 2.0, 2.0));
+            fail("Expected 2.5 to be rejected in an integer column");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Turn"));
+        }
+        try {
+            logger.record(row(1L << 40, 2.0, 2.0));
+            fail("Expected a value too large for an int to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        } finally {
+            logger.processDataAndFinish();
+        }
+    }
+}
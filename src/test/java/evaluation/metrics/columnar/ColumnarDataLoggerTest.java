@@ -0,0 +1,200 @@
+package evaluation.metrics.columnar;
+
+import core.interfaces.IGameEvent;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ColumnarDataLoggerTest {
+
+    public static class TestMetric extends AbstractMetric {
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            return false;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Collections.singleton(Event.GameEvent.GAME_OVER);
+        }
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            Map<String, Class<?>> columns = new LinkedHashMap<>();
+            columns.put("Name", String.class);
+            columns.put("Count", Integer.class);
+            columns.put("Score", Double.class);
+            columns.put("Won", Boolean.class);
+            return columns;
+        }
+    }
+
+    // has one more column than TestMetric
+    public static class ExtraMetric extends TestMetric {
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            Map<String, Class<?>> columns = super.getColumns(nPlayersPerGame, playerNames);
+            columns.put("Extra", String.class);
+            return columns;
+        }
+    }
+
+    private final List<ColumnarDataLogger> loggers = new ArrayList<>();
+
+    @After
+    public void cleanup() {
+        // deletes the spool files
+        loggers.forEach(ColumnarDataLogger::reset);
+    }
+
+    private ColumnarDataLogger logger(int batchSize, boolean compress) {
+        ColumnarDataLogger logger = new ColumnarDataLogger(new TestMetric(), batchSize, compress);
+        logger.init(null, 2, Set.of("A", "B"));
+        loggers.add(logger);
+        return logger;
+    }
+
+    // the values of row i; every column has some missing values, and the strings repeat
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : new TestMetric().getDefaultColumns().keySet())
+            row.put(column, column.equals("Tick") ? Integer.valueOf(i) : column.equals("GameID") ? "Game" + (i / 7) : null);
+        String[] names = {"alpha", "", "βeta ünïcode", "alpha"};
+        row.put("Name", i % 5 == 4 ? null : names[i % names.length]);
+        row.put("Count", i % 3 == 2 ? null : i * 1000 - 50000);
+        row.put("Score", i % 4 == 3 ? null : i % 4 == 1 ? Double.NaN : i / 3.0);
+        row.put("Won", i % 6 == 5 ? null : i % 2 == 0);
+        return row;
+    }
+
+    private static void record(ColumnarDataLogger logger, Map<String, Object> row) {
+        row.forEach(logger::addData);
+    }
+
+    // all the rows read back, with only the given columns (or all)
+    private static List<Map<String, Object>> readBack(ColumnarDataLogger logger, Set<String> columns) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        logger.forEachBlock(columns, block -> {
+            for (int i = 0; i < block.nRows(); i++) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (Map.Entry<String, Object[]> column : block.columns().entrySet())
+                    row.put(column.getKey(), column.getValue()[i]);
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    private void checkRoundTrip(int batchSize, boolean compress) {
+        ColumnarDataLogger logger = logger(batchSize, compress);
+        int nRows = 53;  // not a multiple of the batch size, so the last rows are still in memory
+        List<Map<String, Object>> expected = new ArrayList<>();
+        for (int i = 0; i < nRows; i++) {
+            expected.add(row(i));
+            record(logger, row(i));
+        }
+        assertEquals(nRows, logger.rowCount());
+        List<Map<String, Object>> rows = readBack(logger, null);
+        assertEquals(nRows, rows.size());
+        for (int i = 0; i < nRows; i++)
+            assertEquals("Row " + i, expected.get(i), rows.get(i));
+    }
+
+    @Test
+    public void compressedRoundTrip() {
+        checkRoundTrip(10, true);
+    }
+
+    @Test
+    public void uncompressedRoundTrip() {
+        checkRoundTrip(10, false);
+    }
+
+    @Test
+    public void singleRowBlocks() {
+        checkRoundTrip(1, true);
+    }
+
+    @Test
+    public void allInOneBlock() {
+        checkRoundTrip(1000, false);
+    }
+
+    @Test
+    public void onlyTheRequestedColumnsAreRead() {
+        ColumnarDataLogger logger = logger(8, true);
+        for (int i = 0; i < 20; i++)
+            record(logger, row(i));
+        List<Map<String, Object>> rows = readBack(logger, Set.of("Tick", "Name"));
+        assertEquals(20, rows.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Set.of("Tick", "Name"), rows.get(i).keySet());
+            assertEquals(i, rows.get(i).get("Tick"));
+            assertEquals(row(i).get("Name"), rows.get(i).get("Name"));
+        }
+    }
+
+    @Test
+    public void mergeAppendsTheOtherLoggersRows() {
+        ColumnarDataLogger first = logger(4, true);
+        ColumnarDataLogger second = logger(4, false);
+        for (int i = 0; i < 10; i++)
+            record(first, row(i));
+        for (int i = 10; i < 17; i++)
+            record(second, row(i));
+        first.merge(second);
+        assertEquals(17, first.rowCount());
+        assertEquals(0, second.rowCount());
+        List<Map<String, Object>> rows = readBack(first, null);
+        for (int i = 0; i < 17; i++)
+            assertEquals("Row " + i, row(i), rows.get(i));
+
+        // and both are still usable
+        record(first, row(17));
+        assertEquals(row(17), readBack(first, null).get(17));
+        second.init(null, 2, Set.of("A", "B"));
+        record(second, row(0));
+        assertEquals(List.of(row(0)), readBack(second, null));
+    }
+
+    @Test
+    public void columnsOnlyInOneMergedLoggerAreMissingFromTheOthersRows() {
+        ColumnarDataLogger first = logger(4, true);
+        ColumnarDataLogger second = new ColumnarDataLogger(new ExtraMetric(), 4, true);
+        second.init(null, 2, Set.of("A", "B"));
+        loggers.add(second);
+        record(first, row(0));
+        Map<String, Object> extra = row(1);
+        extra.put("Extra", "more");
+        record(second, extra);
+        first.merge(second);
+        assertEquals(String.class, first.columnTypes.get("Extra"));
+        List<Map<String, Object>> rows = readBack(first, null);
+        assertEquals(row(0), rows.get(0));
+        assertEquals(extra, rows.get(1));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        ColumnarDataLogger logger = logger(4, true);
+        for (int i = 0; i < 6; i++)
+            record(logger, row(i));
+        ColumnarDataLogger copy = (ColumnarDataLogger) logger.copy();
+        loggers.add(copy);
+        record(logger, row(6));
+        record(copy, row(100));
+        List<Map<String, Object>> original = readBack(logger, null);
+        List<Map<String, Object>> copied = readBack(copy, null);
+        assertEquals(7, original.size());
+        assertEquals(7, copied.size());
+        assertEquals(original.subList(0, 6), copied.subList(0, 6));
+        assertEquals(row(6), original.get(6));
+        assertEquals(row(100), copied.get(6));
+    }
+}
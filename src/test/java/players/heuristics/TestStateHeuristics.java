@@ -1,5 +1,7 @@
 package players.heuristics;
 
+import core.AbstractGameState;
+import core.CoreConstants;
 import core.actions.AbstractAction;
 import games.dominion.DominionFGParameters;
 import games.dominion.DominionForwardModel;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestStateHeuristics {
 
@@ -70,6 +73,40 @@ public class TestStateHeuristics {
         assertEquals(36.2, linearStateHeuristic.evaluateState(domState, 1), 0.01);
     }
 
+    @Test
+    public void batchEvaluationUsesDefaultOnlyForTerminalStates() {
+        int[] defaultCalls = new int[1];
+        LinearStateHeuristic linearStateHeuristic = new LinearStateHeuristic(dominionFeaturedReduced,
+                "src/test/java/players/heuristics/DominionFeatureWeights.json",
+                new PureScoreHeuristic() {
+                    @Override
+                    public double evaluateState(AbstractGameState gs, int playerId) {
+                        defaultCalls[0]++;
+                        return super.evaluateState(gs, playerId) - 1000.0;
+                    }
+                });
+        DominionGameState afterBuy = (DominionGameState) domState.copy();
+        fm.next(afterBuy, new EndPhase(DominionGameState.DominionGamePhase.Play));
+        fm.next(afterBuy, new BuyCard(CardType.SILVER, 0));
+        DominionGameState ended = (DominionGameState) domState.copy();
+        ended.setGameStatus(CoreConstants.GameResult.GAME_END);
+        AbstractGameState[] states = {domState, ended, afterBuy, ended};
+
+        double[] batch = linearStateHeuristic.evaluateStates(states, 0);
+        assertEquals(2, defaultCalls[0]);
+        for (int i = 0; i < states.length; i++)
+            assertEquals(linearStateHeuristic.evaluateState(states[i], 0), batch[i], 1e-9);
+        assertEquals(36.2, batch[0], 0.01);
+        assertEquals(6.6, batch[2], 0.01);
+        assertTrue(batch[1] < -900);
+
+        // and with no terminal states, the default is not used at all
+        defaultCalls[0] = 0;
+        double[] nonTerminal = linearStateHeuristic.evaluateStates(new AbstractGameState[]{domState, afterBuy}, 1);
+        assertEquals(0, defaultCalls[0]);
+        assertEquals(36.2, nonTerminal[1], 0.01);
+    }
+
     @Test
     public void testLogisticStateHeuristic() {
         LogisticStateHeuristic logisticStateHeuristic = new LogisticStateHeuristic(dominionFeaturedReduced,
@@ -0,0 +1,159 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.Game;
+import games.GameType;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.DominionGameState;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.Test;
+import players.PlayerConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DeterminisationSamplerTests {
+
+    /**
+     * A state that counts the redeterminisations made of it (and its copies), and can be set to fail to make them
+     */
+    static class CountingState extends TicTacToeGameState {
+        final AtomicInteger redeterminisations;
+        final boolean fail;
+
+        CountingState(AbstractParameters params, AtomicInteger redeterminisations, boolean fail) {
+            super(params, 2);
+            this.redeterminisations = redeterminisations;
+            this.fail = fail;
+            new TicTacToeForwardModel().setup(this);
+        }
+
+        @Override
+        protected TicTacToeGameState _copy(int playerId) {
+            if (playerId != -1) {
+                if (fail)
+                    throw new IllegalStateException("Cannot redeterminise");
+                redeterminisations.incrementAndGet();
+            }
+            return new CountingState(getGameParameters(), redeterminisations, fail);
+        }
+    }
+
+    @Test
+    public void backgroundThreadsRedeterminiseTheRoot() {
+        DominionGameState root = (DominionGameState) GameType.Dominion.createGameInstance(3, 404).getGameState();
+        AbstractGameState original = root.copy();
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 2, 4, 1);
+        List<DominionGameState> samples = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++)
+                samples.add((DominionGameState) sampler.next());
+        } finally {
+            sampler.stop();
+        }
+        for (DominionGameState sample : samples) {
+            assertNotSame(root, sample);
+            // player 0 can see their hand, but not the order of their draw pile
+            assertEquals(root.getDeck(DeckType.HAND, 0), sample.getDeck(DeckType.HAND, 0));
+            assertEquals(root.getDeck(DeckType.DRAW, 0).getSize(), sample.getDeck(DeckType.DRAW, 0).getSize());
+        }
+        assertTrue(samples.stream().anyMatch(s -> !s.getDeck(DeckType.DRAW, 0).equals(samples.get(0).getDeck(DeckType.DRAW, 0))));
+        assertEquals(original, root);
+    }
+
+    @Test
+    public void eachRedeterminisationIsReused() {
+        AtomicInteger redeterminisations = new AtomicInteger();
+        CountingState root = new CountingState(new TicTacToeGameParameters(), redeterminisations, false);
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 0, 4, 3);
+        List<AbstractGameState> samples = new ArrayList<>();
+        for (int i = 0; i < 9; i++)
+            samples.add(sampler.next());
+        sampler.stop();
+        assertEquals(3, redeterminisations.get());
+        // each use is a different copy, so the search can change it
+        for (int i = 0; i < samples.size(); i++)
+            for (int j = 0; j < i; j++)
+                assertNotSame(samples.get(i), samples.get(j));
+    }
+
+    @Test
+    public void redeterminisationsAndCopiesUsedAreCounted() {
+        CountingState root = new CountingState(new TicTacToeGameParameters(), new AtomicInteger(), false);
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 0, 4, 3);
+        for (int i = 0; i < 9; i++)
+            sampler.next();
+        // three redeterminisations, each of which is copied twice
+        assertEquals(9, sampler.takeCopiesUsed());
+        assertEquals(0, sampler.takeCopiesUsed());
+        sampler.stop();
+    }
+
+    @Test
+    public void backgroundRedeterminisationsAreCountedOnlyWhenUsed() throws InterruptedException {
+        AtomicInteger redeterminisations = new AtomicInteger();
+        CountingState root = new CountingState(new TicTacToeGameParameters(), redeterminisations, false);
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 2, 4, 1);
+        try {
+            for (int i = 0; i < 10; i++)
+                sampler.next();
+            Thread.sleep(20);
+        } finally {
+            sampler.stop();
+        }
+        assertTrue(redeterminisations.get() > 10);
+        assertEquals(10, sampler.takeCopiesUsed());
+    }
+
+    @Test
+    public void copyBudgetIncludesBackgroundRedeterminisations() {
+        MCTSParams params = new MCTSParams();
+        params.setParameterValue("information", MCTSEnums.Information.Information_Set);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_COPY_CALLS);
+        params.setParameterValue("budget", 200);
+        params.setParameterValue("determinisationThreads", 2);
+        params.setParameterValue("determinisationReuse", 4);
+        MCTSPlayer player = new MCTSPlayer(params);
+        Game game = GameType.Dominion.createGameInstance(3, 404);
+        player.setForwardModel(game.getForwardModel());
+        AbstractGameState state = game.getGameState();
+        player._getAction(state, game.getForwardModel().computeAvailableActions(state));
+        // the search stops once it has used more copies than the budget, and one iteration uses at most three
+        // (a redeterminisation, a copy of it, and one of the state when expanding the tree)
+        assertTrue(player.root.copyCount > 200);
+        assertTrue(player.root.copyCount <= 203);
+    }
+
+    @Test
+    public void noRedeterminisationsAreMadeAfterStop() throws InterruptedException {
+        AtomicInteger redeterminisations = new AtomicInteger();
+        CountingState root = new CountingState(new TicTacToeGameParameters(), redeterminisations, false);
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 2, 2, 1);
+        for (int i = 0; i < 10; i++)
+            assertNotNull(sampler.next());
+        sampler.stop();
+        int made = redeterminisations.get();
+        Thread.sleep(50);
+        assertEquals(made, redeterminisations.get());
+    }
+
+    @Test
+    public void failureOnBackgroundThreadIsRethrown() {
+        CountingState root = new CountingState(new TicTacToeGameParameters(), new AtomicInteger(), true);
+        DeterminisationSampler sampler = new DeterminisationSampler(root, 0, 1, 4, 1);
+        try {
+            sampler.next();
+            fail("Expected the failure to redeterminise to be rethrown");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            sampler.stop();
+        }
+    }
+}
@@ -12,10 +12,6 @@ public class STNWithTestInstrumentation extends SingleTreeNode {
     }
 
 
-    public ActionStats getActionStats(AbstractAction action) {
-        return actionValues.get(action);
-    }
-
     public AbstractAction treePolicyAction(boolean useExploration) {
         return super.treePolicyAction(useExploration);
     }
@@ -0,0 +1,158 @@
+package players.mcts;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static players.mcts.MCTSEnums.TTReplacement.*;
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    // keys with the same hash go to the same bucket
+    record Key(int hash, int id) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static MCGSNode node(int depth, int visits) {
+        MCGSNode node = new MCGSNode();
+        node.depth = depth;
+        node.nVisits = visits;
+        return node;
+    }
+
+    // the smallest table: two buckets of BUCKET_SIZE, so it is full size from the start
+    private static TranspositionTable smallTable(MCTSEnums.TTReplacement replacement) {
+        TranspositionTable table = new TranspositionTable(1, replacement);
+        assertEquals(2 * TranspositionTable.BUCKET_SIZE, table.getCapacity());
+        return table;
+    }
+
+    // fills the bucket for hash 0, with the given depths and visits
+    private static Key[] fillBucket(TranspositionTable table, int[] depths, int[] visits) {
+        Key[] keys = new Key[TranspositionTable.BUCKET_SIZE];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Key(0, i);
+            table.put(keys[i], node(depths[i], visits[i]));
+        }
+        return keys;
+    }
+
+    // adds the new key to the full bucket, and returns the one of the given keys that it replaced
+    private static Key evicted(TranspositionTable table, Key[] keys, Key newKey) {
+        MCGSNode newNode = node(0, 0);
+        assertNull(table.put(newKey, newNode));
+        assertSame(newNode, table.get(newKey));
+        assertEquals(keys.length, table.size());
+        Key gone = null;
+        for (Key k : keys) {
+            if (!table.containsKey(k)) {
+                assertNull("More than one node was evicted", gone);
+                gone = k;
+            }
+        }
+        assertNotNull("Nothing was evicted", gone);
+        return gone;
+    }
+
+    @Test
+    public void putReplacesTheNodeForAnExistingKey() {
+        TranspositionTable table = new TranspositionTable(100, Depth);
+        MCGSNode first = node(1, 1), second = node(2, 2);
+        assertNull(table.put(new Key(7, 1), first));
+        assertSame(first, table.put(new Key(7, 1), second));
+        assertEquals(1, table.size());
+        assertSame(second, table.get(new Key(7, 1)));
+        assertSame(second, table.remove(new Key(7, 1)));
+        assertEquals(0, table.size());
+        assertNull(table.get(new Key(7, 1)));
+    }
+
+    @Test
+    public void growingKeepsEveryNode() {
+        // well below capacity (where no bucket of the full-size table overflows), nothing is evicted as it grows
+        TranspositionTable table = new TranspositionTable(1 << 20, Depth);
+        int n = 20000;
+        MCGSNode[] nodes = new MCGSNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = node(i, i);
+            table.put(new Key(i * 31, i), nodes[i]);
+        }
+        assertEquals(n, table.size());
+        for (int i = 0; i < n; i++)
+            assertSame(nodes[i], table.get(new Key(i * 31, i)));
+        Set<Object> seen = new HashSet<>();
+        table.forEach((k, v) -> seen.add(k));
+        assertEquals(n, seen.size());
+        assertEquals(n, table.entrySet().size());
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.containsKey(new Key(0, 0)));
+    }
+
+    @Test
+    public void sizeIsBoundedByCapacity() {
+        TranspositionTable table = new TranspositionTable(1000, Visits);
+        for (int i = 0; i < 10000; i++)
+            table.put(new Key(i, i), node(1, i));
+        assertTrue(table.size() <= table.getCapacity());
+        // the latest node is always added
+        assertTrue(table.containsKey(new Key(9999, 9999)));
+    }
+
+    @Test
+    public void depthEvictsTheDeepestNode() {
+        TranspositionTable table = smallTable(Depth);
+        Key[] keys = fillBucket(table, new int[]{2, 5, 1, 3}, new int[]{1, 1, 1, 1});
+        assertEquals(keys[1], evicted(table, keys, new Key(0, 99)));
+    }
+
+    @Test
+    public void visitsEvictsTheLeastVisitedNode() {
+        TranspositionTable table = smallTable(Visits);
+        Key[] keys = fillBucket(table, new int[]{1, 1, 1, 1}, new int[]{10, 4, 3, 8});
+        assertEquals(keys[2], evicted(table, keys, new Key(0, 99)));
+    }
+
+    @Test
+    public void lruEvictsTheLeastRecentlyUsedNode() {
+        TranspositionTable table = smallTable(LRU);
+        Key[] keys = fillBucket(table, new int[]{1, 1, 1, 1}, new int[]{1, 1, 1, 1});
+        table.get(keys[0]);
+        table.get(keys[2]);
+        assertEquals(keys[1], evicted(table, keys, new Key(0, 99)));
+    }
+
+    @Test
+    public void olderGenerationsAreEvictedFirst() {
+        TranspositionTable table = smallTable(Depth);
+        Key[] keys = fillBucket(table, new int[]{4, 3, 1, 2}, new int[]{1, 1, 1, 1});
+        table.newGeneration();
+        // the deep nodes are used in the new search, so the deeper of the older ones goes
+        table.get(keys[0]);
+        table.get(keys[1]);
+        assertEquals(table.getGeneration(), table.generationOf(keys[0]));
+        assertTrue(table.generationOf(keys[3]) < table.getGeneration());
+        Key gone = evicted(table, keys, new Key(0, 99));
+        assertEquals(keys[3], gone);
+
+        // and then the other older one, even though it is shallower than those in use
+        Key[] remaining = {keys[0], keys[1], keys[2], new Key(0, 99)};
+        assertEquals(keys[2], evicted(table, remaining, new Key(0, 100)));
+    }
+
+    @Test
+    public void theRootIsNeverEvicted() {
+        TranspositionTable table = smallTable(Depth);
+        Key[] keys = fillBucket(table, new int[]{1, 5, 2, 3}, new int[]{1, 1, 1, 1});
+        MCGSNode root = table.get(keys[1]);
+        root.root = root;
+        table.newGeneration();
+        assertEquals(keys[3], evicted(table, keys, new Key(0, 99)));
+        assertSame(root, table.get(keys[1]));
+    }
+}
@@ -107,7 +107,8 @@ public class TreeReuseMCGSTests {
         // After the next decision is taken we check that the new root node is not the same as the old one; and that the old root node still exists.
         // And also that the number of visits to this node is 200 plus the number of visits to the old root node....
         // [as we don't prune this until the *next* decision is taken]
-        // After the action is taken we confirm that the old root node no longer exists in the tree (i.e. that we do prune states)
+        // After the action is taken we confirm that the old root node is no longer in use (it ages out of the transposition
+        // table, rather than being pruned straight away)
         MCGSNode[] oldRoots = new MCGSNode[2];
         Object[] oldKeys = new Object[]{null, null};
         Object[] oldOldKeys = new Object[]{null, null};
@@ -155,9 +156,12 @@ public class TreeReuseMCGSTests {
                         }
                         System.out.println("Visits: " + newRoot.getVisits());
                         assertEquals(oldVisits[0] + paramsOne.budget, newRoot.getVisits());
-                        // and check older root is no longer in the tree
+                        // and check older root is no longer in use. It is not removed from the table, but has not
+                        // been used since the root moved on, so it will be evicted before anything from this search
                         if (oldOldOldKeys[currentPlayer] != null) {
-                            assertFalse(newRoot.getTranspositionMap().containsKey(oldOldOldKeys[currentPlayer]));
+                            TranspositionTable table = newRoot.getTranspositionMap();
+                            if (table.containsKey(oldOldOldKeys[currentPlayer]))
+                                assertTrue(table.generationOf(oldOldOldKeys[currentPlayer]) < table.getGeneration());
                         }
                         // then for each node that was
                         Map<Object, Integer> visitMapAfterAction = newRoot.getTranspositionMap().entrySet().stream()
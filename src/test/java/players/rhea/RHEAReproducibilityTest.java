@@ -0,0 +1,48 @@
+package players.rhea;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.ParallelGameRunner;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RHEAReproducibilityTest {
+
+    private List<String> playCantStop(int nThreads, boolean shiftLeft) {
+        RHEAParams params = new RHEAParams();
+        params.setParameterValue("nThreads", nThreads);
+        params.setParameterValue("shiftLeft", shiftLeft);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_FM_CALLS);
+        params.setParameterValue("budget", 500);
+        // the copies have their Random seeded from the seed given
+        List<AbstractPlayer> players = ParallelGameRunner.copyPlayers(List.of(new RHEAPlayer(params), new RandomPlayer()), 42);
+        Game game = GameType.CantStop.createGameInstance(2, 101);
+        game.reset(players);
+        game.run();
+        return game.getGameState().getHistoryAsText();
+    }
+
+    @Test
+    public void sequentialGamesAreReproducible() {
+        List<String> first = playCantStop(1, false);
+        assertFalse(first.isEmpty());
+        assertEquals(first, playCantStop(1, false));
+    }
+
+    @Test
+    public void sequentialGamesWithShiftLeftAreReproducible() {
+        assertEquals(playCantStop(1, true), playCantStop(1, true));
+    }
+
+    @Test
+    public void parallelGamesAreReproducible() {
+        assertEquals(playCantStop(3, false), playCantStop(3, false));
+        assertEquals(playCantStop(3, true), playCantStop(3, true));
+    }
+}
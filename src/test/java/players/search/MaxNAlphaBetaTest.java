@@ -0,0 +1,116 @@
+package players.search;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MaxNAlphaBetaTest {
+
+    // records the value of the root of the last search, and has a fixed random seed for breaking ties
+    static class RecordingPlayer extends MaxNSearchPlayer {
+        SearchResult rootResult;
+
+        RecordingPlayer(MaxNSearchParameters params) {
+            super(params);
+        }
+
+        void reseed(long seed) {
+            rnd = new Random(seed);
+        }
+
+        @Override
+        protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth, int ply) {
+            SearchResult result = super.expand(state, actions, searchDepth, ply);
+            if (ply == 0)
+                rootResult = result;
+            return result;
+        }
+
+        @Override
+        protected SearchResult alphaBeta(AbstractGameState state, List<AbstractAction> actions, int searchDepth, int ply,
+                                         double alpha, double beta) {
+            SearchResult result = super.alphaBeta(state, actions, searchDepth, ply, alpha, beta);
+            if (ply == 0)
+                rootResult = result;
+            return result;
+        }
+    }
+
+    private static MaxNSearchParameters params(int depth, boolean alphaBeta, int tableSize) {
+        MaxNSearchParameters params = new MaxNSearchParameters();
+        params.setParameterValue("budgetType", "BUDGET_TIME");
+        params.setParameterValue("budget", 1000000);
+        params.setParameterValue("searchDepth", depth);
+        params.setParameterValue("paranoid", true);
+        params.setParameterValue("alphaBeta", alphaBeta);
+        params.setParameterValue("transpositionTableSize", tableSize);
+        return params;
+    }
+
+    // one player for each seat, with the game's forward model and their player IDs set
+    private static List<RecordingPlayer> seatPlayers(GameType gameType, int nPlayers, MaxNSearchParameters params) {
+        List<RecordingPlayer> players = new ArrayList<>();
+        for (int i = 0; i < nPlayers; i++)
+            players.add(new RecordingPlayer((MaxNSearchParameters) params.copy()));
+        Game game = gameType.createGameInstance(nPlayers, 1);
+        game.reset(new ArrayList<AbstractPlayer>(players));
+        return players;
+    }
+
+    private static AbstractAction decide(RecordingPlayer player, AbstractGameState state, AbstractForwardModel fm, long seed) {
+        // a fresh search each time, with the same tie-breaking
+        player.initializePlayer(state);
+        player.reseed(seed);
+        return player._getAction(state.copy(), fm.computeAvailableActions(state));
+    }
+
+    /**
+     * Plays random games, and in each state compares the action and value found by plain (paranoid) MaxN with those
+     * found with alpha-beta and a transposition table, to the same depth. Ties are broken by the same shuffle of the
+     * root actions, and alpha-beta keeps the first of the equal best actions, so the actions should be identical.
+     */
+    private void compare(GameType gameType, int nPlayers, int depth, int maxSteps) {
+        List<RecordingPlayer> plain = seatPlayers(gameType, nPlayers, params(depth, false, 0));
+        List<RecordingPlayer> pruned = seatPlayers(gameType, nPlayers, params(depth, true, 100000));
+        Random rnd = new Random(42);
+        for (int g = 0; g < 3; g++) {
+            Game game = gameType.createGameInstance(nPlayers, 100 + g);
+            AbstractForwardModel fm = game.getForwardModel();
+            AbstractGameState state = game.getGameState();
+            assertTrue(state.hasZobristHash());
+            for (int step = 0; step < maxSteps && state.isNotTerminal(); step++) {
+                int player = state.getCurrentPlayer();
+                long seed = rnd.nextLong();
+                AbstractAction expected = decide(plain.get(player), state, fm, seed);
+                AbstractAction actual = decide(pruned.get(player), state, fm, seed);
+                String message = gameType + " game " + g + " step " + step;
+                assertEquals(message, plain.get(player).rootResult.value()[player],
+                        pruned.get(player).rootResult.value()[player], 1e-9);
+                assertEquals(message, expected, actual);
+
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+        }
+    }
+
+    @Test
+    public void connect4() {
+        compare(GameType.Connect4, 2, 4, 20);
+    }
+
+    @Test
+    public void ticTacToe() {
+        compare(GameType.TicTacToe, 2, 5, 9);
+    }
+}
@@ -0,0 +1,72 @@
+package utilities;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntHashMapTest {
+
+    @Test
+    public void behavesAsAHashMap() {
+        Random rnd = new Random(11);
+        IntHashMap<String> map = new IntHashMap<>(2);
+        Map<Integer, String> expected = new HashMap<>();
+        int[] special = {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        for (int step = 0; step < 20000; step++) {
+            // keys from a small range (so there are many replacements), spread keys, and a few special ones
+            int key = switch (rnd.nextInt(3)) {
+                case 0 -> rnd.nextInt(500);
+                case 1 -> rnd.nextInt();
+                default -> special[rnd.nextInt(special.length)];
+            };
+            if (rnd.nextInt(2000) == 0) {
+                map.clear();
+                expected.clear();
+            } else if (rnd.nextBoolean()) {
+                String value = "v" + step;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Integer, String> entry : expected.entrySet())
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+
+    @Test
+    public void keysThatShareASlotAreKept() {
+        // multiples of a large power of two all hash to a few slots of a small table
+        IntHashMap<Integer> map = new IntHashMap<>();
+        for (int i = 0; i < 1000; i++)
+            map.put(i << 20, i);
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(Integer.valueOf(i), map.get(i << 20));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void clearKeepsTheMapUsable() {
+        IntHashMap<String> map = new IntHashMap<>();
+        for (int i = 0; i < 100; i++)
+            map.put(i, "a" + i);
+        map.clear();
+        assertEquals(0, map.size());
+        for (int i = 0; i < 100; i++)
+            assertNull(map.get(i));
+        map.put(5, "b");
+        assertEquals("b", map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullValuesAreRejected() {
+        new IntHashMap<String>().put(1, null);
+    }
+}